@@ -3,6 +3,8 @@ package org.swrlapi.bridge;
 import java.util.Set;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.core.SWRLRuleEngineBudget;
+import org.swrlapi.sqwrl.SQWRLResultRowConsumer;
 
 /**
  * This interface provides access methods to retrieve knowledge inferred by a target rule engine implementation after it
@@ -22,4 +24,41 @@ public interface SWRLRuleEngineBridgeController
    * @return A set of inferred OWL axioms
    */
   Set<OWLAxiom> getInferredOWLAxioms();
+
+  /**
+   * Set the per-run resource budget enforced by this controller. Crossing a limit throws a
+   * {@link org.swrlapi.exceptions.SWRLRuleEngineBudgetExceededException}.
+   *
+   * @param budget A resource budget
+   */
+  void setResourceBudget(SWRLRuleEngineBudget budget);
+
+  /**
+   * Register a consumer that receives the rows of a SQWRL query's result as the target rule engine generates them. The
+   * consumer is attached to the query's result generator whenever the generator is supplied to the target rule engine.
+   *
+   * @param queryName The name of the query
+   * @param rowConsumer A row consumer, or null to remove the current consumer
+   */
+  void setSQWRLResultRowConsumer(String queryName, SQWRLResultRowConsumer rowConsumer);
+
+  /**
+   * @param threshold The number of rows at or above which SQWRL results supplied to the target rule engine are prepared
+   *          in parallel
+   * @see org.swrlapi.sqwrl.SQWRLResultGenerator#setParallelPreparationThreshold(int)
+   */
+  void setSQWRLResultParallelPreparationThreshold(int threshold);
+
+  /**
+   * @param batchSize The spill batch size of SQWRL results supplied to the target rule engine, or zero to hold them on
+   *          the heap
+   * @see org.swrlapi.sqwrl.SQWRLResultGenerator#setSpillBatchSize(int)
+   */
+  void setSQWRLResultSpillBatchSize(int batchSize);
+
+  /**
+   * @param error The error of approximate aggregate functions in SQWRL results supplied to the target rule engine
+   * @see org.swrlapi.sqwrl.SQWRLResultGenerator#setApproximateAggregateError(double)
+   */
+  void setSQWRLResultApproximateAggregateError(double error);
 }
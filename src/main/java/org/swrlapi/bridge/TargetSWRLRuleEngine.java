@@ -1,13 +1,17 @@
 package org.swrlapi.bridge;
 
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineNotImplementedFeatureException;
 import org.swrlapi.owl2rl.OWL2RLEngine;
 import org.swrlapi.sqwrl.SQWRLQuery;
 
 import javax.swing.*;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * This interface defines the methods that must be provided by an implementation of a SWRLAPI-based SWRL rule engine. A
@@ -34,6 +38,72 @@ public interface TargetSWRLRuleEngine
    */
   void defineOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException;
 
+  /**
+   * Define target rule engine representations of a collection of OWL axioms. Rule engines that can batch insertions
+   * or pre-size their indexes should override this method; the default implementation defines each axiom in turn.
+   *
+   * @param axioms The OWL axioms to define
+   * @throws TargetSWRLRuleEngineException If an error occurs during definition
+   */
+  default void defineOWLAxioms(Collection<? extends OWLAxiom> axioms) throws TargetSWRLRuleEngineException
+  {
+    for (OWLAxiom axiom : axioms)
+      defineOWLAxiom(axiom);
+  }
+
+  /**
+   * Define target rule engine representations of OWL axioms that have been grouped by axiom type. This is the method
+   * used by the bridge when exporting axioms. The default implementation passes each group to
+   * {@link #defineOWLAxioms(Collection)}.
+   *
+   * @param axiomsByType The OWL axioms to define, grouped by axiom type
+   * @throws TargetSWRLRuleEngineException If an error occurs during definition
+   */
+  default void defineOWLAxiomsByType(Map<AxiomType<?>, ? extends Collection<? extends OWLAxiom>> axiomsByType)
+    throws TargetSWRLRuleEngineException
+  {
+    for (Collection<? extends OWLAxiom> axioms : axiomsByType.values())
+      defineOWLAxioms(axioms);
+  }
+
+  /**
+   * Indicates if the target rule engine supports incremental axiom export. Engines that return true must implement
+   * {@link #retractOWLAxiom(OWLAxiom)} and {@link #resetInferredKnowledge()}, in which case the asserted axioms
+   * defined in the engine are retained between runs and only changes are exported to it.
+   *
+   * @return True if the target rule engine supports incremental axiom export
+   */
+  default boolean supportsIncrementalAxiomExport()
+  {
+    return false;
+  }
+
+  /**
+   * Remove the target rule engine representation of a previously defined OWL axiom. Knowledge inferred from the
+   * axiom must also be removed by the engine.
+   *
+   * @param axiom The OWL axiom to retract
+   * @throws TargetSWRLRuleEngineException If an error occurs during retraction
+   */
+  default void retractOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException
+  {
+    throw new TargetSWRLRuleEngineNotImplementedFeatureException("axiom retraction not supported by rule engine "
+        + getName());
+  }
+
+  /**
+   * Remove all SQWRL queries, all knowledge inferred by rules, and all axioms injected by built-ins from the target
+   * rule engine. Unlike {@link #resetRuleEngine()}, OWL axioms defined via {@link #defineOWLAxiom(OWLAxiom)} are
+   * retained.
+   *
+   * @throws TargetSWRLRuleEngineException If an error occurs in the target rule engine
+   */
+  default void resetInferredKnowledge() throws TargetSWRLRuleEngineException
+  {
+    throw new TargetSWRLRuleEngineNotImplementedFeatureException("incremental reset not supported by rule engine "
+        + getName());
+  }
+
   /**
    * Define a target rule engine representation of a SQWRL query.
    * 
@@ -50,6 +120,16 @@ public interface TargetSWRLRuleEngine
    */
   void runRuleEngine() throws TargetSWRLRuleEngineException;
 
+  /**
+   * Request that a run started by {@link #runRuleEngine()} stop as soon as possible. This method is called from a
+   * thread other than the one running the rule engine, which is also interrupted. The rule engine will be reset after
+   * the abandoned run returns. The default implementation does nothing, in which case a cancelled run is abandoned
+   * only after it completes.
+   */
+  default void cancelRuleEngine()
+  {
+  }
+
   /**
    * Reset the rule engine.
    * 
@@ -3,6 +3,7 @@ package org.swrlapi.builtins;
 import java.util.Set;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.core.SWRLRuleEngineBudget;
 import org.swrlapi.exceptions.SWRLBuiltInBridgeException;
 
 /**
@@ -32,4 +33,12 @@ public interface SWRLBuiltInBridgeController
    * @return A list of injected OWL axioms
    */
   Set<OWLAxiom> getInjectedOWLAxioms();
+
+  /**
+   * Set the per-run resource budget enforced by this controller. Crossing a limit throws a
+   * {@link org.swrlapi.exceptions.SWRLRuleEngineBudgetExceededException}.
+   *
+   * @param budget A resource budget
+   */
+  void setResourceBudget(SWRLRuleEngineBudget budget);
 }
@@ -205,6 +205,19 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     return count(arguments);
   }
 
+  /**
+   * Approximate count distinct, computed with a bounded amount of memory per group.
+   *
+   * @param arguments A list of SWRL built-in arguments
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If an error occurs during processing
+   */
+  public boolean approxCountDistinct(List<SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    checkThatInConsequent();
+    return count(arguments);
+  }
+
   /**
    * This built-in is preprocessed by SWRLProcessor so there is nothing to do here.a
    *
@@ -617,31 +630,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   public boolean median(List<SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     final int resultArgumentNumber = 0, sourceCollectionArgumentNumber = 1;
-    final int numberOfCoreAntecedentArguments = 2, numberOfConsequentArguments = 1;
-
-    if (getIsInConsequent()) { // Simple SQWRL aggregation operator
-      checkForUnboundArguments(arguments);
-      checkNumberOfArgumentsEqualTo(numberOfConsequentArguments, arguments.size());
-
-      SQWRLResultGenerator resultGenerator = getSQWRLResultGenerator(getInvokingRuleName());
-      SWRLArgument argument = arguments.get(0);
+    final int numberOfCoreAntecedentArguments = 2;
 
-      if (!resultGenerator.isRowOpen())
-        resultGenerator.openRow();
-
-      if (argument instanceof SWRLLiteralBuiltInArgument) {
-        SWRLLiteralBuiltInArgument literalArgument = (SWRLLiteralBuiltInArgument)argument;
-        SQWRLLiteralResultValue literal = getSQWRLResultValueFactory().getLiteralValue(literalArgument.getLiteral());
-        if (literal.isNumeric())
-          resultGenerator.addCell(literal);
-        else
-          throw new InvalidSWRLBuiltInArgumentException(resultArgumentNumber,
-            "expecting numeric literal, got " + argument + " with type " + argument.getClass().getCanonicalName());
-        return false;
-      } else
-        throw new InvalidSWRLBuiltInArgumentException(resultArgumentNumber,
-          "expecting numeric literal, got " + argument + " with type " + argument.getClass().getCanonicalName());
-    } else { // SQWRL collection operator
+    if (getIsInConsequent()) // Simple SQWRL aggregation operator
+      return addNumericAggregationCell(arguments, resultArgumentNumber);
+    else { // SQWRL collection operator
       Collection<SWRLBuiltInArgument> collection = getCollectionInSingleCollectionOperation(arguments,
         sourceCollectionArgumentNumber, numberOfCoreAntecedentArguments);
 
@@ -673,6 +666,59 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  /**
+   * Approximate median, computed with a bounded amount of memory per group. Unlike {@link #median(List)} this built-in
+   * is an aggregation operator only and cannot be applied to collections.
+   *
+   * @param arguments A list of SWRL built-in arguments
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If an error occurs during processing
+   */
+  public boolean approxMedian(List<SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    final int resultArgumentNumber = 0;
+
+    checkThatInConsequent();
+
+    return addNumericAggregationCell(arguments, resultArgumentNumber);
+  }
+
+  /**
+   * Add the single numeric literal argument of a SQWRL aggregation operator to the current row of the result.
+   *
+   * @param arguments A list of SWRL built-in arguments
+   * @param resultArgumentNumber The position of the numeric argument
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If the argument is not a numeric literal
+   */
+  private boolean addNumericAggregationCell(List<SWRLBuiltInArgument> arguments, int resultArgumentNumber)
+    throws SWRLBuiltInException
+  {
+    final int numberOfConsequentArguments = 1;
+
+    checkForUnboundArguments(arguments);
+    checkNumberOfArgumentsEqualTo(numberOfConsequentArguments, arguments.size());
+
+    SQWRLResultGenerator resultGenerator = getSQWRLResultGenerator(getInvokingRuleName());
+    SWRLArgument argument = arguments.get(resultArgumentNumber);
+
+    if (!resultGenerator.isRowOpen())
+      resultGenerator.openRow();
+
+    if (argument instanceof SWRLLiteralBuiltInArgument) {
+      SWRLLiteralBuiltInArgument literalArgument = (SWRLLiteralBuiltInArgument)argument;
+      SQWRLLiteralResultValue literal = getSQWRLResultValueFactory().getLiteralValue(literalArgument.getLiteral());
+      if (literal.isNumeric())
+        resultGenerator.addCell(literal);
+      else
+        throw new InvalidSWRLBuiltInArgumentException(resultArgumentNumber,
+          "expecting numeric literal, got " + argument + " with type " + argument.getClass().getCanonicalName());
+      return false;
+    } else
+      throw new InvalidSWRLBuiltInArgumentException(resultArgumentNumber,
+        "expecting numeric literal, got " + argument + " with type " + argument.getClass().getCanonicalName());
+  }
+
   /**
    * @param arguments A list of SWRL built-in arguments
    * @return The result of the built-in
@@ -1,14 +1,17 @@
 package org.swrlapi.core;
 
+import java.util.Collection;
 import java.util.Set;
 
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
 import org.swrlapi.core.resolvers.IRIResolver;
+import org.swrlapi.core.resolvers.ShortNameSymbolTable;
 import org.swrlapi.exceptions.SWRLRuleException;
 import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.parser.SWRLParser;
@@ -33,8 +36,11 @@ import org.swrlapi.ui.model.SWRLAutoCompleter;
  * The {@link #startBulkConversion()}, {@link #completeBulkConversion()}, {@link #hasOntologyChanged()}, and
  * {@link #resetOntologyChanged()} methods can be used for optimization purposes. For example, in the Protege-OWL API
  * the {@link #startBulkConversion()} method turns off listener notification so that bulk transfer of OWL axioms can be
- * performed more efficiently. The {@link #hasOntologyChanged()} method can be used by rule engines to avoid unnecessary
- * regeneration of knowledge.
+ * performed more efficiently. Here, changes made with {@link #applyChange(OWLOntologyChange)} during a bulk conversion
+ * are buffered and applied to the ontology as one batch when the conversion completes. The
+ * {@link #hasOntologyChanged()} method can be used by rule engines to avoid unnecessary regeneration of knowledge. The
+ * {@link #getOntologyVersion()} method returns a counter that increases every time the ontology or its imports closure
+ * changes, so it can be used to key caches of derived information.
  *
  * @see org.swrlapi.core.SWRLAPIRule
  * @see org.swrlapi.sqwrl.SQWRLQuery
@@ -51,6 +57,16 @@ public interface SWRLAPIOWLOntology
 
   SWRLAPIRule createSWRLRule(String ruleName, String rule, String comment, boolean isActive) throws SWRLParseException;
 
+  /**
+   * Create many rules. The rules are parsed in parallel and added to the ontology in one change batch; rules that
+   * cannot be parsed or converted are reported in the result and do not prevent the others from being created. The
+   * batch holds the axioms of exactly the rules that were created.
+   *
+   * @param ruleSpecifications The rules to create
+   * @return The created rules and the exceptions of the rules that were not created, by position in the collection
+   */
+  SWRLRuleImportResult createSWRLRules(Collection<SWRLRuleSpecification> ruleSpecifications);
+
   void deleteSWRLRule(String ruleName);
 
   boolean isSWRLBuiltIn(IRI iri); // The SWRLAPI provides built-ins beyond the core set defined in the SWRL submission.
@@ -94,16 +110,38 @@ public interface SWRLAPIOWLOntology
 
   void processOntology() throws SQWRLException;
 
+  void setParallelProcessing(boolean parallelProcessing); // Process the ontologies in the imports closure in parallel
+
+  boolean isParallelProcessing();
+
   // Optimization methods
 
   void startBulkConversion(); // Can be used, for example, to switch off notification during bulk conversion.
 
   void completeBulkConversion();
 
+  /**
+   * Apply a change to the ontology. Between calls to {@link #startBulkConversion()} and
+   * {@link #completeBulkConversion()} changes are buffered and then applied to the ontology in a single batch, so
+   * ontology change listeners are notified once on completion.
+   *
+   * @param change The change to apply
+   */
+  void applyChange(OWLOntologyChange change);
+
   boolean hasOntologyChanged();
 
   void resetOntologyChanged();
 
+  long getOntologyVersion();
+
+  /**
+   * Stop listening for changes to the ontology. The ontology manager refers to this object only weakly, but until it is
+   * garbage collected it keeps processing every change, so this should be called once the object is no longer needed.
+   * {@link org.swrlapi.core.SWRLRuleEngine#dispose()} calls it for the rule engine's ontology.
+   */
+  void dispose();
+
   // Axiom counting methods
 
   boolean hasAssertedOWLAxiom(OWLAxiom axiom);
@@ -128,6 +166,12 @@ public interface SWRLAPIOWLOntology
 
   IRIResolver getIRIResolver();
 
+  /**
+   * @return The symbol table resolving short names to the entities and built-ins of this ontology; it is kept up to
+   *         date as the ontology changes
+   */
+  ShortNameSymbolTable getShortNameSymbolTable();
+
   OWLOntologyManager getOWLOntologyManager();
 
   DefaultPrefixManager getPrefixManager();
@@ -36,6 +36,14 @@ public interface SWRLAPIOntologyProcessor
 
   void reset();
 
+  /**
+   * @param parallelProcessing If true, the axioms of the ontologies in the imports closure are extracted in parallel.
+   *          The result of processing is identical to that of serial processing.
+   */
+  void setParallelProcessing(boolean parallelProcessing);
+
+  boolean isParallelProcessing();
+
   // SWRL rule-related methods
 
   int getNumberOfSWRLRules();
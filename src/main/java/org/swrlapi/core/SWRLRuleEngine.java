@@ -11,6 +11,7 @@ import org.swrlapi.parser.SWRLParser;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 
 import javax.swing.*;
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -58,6 +59,25 @@ public interface SWRLRuleEngine
    */
   void reset();
 
+  /**
+   * Release the resources held by the rule engine. Its {@link SWRLAPIOWLOntology} is disposed, so it stops following
+   * changes to the ontology. The rule engine should not be used afterwards.
+   */
+  void dispose();
+
+  /**
+   * Set the resource budget applied to each rule engine run. If a run exceeds the budget the rule engine is reset and
+   * a {@link org.swrlapi.exceptions.SWRLRuleEngineBudgetExceededException} is thrown.
+   *
+   * @param budget A resource budget
+   */
+  void setResourceBudget(SWRLRuleEngineBudget budget);
+
+  /**
+   * @return The resource budget applied to each rule engine run
+   */
+  SWRLRuleEngineBudget getResourceBudget();
+
   /**
    * @return A collection of SWRL rules
    */
@@ -88,6 +108,16 @@ public interface SWRLRuleEngine
    */
   SWRLAPIRule createSWRLRule(String ruleName, String rule, String comment, boolean isActive) throws SWRLParseException;
 
+  /**
+   * Create many rules. The rules are parsed in parallel and added to the ontology in one change batch; rules that
+   * cannot be parsed or converted are reported in the result and do not prevent the others from being created. The
+   * batch holds the axioms of exactly the rules that were created.
+   *
+   * @param ruleSpecifications The rules to create
+   * @return The created rules and the exceptions of the rules that were not created, by position in the collection
+   */
+  SWRLRuleImportResult createSWRLRules(Collection<SWRLRuleSpecification> ruleSpecifications);
+
   /**
    * @param ruleName The name of a rule
    */
@@ -0,0 +1,103 @@
+package org.swrlapi.core;
+
+/**
+ * Per-run resource budgets for a {@link org.swrlapi.core.SWRLRuleEngine}. Budgets bound the number of OWL axioms
+ * inferred by rules, the number of OWL axioms injected by built-ins, the number of rows added to each SQWRL query
+ * result, and the total number of built-in invocations. Counts are reset at the start of every run.
+ * <p>
+ * Instances are immutable; the <tt>with</tt> methods return modified copies. A limit of {@link #UNLIMITED} disables
+ * the corresponding budget.
+ *
+ * @see org.swrlapi.exceptions.SWRLRuleEngineBudgetExceededException
+ */
+public class SWRLRuleEngineBudget
+{
+  public static final long UNLIMITED = -1;
+
+  private static final SWRLRuleEngineBudget UNLIMITED_BUDGET = new SWRLRuleEngineBudget(UNLIMITED, UNLIMITED,
+    UNLIMITED, UNLIMITED);
+
+  private final long maxInferredOWLAxioms;
+  private final long maxInjectedOWLAxioms;
+  private final long maxSQWRLResultRows;
+  private final long maxBuiltInInvocations;
+
+  private SWRLRuleEngineBudget(long maxInferredOWLAxioms, long maxInjectedOWLAxioms, long maxSQWRLResultRows,
+    long maxBuiltInInvocations)
+  {
+    this.maxInferredOWLAxioms = maxInferredOWLAxioms;
+    this.maxInjectedOWLAxioms = maxInjectedOWLAxioms;
+    this.maxSQWRLResultRows = maxSQWRLResultRows;
+    this.maxBuiltInInvocations = maxBuiltInInvocations;
+  }
+
+  /**
+   * @return A budget with no limits
+   */
+  public static SWRLRuleEngineBudget unlimited()
+  {
+    return UNLIMITED_BUDGET;
+  }
+
+  public SWRLRuleEngineBudget withMaxInferredOWLAxioms(long maxInferredOWLAxioms)
+  {
+    return new SWRLRuleEngineBudget(checkLimit(maxInferredOWLAxioms), this.maxInjectedOWLAxioms,
+      this.maxSQWRLResultRows, this.maxBuiltInInvocations);
+  }
+
+  public SWRLRuleEngineBudget withMaxInjectedOWLAxioms(long maxInjectedOWLAxioms)
+  {
+    return new SWRLRuleEngineBudget(this.maxInferredOWLAxioms, checkLimit(maxInjectedOWLAxioms),
+      this.maxSQWRLResultRows, this.maxBuiltInInvocations);
+  }
+
+  public SWRLRuleEngineBudget withMaxSQWRLResultRows(long maxSQWRLResultRows)
+  {
+    return new SWRLRuleEngineBudget(this.maxInferredOWLAxioms, this.maxInjectedOWLAxioms,
+      checkLimit(maxSQWRLResultRows), this.maxBuiltInInvocations);
+  }
+
+  public SWRLRuleEngineBudget withMaxBuiltInInvocations(long maxBuiltInInvocations)
+  {
+    return new SWRLRuleEngineBudget(this.maxInferredOWLAxioms, this.maxInjectedOWLAxioms, this.maxSQWRLResultRows,
+      checkLimit(maxBuiltInInvocations));
+  }
+
+  public long getMaxInferredOWLAxioms()
+  {
+    return this.maxInferredOWLAxioms;
+  }
+
+  public long getMaxInjectedOWLAxioms()
+  {
+    return this.maxInjectedOWLAxioms;
+  }
+
+  public long getMaxSQWRLResultRows()
+  {
+    return this.maxSQWRLResultRows;
+  }
+
+  public long getMaxBuiltInInvocations()
+  {
+    return this.maxBuiltInInvocations;
+  }
+
+  /**
+   * @param count The amount of a resource already used
+   * @param limit A limit from this budget
+   * @return True if using one more of the resource would exceed the limit
+   */
+  public static boolean isExhausted(long count, long limit)
+  {
+    return limit != UNLIMITED && count >= limit;
+  }
+
+  private static long checkLimit(long limit)
+  {
+    if (limit < 0 && limit != UNLIMITED)
+      throw new IllegalArgumentException("invalid resource limit " + limit);
+
+    return limit;
+  }
+}
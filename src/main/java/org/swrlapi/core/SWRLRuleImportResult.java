@@ -0,0 +1,40 @@
+package org.swrlapi.core;
+
+import org.swrlapi.parser.SWRLParseException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a bulk rule creation: the rules that were created, in the order they were supplied, and the exception
+ * of each rule that could not be created, keyed by the position of the rule in the supplied collection.
+ *
+ * @see org.swrlapi.core.SWRLRuleEngine#createSWRLRules(java.util.Collection)
+ */
+public class SWRLRuleImportResult
+{
+  private final List<SWRLAPIRule> swrlRules;
+  private final Map<Integer, SWRLParseException> parseExceptions;
+
+  public SWRLRuleImportResult(List<SWRLAPIRule> swrlRules, Map<Integer, SWRLParseException> parseExceptions)
+  {
+    this.swrlRules = Collections.unmodifiableList(swrlRules);
+    this.parseExceptions = Collections.unmodifiableMap(parseExceptions);
+  }
+
+  public List<SWRLAPIRule> getSWRLRules()
+  {
+    return this.swrlRules;
+  }
+
+  public Map<Integer, SWRLParseException> getParseExceptions()
+  {
+    return this.parseExceptions;
+  }
+
+  public boolean hasParseExceptions()
+  {
+    return !this.parseExceptions.isEmpty();
+  }
+}
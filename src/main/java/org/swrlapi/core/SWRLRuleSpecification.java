@@ -0,0 +1,53 @@
+package org.swrlapi.core;
+
+/**
+ * The text of a SWRL rule together with its name, comment and active status, for bulk rule creation.
+ *
+ * @see org.swrlapi.core.SWRLRuleEngine#createSWRLRules(java.util.Collection)
+ */
+public class SWRLRuleSpecification
+{
+  private final String ruleName;
+  private final String ruleText;
+  private final String comment;
+  private final boolean isActive;
+
+  public SWRLRuleSpecification(String ruleName, String ruleText)
+  {
+    this(ruleName, ruleText, "", true);
+  }
+
+  public SWRLRuleSpecification(String ruleName, String ruleText, String comment, boolean isActive)
+  {
+    this.ruleName = ruleName;
+    this.ruleText = ruleText;
+    this.comment = comment;
+    this.isActive = isActive;
+  }
+
+  public String getRuleName()
+  {
+    return this.ruleName;
+  }
+
+  public String getRuleText()
+  {
+    return this.ruleText;
+  }
+
+  public String getComment()
+  {
+    return this.comment;
+  }
+
+  public boolean isActive()
+  {
+    return this.isActive;
+  }
+
+  @Override
+  public String toString()
+  {
+    return this.ruleName + ": " + this.ruleText;
+  }
+}
@@ -1,9 +1,7 @@
 package org.swrlapi.core.resolvers;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLEntity;
@@ -20,15 +18,23 @@ import org.swrlapi.exceptions.SWRLAPIInternalException;
  * their representation of those objects. A {@link org.swrlapi.core.SWRLAPIOntologyProcessor} will record all the OWL
  * named objects in an ontology together with their types. Rule engines can then use this class to determine the type of
  * OWL properties using their prefixed name and to map those prefixed names to and from IRIs if necessary.
+ * <p>
+ * An IRI is named using the prefix registered for its namespace or, if there is none, the longest registered
+ * namespace it starts with, e.g., <tt>ex:a/b#c</tt>. Such names resolve back to the same IRI. Resolutions in both
+ * directions are held in a bounded cache that is cleared by {@link #reset()} and {@link #prefixesChanged()}, which
+ * must be called when the prefixes change. The resolver may be used from several threads provided the prefixes are not
+ * changed at the same time.
  *
  * @see org.swrlapi.core.SWRLAPIOntologyProcessor
  */
 public class IRIResolver
 {
+  private static final int PREFIXED_NAME_CACHE_CAPACITY = 1 << 16;
+
   private final DefaultPrefixManager prefixManager;
 
-  private final Map<String, IRI> prefixedName2IRI;
-  private final Map<IRI, String> iri2PrefixedNameCache;
+  private final PrefixedNameCache prefixedNameCache;
+  private volatile NamespaceTrie namespaceTrie;
   private final Set<String> variablePrefixedNames;
   private final Set<String> classPrefixedNames;
   private final Set<String> namedIndividualPrefixedNames;
@@ -41,21 +47,21 @@ public class IRIResolver
   {
     this.prefixManager = prefixManager;
 
-    this.prefixedName2IRI = new HashMap<>();
-    this.iri2PrefixedNameCache = new HashMap<>();
-    this.variablePrefixedNames = new HashSet<>();
-    this.classPrefixedNames = new HashSet<>();
-    this.namedIndividualPrefixedNames = new HashSet<>();
-    this.objectPropertyPrefixedNames = new HashSet<>();
-    this.dataPropertyPrefixedNames = new HashSet<>();
-    this.annotationPropertyPrefixedNames = new HashSet<>();
-    this.datatypePrefixedNames = new HashSet<>();
+    this.prefixedNameCache = new PrefixedNameCache(PREFIXED_NAME_CACHE_CAPACITY);
+    this.namespaceTrie = new NamespaceTrie(prefixManager.getPrefixName2PrefixMap());
+    this.variablePrefixedNames = ConcurrentHashMap.newKeySet();
+    this.classPrefixedNames = ConcurrentHashMap.newKeySet();
+    this.namedIndividualPrefixedNames = ConcurrentHashMap.newKeySet();
+    this.objectPropertyPrefixedNames = ConcurrentHashMap.newKeySet();
+    this.dataPropertyPrefixedNames = ConcurrentHashMap.newKeySet();
+    this.annotationPropertyPrefixedNames = ConcurrentHashMap.newKeySet();
+    this.datatypePrefixedNames = ConcurrentHashMap.newKeySet();
   }
 
   public void reset()
   {
-    this.prefixedName2IRI.clear();
-    this.iri2PrefixedNameCache.clear();
+    this.prefixedNameCache.clear();
+    this.namespaceTrie = new NamespaceTrie(this.prefixManager.getPrefixName2PrefixMap());
     this.variablePrefixedNames.clear();
     this.classPrefixedNames.clear();
     this.namedIndividualPrefixedNames.clear();
@@ -65,37 +71,58 @@ public class IRIResolver
     this.datatypePrefixedNames.clear();
   }
 
+  /**
+   * Clear the cached resolutions and rebuild the namespace trie after a change to the prefixes. The recorded entity
+   * names are retained until {@link #reset()}.
+   */
+  public void prefixesChanged()
+  {
+    this.prefixedNameCache.clear();
+    this.namespaceTrie = new NamespaceTrie(this.prefixManager.getPrefixName2PrefixMap());
+  }
+
+  /**
+   * @return True if the prefixes have changed since the resolver was created or last reset or told of a change
+   */
+  public boolean havePrefixesChanged()
+  {
+    return !this.namespaceTrie.isBuiltFrom(this.prefixManager.getPrefixName2PrefixMap());
+  }
+
   public String iri2PrefixedName(IRI iri)
   {
-    if (this.iri2PrefixedNameCache.containsKey(iri))
-      return this.iri2PrefixedNameCache.get(iri);
-    else {
-      String prefixedName = this.prefixManager.getPrefixIRI(iri);
-      if (prefixedName != null)
-        return prefixedName;
-      else
+    String prefixedName = this.prefixedNameCache.getPrefixedName(iri);
+
+    if (prefixedName == null) {
+      prefixedName = this.prefixManager.getPrefixIRI(iri); // Prefix registered for the IRI's namespace
+      if (prefixedName == null)
+        prefixedName = this.namespaceTrie.getPrefixedName(iri.toString());
+      if (prefixedName == null)
         throw new SWRLAPIInternalException("could not find prefixed name for IRI " + iri);
+      this.prefixedNameCache.putPrefixedName(iri, prefixedName);
     }
+    return prefixedName;
   }
 
   public IRI prefixedName2IRI(String prefixedName)
   {
-    if (this.prefixedName2IRI.containsKey(prefixedName))
-      return this.prefixedName2IRI.get(prefixedName);
-    else {
+    IRI iri = this.prefixedNameCache.getIRI(prefixedName);
+
+    if (iri == null) {
       try {
-        return this.prefixManager.getIRI(prefixedName);
+        iri = this.prefixManager.getIRI(prefixedName);
       } catch (RuntimeException e) {
         throw new SWRLAPIInternalException("could not find IRI for prefixed name " + prefixedName);
       }
+      this.prefixedNameCache.putIRI(prefixedName, iri);
     }
+    return iri;
   }
 
   public void recordSWRLVariable(SWRLVariable variable)
   {
     IRI iri = variable.getIRI();
     String variablePrefixedName = iri2PrefixedName(iri);
-    this.prefixedName2IRI.put(variablePrefixedName, iri);
     this.variablePrefixedNames.add(variablePrefixedName);
   }
 
@@ -197,10 +224,8 @@ public class IRIResolver
 
   public void recordPrefixedName2IRIMapping(String prefixedName, IRI iri)
   {
-    if (!this.prefixedName2IRI.containsKey(prefixedName)) {
-      this.prefixedName2IRI.put(prefixedName, iri);
-      this.iri2PrefixedNameCache.put(iri, prefixedName);
-    }
+    if (this.prefixedNameCache.getIRI(prefixedName) == null)
+      this.prefixedNameCache.putPrefixedName(iri, prefixedName);
   }
 
   public boolean isOWLClass(String prefixedName)
@@ -0,0 +1,114 @@
+package org.swrlapi.core.resolvers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable trie of the namespaces registered with a prefix manager. It finds the longest registered namespace
+ * that an IRI starts with in one pass over the IRI. If several prefix names share a namespace the first one in the
+ * prefix manager's order is used.
+ *
+ * @see org.swrlapi.core.resolvers.IRIResolver
+ */
+class NamespaceTrie
+{
+  private final Map<String, String> prefixName2Namespace;
+  private final Node root;
+
+  public NamespaceTrie(Map<String, String> prefixName2Namespace)
+  {
+    this.prefixName2Namespace = new HashMap<>(prefixName2Namespace);
+    this.root = new Node();
+
+    for (Map.Entry<String, String> entry : prefixName2Namespace.entrySet())
+      add(entry.getValue(), entry.getKey());
+  }
+
+  /**
+   * @return True if the trie was built from the same prefixes
+   */
+  public boolean isBuiltFrom(Map<String, String> prefixName2Namespace)
+  {
+    return this.prefixName2Namespace.equals(prefixName2Namespace);
+  }
+
+  /**
+   * @param iri An IRI
+   * @return The IRI with its longest registered namespace replaced by the namespace's prefix name, or null if the IRI
+   *         does not start with a registered namespace
+   */
+  public String getPrefixedName(String iri)
+  {
+    Node node = this.root;
+    String prefixName = null;
+    int namespaceLength = 0;
+
+    for (int i = 0; i < iri.length(); i++) {
+      node = node.getChild(iri.charAt(i));
+      if (node == null)
+        break;
+      if (node.prefixName != null) {
+        prefixName = node.prefixName;
+        namespaceLength = i + 1;
+      }
+    }
+    return prefixName == null ? null : prefixName + iri.substring(namespaceLength);
+  }
+
+  private void add(String namespace, String prefixName)
+  {
+    if (namespace.isEmpty())
+      return;
+
+    Node node = this.root;
+
+    for (int i = 0; i < namespace.length(); i++)
+      node = node.getOrAddChild(namespace.charAt(i));
+
+    if (node.prefixName == null)
+      node.prefixName = prefixName;
+  }
+
+  private static class Node
+  {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private char[] keys = NO_KEYS; // Sorted
+    private Node[] children = NO_CHILDREN;
+    private String prefixName; // Non-null if a namespace ends at this node
+
+    public Node getChild(char c)
+    {
+      int index = Arrays.binarySearch(this.keys, c);
+
+      return index < 0 ? null : this.children[index];
+    }
+
+    public Node getOrAddChild(char c)
+    {
+      int index = Arrays.binarySearch(this.keys, c);
+
+      if (index >= 0)
+        return this.children[index];
+
+      int insertionIndex = -index - 1;
+      Node child = new Node();
+      char[] keys = new char[this.keys.length + 1];
+      Node[] children = new Node[this.children.length + 1];
+
+      System.arraycopy(this.keys, 0, keys, 0, insertionIndex);
+      System.arraycopy(this.children, 0, children, 0, insertionIndex);
+      keys[insertionIndex] = c;
+      children[insertionIndex] = child;
+      System.arraycopy(this.keys, insertionIndex, keys, insertionIndex + 1, this.keys.length - insertionIndex);
+      System.arraycopy(this.children, insertionIndex, children, insertionIndex + 1, this.children.length
+          - insertionIndex);
+      this.keys = keys;
+      this.children = children;
+
+      return child;
+    }
+  }
+}
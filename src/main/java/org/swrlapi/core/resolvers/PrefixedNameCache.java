@@ -0,0 +1,110 @@
+package org.swrlapi.core.resolvers;
+
+import org.semanticweb.owlapi.model.IRI;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded cache of mappings between IRIs and prefixed names in both directions. Entries are held in two
+ * generations: new entries go into the current generation and, once it holds half the capacity, it becomes the
+ * previous generation and the old previous generation is dropped. Entries found in the previous generation are copied
+ * into the current one, so frequently used entries survive. Lookups do not lock.
+ *
+ * @see org.swrlapi.core.resolvers.IRIResolver
+ */
+class PrefixedNameCache
+{
+  private final int generationCapacity;
+  private volatile Generation current, previous;
+
+  public PrefixedNameCache(int capacity)
+  {
+    this.generationCapacity = Math.max(1, capacity / 2);
+    this.current = new Generation();
+    this.previous = new Generation();
+  }
+
+  /**
+   * @return The cached prefixed name of the IRI, or null if there is none
+   */
+  public String getPrefixedName(IRI iri)
+  {
+    String prefixedName = this.current.iri2PrefixedName.get(iri);
+
+    if (prefixedName == null) {
+      prefixedName = this.previous.iri2PrefixedName.get(iri);
+      if (prefixedName != null)
+        putPrefixedName(iri, prefixedName);
+    }
+    return prefixedName;
+  }
+
+  /**
+   * @return The cached IRI of the prefixed name, or null if there is none
+   */
+  public IRI getIRI(String prefixedName)
+  {
+    IRI iri = this.current.prefixedName2IRI.get(prefixedName);
+
+    if (iri == null) {
+      iri = this.previous.prefixedName2IRI.get(prefixedName);
+      if (iri != null)
+        putIRI(prefixedName, iri);
+    }
+    return iri;
+  }
+
+  /**
+   * Record the prefixed name of an IRI and, because the mapping is canonical, the IRI of the prefixed name.
+   */
+  public void putPrefixedName(IRI iri, String prefixedName)
+  {
+    Generation generation = this.current;
+
+    generation.iri2PrefixedName.put(iri, prefixedName);
+    generation.prefixedName2IRI.put(prefixedName, iri);
+    checkCapacity(generation);
+  }
+
+  /**
+   * Record the IRI of a prefixed name only. The name need not be the one {@link #getPrefixedName(IRI)} should return,
+   * e.g., when several prefix names share a namespace.
+   */
+  public void putIRI(String prefixedName, IRI iri)
+  {
+    Generation generation = this.current;
+
+    generation.prefixedName2IRI.put(prefixedName, iri);
+    checkCapacity(generation);
+  }
+
+  public synchronized void clear()
+  {
+    this.current = new Generation();
+    this.previous = new Generation();
+  }
+
+  private void checkCapacity(Generation generation)
+  {
+    if (generation.size() > this.generationCapacity) {
+      synchronized (this) {
+        if (this.current == generation) {
+          this.previous = generation;
+          this.current = new Generation();
+        }
+      }
+    }
+  }
+
+  private static class Generation
+  {
+    private final ConcurrentMap<IRI, String> iri2PrefixedName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, IRI> prefixedName2IRI = new ConcurrentHashMap<>();
+
+    public int size()
+    {
+      return Math.max(this.iri2PrefixedName.size(), this.prefixedName2IRI.size());
+    }
+  }
+}
@@ -0,0 +1,489 @@
+package org.swrlapi.core.resolvers;
+
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A symbol table holding the entities in the signature of an ontology and its imports closure together with the SWRL
+ * built-ins known to the SWRLAPI. Each IRI maps to a {@link Symbol} recording the entity types it is used with and the
+ * resolved entities, so resolving a short name costs one prefix lookup and one hash lookup. Short names are resolved
+ * exactly as {@link DefaultPrefixManager#getIRI(String)} resolves them, so prefix changes take effect immediately.
+ * <p>
+ * The table is built once from the signature and then maintained incrementally from ontology changes by
+ * {@link #update(List, Set)}; it is rebuilt only when the imports closure changes. Lookups do not lock and may run in
+ * parallel with each other and with updates. {@link Listener}s are told which IRIs entered or left the table.
+ * <p>
+ * The parser, renderer and auto-completer of a {@link org.swrlapi.core.SWRLAPIOWLOntology} share its table.
+ *
+ * @see org.swrlapi.core.SWRLAPIOWLOntology#getShortNameSymbolTable()
+ */
+public class ShortNameSymbolTable
+{
+  public static final int CLASS = 1;
+  public static final int NAMED_INDIVIDUAL = 2;
+  public static final int OBJECT_PROPERTY = 4;
+  public static final int DATA_PROPERTY = 8;
+  public static final int ANNOTATION_PROPERTY = 16;
+  public static final int DATATYPE = 32;
+  public static final int SWRL_BUILT_IN = 64;
+
+  public static final int OWL_ENTITY = CLASS | NAMED_INDIVIDUAL | OBJECT_PROPERTY | DATA_PROPERTY | ANNOTATION_PROPERTY
+      | DATATYPE;
+
+  private static final Set<String> XSD_DATATYPE_SHORT_NAMES = createXSDDatatypeShortNames();
+
+  private final OWLOntology ontology;
+  private final DefaultPrefixManager prefixManager;
+  private final Set<Listener> listeners;
+  private volatile ConcurrentMap<String, Symbol> symbols; // Keyed by IRI string
+
+  public ShortNameSymbolTable(OWLOntology ontology, DefaultPrefixManager prefixManager)
+  {
+    this.ontology = ontology;
+    this.prefixManager = prefixManager;
+    this.listeners = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    this.symbols = new ConcurrentHashMap<>();
+
+    rebuild();
+  }
+
+  /**
+   * @param shortName A short name, e.g., <tt>Person</tt>, <tt>:Person</tt> or <tt>swrlb:add</tt>
+   * @return The symbol for the name, or null if the name does not refer to an entity or a built-in
+   * @throws org.semanticweb.owlapi.model.OWLRuntimeException If the name has an unregistered prefix
+   */
+  public Symbol getSymbol(String shortName)
+  {
+    return this.symbols.get(shortName2IRIString(shortName));
+  }
+
+  /**
+   * @return The symbol for the IRI, or null if the IRI does not refer to an entity or a built-in
+   */
+  public Symbol getSymbol(IRI iri)
+  {
+    return this.symbols.get(iri.toString());
+  }
+
+  /**
+   * @return The types of the named symbol as a bitmask, or zero if there is none
+   */
+  public int getTypes(String shortName)
+  {
+    Symbol symbol = getSymbol(shortName);
+
+    return symbol == null ? 0 : symbol.getTypes();
+  }
+
+  public boolean hasType(String shortName, int types)
+  {
+    return (getTypes(shortName) & types) != 0;
+  }
+
+  public boolean hasType(IRI iri, int types)
+  {
+    Symbol symbol = getSymbol(iri);
+
+    return symbol != null && (symbol.getTypes() & types) != 0;
+  }
+
+  /**
+   * XSD datatypes are recognized by their <tt>xsd:</tt> prefixed names whether or not they are in the signature.
+   */
+  public boolean isXSDDatatype(String shortName)
+  {
+    return XSD_DATATYPE_SHORT_NAMES.contains(shortName);
+  }
+
+  /**
+   * @return The short name of the IRI: its prefixed name without a leading <tt>:</tt>, or its quoted IRI if no prefix
+   *         matches
+   */
+  public String getShortName(IRI iri)
+  {
+    String shortForm = this.prefixManager.getShortForm(iri);
+
+    return shortForm.startsWith(":") ? shortForm.substring(1) : shortForm;
+  }
+
+  /**
+   * @return A read-only view of the symbols in the table; iteration reflects concurrent updates
+   */
+  public Collection<Symbol> getSymbols()
+  {
+    return Collections.unmodifiableCollection(this.symbols.values());
+  }
+
+  /**
+   * Register a listener to be told when IRIs enter or leave the table. Listeners are held weakly, so a listener that is
+   * no longer referenced elsewhere does not need to be removed.
+   */
+  public void addListener(Listener listener)
+  {
+    this.listeners.add(listener);
+  }
+
+  public void removeListener(Listener listener)
+  {
+    this.listeners.remove(listener);
+  }
+
+  public void addSWRLBuiltIn(IRI iri)
+  {
+    String iriString = iri.toString();
+    Symbol symbol = this.symbols.get(iriString);
+
+    if (symbol == null) {
+      symbol = new Symbol(iri).withTypes(SWRL_BUILT_IN);
+      this.symbols.put(iriString, symbol);
+      fireSymbolsChanged(Collections.singletonList(symbol), Collections.emptyList());
+    } else
+      this.symbols.put(iriString, symbol.withTypes(SWRL_BUILT_IN));
+  }
+
+  /**
+   * Apply changes to the ontology or its imports closure to the table. Entities referenced by added axioms or ontology
+   * annotations are added; entities referenced by removed ones are dropped if they are no longer in the signature.
+   * Updates must not run concurrently with each other.
+   *
+   * @param changes The changes
+   * @param importsClosure The current imports closure of the ontology, which the caller computes once per batch
+   */
+  public void update(List<? extends OWLOntologyChange> changes, Set<OWLOntology> importsClosure)
+  {
+    Set<OWLEntity> possiblyRemovedEntities = new HashSet<>();
+    List<Symbol> addedSymbols = new ArrayList<>();
+    List<Symbol> removedSymbols = new ArrayList<>();
+
+    for (OWLOntologyChange change : changes) {
+      if (change.isImportChange()) {
+        rebuild();
+        return;
+      }
+      if (!importsClosure.contains(change.getOntology()))
+        continue;
+
+      if (change.isAddAxiom())
+        addEntities(change.getAxiom().getSignature(), addedSymbols);
+      else if (change.isRemoveAxiom())
+        possiblyRemovedEntities.addAll(change.getAxiom().getSignature());
+      else if (change instanceof AddOntologyAnnotation)
+        addEntities(((AddOntologyAnnotation)change).getAnnotation().getSignature(), addedSymbols);
+      else if (change instanceof RemoveOntologyAnnotation)
+        possiblyRemovedEntities.addAll(((RemoveOntologyAnnotation)change).getAnnotation().getSignature());
+    }
+
+    for (OWLEntity entity : possiblyRemovedEntities) {
+      if (!isInSignature(entity))
+        removeEntity(entity, removedSymbols);
+    }
+
+    fireSymbolsChanged(addedSymbols, removedSymbols);
+  }
+
+  /**
+   * Rebuild the table from the signature of the ontology and its imports closure, keeping the recorded built-ins.
+   */
+  public void rebuild()
+  {
+    ConcurrentMap<String, Symbol> previousSymbols = this.symbols;
+    ConcurrentMap<String, Symbol> symbols = new ConcurrentHashMap<>();
+    List<Symbol> addedSymbols = new ArrayList<>();
+    List<Symbol> removedSymbols = new ArrayList<>();
+
+    for (Symbol symbol : previousSymbols.values()) {
+      if ((symbol.getTypes() & SWRL_BUILT_IN) != 0)
+        symbols.put(symbol.getIRI().toString(), new Symbol(symbol.getIRI()).withTypes(SWRL_BUILT_IN));
+    }
+
+    for (OWLEntity entity : this.ontology.getSignature(Imports.INCLUDED))
+      symbols.compute(entity.getIRI().toString(),
+          (iriString, symbol) -> (symbol == null ? new Symbol(entity.getIRI()) : symbol).withEntity(entity));
+
+    this.symbols = symbols;
+
+    for (Map.Entry<String, Symbol> entry : symbols.entrySet())
+      if (!previousSymbols.containsKey(entry.getKey()))
+        addedSymbols.add(entry.getValue());
+
+    for (Map.Entry<String, Symbol> entry : previousSymbols.entrySet())
+      if (!symbols.containsKey(entry.getKey()))
+        removedSymbols.add(entry.getValue());
+
+    fireSymbolsChanged(addedSymbols, removedSymbols);
+  }
+
+  private boolean isInSignature(OWLEntity entity)
+  {
+    if (entity.isOWLAnnotationProperty()) // Unlike containsEntityInSignature, also checks ontology annotations
+      return this.ontology.containsAnnotationPropertyInSignature(entity.getIRI(), Imports.INCLUDED);
+    else
+      return this.ontology.containsEntityInSignature(entity, Imports.INCLUDED);
+  }
+
+  private void addEntities(Set<OWLEntity> entities, List<Symbol> addedSymbols)
+  {
+    for (OWLEntity entity : entities) {
+      String iriString = entity.getIRI().toString();
+      Symbol symbol = this.symbols.get(iriString);
+
+      if (symbol == null) {
+        symbol = new Symbol(entity.getIRI()).withEntity(entity);
+        this.symbols.put(iriString, symbol);
+        addedSymbols.add(symbol);
+      } else {
+        Symbol updatedSymbol = symbol.withEntity(entity);
+        if (updatedSymbol != symbol)
+          this.symbols.put(iriString, updatedSymbol);
+      }
+    }
+  }
+
+  private void removeEntity(OWLEntity entity, List<Symbol> removedSymbols)
+  {
+    String iriString = entity.getIRI().toString();
+    Symbol symbol = this.symbols.get(iriString);
+
+    if (symbol != null) {
+      Symbol updatedSymbol = symbol.withoutEntity(entity);
+      if (updatedSymbol == null) {
+        this.symbols.remove(iriString);
+        removedSymbols.add(symbol);
+      } else
+        this.symbols.put(iriString, updatedSymbol);
+    }
+  }
+
+  private void fireSymbolsChanged(List<Symbol> addedSymbols, List<Symbol> removedSymbols)
+  {
+    if (!addedSymbols.isEmpty() || !removedSymbols.isEmpty()) {
+      List<Listener> listeners;
+
+      synchronized (this.listeners) {
+        listeners = new ArrayList<>(this.listeners);
+      }
+
+      for (Listener listener : listeners)
+        listener.symbolsChanged(addedSymbols, removedSymbols);
+    }
+  }
+
+  /**
+   * Mirrors {@link DefaultPrefixManager#getIRI(String)} without creating an IRI.
+   */
+  private String shortName2IRIString(String shortName)
+  {
+    if (shortName.startsWith("<"))
+      return this.prefixManager.getIRI(shortName).toString();
+
+    int separatorIndex = shortName.indexOf(':');
+
+    if (separatorIndex == -1) {
+      String defaultPrefix = this.prefixManager.getDefaultPrefix();
+      return defaultPrefix != null ? defaultPrefix + shortName : shortName;
+    } else {
+      String prefix = this.prefixManager.getPrefix(shortName.substring(0, separatorIndex + 1));
+      if (prefix == null)
+        return this.prefixManager.getIRI(shortName).toString(); // Throws for an unregistered prefix
+      else
+        return prefix + shortName.substring(separatorIndex + 1);
+    }
+  }
+
+  private static Set<String> createXSDDatatypeShortNames()
+  {
+    Set<String> shortNames = new HashSet<>();
+
+    for (XSDVocabulary v : XSDVocabulary.values())
+      shortNames.add("xsd:" + v.getShortForm());
+
+    return Collections.unmodifiableSet(shortNames);
+  }
+
+  /**
+   * Told when IRIs enter or leave the table, once per change batch. Changes to the types of an IRI already in the table
+   * are not reported.
+   */
+  public interface Listener
+  {
+    void symbolsChanged(Collection<Symbol> addedSymbols, Collection<Symbol> removedSymbols);
+  }
+
+  /**
+   * An immutable entry in the table. An IRI may be used as several entity types, e.g., as both a class and an
+   * individual, so a symbol holds one resolved entity per type.
+   */
+  public static class Symbol
+  {
+    private final IRI iri;
+    private final int types;
+    private final OWLClass cls;
+    private final OWLNamedIndividual individual;
+    private final OWLObjectProperty objectProperty;
+    private final OWLDataProperty dataProperty;
+    private final OWLAnnotationProperty annotationProperty;
+    private final OWLDatatype datatype;
+
+    private Symbol(IRI iri)
+    {
+      this(iri, 0, null, null, null, null, null, null);
+    }
+
+    private Symbol(IRI iri, int types, OWLClass cls, OWLNamedIndividual individual, OWLObjectProperty objectProperty,
+        OWLDataProperty dataProperty, OWLAnnotationProperty annotationProperty, OWLDatatype datatype)
+    {
+      this.iri = iri;
+      this.types = types;
+      this.cls = cls;
+      this.individual = individual;
+      this.objectProperty = objectProperty;
+      this.dataProperty = dataProperty;
+      this.annotationProperty = annotationProperty;
+      this.datatype = datatype;
+    }
+
+    public IRI getIRI()
+    {
+      return this.iri;
+    }
+
+    /**
+     * @return The types of the symbol as a bitmask
+     */
+    public int getTypes()
+    {
+      return this.types;
+    }
+
+    public boolean hasType(int types)
+    {
+      return (this.types & types) != 0;
+    }
+
+    /**
+     * @return The class with this IRI, or null if the IRI is not used as a class
+     */
+    public OWLClass getOWLClass()
+    {
+      return this.cls;
+    }
+
+    public OWLNamedIndividual getOWLNamedIndividual()
+    {
+      return this.individual;
+    }
+
+    public OWLObjectProperty getOWLObjectProperty()
+    {
+      return this.objectProperty;
+    }
+
+    public OWLDataProperty getOWLDataProperty()
+    {
+      return this.dataProperty;
+    }
+
+    public OWLAnnotationProperty getOWLAnnotationProperty()
+    {
+      return this.annotationProperty;
+    }
+
+    public OWLDatatype getOWLDatatype()
+    {
+      return this.datatype;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "(iri: " + this.iri + ", types: " + this.types + ")";
+    }
+
+    private Symbol withTypes(int types)
+    {
+      return (this.types | types) == this.types ? this : new Symbol(this.iri, this.types | types, this.cls,
+          this.individual, this.objectProperty, this.dataProperty, this.annotationProperty, this.datatype);
+    }
+
+    private Symbol withEntity(OWLEntity entity)
+    {
+      if (entity.isOWLClass())
+        return this.cls != null ? this : new Symbol(this.iri, this.types | CLASS, entity.asOWLClass(),
+            this.individual, this.objectProperty, this.dataProperty, this.annotationProperty, this.datatype);
+      else if (entity.isOWLNamedIndividual())
+        return this.individual != null ? this : new Symbol(this.iri, this.types | NAMED_INDIVIDUAL, this.cls,
+            entity.asOWLNamedIndividual(), this.objectProperty, this.dataProperty, this.annotationProperty,
+            this.datatype);
+      else if (entity.isOWLObjectProperty())
+        return this.objectProperty != null ? this : new Symbol(this.iri, this.types | OBJECT_PROPERTY, this.cls,
+            this.individual, entity.asOWLObjectProperty(), this.dataProperty, this.annotationProperty, this.datatype);
+      else if (entity.isOWLDataProperty())
+        return this.dataProperty != null ? this : new Symbol(this.iri, this.types | DATA_PROPERTY, this.cls,
+            this.individual, this.objectProperty, entity.asOWLDataProperty(), this.annotationProperty, this.datatype);
+      else if (entity.isOWLAnnotationProperty())
+        return this.annotationProperty != null ? this : new Symbol(this.iri, this.types | ANNOTATION_PROPERTY,
+            this.cls, this.individual, this.objectProperty, this.dataProperty, entity.asOWLAnnotationProperty(),
+            this.datatype);
+      else if (entity.isOWLDatatype())
+        return this.datatype != null ? this : new Symbol(this.iri, this.types | DATATYPE, this.cls, this.individual,
+            this.objectProperty, this.dataProperty, this.annotationProperty, entity.asOWLDatatype());
+      else
+        return this;
+    }
+
+    /**
+     * @return The symbol without the entity, or null if nothing remains
+     */
+    private Symbol withoutEntity(OWLEntity entity)
+    {
+      Symbol symbol;
+
+      if (entity.isOWLClass())
+        symbol = new Symbol(this.iri, this.types & ~CLASS, null, this.individual, this.objectProperty,
+            this.dataProperty, this.annotationProperty, this.datatype);
+      else if (entity.isOWLNamedIndividual())
+        symbol = new Symbol(this.iri, this.types & ~NAMED_INDIVIDUAL, this.cls, null, this.objectProperty,
+            this.dataProperty, this.annotationProperty, this.datatype);
+      else if (entity.isOWLObjectProperty())
+        symbol = new Symbol(this.iri, this.types & ~OBJECT_PROPERTY, this.cls, this.individual, null,
+            this.dataProperty, this.annotationProperty, this.datatype);
+      else if (entity.isOWLDataProperty())
+        symbol = new Symbol(this.iri, this.types & ~DATA_PROPERTY, this.cls, this.individual, this.objectProperty,
+            null, this.annotationProperty, this.datatype);
+      else if (entity.isOWLAnnotationProperty())
+        symbol = new Symbol(this.iri, this.types & ~ANNOTATION_PROPERTY, this.cls, this.individual,
+            this.objectProperty, this.dataProperty, null, this.datatype);
+      else if (entity.isOWLDatatype())
+        symbol = new Symbol(this.iri, this.types & ~DATATYPE, this.cls, this.individual, this.objectProperty,
+            this.dataProperty, this.annotationProperty, null);
+      else
+        symbol = this;
+
+      return symbol.types == 0 ? null : symbol;
+    }
+  }
+}
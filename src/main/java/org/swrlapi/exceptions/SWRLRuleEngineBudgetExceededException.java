@@ -0,0 +1,33 @@
+package org.swrlapi.exceptions;
+
+/**
+ * Thrown when a rule engine run exceeds one of the limits of its {@link org.swrlapi.core.SWRLRuleEngineBudget}. The
+ * rule engine is reset before this exception reaches the caller, so it can be used again.
+ */
+public class SWRLRuleEngineBudgetExceededException extends SWRLRuleEngineException
+{
+  private static final long serialVersionUID = 1L;
+
+  private final String resourceName;
+  private final long limit;
+
+  public SWRLRuleEngineBudgetExceededException(String resourceName, long limit)
+  {
+    super("rule engine budget of " + limit + " " + resourceName + " exceeded");
+    this.resourceName = resourceName;
+    this.limit = limit;
+  }
+
+  /**
+   * @return A description of the exhausted resource, e.g., "inferred OWL axioms"
+   */
+  public String getResourceName()
+  {
+    return this.resourceName;
+  }
+
+  public long getLimit()
+  {
+    return this.limit;
+  }
+}
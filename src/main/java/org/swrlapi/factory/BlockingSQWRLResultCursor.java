@@ -0,0 +1,139 @@
+package org.swrlapi.factory;
+
+import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.sqwrl.SQWRLResultCursor;
+import org.swrlapi.sqwrl.SQWRLResultRowConsumer;
+import org.swrlapi.sqwrl.exceptions.SQWRLQueryCancelledException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A {@link org.swrlapi.sqwrl.SQWRLResultCursor} that is fed by the thread running a SQWRL query. Each buffered row
+ * holds one permit of a semaphore sized to the buffer, so the query blocks when the buffer is full while the end of the
+ * result can always be signalled.
+ * <p>
+ * The end of the result is signalled when the query's future completes rather than when the result is prepared, so
+ * errors raised later in the run are still reported to the reader.
+ */
+class BlockingSQWRLResultCursor implements SQWRLResultCursor, SQWRLResultRowConsumer
+{
+  private static final List<SQWRLResultValue> END_OF_RESULT = new ArrayList<>(0); // Compared by identity
+
+  private final String queryName;
+  private final BlockingQueue<List<SQWRLResultValue>> buffer;
+  private final Semaphore bufferCapacity;
+
+  private CompletableFuture<?> query;
+  private List<SQWRLResultValue> nextRow; // Null if not yet taken from the buffer
+  private boolean isFinished; // Reader has reached the end of the result
+  private volatile boolean isClosed;
+  private volatile Throwable failure;
+
+  public BlockingSQWRLResultCursor(String queryName, int bufferSize)
+  {
+    if (bufferSize < 1)
+      throw new IllegalArgumentException("invalid SQWRL result cursor buffer size " + bufferSize);
+
+    this.queryName = queryName;
+    this.buffer = new LinkedBlockingQueue<>();
+    this.bufferCapacity = new Semaphore(bufferSize);
+    this.nextRow = null;
+    this.isFinished = false;
+    this.isClosed = false;
+    this.failure = null;
+  }
+
+  /**
+   * @param query The future of the query feeding this cursor; cancelled if the cursor is closed early
+   */
+  public void setQuery(CompletableFuture<?> query)
+  {
+    this.query = query;
+
+    query.whenComplete((result, exception) -> {
+      if (exception != null && !(exception instanceof CancellationException && this.isClosed))
+        this.failure = exception;
+      this.buffer.add(END_OF_RESULT);
+    });
+  }
+
+  @Override
+  public void consumeRow(List<SQWRLResultValue> row) throws SQWRLQueryCancelledException
+  {
+    if (this.isClosed)
+      throw new SQWRLQueryCancelledException("SQWRL query " + this.queryName + " cancelled");
+
+    try {
+      this.bufferCapacity.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQWRLQueryCancelledException("SQWRL query " + this.queryName + " cancelled", e);
+    }
+
+    this.buffer.add(row);
+  }
+
+  @Override
+  public void completed()
+  {
+    // The end of the result is signalled when the query completes
+  }
+
+  @Override
+  public boolean hasNext()
+  {
+    if (this.nextRow == null && !this.isFinished && !this.isClosed) {
+      try {
+        List<SQWRLResultValue> row = this.buffer.take();
+
+        if (row == END_OF_RESULT)
+          this.isFinished = true;
+        else {
+          this.bufferCapacity.release();
+          this.nextRow = row;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SWRLAPIException("interrupted while reading result of SQWRL query " + this.queryName, e);
+      }
+    }
+
+    if (this.isFinished && this.failure != null)
+      throw new SWRLAPIException(
+        "error running SQWRL query " + this.queryName + ": " + this.failure.getMessage(), this.failure);
+
+    return this.nextRow != null;
+  }
+
+  @Override
+  public List<SQWRLResultValue> next()
+  {
+    if (!hasNext())
+      throw new NoSuchElementException("no more rows in result of SQWRL query " + this.queryName);
+
+    List<SQWRLResultValue> row = this.nextRow;
+    this.nextRow = null;
+    return row;
+  }
+
+  @Override
+  public void close()
+  {
+    if (this.isClosed)
+      return;
+
+    this.isClosed = true;
+    this.nextRow = null;
+
+    if (this.query != null)
+      this.query.cancel(true);
+  }
+}
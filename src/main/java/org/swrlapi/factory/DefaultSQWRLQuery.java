@@ -379,6 +379,10 @@ class DefaultSQWRLQuery implements SQWRLQuery
           processSumArgument(argument);
         } else if (builtInName.equalsIgnoreCase(SQWRLNames.Median)) {
           processMedianArgument(argument);
+        } else if (builtInName.equalsIgnoreCase(SQWRLNames.ApproxMedian)) {
+          processApproxMedianArgument(argument);
+        } else if (builtInName.equalsIgnoreCase(SQWRLNames.ApproxCountDistinct)) {
+          processApproxCountDistinctArgument(argument);
         } else if (builtInName.equalsIgnoreCase(SQWRLNames.Avg)) {
           processAverageArgument(argument);
         } else if (builtInName.equalsIgnoreCase(SQWRLNames.OrderBy)) {
@@ -495,6 +499,28 @@ class DefaultSQWRLQuery implements SQWRLQuery
     this.sqwrlResult.addAggregateColumn(columnName, SQWRLNames.MedianAggregateFunction);
   }
 
+  private void processApproxMedianArgument(SWRLBuiltInArgument argument) throws SQWRLException
+  {
+    String columnName;
+    if (argument.isVariable())
+      columnName = "approxMedian(?" + argument.asVariable().getVariableName() + ")";
+    else
+      columnName = "C" + this.sqwrlResult.getCurrentNumberOfColumns();
+
+    this.sqwrlResult.addAggregateColumn(columnName, SQWRLNames.ApproxMedianAggregateFunction);
+  }
+
+  private void processApproxCountDistinctArgument(SWRLBuiltInArgument argument) throws SQWRLException
+  {
+    String columnName;
+    if (argument.isVariable())
+      columnName = "approxCountDistinct(?" + argument.asVariable().getVariableName() + ")";
+    else
+      columnName = "C" + this.sqwrlResult.getCurrentNumberOfColumns();
+
+    this.sqwrlResult.addAggregateColumn(columnName, SQWRLNames.ApproxCountDistinctAggregateFunction);
+  }
+
   private void processOrderByArgument(Map<String, List<Integer>> selectedVariable2ColumnIndices,
       SWRLVariableBuiltInArgument argument) throws SQWRLException
   {
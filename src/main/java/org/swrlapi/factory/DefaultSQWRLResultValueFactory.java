@@ -17,6 +17,7 @@ import org.swrlapi.core.xsd.XSDTime;
 import org.swrlapi.sqwrl.values.SQWRLAnnotationPropertyResultValue;
 import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
 import org.swrlapi.sqwrl.values.SQWRLDataPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLEntityResultValue;
 import org.swrlapi.sqwrl.values.SQWRLIndividualResultValue;
 import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
 import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
@@ -24,17 +25,34 @@ import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
+/**
+ * Creates SQWRL result values. Results typically repeat a small number of entities and literals across many rows, so
+ * values are interned: a bounded, direct-mapped pool holds the most recently created value for each slot, and a
+ * request for an equal value with the same prefixed name returns the pooled instance. Distinct and group-by comparisons
+ * of interned values then succeed on identity.
+ * <p>
+ * The pools may be read and written by several threads without locking; values are immutable, so a thread sees either
+ * a complete value or a miss.
+ */
 public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
 {
+  private static final int INTERNED_VALUE_POOL_BITS = 12;
+
   private final IRIResolver iriResolver;
   private final OWLLiteralFactory owlLiteralFactory;
+  private final SQWRLEntityResultValue[] internedEntityValues;
+  private final SQWRLLiteralResultValue[] internedLiteralValues;
 
   public DefaultSQWRLResultValueFactory(IRIResolver iriResolver)
   {
     this.iriResolver = iriResolver;
     this.owlLiteralFactory = SWRLAPIFactory.getOWLLiteralFactory();
+    this.internedEntityValues = new SQWRLEntityResultValue[1 << INTERNED_VALUE_POOL_BITS];
+    this.internedLiteralValues = new SQWRLLiteralResultValue[1 << INTERNED_VALUE_POOL_BITS];
   }
 
   @Override
@@ -46,25 +64,20 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
   @Override
   public SQWRLClassResultValue getClassValue(IRI classIRI)
   {
-    String prefixedName = getIRIResolver().iri2PrefixedName(classIRI);
-
-    return new DefaultSQWRLClassResultValue(classIRI, prefixedName);
+    return internEntityValue(classIRI, SQWRLClassResultValue.class, DefaultSQWRLClassResultValue::new);
   }
 
   @Override
   public SQWRLIndividualResultValue getIndividualValue(SWRLNamedIndividualBuiltInArgument individualArgument)
   {
-    String prefixedName = getIRIResolver().iri2PrefixedName(individualArgument.getIRI());
-
-    return new DefaultSQWRLIndividualResultValue(individualArgument.getIRI(), prefixedName);
+    return internEntityValue(individualArgument.getIRI(), SQWRLIndividualResultValue.class,
+        DefaultSQWRLIndividualResultValue::new);
   }
 
   @Override
   public SQWRLIndividualResultValue getIndividualValue(IRI individualIRI)
   {
-    String prefixedName = getIRIResolver().iri2PrefixedName(individualIRI);
-
-    return new DefaultSQWRLIndividualResultValue(individualIRI, prefixedName);
+    return internEntityValue(individualIRI, SQWRLIndividualResultValue.class, DefaultSQWRLIndividualResultValue::new);
   }
 
   @Override
@@ -76,131 +89,125 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
   @Override
   public SQWRLObjectPropertyResultValue getObjectPropertyValue(IRI propertyIRI)
   {
-    String prefixedName = getIRIResolver().iri2PrefixedName(propertyIRI);
-
-    return new DefaultSQWRLObjectPropertyResultValue(propertyIRI, prefixedName);
+    return internEntityValue(propertyIRI, SQWRLObjectPropertyResultValue.class,
+        DefaultSQWRLObjectPropertyResultValue::new);
   }
 
   @Override
   public SQWRLDataPropertyResultValue getDataPropertyValue(SWRLDataPropertyBuiltInArgument dataPropertyArgument)
   {
-    String prefixedName = getIRIResolver().iri2PrefixedName(dataPropertyArgument.getIRI());
-
-    return new DefaultSQWRLDataPropertyResultValue(dataPropertyArgument.getIRI(), prefixedName);
+    return internEntityValue(dataPropertyArgument.getIRI(), SQWRLDataPropertyResultValue.class,
+        DefaultSQWRLDataPropertyResultValue::new);
   }
 
   @Override
   public SQWRLDataPropertyResultValue getDataPropertyValue(IRI propertyIRI)
   {
-    String prefixedName = getIRIResolver().iri2PrefixedName(propertyIRI);
-
-    return new DefaultSQWRLDataPropertyResultValue(propertyIRI, prefixedName);
+    return internEntityValue(propertyIRI, SQWRLDataPropertyResultValue.class, DefaultSQWRLDataPropertyResultValue::new);
   }
 
   @Override
   public SQWRLAnnotationPropertyResultValue getAnnotationPropertyValue(
       SWRLAnnotationPropertyBuiltInArgument annotationPropertyArgument)
   {
-    String prefixedName = getIRIResolver().iri2PrefixedName(annotationPropertyArgument.getIRI());
-
-    return new DefaultSQWRLAnnotationPropertyResultValue(annotationPropertyArgument.getIRI(), prefixedName);
+    return internEntityValue(annotationPropertyArgument.getIRI(), SQWRLAnnotationPropertyResultValue.class,
+        DefaultSQWRLAnnotationPropertyResultValue::new);
   }
 
   @Override
   public SQWRLAnnotationPropertyResultValue getAnnotationPropertyValue(IRI propertyIRI)
   {
-    String prefixedName = getIRIResolver().iri2PrefixedName(propertyIRI);
-
-    return new DefaultSQWRLAnnotationPropertyResultValue(propertyIRI, prefixedName);
+    return internEntityValue(propertyIRI, SQWRLAnnotationPropertyResultValue.class,
+        DefaultSQWRLAnnotationPropertyResultValue::new);
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(byte b)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(b),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(b),
         XSDVocabulary.BYTE.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(short s)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(s),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(s),
         XSDVocabulary.SHORT.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(int i)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(i), XSDVocabulary.INT.getPrefixedName());
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(i), XSDVocabulary.INT.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(long l)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(l),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(l),
         XSDVocabulary.LONG.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(float f)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(f),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(f),
         XSDVocabulary.FLOAT.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(double d)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(d),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(d),
         XSDVocabulary.DOUBLE.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(String s)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(s),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(s),
         XSDVocabulary.STRING.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(boolean b)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(b),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(b),
         XSDVocabulary.BOOLEAN.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(URI uri)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(uri),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(uri),
         XSDVocabulary.ANY_URI.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(XSDTime time)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(time),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(time),
         XSDVocabulary.TIME.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(XSDDate date)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(date),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(date),
         XSDVocabulary.DATE.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(XSDDateTime dateTime)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(dateTime),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(dateTime),
         XSDVocabulary.DATE_TIME.getPrefixedName());
   }
 
   @Override
   public SQWRLLiteralResultValue getLiteralValue(XSDDuration duration)
   {
-    return new DefaultSQWRLLiteralResultValue(getOWLLiteralFactory().getOWLLiteral(duration),
+    return internLiteralValue(getOWLLiteralFactory().getOWLLiteral(duration),
         XSDVocabulary.DURATION.getPrefixedName());
   }
 
@@ -209,7 +216,7 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
   {
     IRI datatypeIRI = literal.getDatatype().getIRI();
 
-    return new DefaultSQWRLLiteralResultValue(literal, getIRIResolver().iri2PrefixedName(datatypeIRI));
+    return internLiteralValue(literal, getIRIResolver().iri2PrefixedName(datatypeIRI));
   }
 
   @Override
@@ -224,6 +231,49 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
     return getLiteralValue(literal);
   }
 
+  /**
+   * @return The pooled value for an entity, or a new value that replaces the pooled one
+   */
+  private <V extends SQWRLEntityResultValue> V internEntityValue(IRI iri, Class<V> valueType,
+      BiFunction<IRI, String, V> valueConstructor)
+  {
+    String prefixedName = getIRIResolver().iri2PrefixedName(iri);
+    int slot = getInternedValueSlot(31 * iri.hashCode() + valueType.getName().hashCode());
+    SQWRLEntityResultValue value = this.internedEntityValues[slot];
+
+    if (valueType.isInstance(value) && value.getIRI().equals(iri) && Objects.equals(value.getPrefixedName(),
+        prefixedName))
+      return valueType.cast(value);
+
+    V newValue = valueConstructor.apply(iri, prefixedName);
+    this.internedEntityValues[slot] = newValue;
+
+    return newValue;
+  }
+
+  /**
+   * @return The pooled value for a literal, or a new value that replaces the pooled one
+   */
+  private SQWRLLiteralResultValue internLiteralValue(OWLLiteral literal, String datatypePrefixedName)
+  {
+    int slot = getInternedValueSlot(literal.hashCode());
+    SQWRLLiteralResultValue value = this.internedLiteralValues[slot];
+
+    if (value != null && value.getOWLLiteral().equals(literal) && Objects.equals(value.getDatatypePrefixedName(),
+        datatypePrefixedName))
+      return value;
+
+    SQWRLLiteralResultValue newValue = new DefaultSQWRLLiteralResultValue(literal, datatypePrefixedName);
+    this.internedLiteralValues[slot] = newValue;
+
+    return newValue;
+  }
+
+  private static int getInternedValueSlot(int hashCode)
+  {
+    return (hashCode * 0x9e3779b9) >>> (32 - INTERNED_VALUE_POOL_BITS);
+  }
+
   private OWLLiteralFactory getOWLLiteralFactory()
   {
     return this.owlLiteralFactory;
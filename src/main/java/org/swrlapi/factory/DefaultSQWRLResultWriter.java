@@ -0,0 +1,344 @@
+package org.swrlapi.factory;
+
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultFormat;
+import org.swrlapi.sqwrl.SQWRLResultWriter;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes SQWRL results through a buffered UTF-8 writer. Values are escaped as they are copied to the buffer, so no
+ * intermediate strings are built for rows or cells.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLResultFormat
+ */
+class DefaultSQWRLResultWriter implements SQWRLResultWriter
+{
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final SQWRLResultFormat format;
+  private final Writer writer;
+  private List<String> columnNames; // Null until the result is started
+  private long numberOfRows;
+  private boolean isCompleted;
+
+  public DefaultSQWRLResultWriter(SQWRLResultFormat format, OutputStream outputStream)
+  {
+    this.format = format;
+    this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    this.columnNames = null;
+    this.numberOfRows = 0;
+    this.isCompleted = false;
+  }
+
+  @Override
+  public SQWRLResultFormat getFormat()
+  {
+    return this.format;
+  }
+
+  @Override
+  public void write(SQWRLResult result) throws SQWRLException
+  {
+    started(result.getColumnNames());
+
+    result.reset();
+    while (result.next())
+      consumeRow(result.getRow());
+    result.reset();
+
+    completed();
+  }
+
+  @Override
+  public void started(List<String> columnNames) throws SQWRLException
+  {
+    if (this.columnNames != null)
+      throw new SQWRLException("SQWRL result writer has already written a result");
+
+    this.columnNames = columnNames;
+
+    try {
+      switch (this.format) {
+      case CSV:
+      case TSV:
+        for (int c = 0; c < columnNames.size(); c++) {
+          if (c != 0)
+            this.writer.write(this.format == SQWRLResultFormat.CSV ? ',' : '\t');
+          writeText(columnNames.get(c));
+        }
+        writeLineEnd();
+        break;
+      case SPARQL_JSON:
+        this.writer.write("{\"head\":{\"vars\":[");
+        for (int c = 0; c < columnNames.size(); c++) {
+          if (c != 0)
+            this.writer.write(',');
+          writeJSONString(columnNames.get(c));
+        }
+        this.writer.write("]},\"results\":{\"bindings\":[");
+        break;
+      default: // JSON lines has no header
+      }
+    } catch (IOException e) {
+      throw new SQWRLException("error writing SQWRL result: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void consumeRow(List<SQWRLResultValue> row) throws SQWRLException
+  {
+    if (this.columnNames == null || this.isCompleted)
+      throw new SQWRLException("SQWRL result writer is not writing a result");
+
+    if (row.size() != this.columnNames.size())
+      throw new SQWRLException("expecting " + this.columnNames.size() + " values in row, got " + row.size());
+
+    try {
+      switch (this.format) {
+      case CSV:
+      case TSV:
+        for (int c = 0; c < row.size(); c++) {
+          if (c != 0)
+            this.writer.write(this.format == SQWRLResultFormat.CSV ? ',' : '\t');
+          writeText(getText(row.get(c)));
+        }
+        writeLineEnd();
+        break;
+      case JSON_LINES:
+        this.writer.write('{');
+        for (int c = 0; c < row.size(); c++) {
+          if (c != 0)
+            this.writer.write(',');
+          writeJSONString(this.columnNames.get(c));
+          this.writer.write(':');
+          writeJSONValue(row.get(c));
+        }
+        this.writer.write("}\n");
+        break;
+      default: // SPARQL JSON
+        this.writer.write(this.numberOfRows == 0 ? "\n{" : ",\n{");
+        for (int c = 0; c < row.size(); c++) {
+          if (c != 0)
+            this.writer.write(',');
+          writeJSONString(this.columnNames.get(c));
+          this.writer.write(':');
+          writeSPARQLJSONTerm(row.get(c));
+        }
+        this.writer.write('}');
+      }
+      this.numberOfRows++;
+    } catch (IOException e) {
+      throw new SQWRLException("error writing SQWRL result: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void completed() throws SQWRLException
+  {
+    if (this.columnNames == null || this.isCompleted)
+      throw new SQWRLException("SQWRL result writer is not writing a result");
+
+    try {
+      if (this.format == SQWRLResultFormat.SPARQL_JSON)
+        this.writer.write("\n]}}\n");
+      this.writer.flush();
+      this.isCompleted = true;
+    } catch (IOException e) {
+      throw new SQWRLException("error writing SQWRL result: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void close() throws SQWRLException
+  {
+    try {
+      this.writer.close();
+    } catch (IOException e) {
+      throw new SQWRLException("error closing SQWRL result writer: " + e.getMessage(), e);
+    }
+  }
+
+  private String getText(SQWRLResultValue value) throws SQWRLException
+  {
+    if (value.isLiteral())
+      return value.asLiteralResult().getOWLLiteral().getLiteral();
+    else if (value.isEntity())
+      return value.asEntityResult().getPrefixedName();
+    else
+      return value.toString();
+  }
+
+  private void writeLineEnd() throws IOException
+  {
+    this.writer.write(this.format == SQWRLResultFormat.CSV ? "\r\n" : "\n");
+  }
+
+  /**
+   * Write a CSV field, quoted if necessary, or a TSV field with backslash escapes.
+   */
+  private void writeText(String text) throws IOException
+  {
+    if (this.format == SQWRLResultFormat.CSV) {
+      if (!requiresCSVQuoting(text))
+        this.writer.write(text);
+      else {
+        int start = 0;
+        this.writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+          if (text.charAt(i) == '"') {
+            this.writer.write(text, start, i + 1 - start);
+            this.writer.write('"');
+            start = i + 1;
+          }
+        }
+        this.writer.write(text, start, text.length() - start);
+        this.writer.write('"');
+      }
+    } else {
+      int start = 0;
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        char escape = c == '\t' ? 't' : c == '\n' ? 'n' : c == '\r' ? 'r' : c == '\\' ? '\\' : 0;
+        if (escape != 0) {
+          this.writer.write(text, start, i - start);
+          this.writer.write('\\');
+          this.writer.write(escape);
+          start = i + 1;
+        }
+      }
+      this.writer.write(text, start, text.length() - start);
+    }
+  }
+
+  private void writeJSONValue(SQWRLResultValue value) throws SQWRLException, IOException
+  {
+    if (value.isLiteral()) {
+      SQWRLLiteralResultValue literal = value.asLiteralResult();
+      String lexicalForm = literal.getOWLLiteral().getLiteral();
+
+      if ((literal.isNumeric() && isJSONNumber(lexicalForm))
+          || (literal.isBoolean() && (lexicalForm.equals("true") || lexicalForm.equals("false")))) {
+        this.writer.write(lexicalForm);
+        return;
+      }
+    }
+    writeJSONString(getText(value));
+  }
+
+  private void writeSPARQLJSONTerm(SQWRLResultValue value) throws SQWRLException, IOException
+  {
+    if (value.isLiteral()) {
+      OWLLiteral literal = value.asLiteralResult().getOWLLiteral();
+
+      this.writer.write("{\"type\":\"literal\",\"value\":");
+      writeJSONString(literal.getLiteral());
+      if (literal.hasLang()) {
+        this.writer.write(",\"xml:lang\":");
+        writeJSONString(literal.getLang());
+      } else {
+        this.writer.write(",\"datatype\":");
+        writeJSONString(literal.getDatatype().getIRI().toString());
+      }
+      this.writer.write('}');
+    } else {
+      this.writer.write("{\"type\":\"uri\",\"value\":");
+      writeJSONString(value.asEntityResult().getIRI().toString());
+      this.writer.write('}');
+    }
+  }
+
+  private void writeJSONString(String text) throws IOException
+  {
+    int start = 0;
+
+    this.writer.write('"');
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+
+      if (c == '"' || c == '\\' || c < 0x20) {
+        this.writer.write(text, start, i - start);
+        this.writer.write('\\');
+        switch (c) {
+        case '"':
+        case '\\':
+          this.writer.write(c);
+          break;
+        case '\n':
+          this.writer.write('n');
+          break;
+        case '\r':
+          this.writer.write('r');
+          break;
+        case '\t':
+          this.writer.write('t');
+          break;
+        default:
+          this.writer.write("u00");
+          this.writer.write(HEX_DIGITS[c >> 4]);
+          this.writer.write(HEX_DIGITS[c & 0xf]);
+        }
+        start = i + 1;
+      }
+    }
+    this.writer.write(text, start, text.length() - start);
+    this.writer.write('"');
+  }
+
+  private static boolean requiresCSVQuoting(String text)
+  {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r')
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return True if a numeric lexical form is also a JSON number, e.g., not "+1", "01", "1." or "INF"
+   */
+  static boolean isJSONNumber(String lexicalForm)
+  {
+    int i = 0, length = lexicalForm.length();
+
+    if (i < length && lexicalForm.charAt(i) == '-')
+      i++;
+    if (i == length || !isDigit(lexicalForm.charAt(i)))
+      return false;
+    if (lexicalForm.charAt(i++) != '0')
+      while (i < length && isDigit(lexicalForm.charAt(i)))
+        i++;
+    if (i < length && lexicalForm.charAt(i) == '.') {
+      if (++i == length || !isDigit(lexicalForm.charAt(i)))
+        return false;
+      while (i < length && isDigit(lexicalForm.charAt(i)))
+        i++;
+    }
+    if (i < length && (lexicalForm.charAt(i) == 'e' || lexicalForm.charAt(i) == 'E')) {
+      if (++i < length && (lexicalForm.charAt(i) == '+' || lexicalForm.charAt(i) == '-'))
+        i++;
+      if (i == length || !isDigit(lexicalForm.charAt(i)))
+        return false;
+      while (i < length && isDigit(lexicalForm.charAt(i)))
+        i++;
+    }
+    return i == length;
+  }
+
+  private static boolean isDigit(char c)
+  {
+    return c >= '0' && c <= '9';
+  }
+}
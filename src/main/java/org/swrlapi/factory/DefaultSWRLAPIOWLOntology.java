@@ -9,10 +9,13 @@ import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLException;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
@@ -33,8 +36,11 @@ import org.swrlapi.core.SWRLAPIOWLDataFactory;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLAPIOntologyProcessor;
 import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleImportResult;
 import org.swrlapi.core.SWRLRuleRenderer;
+import org.swrlapi.core.SWRLRuleSpecification;
 import org.swrlapi.core.resolvers.IRIResolver;
+import org.swrlapi.core.resolvers.ShortNameSymbolTable;
 import org.swrlapi.exceptions.SWRLAPIInternalException;
 import org.swrlapi.exceptions.SWRLRuleException;
 import org.swrlapi.parser.SWRLParseException;
@@ -46,39 +52,72 @@ import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class does not directly deal with SQWRL queries. Instead, a {@link org.swrlapi.core.SWRLAPIOntologyProcessor} is
  * used to extract SQWRL queries - which are stored as SWRL rules - from a {@link org.swrlapi.core.SWRLAPIOWLOntology}.
- * 
+ * <p>
+ * Changes to the ontology or to any ontology in its imports closure are tracked by listening to the ontology manager
+ * until {@link #dispose()} is called. The manager refers to this object only weakly, so an object that is no longer
+ * used stops listening once it is garbage collected even if it was not disposed. Each change batch increments an
+ * ontology version counter, which is used by {@link #hasOntologyChanged()} and by the ontology processor to avoid
+ * reprocessing an unchanged ontology.
+ * <p>
+ * Changes applied with {@link #applyChange(OWLOntologyChange)} during a bulk conversion are buffered and applied in a
+ * single {@link OWLOntologyManager#applyChanges(List)} call when the outermost bulk conversion completes. Bulk
+ * conversions may be nested.
+ * <p>
+ * The same change batches keep the {@link ShortNameSymbolTable} shared by the parser, renderer and auto-completer up to
+ * date.
  */
-class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
+class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChangeListener
 {
   private final OWLOntology ontology;
   private final DefaultPrefixManager prefixManager;
   private final IRIResolver iriResolver;
+  private final ShortNameSymbolTable shortNameSymbolTable;
   private final SWRLParser swrlParser;
   private final Set<IRI> swrlBuiltInIRIs;
   private final SWRLAPIOWLDataFactory swrlapiOWLDataFactory;
   private final SWRLAPIOntologyProcessor swrlapiOntologyProcessor;
   private final SQWRLResultValueFactory sqwrlResultValueFactory;
+  private final OWLOntologyChangeListener ontologyChangeListener; // Registered with the ontology manager
+
+  private final AtomicLong ontologyVersion; // Incremented on every change to the ontology or its imports closure
+  private volatile long ontologyChangeResetVersion; // Ontology version at last call to resetOntologyChanged()
+
+  private final List<OWLOntologyChange> bulkConversionChanges; // Changes buffered during bulk conversion
+  private int bulkConversionDepth; // Number of uncompleted calls to startBulkConversion()
 
   public DefaultSWRLAPIOWLOntology(OWLOntology ontology, DefaultPrefixManager prefixManager)
   {
     this.ontology = ontology;
     this.prefixManager = prefixManager;
     this.iriResolver = new IRIResolver(this.prefixManager);
+    this.shortNameSymbolTable = new ShortNameSymbolTable(ontology, prefixManager);
     this.swrlParser = new SWRLParser(this);
     this.swrlBuiltInIRIs = new HashSet<>();
     this.swrlapiOWLDataFactory = SWRLAPIFactory.createSWRLAPIOWLDataFactory(this);
     this.swrlapiOntologyProcessor = SWRLAPIFactory.createSWRLAPIOntologyProcessor(this);
     this.sqwrlResultValueFactory = SWRLAPIFactory.createSQWRLResultValueFactory(this);
+    this.ontologyVersion = new AtomicLong();
+    this.ontologyChangeResetVersion = -1; // Ontology has not yet been seen by a caller so is considered changed
+    this.bulkConversionChanges = new ArrayList<>();
+    this.bulkConversionDepth = 0;
+    this.ontologyChangeListener = new WeakOntologyChangeListener(this, ontology.getOWLOntologyManager());
 
     addDefaultSWRLBuiltIns();
+
+    this.ontology.getOWLOntologyManager().addOntologyChangeListener(this.ontologyChangeListener);
   }
 
   @Override
@@ -117,6 +156,38 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
     return swrlapiRule;
   }
 
+  @Override
+  public SWRLRuleImportResult createSWRLRules(Collection<SWRLRuleSpecification> ruleSpecifications)
+  {
+    List<SWRLRuleSpecification> ruleSpecificationList = new ArrayList<>(ruleSpecifications);
+    Map<Integer, SWRLParseException> parseExceptions = new TreeMap<>();
+    List<SWRLRule> owlapiRules = this.swrlParser.parseSWRLRules(ruleSpecificationList, parseExceptions);
+    List<SWRLAPIRule> swrlapiRules = new ArrayList<>();
+
+    startBulkConversion(); // The rule axioms are added in a single change batch
+    try {
+      for (int i = 0; i < owlapiRules.size(); i++) {
+        SWRLRule owlapiRule = owlapiRules.get(i);
+        if (owlapiRule != null) {
+          SWRLRuleSpecification ruleSpecification = ruleSpecificationList.get(i);
+          SWRLAPIRule swrlapiRule;
+          try {
+            swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, ruleSpecification.getRuleName(),
+                ruleSpecification.getComment(), ruleSpecification.isActive());
+          } catch (RuntimeException e) { // Reported against the rule; nothing has been registered for it
+            parseExceptions.put(i, new SWRLParseException(e.getMessage(), e));
+            continue;
+          }
+          this.swrlapiOntologyProcessor.addSWRLRule(swrlapiRule, owlapiRule); // Buffers the axiom of the rule
+          swrlapiRules.add(swrlapiRule);
+        }
+      }
+    } finally { // The batch holds the axiom of each rule registered so far, and nothing else
+      completeBulkConversion();
+    }
+    return new SWRLRuleImportResult(swrlapiRules, parseExceptions);
+  }
+
   @Override
   public SWRLParser createSWRLParser()
   {
@@ -258,28 +329,76 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
     return this.iriResolver;
   }
 
+  @Override
+  public ShortNameSymbolTable getShortNameSymbolTable()
+  {
+    return this.shortNameSymbolTable;
+  }
+
   @Override
   public void startBulkConversion()
   {
-    // TODO implement startBulkConversion
+    this.bulkConversionDepth++;
   }
 
   @Override
   public void completeBulkConversion()
   {
-    // TODO implement completeBulkConversion
+    if (this.bulkConversionDepth == 0)
+      throw new SWRLAPIInternalException("completeBulkConversion called without matching startBulkConversion");
+
+    if (--this.bulkConversionDepth == 0 && !this.bulkConversionChanges.isEmpty()) {
+      List<OWLOntologyChange> changes = new ArrayList<>(this.bulkConversionChanges);
+      this.bulkConversionChanges.clear();
+      getOWLOntologyManager().applyChanges(changes);
+    }
+  }
+
+  @Override
+  public void applyChange(OWLOntologyChange change)
+  {
+    if (this.bulkConversionDepth > 0)
+      this.bulkConversionChanges.add(change);
+    else
+      getOWLOntologyManager().applyChange(change);
   }
 
   @Override
   public boolean hasOntologyChanged()
   {
-    return true; // TODO implement hasOntologyChanged
+    return this.ontologyVersion.get() != this.ontologyChangeResetVersion;
   }
 
   @Override
   public void resetOntologyChanged()
   {
-    // TODO implement resetOntologyChanged
+    this.ontologyChangeResetVersion = this.ontologyVersion.get();
+  }
+
+  @Override
+  public long getOntologyVersion()
+  {
+    return this.ontologyVersion.get();
+  }
+
+  @Override
+  public void dispose()
+  {
+    getOWLOntologyManager().removeOntologyChangeListener(this.ontologyChangeListener);
+  }
+
+  @Override
+  public void ontologiesChanged(List<? extends OWLOntologyChange> changes) throws OWLException
+  {
+    Set<OWLOntology> importsClosure = getOWLOntology().getImportsClosure();
+
+    for (OWLOntologyChange change : changes) {
+      if (importsClosure.contains(change.getOntology())) {
+        this.ontologyVersion.incrementAndGet();
+        this.shortNameSymbolTable.update(changes, importsClosure);
+        return;
+      }
+    }
   }
 
   // void addRuleNameAnnotation(SWRLRule rule, String ruleName)
@@ -301,7 +420,10 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
   @Override
   public void addSWRLBuiltIn(IRI iri)
   {
-    this.swrlBuiltInIRIs.add(iri);
+    if (this.swrlBuiltInIRIs.add(iri)) {
+      this.shortNameSymbolTable.addSWRLBuiltIn(iri);
+      this.ontologyVersion.incrementAndGet(); // Rules using the built-in must be reprocessed
+    }
   }
 
   @Override
@@ -364,6 +486,18 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
     this.swrlapiOntologyProcessor.processOntology();
   }
 
+  @Override
+  public void setParallelProcessing(boolean parallelProcessing)
+  {
+    this.swrlapiOntologyProcessor.setParallelProcessing(parallelProcessing);
+  }
+
+  @Override
+  public boolean isParallelProcessing()
+  {
+    return this.swrlapiOntologyProcessor.isParallelProcessing();
+  }
+
   @Override
   public boolean hasAssertedOWLAxiom(OWLAxiom axiom)
   {
@@ -747,6 +881,8 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
     addSWRLBuiltIn(IRI.create(prefix, "avg"));
     addSWRLBuiltIn(IRI.create(prefix, "sum"));
     addSWRLBuiltIn(IRI.create(prefix, "median"));
+    addSWRLBuiltIn(IRI.create(prefix, "approxMedian"));
+    addSWRLBuiltIn(IRI.create(prefix, "approxCountDistinct"));
     addSWRLBuiltIn(IRI.create(prefix, "makeSet"));
     addSWRLBuiltIn(IRI.create(prefix, "makeBag"));
     addSWRLBuiltIn(IRI.create(prefix, "groupBy"));
@@ -860,4 +996,31 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
     addSWRLBuiltIn(IRI.create(prefix, "eval"));
     addSWRLBuiltIn(IRI.create(prefix, "log"));
   }
+
+  /**
+   * Forwards change batches to a listener without keeping it reachable from the ontology manager. Once the listener
+   * has been garbage collected this object removes itself from the manager on the next change batch.
+   */
+  private static class WeakOntologyChangeListener implements OWLOntologyChangeListener
+  {
+    private final WeakReference<OWLOntologyChangeListener> listener;
+    private final OWLOntologyManager manager;
+
+    public WeakOntologyChangeListener(OWLOntologyChangeListener listener, OWLOntologyManager manager)
+    {
+      this.listener = new WeakReference<>(listener);
+      this.manager = manager;
+    }
+
+    @Override
+    public void ontologiesChanged(List<? extends OWLOntologyChange> changes) throws OWLException
+    {
+      OWLOntologyChangeListener listener = this.listener.get();
+
+      if (listener == null)
+        this.manager.removeOntologyChangeListener(this);
+      else
+        listener.ontologiesChanged(changes);
+    }
+  }
 }
@@ -1,12 +1,10 @@
 package org.swrlapi.factory;
 
+import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
-import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
-import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
-import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -18,44 +16,37 @@ import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
 import org.semanticweb.owlapi.model.OWLDataPropertyRangeAxiom;
-import org.semanticweb.owlapi.model.OWLDatatypeDefinitionAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
-import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLDisjointUnionAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
 import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
 import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLLiteral;
-import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
-import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
-import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
-import org.semanticweb.owlapi.model.OWLSubAnnotationPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
-import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.OWLAxiomVisitorAdapter;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.swrlapi.core.LiteralFactory;
 import org.swrlapi.core.SWRLAPIOWLDataFactory;
@@ -71,11 +62,16 @@ import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException;
 import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
 {
@@ -92,6 +88,9 @@ class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
   private final Map<IRI, OWLDeclarationAxiom> owlDataPropertyDeclarationAxioms;
   private final Map<IRI, OWLDeclarationAxiom> owlAnnotationPropertyDeclarationAxioms;
 
+  private long processedOntologyVersion; // Ontology version at last full processing; -1 if not processed
+  private boolean parallelProcessing;
+
   public DefaultSWRLAPIOntologyProcessor(SWRLAPIOWLOntology swrlapiOWLOntology)
   {
     this.swrlapiOWLOntology = swrlapiOWLOntology;
@@ -106,6 +105,9 @@ class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
     this.owlObjectPropertyDeclarationAxioms = new HashMap<>();
     this.owlDataPropertyDeclarationAxioms = new HashMap<>();
     this.owlAnnotationPropertyDeclarationAxioms = new HashMap<>();
+
+    this.processedOntologyVersion = -1;
+    this.parallelProcessing = false;
   }
 
   @Override
@@ -123,15 +125,41 @@ class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
     this.owlObjectPropertyDeclarationAxioms.clear();
     this.owlDataPropertyDeclarationAxioms.clear();
     this.owlAnnotationPropertyDeclarationAxioms.clear();
+
+    this.processedOntologyVersion = -1;
   }
 
+  /**
+   * If neither the ontology nor the prefixes have changed since it was last processed only the SQWRL queries are
+   * regenerated (so that they have empty results); the extracted rules, axioms and recorded entities are retained.
+   */
   @Override
   public void processOntology() throws SQWRLException
   {
-    reset();
+    long ontologyVersion = getSWRLAPIOWLOntology().getOntologyVersion();
+
+    if (this.processedOntologyVersion == ontologyVersion && !getIRIResolver().havePrefixesChanged())
+      regenerateSQWRLQueries();
+    else {
+      reset();
+
+      processSWRLRulesAndSQWRLQueries();
+      processOWLAxioms();
+
+      this.processedOntologyVersion = ontologyVersion;
+    }
+  }
+
+  @Override
+  public void setParallelProcessing(boolean parallelProcessing)
+  {
+    this.parallelProcessing = parallelProcessing;
+  }
 
-    processSWRLRulesAndSQWRLQueries();
-    processOWLAxioms();
+  @Override
+  public boolean isParallelProcessing()
+  {
+    return this.parallelProcessing;
   }
 
   @Override
@@ -177,7 +205,7 @@ class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
 
     this.swrlRules.put(ruleName, swrlapiRule);
 
-    this.swrlapiOWLOntology.getOWLOntologyManager().addAxiom(this.swrlapiOWLOntology.getOWLOntology(), owlapiRule);
+    this.swrlapiOWLOntology.applyChange(new AddAxiom(this.swrlapiOWLOntology.getOWLOntology(), owlapiRule));
   }
 
   @Override
@@ -353,344 +381,123 @@ class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
   }
 
   /**
-   * Process currently supported OWL axioms. The processing consists of recording any OWL properties in the processed
+   * Process currently supported OWL axioms. The processing consists of recording any OWL entities in the processed
    * axioms (with an instance of the {@link org.swrlapi.core.resolvers.IRIResolver} class) and generating declaration
-   * axioms for these properties.
+   * axioms for these entities.
+   * <p>
+   * The axioms of each ontology in the imports closure are walked once by an {@link OWLAxiomExtractor}. Declaration
+   * axioms for referenced but undeclared entities are generated after the walk so that asserted declarations always
+   * take precedence, irrespective of the order in which axioms are visited.
    * <p>
-   * TODO The current approach is clunky. A better approach would be to walk the axioms with a visitor and record the
-   * properties and generate the declaration axioms.
+   * In parallel mode each ontology is walked by its own extractor on a fork/join pool. The per-ontology extractors are
+   * combined in imports closure order, which is the order the serial walk visits them in, so both modes produce
+   * identical results.
    */
   private void processOWLAxioms()
   {
-    processOWLClassDeclarationAxioms();
-    processOWLIndividualDeclarationAxioms();
-    processOWLObjectPropertyDeclarationAxioms();
-    processOWLDataPropertyDeclarationAxioms();
-    processOWLAnnotationPropertyDeclarationAxioms();
-    processOWLClassAssertionAxioms();
-    processOWLObjectPropertyAssertionAxioms();
-    processOWLDataPropertyAssertionAxioms();
-    processOWLSameIndividualAxioms();
-    processOWLDifferentIndividualsAxioms();
-    processOWLSubClassOfAxioms();
-    processOWLEquivalentClassesAxioms();
-    processOWLSubObjectPropertyOfAxioms();
-    processOWLSubDataPropertyOfAxioms();
-    processOWLEquivalentDataPropertiesAxioms();
-    processOWLEquivalentObjectPropertiesAxioms();
-    processOWLTransitiveObjectPropertyAxioms();
-    processOWLSymmetricObjectPropertyAxioms();
-    processOWLFunctionalObjectPropertyAxioms();
-    processOWLInverseFunctionalObjectPropertyAxioms();
-    processOWLFunctionalDataPropertyAxioms();
-    processOWLObjectPropertyDomainAxioms();
-    processOWLDataPropertyDomainAxioms();
-    processOWLObjectPropertyRangeAxioms();
-    processOWLDataPropertyRangeAxioms();
-    processOWLInverseObjectPropertiesAxioms();
-    processOWLIrreflexiveObjectPropertyAxioms();
-    processOWLAsymmetricObjectPropertyAxioms();
-    processOWLDisjointObjectPropertiesAxioms();
-    processOWLDisjointDataPropertiesAxioms();
-  }
-
-  private void processSWRLRulesAndSQWRLQueries() throws SQWRLException
-  {
-    for (SWRLAPIRule ruleOrQuery : getSWRLAPIOWLOntology().getSWRLRules())
-      processSWRLRuleOrSQWRLQuery(ruleOrQuery);
-  }
-
-  private void processSWRLRuleOrSQWRLQuery(SWRLAPIRule ruleOrQuery) throws SQWRLException
-  {
-    if (ruleOrQuery.isSQWRLQuery()) {
-      createSWRLQueryFromSWRLRule(ruleOrQuery);
-      this.swrlRules.put(ruleOrQuery.getRuleName(), ruleOrQuery);
-    } else {
-      this.swrlRules.put(ruleOrQuery.getRuleName(), ruleOrQuery);
-      this.assertedOWLAxioms.add(ruleOrQuery); // A SWRL rule is a type of OWL axiom; a SQWRL query is not.
-    }
-  }
-
-  private void processOWLClassAssertionAxioms()
-  {
-    for (OWLClassAssertionAxiom axiom : getOWLClassAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getIndividual());
-      this.assertedOWLAxioms.add(axiom);
-    }
-  }
-
-  private void processOWLObjectPropertyAssertionAxioms()
-  {
-    for (OWLObjectPropertyAssertionAxiom axiom : getOWLObjectPropertyAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getObject());
-      this.assertedOWLAxioms.add(axiom);
-    }
-  }
-
-  private void processOWLDataPropertyAssertionAxioms()
-  {
-    for (OWLDataPropertyAssertionAxiom axiom : getOWLDataPropertyAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
-      this.assertedOWLAxioms.add(axiom);
-    }
-  }
-
-  private void processOWLClassDeclarationAxioms()
-  {
-    for (OWLDeclarationAxiom axiom : getOWLClassDeclarationAxioms()) {
-      OWLEntity cls = axiom.getEntity();
-      this.owlClassDeclarationAxioms.put(cls.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-      recordOWLClass(cls);
-    }
-  }
-
-  private void processOWLIndividualDeclarationAxioms()
-  {
-    for (OWLDeclarationAxiom axiom : getOWLIndividualDeclarationAxioms()) {
-      OWLEntity individual = axiom.getEntity();
-      this.owlIndividualDeclarationAxioms.put(individual.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-      recordOWLNamedIndividual(individual);
-    }
-  }
+    Set<OWLOntology> ontologies = getOWLOntology().getImportsClosure();
+    OWLAxiomExtractor extractor;
 
-  private void processOWLObjectPropertyDeclarationAxioms()
-  {
-    for (OWLDeclarationAxiom axiom : getOWLObjectPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-      this.owlObjectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-      recordOWLObjectProperty(property);
+    if (this.parallelProcessing && ontologies.size() > 1)
+      extractor = extractOWLAxiomsInParallel(ontologies);
+    else {
+      extractor = new OWLAxiomExtractor();
+      for (OWLOntology ontology : ontologies)
+        extractor.extract(ontology);
     }
-  }
 
-  private void processOWLDataPropertyDeclarationAxioms()
-  {
-    for (OWLDeclarationAxiom axiom : getOWLDataPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-
-      this.owlDataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-      recordOWLDataProperty(property);
-    }
+    mergeExtractedOWLAxioms(extractor);
+    generateOWLDeclarationAxioms(extractor);
   }
 
-  private void processOWLAnnotationPropertyDeclarationAxioms()
+  private OWLAxiomExtractor extractOWLAxiomsInParallel(Set<OWLOntology> ontologies)
   {
-    for (OWLDeclarationAxiom axiom : getOWLAnnotationPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-
-      this.owlAnnotationPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-      recordOWLAnnotationProperty(property);
-    }
-  }
+    List<ForkJoinTask<OWLAxiomExtractor>> tasks = new ArrayList<>();
 
-  private void processOWLSameIndividualAxioms()
-  {
-    Set<OWLSameIndividualAxiom> axioms = getOWLSameIndividualAxioms();
-    for (OWLSameIndividualAxiom axiom : axioms) {
-      for (OWLIndividual individual : axiom.getIndividuals())
-        generateOWLIndividualDeclarationAxiomIfNecessary(individual);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    for (OWLOntology ontology : ontologies)
+      tasks.add(ForkJoinPool.commonPool().submit(() -> {
+        OWLAxiomExtractor ontologyExtractor = new OWLAxiomExtractor();
+        ontologyExtractor.extract(ontology);
+        return ontologyExtractor;
+      }));
 
-  private void processOWLDifferentIndividualsAxioms()
-  {
-    Set<OWLDifferentIndividualsAxiom> axioms = getOWLDifferentIndividualsAxioms();
-    for (OWLDifferentIndividualsAxiom axiom : axioms) {
-      for (OWLIndividual individual : axiom.getIndividuals())
-        generateOWLIndividualDeclarationAxiomIfNecessary(individual);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    OWLAxiomExtractor extractor = new OWLAxiomExtractor();
+    for (ForkJoinTask<OWLAxiomExtractor> task : tasks)
+      extractor.addAll(task.join());
 
-  private void processOWLSubClassOfAxioms()
-  {
-    Set<OWLSubClassOfAxiom> axioms = getOWLSubClassOfAxioms();
-    for (OWLSubClassOfAxiom axiom : axioms) {
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getSubClass());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getSuperClass());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    return extractor;
   }
 
-  private void processOWLEquivalentClassesAxioms()
+  private void mergeExtractedOWLAxioms(OWLAxiomExtractor extractor)
   {
-    Set<OWLEquivalentClassesAxiom> axioms = getOWLEquivalentClassesAxioms();
-    for (OWLEquivalentClassesAxiom axiom : axioms) {
-      for (OWLClass cls : axiom.getNamedClasses())
-        generateOWLClassDeclarationAxiom(cls);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    this.assertedOWLAxioms.addAll(extractor.getOWLAxioms());
 
-  private void processOWLSubObjectPropertyOfAxioms()
-  {
-    Set<OWLSubObjectPropertyOfAxiom> axioms = getOWLSubObjectPropertyOfAxioms();
-    for (OWLSubObjectPropertyOfAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
+    for (OWLDeclarationAxiom axiom : extractor.getOWLClassDeclarationAxioms()) {
+      this.owlClassDeclarationAxioms.put(axiom.getEntity().getIRI(), axiom);
+      recordOWLClass(axiom.getEntity());
     }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
 
-  private void processOWLSubDataPropertyOfAxioms()
-  {
-    Set<OWLSubDataPropertyOfAxiom> axioms = getOWLSubDataPropertyOfAxioms();
-    for (OWLSubDataPropertyOfAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
+    for (OWLDeclarationAxiom axiom : extractor.getOWLIndividualDeclarationAxioms()) {
+      this.owlIndividualDeclarationAxioms.put(axiom.getEntity().getIRI(), axiom);
+      recordOWLNamedIndividual(axiom.getEntity());
     }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLTransitiveObjectPropertyAxioms()
-  {
-    Set<OWLTransitiveObjectPropertyAxiom> axioms = getOWLTransitiveObjectPropertyAxioms();
-    for (OWLTransitiveObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLSymmetricObjectPropertyAxioms()
-  {
-    Set<OWLSymmetricObjectPropertyAxiom> axioms = getOWLSymmetricObjectPropertyAxioms();
-    for (OWLSymmetricObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLFunctionalObjectPropertyAxioms()
-  {
-    Set<OWLFunctionalObjectPropertyAxiom> axioms = getOWLFunctionalObjectPropertyAxioms();
-    for (OWLFunctionalObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLInverseFunctionalObjectPropertyAxioms()
-  {
-    Set<OWLInverseFunctionalObjectPropertyAxiom> axioms = getOWLInverseFunctionalObjectPropertyAxioms();
-    for (OWLInverseFunctionalObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLFunctionalDataPropertyAxioms()
-  {
-    Set<OWLFunctionalDataPropertyAxiom> axioms = getOWLFunctionalDataPropertyAxioms();
-    for (OWLFunctionalDataPropertyAxiom axiom : axioms)
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
 
-  private void processOWLObjectPropertyDomainAxioms()
-  {
-    Set<OWLObjectPropertyDomainAxiom> axioms = getOWLObjectPropertyDomainAxioms();
-    for (OWLObjectPropertyDomainAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
+    for (OWLDeclarationAxiom axiom : extractor.getOWLObjectPropertyDeclarationAxioms()) {
+      this.owlObjectPropertyDeclarationAxioms.put(axiom.getEntity().getIRI(), axiom);
+      recordOWLObjectProperty(axiom.getEntity());
     }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
 
-  private void processOWLDataPropertyDomainAxioms()
-  {
-    Set<OWLDataPropertyDomainAxiom> axioms = getOWLDataPropertyDomainAxioms();
-    for (OWLDataPropertyDomainAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
+    for (OWLDeclarationAxiom axiom : extractor.getOWLDataPropertyDeclarationAxioms()) {
+      this.owlDataPropertyDeclarationAxioms.put(axiom.getEntity().getIRI(), axiom);
+      recordOWLDataProperty(axiom.getEntity());
     }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
 
-  private void processOWLObjectPropertyRangeAxioms()
-  {
-    Set<OWLObjectPropertyRangeAxiom> axioms = getOWLObjectPropertyRangeAxioms();
-    for (OWLObjectPropertyRangeAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getRange());
+    for (OWLDeclarationAxiom axiom : extractor.getOWLAnnotationPropertyDeclarationAxioms()) {
+      this.owlAnnotationPropertyDeclarationAxioms.put(axiom.getEntity().getIRI(), axiom);
+      recordOWLAnnotationProperty(axiom.getEntity());
     }
-    this.assertedOWLAxioms.addAll(axioms);
   }
 
-  private void processOWLDataPropertyRangeAxioms()
+  private void generateOWLDeclarationAxioms(OWLAxiomExtractor extractor)
   {
-    Set<OWLDataPropertyRangeAxiom> axioms = getOWLDataPropertyRangeAxioms();
-    for (OWLDataPropertyRangeAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    for (OWLClass cls : extractor.getReferencedOWLClasses())
+      generateOWLClassDeclarationAxiom(cls);
 
-  private void processOWLIrreflexiveObjectPropertyAxioms()
-  {
-    Set<OWLIrreflexiveObjectPropertyAxiom> axioms = getOWLIrreflexiveObjectPropertyAxioms();
-    for (OWLIrreflexiveObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    for (OWLNamedIndividual individual : extractor.getReferencedOWLNamedIndividuals())
+      generateOWLIndividualDeclarationAxiom(individual);
 
-  private void processOWLAsymmetricObjectPropertyAxioms()
-  {
-    Set<OWLAsymmetricObjectPropertyAxiom> axioms = getOWLAsymmetricObjectPropertyAxioms();
-    for (OWLAsymmetricObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    for (OWLObjectProperty property : extractor.getReferencedOWLObjectProperties())
+      generateOWLObjectPropertyDeclarationAxiom(property);
 
-  private void processOWLEquivalentObjectPropertiesAxioms()
-  {
-    Set<OWLEquivalentObjectPropertiesAxiom> axioms = getOWLEquivalentObjectPropertiesAxioms();
-    for (OWLEquivalentObjectPropertiesAxiom axiom : axioms) {
-      for (OWLObjectPropertyExpression property : axiom.getProperties())
-        generateOWLObjectPropertyDeclarationAxiomIfNecessary(property);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    for (OWLDataProperty property : extractor.getReferencedOWLDataProperties())
+      generateOWLDataPropertyDeclarationAxiom(property);
   }
 
-  private void processOWLEquivalentDataPropertiesAxioms()
+  private void processSWRLRulesAndSQWRLQueries() throws SQWRLException
   {
-    Set<OWLEquivalentDataPropertiesAxiom> axioms = getOWLEquivalentDataPropertiesAxioms();
-    for (OWLEquivalentDataPropertiesAxiom axiom : axioms) {
-      for (OWLDataPropertyExpression property : axiom.getProperties())
-        generateOWLDataPropertyDeclarationAxiomIfNecessary(property);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    for (SWRLAPIRule ruleOrQuery : getSWRLAPIOWLOntology().getSWRLRules())
+      processSWRLRuleOrSQWRLQuery(ruleOrQuery);
   }
 
-  private void processOWLInverseObjectPropertiesAxioms()
+  private void regenerateSQWRLQueries() throws SQWRLException
   {
-    Set<OWLInverseObjectPropertiesAxiom> axioms = getOWLInverseObjectPropertiesAxioms();
-    for (OWLInverseObjectPropertiesAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getFirstProperty());
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSecondProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    this.sqwrlQueries.clear();
 
-  private void processOWLDisjointObjectPropertiesAxioms()
-  {
-    Set<OWLDisjointObjectPropertiesAxiom> axioms = getOWLDisjointObjectPropertiesAxioms();
-    for (OWLDisjointObjectPropertiesAxiom axiom : axioms) {
-      for (OWLObjectPropertyExpression property : axiom.getProperties())
-        generateOWLObjectPropertyDeclarationAxiomIfNecessary(property);
+    for (SWRLAPIRule ruleOrQuery : this.swrlRules.values()) {
+      if (ruleOrQuery.isSQWRLQuery())
+        createSWRLQueryFromSWRLRule(ruleOrQuery);
     }
-    this.assertedOWLAxioms.addAll(axioms);
   }
 
-  private void processOWLDisjointDataPropertiesAxioms()
+  private void processSWRLRuleOrSQWRLQuery(SWRLAPIRule ruleOrQuery) throws SQWRLException
   {
-    Set<OWLDisjointDataPropertiesAxiom> axioms = getOWLDisjointDataPropertiesAxioms();
-    for (OWLDisjointDataPropertiesAxiom axiom : axioms) {
-      for (OWLDataPropertyExpression property : axiom.getProperties())
-        generateOWLDataPropertyDeclarationAxiomIfNecessary(property);
+    if (ruleOrQuery.isSQWRLQuery()) {
+      createSWRLQueryFromSWRLRule(ruleOrQuery);
+      this.swrlRules.put(ruleOrQuery.getRuleName(), ruleOrQuery);
+    } else {
+      this.swrlRules.put(ruleOrQuery.getRuleName(), ruleOrQuery);
+      this.assertedOWLAxioms.add(ruleOrQuery); // A SWRL rule is a type of OWL axiom; a SQWRL query is not.
     }
-    this.assertedOWLAxioms.addAll(axioms);
   }
 
   private void generateOWLClassDeclarationAxiom(OWLClass cls)
@@ -703,374 +510,421 @@ class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
     }
   }
 
-  private void generateOWLClassDeclarationAxiomIfNecessary(OWLClassExpression classExpression)
+  private void generateOWLIndividualDeclarationAxiom(OWLNamedIndividual individual)
   {
-    if (classExpression instanceof OWLClass) {
-      OWLClass cls = (OWLClass)classExpression;
-      generateOWLClassDeclarationAxiom(cls);
-    }
-  }
-
-  private void generateOWLIndividualDeclarationAxiomIfNecessary(OWLIndividual individual)
-  {
-    if (individual.isNamed()
-        && !this.owlIndividualDeclarationAxioms.containsKey(individual.asOWLNamedIndividual().getIRI())) {
-      OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLIndividualDeclarationAxiom(
-          individual.asOWLNamedIndividual());
-      this.owlIndividualDeclarationAxioms.put(individual.asOWLNamedIndividual().getIRI(), axiom);
+    if (!this.owlIndividualDeclarationAxioms.containsKey(individual.getIRI())) {
+      OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLIndividualDeclarationAxiom(individual);
+      this.owlIndividualDeclarationAxioms.put(individual.getIRI(), axiom);
       this.assertedOWLAxioms.add(axiom);
-      recordOWLNamedIndividual(individual.asOWLNamedIndividual());
+      recordOWLNamedIndividual(individual);
     }
   }
 
-  private void generateOWLObjectPropertyDeclarationAxiomIfNecessary(OWLObjectPropertyExpression propertyExpression)
+  private void generateOWLObjectPropertyDeclarationAxiom(OWLObjectProperty property)
   {
-    if (propertyExpression instanceof OWLObjectProperty) {
-      OWLObjectProperty property = (OWLObjectProperty)propertyExpression;
-      if (!this.owlObjectPropertyDeclarationAxioms.containsKey(property.getIRI())) {
-        OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLObjectPropertyDeclarationAxiom(property);
-        this.owlObjectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-        this.assertedOWLAxioms.add(axiom);
-        recordOWLObjectProperty(property);
-      }
+    if (!this.owlObjectPropertyDeclarationAxioms.containsKey(property.getIRI())) {
+      OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLObjectPropertyDeclarationAxiom(property);
+      this.owlObjectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
+      this.assertedOWLAxioms.add(axiom);
+      recordOWLObjectProperty(property);
     }
   }
 
-  private void generateOWLDataPropertyDeclarationAxiomIfNecessary(OWLDataPropertyExpression propertyExpression)
+  private void generateOWLDataPropertyDeclarationAxiom(OWLDataProperty property)
   {
-    if (propertyExpression instanceof OWLDataProperty) {
-      OWLDataProperty property = (OWLDataProperty)propertyExpression;
-      if (!this.owlDataPropertyDeclarationAxioms.containsKey(property.getIRI())) {
-        OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLDataPropertyDeclarationAxiom(property);
-        this.owlDataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-        this.assertedOWLAxioms.add(axiom);
-        recordOWLDataProperty(property);
-      }
+    if (!this.owlDataPropertyDeclarationAxioms.containsKey(property.getIRI())) {
+      OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLDataPropertyDeclarationAxiom(property);
+      this.owlDataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
+      this.assertedOWLAxioms.add(axiom);
+      recordOWLDataProperty(property);
     }
   }
 
-  private Set<OWLSameIndividualAxiom> getOWLSameIndividualAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SAME_INDIVIDUAL, Imports.INCLUDED);
-  }
-
-  private Set<OWLDifferentIndividualsAxiom> getOWLDifferentIndividualsAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DIFFERENT_INDIVIDUALS, Imports.INCLUDED);
-  }
-
-  private Set<OWLSubObjectPropertyOfAxiom> getOWLSubObjectPropertyOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUB_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
-
-  private Set<OWLSubDataPropertyOfAxiom> getOWLSubDataPropertyOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUB_DATA_PROPERTY, Imports.INCLUDED);
-  }
-
-  private Set<OWLEquivalentClassesAxiom> getOWLEquivalentClassesAxioms()
+  private void recordOWLClass(OWLEntity cls)
   {
-    return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_CLASSES, Imports.INCLUDED);
+    getIRIResolver().recordOWLClass(cls);
   }
 
-  private Set<OWLClassAssertionAxiom> getOWLClassAssertionAxioms()
+  private void recordOWLNamedIndividual(OWLEntity individual)
   {
-    return getOWLOntology().getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED);
+    getIRIResolver().recordOWLNamedIndividual(individual);
   }
 
-  private Set<OWLObjectPropertyAssertionAxiom> getOWLObjectPropertyAssertionAxioms()
+  private void recordOWLObjectProperty(OWLEntity property)
   {
-    return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
+    getIRIResolver().recordOWLObjectProperty(property);
   }
 
-  private Set<OWLDataPropertyAssertionAxiom> getOWLDataPropertyAssertionAxioms()
+  private void recordOWLDataProperty(OWLEntity property)
   {
-    return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
+    getIRIResolver().recordOWLDataProperty(property);
   }
 
-  private Set<OWLSubClassOfAxiom> getOWLSubClassOfAxioms()
+  private void recordOWLAnnotationProperty(OWLEntity property)
   {
-    return getOWLOntology().getAxioms(AxiomType.SUBCLASS_OF, Imports.INCLUDED);
+    getIRIResolver().recordOWLAnnotationProperty(property);
   }
 
-  @SuppressWarnings("unused")
-  private Set<OWLDisjointClassesAxiom> getOWLDisjointClassesAxioms()
+  private OWLOntology getOWLOntology()
   {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_CLASSES, Imports.INCLUDED);
+    return getSWRLAPIOWLOntology().getOWLOntology();
   }
 
-  private Set<OWLEquivalentDataPropertiesAxiom> getOWLEquivalentDataPropertiesAxioms()
+  private IRIResolver getIRIResolver()
   {
-    return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_DATA_PROPERTIES, Imports.INCLUDED);
+    return getSWRLAPIOWLOntology().getIRIResolver();
   }
 
-  private Set<OWLEquivalentObjectPropertiesAxiom> getOWLEquivalentObjectPropertiesAxioms()
+  private SWRLAPIOWLOntology getSWRLAPIOWLOntology()
   {
-    return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_OBJECT_PROPERTIES, Imports.INCLUDED);
+    return this.swrlapiOWLOntology;
   }
 
-  private Set<OWLDisjointDataPropertiesAxiom> getOWLDisjointDataPropertiesAxioms()
+  private SWRLAPIOWLDataFactory getSWRLAPIOWLDataFactory()
   {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_DATA_PROPERTIES, Imports.INCLUDED);
+    return getSWRLAPIOWLOntology().getSWRLAPIOWLDataFactory();
   }
 
-  private Set<OWLDisjointObjectPropertiesAxiom> getOWLDisjointObjectPropertiesAxioms()
+  private OWLDataFactory getOWLDataFactory()
   {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_OBJECT_PROPERTIES, Imports.INCLUDED);
+    return getSWRLAPIOWLOntology().getOWLDataFactory();
   }
 
-  private Set<OWLObjectPropertyDomainAxiom> getOWLObjectPropertyDomainAxioms()
+  private LiteralFactory getLiteralFactory()
   {
-    return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_DOMAIN, Imports.INCLUDED);
+    return getSWRLAPIOWLDataFactory().getLiteralFactory();
   }
 
-  private Set<OWLDataPropertyDomainAxiom> getOWLDataPropertyDomainAxioms()
+  private SQWRLResultValueFactory getSQWRLResultValueFactory()
   {
-    return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_DOMAIN, Imports.INCLUDED);
+    return getSWRLAPIOWLDataFactory().getSQWRLResultValueFactory();
   }
 
-  private Set<OWLObjectPropertyRangeAxiom> getOWLObjectPropertyRangeAxioms()
+  /**
+   * Walks the axioms of an ontology in a single pass, collecting the currently supported axioms, the declaration
+   * axioms for classes, individuals and properties, and the entities referenced by the collected axioms. Entities are
+   * not recorded and declaration axioms are not generated here; that is left to the processor, which merges the
+   * extracted information.
+   */
+  private static class OWLAxiomExtractor extends OWLAxiomVisitorAdapter
   {
-    return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_RANGE, Imports.INCLUDED);
-  }
+    private final Set<OWLAxiom> owlAxioms = new HashSet<>();
+    private final List<OWLDeclarationAxiom> owlClassDeclarationAxioms = new ArrayList<>();
+    private final List<OWLDeclarationAxiom> owlIndividualDeclarationAxioms = new ArrayList<>();
+    private final List<OWLDeclarationAxiom> owlObjectPropertyDeclarationAxioms = new ArrayList<>();
+    private final List<OWLDeclarationAxiom> owlDataPropertyDeclarationAxioms = new ArrayList<>();
+    private final List<OWLDeclarationAxiom> owlAnnotationPropertyDeclarationAxioms = new ArrayList<>();
+    private final Set<OWLClass> referencedOWLClasses = new LinkedHashSet<>();
+    private final Set<OWLNamedIndividual> referencedOWLNamedIndividuals = new LinkedHashSet<>();
+    private final Set<OWLObjectProperty> referencedOWLObjectProperties = new LinkedHashSet<>();
+    private final Set<OWLDataProperty> referencedOWLDataProperties = new LinkedHashSet<>();
 
-  private Set<OWLDataPropertyRangeAxiom> getOWLDataPropertyRangeAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_RANGE, Imports.INCLUDED);
-  }
+    public void extract(OWLOntology ontology)
+    {
+      for (OWLAxiom axiom : ontology.getAxioms())
+        axiom.accept(this);
+    }
 
-  private Set<OWLFunctionalObjectPropertyAxiom> getOWLFunctionalObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    /**
+     * Add the information collected by another extractor to this one, as if its ontologies had been walked after those
+     * already walked by this extractor.
+     */
+    public void addAll(OWLAxiomExtractor extractor)
+    {
+      this.owlAxioms.addAll(extractor.owlAxioms);
+      this.owlClassDeclarationAxioms.addAll(extractor.owlClassDeclarationAxioms);
+      this.owlIndividualDeclarationAxioms.addAll(extractor.owlIndividualDeclarationAxioms);
+      this.owlObjectPropertyDeclarationAxioms.addAll(extractor.owlObjectPropertyDeclarationAxioms);
+      this.owlDataPropertyDeclarationAxioms.addAll(extractor.owlDataPropertyDeclarationAxioms);
+      this.owlAnnotationPropertyDeclarationAxioms.addAll(extractor.owlAnnotationPropertyDeclarationAxioms);
+      this.referencedOWLClasses.addAll(extractor.referencedOWLClasses);
+      this.referencedOWLNamedIndividuals.addAll(extractor.referencedOWLNamedIndividuals);
+      this.referencedOWLObjectProperties.addAll(extractor.referencedOWLObjectProperties);
+      this.referencedOWLDataProperties.addAll(extractor.referencedOWLDataProperties);
+    }
 
-  private Set<OWLFunctionalDataPropertyAxiom> getOWLFunctionalDataPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.FUNCTIONAL_DATA_PROPERTY, Imports.INCLUDED);
-  }
+    public Set<OWLAxiom> getOWLAxioms()
+    {
+      return this.owlAxioms;
+    }
 
-  private Set<OWLIrreflexiveObjectPropertyAxiom> getOWLIrreflexiveObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    public List<OWLDeclarationAxiom> getOWLClassDeclarationAxioms()
+    {
+      return this.owlClassDeclarationAxioms;
+    }
 
-  private Set<OWLInverseFunctionalObjectPropertyAxiom> getOWLInverseFunctionalObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    public List<OWLDeclarationAxiom> getOWLIndividualDeclarationAxioms()
+    {
+      return this.owlIndividualDeclarationAxioms;
+    }
 
-  private Set<OWLTransitiveObjectPropertyAxiom> getOWLTransitiveObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.TRANSITIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    public List<OWLDeclarationAxiom> getOWLObjectPropertyDeclarationAxioms()
+    {
+      return this.owlObjectPropertyDeclarationAxioms;
+    }
 
-  private Set<OWLSymmetricObjectPropertyAxiom> getOWLSymmetricObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    public List<OWLDeclarationAxiom> getOWLDataPropertyDeclarationAxioms()
+    {
+      return this.owlDataPropertyDeclarationAxioms;
+    }
 
-  private Set<OWLAsymmetricObjectPropertyAxiom> getOWLAsymmetricObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.ASYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    public List<OWLDeclarationAxiom> getOWLAnnotationPropertyDeclarationAxioms()
+    {
+      return this.owlAnnotationPropertyDeclarationAxioms;
+    }
 
-  private Set<OWLInverseObjectPropertiesAxiom> getOWLInverseObjectPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.INVERSE_OBJECT_PROPERTIES, Imports.INCLUDED);
-  }
+    public Set<OWLClass> getReferencedOWLClasses()
+    {
+      return this.referencedOWLClasses;
+    }
 
-  @SuppressWarnings("unused")
-  private Set<OWLNegativeDataPropertyAssertionAxiom> getOWLNegativeDataPropertyAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
-  }
+    public Set<OWLNamedIndividual> getReferencedOWLNamedIndividuals()
+    {
+      return this.referencedOWLNamedIndividuals;
+    }
 
-  @SuppressWarnings("unused")
-  private Set<OWLNegativeObjectPropertyAssertionAxiom> getOWLNegativeObjectPropertyAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
-  }
+    public Set<OWLObjectProperty> getReferencedOWLObjectProperties()
+    {
+      return this.referencedOWLObjectProperties;
+    }
 
-  @SuppressWarnings("unused")
-  private Set<OWLReflexiveObjectPropertyAxiom> getOWLReflexiveObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.REFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    public Set<OWLDataProperty> getReferencedOWLDataProperties()
+    {
+      return this.referencedOWLDataProperties;
+    }
 
-  @SuppressWarnings("unused")
-  private Set<OWLDisjointUnionAxiom> getOWLDisjointUnionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_UNION, Imports.INCLUDED);
-  }
+    @Override
+    public void visit(OWLDeclarationAxiom axiom)
+    {
+      OWLEntity entity = axiom.getEntity();
 
-  @SuppressWarnings("unused")
-  private Set<OWLAnnotationAssertionAxiom> getOWLAnnotationAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.ANNOTATION_ASSERTION, Imports.INCLUDED);
-  }
+      if (entity.isOWLClass())
+        this.owlClassDeclarationAxioms.add(axiom);
+      else if (entity.isOWLNamedIndividual())
+        this.owlIndividualDeclarationAxioms.add(axiom);
+      else if (entity.isOWLObjectProperty())
+        this.owlObjectPropertyDeclarationAxioms.add(axiom);
+      else if (entity.isOWLDataProperty())
+        this.owlDataPropertyDeclarationAxioms.add(axiom);
+      else if (entity.isOWLAnnotationProperty())
+        this.owlAnnotationPropertyDeclarationAxioms.add(axiom);
+      else
+        return; // Datatype declarations are not currently processed
 
-  @SuppressWarnings("unused")
-  private Set<OWLSubPropertyChainOfAxiom> getOWLSubPropertyChainOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUB_PROPERTY_CHAIN_OF, Imports.INCLUDED);
-  }
+      this.owlAxioms.add(axiom);
+    }
 
-  @SuppressWarnings("unused")
-  private Set<OWLHasKeyAxiom> getOWLHasKeyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.HAS_KEY, Imports.INCLUDED);
-  }
+    @Override
+    public void visit(OWLClassAssertionAxiom axiom)
+    {
+      referenceIndividual(axiom.getIndividual());
+      this.owlAxioms.add(axiom);
+    }
 
-  @SuppressWarnings("unused")
-  private Set<OWLDatatypeDefinitionAxiom> getOWLDatatypeDefinitionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DATATYPE_DEFINITION, Imports.INCLUDED);
-  }
+    @Override
+    public void visit(OWLObjectPropertyAssertionAxiom axiom)
+    {
+      referenceIndividual(axiom.getSubject());
+      referenceIndividual(axiom.getObject());
+      this.owlAxioms.add(axiom);
+    }
 
-  @SuppressWarnings("unused")
-  private Set<OWLAnnotationPropertyRangeAxiom> getOWLAnnotationPropertyRangeAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.ANNOTATION_PROPERTY_RANGE, Imports.INCLUDED);
-  }
+    @Override
+    public void visit(OWLDataPropertyAssertionAxiom axiom)
+    {
+      referenceIndividual(axiom.getSubject());
+      this.owlAxioms.add(axiom);
+    }
 
-  @SuppressWarnings("unused")
-  private Set<OWLAnnotationPropertyDomainAxiom> getOWLAnnotationPropertyDomainAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.ANNOTATION_PROPERTY_DOMAIN, Imports.INCLUDED);
-  }
+    @Override
+    public void visit(OWLSameIndividualAxiom axiom)
+    {
+      for (OWLIndividual individual : axiom.getIndividuals())
+        referenceIndividual(individual);
+      this.owlAxioms.add(axiom);
+    }
 
-  @SuppressWarnings("unused")
-  private Set<OWLSubAnnotationPropertyOfAxiom> getOWLSubAnnotationPropertyOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUB_ANNOTATION_PROPERTY_OF, Imports.INCLUDED);
-  }
+    @Override
+    public void visit(OWLDifferentIndividualsAxiom axiom)
+    {
+      for (OWLIndividual individual : axiom.getIndividuals())
+        referenceIndividual(individual);
+      this.owlAxioms.add(axiom);
+    }
 
-  private Set<OWLDeclarationAxiom> getOWLClassDeclarationAxioms()
-  {
-    Set<OWLDeclarationAxiom> owlClassDeclarationAxioms = new HashSet<>();
+    @Override
+    public void visit(OWLSubClassOfAxiom axiom)
+    {
+      referenceClass(axiom.getSubClass());
+      referenceClass(axiom.getSuperClass());
+      this.owlAxioms.add(axiom);
+    }
 
-    for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-      if (owlDeclarationAxiom.getEntity().isOWLClass())
-        owlClassDeclarationAxioms.add(owlDeclarationAxiom);
+    @Override
+    public void visit(OWLEquivalentClassesAxiom axiom)
+    {
+      this.referencedOWLClasses.addAll(axiom.getNamedClasses());
+      this.owlAxioms.add(axiom);
     }
-    return owlClassDeclarationAxioms;
-  }
 
-  private Set<OWLDeclarationAxiom> getOWLIndividualDeclarationAxioms()
-  {
-    Set<OWLDeclarationAxiom> owlIndividualDeclarationAxioms = new HashSet<>();
+    @Override
+    public void visit(OWLSubObjectPropertyOfAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getSubProperty());
+      referenceObjectProperty(axiom.getSuperProperty());
+      this.owlAxioms.add(axiom);
+    }
 
-    for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-      if (owlDeclarationAxiom.getEntity().isOWLNamedIndividual())
-        owlIndividualDeclarationAxioms.add(owlDeclarationAxiom);
+    @Override
+    public void visit(OWLSubDataPropertyOfAxiom axiom)
+    {
+      referenceDataProperty(axiom.getSubProperty());
+      referenceDataProperty(axiom.getSuperProperty());
+      this.owlAxioms.add(axiom);
     }
-    return owlIndividualDeclarationAxioms;
-  }
 
-  private Set<OWLDeclarationAxiom> getOWLObjectPropertyDeclarationAxioms()
-  {
-    Set<OWLDeclarationAxiom> owlObjectPropertyDeclarationAxioms = new HashSet<>();
+    @Override
+    public void visit(OWLEquivalentObjectPropertiesAxiom axiom)
+    {
+      for (OWLObjectPropertyExpression property : axiom.getProperties())
+        referenceObjectProperty(property);
+      this.owlAxioms.add(axiom);
+    }
 
-    for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-      if (owlDeclarationAxiom.getEntity().isOWLObjectProperty())
-        owlObjectPropertyDeclarationAxioms.add(owlDeclarationAxiom);
+    @Override
+    public void visit(OWLEquivalentDataPropertiesAxiom axiom)
+    {
+      for (OWLDataPropertyExpression property : axiom.getProperties())
+        referenceDataProperty(property);
+      this.owlAxioms.add(axiom);
     }
-    return owlObjectPropertyDeclarationAxioms;
-  }
 
-  private Set<OWLDeclarationAxiom> getOWLDataPropertyDeclarationAxioms()
-  {
-    Set<OWLDeclarationAxiom> owlDataPropertyDeclarationAxioms = new HashSet<>();
+    @Override
+    public void visit(OWLTransitiveObjectPropertyAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getProperty());
+      this.owlAxioms.add(axiom);
+    }
 
-    for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-      if (owlDeclarationAxiom.getEntity().isOWLDataProperty())
-        owlDataPropertyDeclarationAxioms.add(owlDeclarationAxiom);
+    @Override
+    public void visit(OWLSymmetricObjectPropertyAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getProperty());
+      this.owlAxioms.add(axiom);
     }
-    return owlDataPropertyDeclarationAxioms;
-  }
 
-  private Set<OWLDeclarationAxiom> getOWLAnnotationPropertyDeclarationAxioms()
-  {
-    Set<OWLDeclarationAxiom> owlAnnotationPropertyDeclarationAxioms = new HashSet<>();
+    @Override
+    public void visit(OWLFunctionalObjectPropertyAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getProperty());
+      this.owlAxioms.add(axiom);
+    }
 
-    for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-      if (owlDeclarationAxiom.getEntity().isOWLAnnotationProperty())
-        owlAnnotationPropertyDeclarationAxioms.add(owlDeclarationAxiom);
+    @Override
+    public void visit(OWLInverseFunctionalObjectPropertyAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getProperty());
+      this.owlAxioms.add(axiom);
     }
-    return owlAnnotationPropertyDeclarationAxioms;
-  }
 
-  @SuppressWarnings("unused")
-  private Set<OWLDeclarationAxiom> getOWLDatatypeDeclarationAxioms()
-  {
-    Set<OWLDeclarationAxiom> owlDatatypeDeclarationAxioms = new HashSet<>();
+    @Override
+    public void visit(OWLFunctionalDataPropertyAxiom axiom)
+    {
+      referenceDataProperty(axiom.getProperty());
+      this.owlAxioms.add(axiom);
+    }
 
-    for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-      if (owlDeclarationAxiom.getEntity().isOWLDatatype())
-        owlDatatypeDeclarationAxioms.add(owlDeclarationAxiom);
+    @Override
+    public void visit(OWLObjectPropertyDomainAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getProperty());
+      referenceClass(axiom.getDomain());
+      this.owlAxioms.add(axiom);
     }
-    return owlDatatypeDeclarationAxioms;
-  }
 
-  private void recordOWLClass(OWLEntity cls)
-  {
-    getIRIResolver().recordOWLClass(cls);
-  }
+    @Override
+    public void visit(OWLDataPropertyDomainAxiom axiom)
+    {
+      referenceDataProperty(axiom.getProperty());
+      referenceClass(axiom.getDomain());
+      this.owlAxioms.add(axiom);
+    }
 
-  private void recordOWLNamedIndividual(OWLEntity individual)
-  {
-    getIRIResolver().recordOWLNamedIndividual(individual);
-  }
+    @Override
+    public void visit(OWLObjectPropertyRangeAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getProperty());
+      referenceClass(axiom.getRange());
+      this.owlAxioms.add(axiom);
+    }
 
-  private void recordOWLObjectProperty(OWLEntity property)
-  {
-    getIRIResolver().recordOWLObjectProperty(property);
-  }
+    @Override
+    public void visit(OWLDataPropertyRangeAxiom axiom)
+    {
+      referenceDataProperty(axiom.getProperty());
+      this.owlAxioms.add(axiom);
+    }
 
-  private void recordOWLDataProperty(OWLEntity property)
-  {
-    getIRIResolver().recordOWLDataProperty(property);
-  }
+    @Override
+    public void visit(OWLInverseObjectPropertiesAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getFirstProperty());
+      referenceObjectProperty(axiom.getSecondProperty());
+      this.owlAxioms.add(axiom);
+    }
 
-  private void recordOWLAnnotationProperty(OWLEntity property)
-  {
-    getIRIResolver().recordOWLAnnotationProperty(property);
-  }
+    @Override
+    public void visit(OWLIrreflexiveObjectPropertyAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getProperty());
+      this.owlAxioms.add(axiom);
+    }
 
-  private OWLOntology getOWLOntology()
-  {
-    return getSWRLAPIOWLOntology().getOWLOntology();
-  }
+    @Override
+    public void visit(OWLAsymmetricObjectPropertyAxiom axiom)
+    {
+      referenceObjectProperty(axiom.getProperty());
+      this.owlAxioms.add(axiom);
+    }
 
-  private IRIResolver getIRIResolver()
-  {
-    return getSWRLAPIOWLOntology().getIRIResolver();
-  }
+    @Override
+    public void visit(OWLDisjointObjectPropertiesAxiom axiom)
+    {
+      for (OWLObjectPropertyExpression property : axiom.getProperties())
+        referenceObjectProperty(property);
+      this.owlAxioms.add(axiom);
+    }
 
-  private SWRLAPIOWLOntology getSWRLAPIOWLOntology()
-  {
-    return this.swrlapiOWLOntology;
-  }
+    @Override
+    public void visit(OWLDisjointDataPropertiesAxiom axiom)
+    {
+      for (OWLDataPropertyExpression property : axiom.getProperties())
+        referenceDataProperty(property);
+      this.owlAxioms.add(axiom);
+    }
 
-  private SWRLAPIOWLDataFactory getSWRLAPIOWLDataFactory()
-  {
-    return getSWRLAPIOWLOntology().getSWRLAPIOWLDataFactory();
-  }
+    private void referenceClass(OWLClassExpression classExpression)
+    {
+      if (classExpression instanceof OWLClass)
+        this.referencedOWLClasses.add((OWLClass)classExpression);
+    }
 
-  private OWLDataFactory getOWLDataFactory()
-  {
-    return getSWRLAPIOWLOntology().getOWLDataFactory();
-  }
+    private void referenceIndividual(OWLIndividual individual)
+    {
+      if (individual.isNamed())
+        this.referencedOWLNamedIndividuals.add(individual.asOWLNamedIndividual());
+    }
 
-  private LiteralFactory getLiteralFactory()
-  {
-    return getSWRLAPIOWLDataFactory().getLiteralFactory();
-  }
+    private void referenceObjectProperty(OWLObjectPropertyExpression propertyExpression)
+    {
+      if (propertyExpression instanceof OWLObjectProperty)
+        this.referencedOWLObjectProperties.add((OWLObjectProperty)propertyExpression);
+    }
 
-  private SQWRLResultValueFactory getSQWRLResultValueFactory()
-  {
-    return getSWRLAPIOWLDataFactory().getSQWRLResultValueFactory();
+    private void referenceDataProperty(OWLDataPropertyExpression propertyExpression)
+    {
+      if (propertyExpression instanceof OWLDataProperty)
+        this.referencedOWLDataProperties.add((OWLDataProperty)propertyExpression);
+    }
   }
-
 }
\ No newline at end of file
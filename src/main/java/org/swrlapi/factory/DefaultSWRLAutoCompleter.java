@@ -1,63 +1,114 @@
 package org.swrlapi.factory;
 
 import org.semanticweb.owlapi.model.IRI;
-import org.semanticweb.owlapi.model.OWLEntity;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.resolvers.ShortNameSymbolTable;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * Completes the short forms of the entities and built-ins in the ontology's
+ * {@link org.swrlapi.core.resolvers.ShortNameSymbolTable}, together with the OWL and RDF vocabulary. Short forms are
+ * held in a {@link ShortFormTrie} that follows additions to and removals from the symbol table until
+ * {@link #dispose()} is called; it is rebuilt only when the prefixes change. The symbol table refers to the
+ * auto-completer only weakly.
+ *
  * @see org.swrlapi.ui.dialog.SWRLRuleEditorDialog
  */
-class DefaultSWRLAutoCompleter implements SWRLAutoCompleter
+class DefaultSWRLAutoCompleter implements SWRLAutoCompleter, ShortNameSymbolTable.Listener
 {
-  private final List<String> shortForms;
+  private final DefaultPrefixManager prefixManager;
+  private final ShortNameSymbolTable symbolTable;
+  private ShortFormTrie shortForms;
+  private Map<String, String> prefixes; // The prefixes the short forms in the trie were generated with
 
   public DefaultSWRLAutoCompleter(SWRLAPIOWLOntology swrlapiowlOntology)
   {
-    DefaultPrefixManager prefixManager = swrlapiowlOntology.getPrefixManager();
-    this.shortForms = new ArrayList<>();
+    this.prefixManager = swrlapiowlOntology.getPrefixManager();
+    this.symbolTable = swrlapiowlOntology.getShortNameSymbolTable();
 
-    for (OWLEntity owlEntity : swrlapiowlOntology.getOWLOntology().getSignature(Imports.INCLUDED)) {
-      String shortForm = prefixManager.getShortForm(owlEntity.getIRI());
-      if (shortForm.startsWith(":")) // Strip leading ":"
-        this.shortForms.add(shortForm.substring(1));
-      this.shortForms.add(shortForm);
-    }
+    buildShortForms();
 
-    for (IRI swrlBuiltInIRI : swrlapiowlOntology.getSWRLBuiltInIRIs()) {
-      String shortForm = prefixManager.getShortForm(swrlBuiltInIRI);
-      if (shortForm.startsWith(":"))
-        this.shortForms.add(shortForm.substring(1));
-      this.shortForms.add(shortForm);
-    }
+    this.symbolTable.addListener(this);
+  }
+
+  @Override
+  public List<String> getCompletions(String prefix)
+  {
+    return getCompletions(prefix, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public synchronized List<String> getCompletions(String prefix, int maximumNumberOfCompletions)
+  {
+    if (havePrefixesChanged())
+      buildShortForms();
 
-    for (OWLRDFVocabulary v : OWLRDFVocabulary.values()) {
-      String shortForm = v.getPrefixedName();
-      this.shortForms.add(shortForm);
+    return this.shortForms.getCompletions(prefix, maximumNumberOfCompletions);
+  }
+
+  @Override
+  public void dispose()
+  {
+    this.symbolTable.removeListener(this);
+  }
+
+  @Override
+  public synchronized void symbolsChanged(Collection<ShortNameSymbolTable.Symbol> addedSymbols,
+      Collection<ShortNameSymbolTable.Symbol> removedSymbols)
+  {
+    if (havePrefixesChanged()) // The trie must only hold short forms generated with the same prefixes
+      buildShortForms();
+    else {
+      for (ShortNameSymbolTable.Symbol symbol : addedSymbols)
+        addShortForms(symbol.getIRI());
+
+      for (ShortNameSymbolTable.Symbol symbol : removedSymbols)
+        removeShortForms(symbol.getIRI());
     }
+  }
+
+  private boolean havePrefixesChanged()
+  {
+    return !this.prefixes.equals(this.prefixManager.getPrefixName2PrefixMap());
+  }
+
+  private void buildShortForms()
+  {
+    this.shortForms = new ShortFormTrie();
+    this.prefixes = new HashMap<>(this.prefixManager.getPrefixName2PrefixMap());
+
+    for (ShortNameSymbolTable.Symbol symbol : this.symbolTable.getSymbols()) // Entities and built-ins
+      addShortForms(symbol.getIRI());
+
+    for (OWLRDFVocabulary v : OWLRDFVocabulary.values())
+      this.shortForms.add(v.getPrefixedName());
 
     this.shortForms.add("sameAs");
     this.shortForms.add("differentFrom");
+  }
+
+  private void addShortForms(IRI iri)
+  {
+    String shortForm = this.prefixManager.getShortForm(iri);
 
-    Collections.sort(this.shortForms);
+    if (shortForm.startsWith(":")) // Strip leading ":"
+      this.shortForms.add(shortForm.substring(1));
+    this.shortForms.add(shortForm);
   }
 
-  @Override
-  public List<String> getCompletions(String prefix)
-  { // TODO Look at - not very efficient
-    List<String> completions = new ArrayList<>();
+  private void removeShortForms(IRI iri)
+  {
+    String shortForm = this.prefixManager.getShortForm(iri);
 
-    for (String shortForm : this.shortForms) {
-      if (shortForm.startsWith(prefix))
-        completions.add(shortForm);
-    }
-    return completions;
+    if (shortForm.startsWith(":"))
+      this.shortForms.remove(shortForm.substring(1));
+    this.shortForms.remove(shortForm);
   }
 }
@@ -13,6 +13,7 @@ import org.swrlapi.core.OWLDatatypeFactory;
 import org.swrlapi.core.OWLLiteralFactory;
 import org.swrlapi.core.SWRLAPIOWLDataFactory;
 import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleEngineBudget;
 import org.swrlapi.bridge.SWRLBridge;
 import org.swrlapi.core.resolvers.IRIResolver;
 import org.swrlapi.core.resolvers.OWLClassExpressionResolver;
@@ -23,14 +24,18 @@ import org.swrlapi.core.resolvers.OWLObjectPropertyExpressionResolver;
 import org.swrlapi.exceptions.SWRLBuiltInBridgeException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
+import org.swrlapi.exceptions.SWRLRuleEngineBudgetExceededException;
 import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
 import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
 import org.swrlapi.sqwrl.SQWRLResult;
 import org.swrlapi.sqwrl.SQWRLResultGenerator;
+import org.swrlapi.sqwrl.SQWRLResultRowConsumer;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -70,6 +75,14 @@ public class DefaultSWRLBridge implements SWRLBridge
    */
   private TargetSWRLRuleEngine targetSWRLRuleEngine;
 
+  private SWRLRuleEngineBudget resourceBudget;
+  private long builtInInvocationCount; // Built-in invocations since last reset
+
+  private final Map<String, SQWRLResultRowConsumer> sqwrlResultRowConsumers; // Query name -> row consumer
+  private int sqwrlResultParallelPreparationThreshold;
+  private int sqwrlResultSpillBatchSize;
+  private double sqwrlResultApproximateAggregateError;
+
   public DefaultSWRLBridge(SWRLAPIOWLOntology swrlapiOWLOntology, OWL2RLPersistenceLayer owl2RLPersistenceLayer)
       throws SWRLBuiltInBridgeException
   {
@@ -84,6 +97,11 @@ public class DefaultSWRLBridge implements SWRLBridge
 
     this.inferredOWLAxioms = new HashSet<>();
     this.injectedOWLAxioms = new HashSet<>();
+    this.resourceBudget = SWRLRuleEngineBudget.unlimited();
+    this.sqwrlResultRowConsumers = new HashMap<>();
+    this.sqwrlResultParallelPreparationThreshold = SQWRLResultManager.DEFAULT_PARALLEL_PREPARATION_THRESHOLD;
+    this.sqwrlResultSpillBatchSize = 0;
+    this.sqwrlResultApproximateAggregateError = SQWRLResultManager.DEFAULT_APPROXIMATE_AGGREGATE_ERROR;
 
     reset();
   }
@@ -99,10 +117,44 @@ public class DefaultSWRLBridge implements SWRLBridge
   {
     this.inferredOWLAxioms.clear();
     this.injectedOWLAxioms.clear();
+    this.builtInInvocationCount = 0;
 
     SWRLBuiltInLibraryManager.invokeAllBuiltInLibrariesResetMethod(this);
   }
 
+  @Override
+  public void setResourceBudget(SWRLRuleEngineBudget budget)
+  {
+    this.resourceBudget = budget;
+  }
+
+  @Override
+  public void setSQWRLResultRowConsumer(String queryName, SQWRLResultRowConsumer rowConsumer)
+  {
+    if (rowConsumer == null)
+      this.sqwrlResultRowConsumers.remove(queryName);
+    else
+      this.sqwrlResultRowConsumers.put(queryName, rowConsumer);
+  }
+
+  @Override
+  public void setSQWRLResultParallelPreparationThreshold(int threshold)
+  {
+    this.sqwrlResultParallelPreparationThreshold = threshold;
+  }
+
+  @Override
+  public void setSQWRLResultSpillBatchSize(int batchSize)
+  {
+    this.sqwrlResultSpillBatchSize = batchSize;
+  }
+
+  @Override
+  public void setSQWRLResultApproximateAggregateError(double error)
+  {
+    this.sqwrlResultApproximateAggregateError = error;
+  }
+
   @Override
   public boolean hasOntologyChanged()
   {
@@ -117,6 +169,10 @@ public class DefaultSWRLBridge implements SWRLBridge
   public void injectOWLAxiom(OWLAxiom axiom) throws SWRLBuiltInBridgeException
   {
     if (!this.injectedOWLAxioms.contains(axiom)) {
+      long maxInjectedOWLAxioms = this.resourceBudget.getMaxInjectedOWLAxioms();
+      if (SWRLRuleEngineBudget.isExhausted(this.injectedOWLAxioms.size(), maxInjectedOWLAxioms))
+        throw new SWRLRuleEngineBudgetExceededException("injected OWL axioms", maxInjectedOWLAxioms);
+
       this.injectedOWLAxioms.add(axiom);
       exportOWLAxiom(axiom); // Export the axiom to the rule engine.
     }
@@ -198,14 +254,25 @@ public class DefaultSWRLBridge implements SWRLBridge
   public void inferOWLAxiom(OWLAxiom axiom) throws SWRLRuleEngineBridgeException
   {
     // Exclude already asserted axioms
-    if (!this.inferredOWLAxioms.contains(axiom) && !this.swrlapiOWLOntology.hasAssertedOWLAxiom(axiom))
+    if (!this.inferredOWLAxioms.contains(axiom) && !this.swrlapiOWLOntology.hasAssertedOWLAxiom(axiom)) {
+      long maxInferredOWLAxioms = this.resourceBudget.getMaxInferredOWLAxioms();
+      if (SWRLRuleEngineBudget.isExhausted(this.inferredOWLAxioms.size(), maxInferredOWLAxioms))
+        throw new SWRLRuleEngineBudgetExceededException("inferred OWL axioms", maxInferredOWLAxioms);
+
       this.inferredOWLAxioms.add(axiom);
+    }
   }
 
   @Override
   public List<List<SWRLBuiltInArgument>> invokeSWRLBuiltIn(String ruleName, String builtInName, int builtInIndex,
       boolean isInConsequent, List<SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
+    long maxBuiltInInvocations = this.resourceBudget.getMaxBuiltInInvocations();
+    if (SWRLRuleEngineBudget.isExhausted(this.builtInInvocationCount, maxBuiltInInvocations))
+      throw new SWRLRuleEngineBudgetExceededException("built-in invocations", maxBuiltInInvocations);
+
+    this.builtInInvocationCount++;
+
     return SWRLBuiltInLibraryManager.invokeSWRLBuiltIn(this, ruleName, builtInName, builtInIndex, isInConsequent,
         arguments);
   }
@@ -239,7 +306,21 @@ public class DefaultSWRLBridge implements SWRLBridge
   @Override
   public SQWRLResultGenerator getSQWRLResultGenerator(String queryName) throws SQWRLException
   {
-    return this.swrlapiOWLOntology.getSQWRLResultGenerator(queryName);
+    SQWRLResultGenerator resultGenerator = this.swrlapiOWLOntology.getSQWRLResultGenerator(queryName);
+
+    resultGenerator.setMaximumNumberOfRows(this.resourceBudget.getMaxSQWRLResultRows());
+    resultGenerator.setParallelPreparationThreshold(this.sqwrlResultParallelPreparationThreshold);
+
+    if (!resultGenerator.isPrepared()) {
+      resultGenerator.setSpillBatchSize(this.sqwrlResultSpillBatchSize);
+      resultGenerator.setApproximateAggregateError(this.sqwrlResultApproximateAggregateError);
+
+      SQWRLResultRowConsumer rowConsumer = this.sqwrlResultRowConsumers.get(queryName);
+      if (rowConsumer != null)
+        resultGenerator.setRowConsumer(rowConsumer);
+    }
+
+    return resultGenerator;
   }
 
   private void exportOWLAxiom(OWLAxiom axiom) throws SWRLBuiltInBridgeException
@@ -1,10 +1,10 @@
 package org.swrlapi.factory;
 
 import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
-import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.swrlapi.bridge.SWRLRuleEngineBridgeController;
 import org.swrlapi.bridge.TargetSWRLRuleEngine;
@@ -13,9 +13,13 @@ import org.swrlapi.core.SQWRLQueryRenderer;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLAPIRule;
 import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.core.SWRLRuleEngineBudget;
+import org.swrlapi.core.SWRLRuleImportResult;
 import org.swrlapi.core.SWRLRuleRenderer;
+import org.swrlapi.core.SWRLRuleSpecification;
 import org.swrlapi.exceptions.SWRLAPIException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.SWRLRuleEngineBudgetExceededException;
 import org.swrlapi.exceptions.SWRLRuleEngineException;
 import org.swrlapi.exceptions.SWRLRuleException;
 import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
@@ -24,16 +28,35 @@ import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.parser.SWRLParser;
 import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLQueryOptions;
 import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultCursor;
+import org.swrlapi.sqwrl.SQWRLResultRowConsumer;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLQueryCancelledException;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 
 import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class provides an implementation of some of the core functionality required by a SWRL rule engine.
+ * <p>
+ * The bridge and the target rule engine are not thread-safe, so every method that uses them holds this object's
+ * monitor. Asynchronous and streaming queries take the same monitor when they run. Only cancellation of a running
+ * asynchronous query, which must reach the target rule engine while the query holds the monitor, does not lock.
  */
 class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 {
@@ -42,6 +65,15 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   private final SWRLBuiltInBridgeController builtInBridgeController;
   private final SWRLRuleEngineBridgeController ruleEngineBridgeController;
   private final Set<OWLAxiom> exportedOWLAxioms; // Axioms exported to target rule engine
+  private final SQWRLResultCache sqwrlResultCache;
+  private final ThreadPoolExecutor defaultQueryExecutor; // Runs asynchronous queries; its thread exits when idle
+  private SWRLRuleEngineBudget resourceBudget;
+  private int sqwrlResultParallelPreparationThreshold;
+  private int sqwrlResultSpillBatchSize;
+  private double sqwrlResultApproximateAggregateError;
+
+  private static final int DEFAULT_SQWRL_RESULT_CACHE_CAPACITY = 32;
+  private static final long DEFAULT_QUERY_EXECUTOR_KEEP_ALIVE_SECONDS = 60;
 
   public DefaultSWRLRuleAndQueryEngine(SWRLAPIOWLOntology swrlapiOWLOntology, TargetSWRLRuleEngine targetSWRLRuleEngine,
     SWRLRuleEngineBridgeController ruleEngineBridgeController, SWRLBuiltInBridgeController builtInBridgeController)
@@ -52,6 +84,18 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     this.builtInBridgeController = builtInBridgeController;
     this.ruleEngineBridgeController = ruleEngineBridgeController;
     this.exportedOWLAxioms = new HashSet<>();
+    this.sqwrlResultCache = new SQWRLResultCache(DEFAULT_SQWRL_RESULT_CACHE_CAPACITY);
+    this.resourceBudget = SWRLRuleEngineBudget.unlimited();
+    this.sqwrlResultParallelPreparationThreshold = SQWRLResultManager.DEFAULT_PARALLEL_PREPARATION_THRESHOLD;
+    this.sqwrlResultSpillBatchSize = 0;
+    this.sqwrlResultApproximateAggregateError = SQWRLResultManager.DEFAULT_APPROXIMATE_AGGREGATE_ERROR;
+    this.defaultQueryExecutor = new ThreadPoolExecutor(1, 1, DEFAULT_QUERY_EXECUTOR_KEEP_ALIVE_SECONDS,
+      TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+      Thread thread = new Thread(runnable, "SQWRL query runner");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.defaultQueryExecutor.allowCoreThreadTimeOut(true);
 
     importAssertedOWLAxioms();
   }
@@ -60,12 +104,15 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
    * Load rules and knowledge from OWL into bridge. All existing bridge rules and knowledge will first be cleared and
    * the associated rule engine will be reset.
    */
-  @Override public void importAssertedOWLAxioms() throws SWRLRuleEngineException
+  @Override public synchronized void importAssertedOWLAxioms() throws SWRLRuleEngineException
   {
-    reset();
-
     try {
-      exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // OWL axioms include SWRL rules
+      if (canExportOWLAxiomsIncrementally())
+        exportOWLAxiomDelta2TargetRuleEngine();
+      else {
+        reset();
+        exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // OWL axioms include SWRL rules
+      }
     } catch (SWRLAPIException e) {
       throw new SWRLRuleEngineException("error exporting knowledge to rule engine: " + e.getMessage(), e);
     }
@@ -75,12 +122,15 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
    * Load named SQWRL query, all enabled SWRL rules, and all relevant knowledge from OWL into bridge. All existing
    * bridge rules and knowledge will first be cleared and the associated rule engine will be reset.
    */
-  @Override public void importSQWRLQueryAndOWLAxioms(String queryName) throws SWRLRuleEngineException
+  @Override public synchronized void importSQWRLQueryAndOWLAxioms(String queryName) throws SWRLRuleEngineException
   {
-    reset();
-
     try {
-      exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // OWL axioms include SWRL rules
+      if (canExportOWLAxiomsIncrementally())
+        exportOWLAxiomDelta2TargetRuleEngine();
+      else {
+        reset();
+        exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // OWL axioms include SWRL rules
+      }
       exportSQWRLQuery2TargetRuleEngine(queryName);
     } catch (SWRLBuiltInException e) {
       throw new SWRLRuleEngineException("error exporting SQWRL query to rule engine: " + e.getMessage(), e);
@@ -90,12 +140,12 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   }
 
   /**
-   * Clear all knowledge from rule engine.
+   * Clear all knowledge from rule engine. The ontology is only reprocessed if it has changed since it was last
+   * processed.
    */
-  @Override public void reset()
+  @Override public synchronized void reset()
   {
     try {
-      this.swrlapiOWLOntology.reset();
       getTargetSWRLRuleEngine().resetRuleEngine(); // Reset the target rule engine
       getBuiltInBridgeController().reset();
       this.exportedOWLAxioms.clear();
@@ -107,32 +157,50 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     }
   }
 
+  /**
+   * Asynchronous and streaming queries already submitted to the default executor still run; later ones fail.
+   */
+  @Override public void dispose()
+  {
+    this.defaultQueryExecutor.shutdown();
+    this.swrlapiOWLOntology.dispose();
+  }
+
   /**
    * Run the rule engine.
    */
-  @Override public void run() throws SWRLRuleEngineException
+  @Override public synchronized void run() throws SWRLRuleEngineException
   {
     try {
       this.swrlapiOWLOntology.processOntology();
       getTargetSWRLRuleEngine().runRuleEngine();
     } catch (SWRLBuiltInException | SWRLAPIException e) {
+      SWRLRuleEngineBudgetExceededException budgetExceededException = findBudgetExceededException(e);
+
+      if (budgetExceededException != null) { // Target engines may wrap exceptions thrown by bridge callbacks
+        reset();
+        throw budgetExceededException;
+      }
       throw new SWRLRuleEngineException("error running rule engine: " + e.getMessage(), e);
     }
   }
 
-  @Override public void createSQWRLQuery(String queryName, String queryText) throws SWRLParseException, SQWRLException
+  @Override public synchronized void createSQWRLQuery(String queryName, String queryText)
+    throws SWRLParseException, SQWRLException
   {
     try {
       this.swrlapiOWLOntology.createSQWRLQuery(queryName, queryText);
     } catch (RuntimeException e) {
       throw new SQWRLException("error creating SQWRL query: " + e.getMessage(), e);
+    } finally {
+      this.sqwrlResultCache.remove(queryName); // A query may be redefined under the same name
     }
   }
 
   /**
    * Create and run a SQWRL query. The query will be created and added to the associated ontology.
    */
-  @Override public SQWRLResult runSQWRLQuery(String queryName, String queryText)
+  @Override public synchronized SQWRLResult runSQWRLQuery(String queryName, String queryText)
     throws SWRLParseException, SQWRLException
   {
     createSQWRLQuery(queryName, queryText);
@@ -142,24 +210,176 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 
   /**
    * Run a named SQWRL query. SWRL rules will also be executed and any inferences produced by them will be available in
-   * the query.
+   * the query. Results are cached against the ontology version, so rerunning a query on an unchanged ontology reads
+   * its previous result without invoking the rule engine. Each call returns a new result positioned before the first
+   * row that shares the cached rows but not the row position.
    */
-  @Override public SQWRLResult runSQWRLQuery(String queryName) throws SQWRLException
+  @Override public synchronized SQWRLResult runSQWRLQuery(String queryName) throws SQWRLException
   {
     try {
-      importSQWRLQueryAndOWLAxioms(queryName);
+      if (getOWL2RLEngine().hasRuleSelectionChanged())
+        this.sqwrlResultCache.clear();
 
-      run();
-      return getSQWRLResult(queryName);
+      long ontologyVersion = getSWRLAPIOWLOntology().getOntologyVersion();
+      SQWRLResult cachedResult = this.sqwrlResultCache.get(queryName, ontologyVersion);
+
+      if (cachedResult != null)
+        return new SQWRLResultReader(cachedResult);
+
+      SQWRLResult result = executeSQWRLQuery(queryName);
+
+      if (result != null && getSWRLAPIOWLOntology().getOntologyVersion() == ontologyVersion
+        && getSQWRLResultCacheCapacity() > 0) {
+        this.sqwrlResultCache.put(queryName, ontologyVersion, result);
+        return new SQWRLResultReader(result);
+      } else
+        return result;
+    } catch (SWRLRuleEngineBudgetExceededException e) {
+      throw e;
     } catch (SWRLAPIException e) {
       throw new SQWRLException("error running SQWRL queries: " + e.getMessage(), e);
     }
   }
 
+  @Override public synchronized SQWRLResult runSQWRLQuery(String queryName, SQWRLResultRowConsumer rowConsumer)
+    throws SQWRLException
+  {
+    this.ruleEngineBridgeController.setSQWRLResultRowConsumer(queryName, rowConsumer);
+    try {
+      return executeSQWRLQuery(queryName);
+    } catch (SWRLRuleEngineBudgetExceededException e) {
+      throw e;
+    } catch (SWRLAPIException e) {
+      throw new SQWRLException("error running SQWRL queries: " + e.getMessage(), e);
+    } finally {
+      this.ruleEngineBridgeController.setSQWRLResultRowConsumer(queryName, null);
+    }
+  }
+
+  @Override public SQWRLResultCursor streamSQWRLQuery(String queryName, int bufferSize)
+  {
+    BlockingSQWRLResultCursor cursor = new BlockingSQWRLResultCursor(queryName, bufferSize);
+    SQWRLQueryTask task = new SQWRLQueryTask(this, queryName, cursor);
+
+    cursor.setQuery(task.getFuture());
+
+    try {
+      this.defaultQueryExecutor.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.getFuture().completeExceptionally(
+        new SQWRLException("error submitting SQWRL query " + queryName + ": " + e.getMessage(), e));
+    }
+
+    return cursor;
+  }
+
+  @Override public synchronized void setResourceBudget(SWRLRuleEngineBudget budget)
+  {
+    this.resourceBudget = budget;
+    this.builtInBridgeController.setResourceBudget(budget);
+    this.ruleEngineBridgeController.setResourceBudget(budget);
+  }
+
+  @Override public SWRLRuleEngineBudget getResourceBudget()
+  {
+    return this.resourceBudget;
+  }
+
+  @Override public CompletableFuture<SQWRLResult> runSQWRLQueryAsync(String queryName)
+  {
+    return runSQWRLQueryAsync(queryName, SQWRLQueryOptions.defaultOptions());
+  }
+
+  @Override public CompletableFuture<SQWRLResult> runSQWRLQueryAsync(String queryName, SQWRLQueryOptions options)
+  {
+    SQWRLQueryTask task = new SQWRLQueryTask(this, queryName);
+    Executor executor = options.hasExecutor() ? options.getExecutor() : this.defaultQueryExecutor;
+
+    if (options.hasTimeout())
+      task.scheduleTimeout(options.getTimeoutMillis());
+
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.getFuture().completeExceptionally(
+        new SQWRLException("error submitting SQWRL query " + queryName + ": " + e.getMessage(), e));
+    }
+
+    return task.getFuture();
+  }
+
+  @Override public void setSQWRLResultCacheCapacity(int capacity)
+  {
+    this.sqwrlResultCache.setCapacity(capacity);
+  }
+
+  @Override public synchronized void setSQWRLResultParallelPreparationThreshold(int threshold)
+  {
+    if (threshold < 1)
+      throw new IllegalArgumentException("invalid parallel preparation threshold " + threshold);
+
+    this.sqwrlResultParallelPreparationThreshold = threshold;
+    this.ruleEngineBridgeController.setSQWRLResultParallelPreparationThreshold(threshold);
+  }
+
+  @Override public int getSQWRLResultParallelPreparationThreshold()
+  {
+    return this.sqwrlResultParallelPreparationThreshold;
+  }
+
+  @Override public synchronized void setSQWRLResultSpillBatchSize(int batchSize)
+  {
+    if (batchSize < 0)
+      throw new IllegalArgumentException("invalid spill batch size " + batchSize);
+
+    this.sqwrlResultSpillBatchSize = batchSize;
+    this.ruleEngineBridgeController.setSQWRLResultSpillBatchSize(batchSize);
+  }
+
+  @Override public int getSQWRLResultSpillBatchSize()
+  {
+    return this.sqwrlResultSpillBatchSize;
+  }
+
+  @Override public synchronized void setSQWRLResultApproximateAggregateError(double error)
+  {
+    if (!(error > 0 && error < 1))
+      throw new IllegalArgumentException("invalid approximate aggregate error " + error);
+
+    this.sqwrlResultApproximateAggregateError = error;
+    this.ruleEngineBridgeController.setSQWRLResultApproximateAggregateError(error);
+    this.sqwrlResultCache.clear();
+  }
+
+  @Override public double getSQWRLResultApproximateAggregateError()
+  {
+    return this.sqwrlResultApproximateAggregateError;
+  }
+
+  @Override public int getSQWRLResultCacheCapacity()
+  {
+    return this.sqwrlResultCache.getCapacity();
+  }
+
+  @Override public void clearSQWRLResultCache()
+  {
+    this.sqwrlResultCache.clear();
+  }
+
+  @Override public long getSQWRLResultCacheHitCount()
+  {
+    return this.sqwrlResultCache.getHitCount();
+  }
+
+  @Override public long getSQWRLResultCacheMissCount()
+  {
+    return this.sqwrlResultCache.getMissCount();
+  }
+
   /**
    * Run all SQWRL queries.
    */
-  @Override public void runSQWRLQueries() throws SQWRLException
+  @Override public synchronized void runSQWRLQueries() throws SQWRLException
   {
     try {
       importAssertedOWLAxioms();
@@ -178,10 +398,10 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   /**
    * Write knowledge inferred by rule engine back to OWL.
    */
-  @Override public void exportInferredOWLAxioms() throws SWRLRuleEngineException
+  @Override public synchronized void exportInferredOWLAxioms() throws SWRLRuleEngineException
   {
     try {
-      getSWRLAPIOWLOntology().startBulkConversion(); // Suspend possible event generation for bulk updates.
+      getSWRLAPIOWLOntology().startBulkConversion(); // Buffer changes so that they are applied as a single batch
 
       // Write OWL axioms generated by built-ins in rules.
       writeOWLAxioms2OWLOntology(this.builtInBridgeController.getInjectedOWLAxioms());
@@ -196,10 +416,9 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
    * Load rules and knowledge from OWL into bridge, send them to a rule engine, run the rule engine, and write any
    * inferred knowledge back to OWL.
    */
-  @Override public void infer() throws SWRLRuleEngineException
+  @Override public synchronized void infer() throws SWRLRuleEngineException
   {
-    reset();
-    importAssertedOWLAxioms();
+    importAssertedOWLAxioms(); // Resets the engine or, if supported, exports changes since the previous import
     run();
     exportInferredOWLAxioms();
   }
@@ -207,7 +426,7 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   /**
    * Get the results of a previously executed SQWRL query.
    */
-  @Override public SQWRLResult getSQWRLResult(String queryName) throws SQWRLException
+  @Override public synchronized SQWRLResult getSQWRLResult(String queryName) throws SQWRLException
   {
     return this.swrlapiOWLOntology.getSQWRLResult(queryName);
   }
@@ -270,17 +489,17 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     return this.swrlapiOWLOntology.getNumberOfOWLAxioms();
   }
 
-  @Override public int getNumberOfInferredOWLAxioms()
+  @Override public synchronized int getNumberOfInferredOWLAxioms()
   {
     return this.ruleEngineBridgeController.getNumberOfInferredOWLAxioms();
   }
 
-  @Override public int getNumberOfInjectedOWLAxioms()
+  @Override public synchronized int getNumberOfInjectedOWLAxioms()
   {
     return this.builtInBridgeController.getNumberOfInjectedOWLAxioms();
   }
 
-  public boolean isInjectedOWLAxiom(OWLAxiom axiom)
+  public synchronized boolean isInjectedOWLAxiom(OWLAxiom axiom)
   {
     return this.builtInBridgeController.isInjectedOWLAxiom(axiom);
   }
@@ -297,20 +516,27 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     return this.swrlapiOWLOntology.getSWRLRule(ruleName);
   }
 
-  @Override public SWRLAPIRule createSWRLRule(String ruleName, String rule) throws SWRLParseException
+  @Override public synchronized SWRLAPIRule createSWRLRule(String ruleName, String rule) throws SWRLParseException
   {
     return this.swrlapiOWLOntology.createSWRLRule(ruleName, rule);
   }
 
-  @Override public SWRLAPIRule createSWRLRule(String ruleName, String rule, String comment, boolean isActive)
-    throws SWRLParseException
+  @Override public synchronized SWRLAPIRule createSWRLRule(String ruleName, String rule, String comment,
+    boolean isActive) throws SWRLParseException
   {
     return this.swrlapiOWLOntology.createSWRLRule(ruleName, rule, comment, isActive);
   }
 
-  @Override public void deleteSWRLRule(String ruleName)
+  @Override public synchronized SWRLRuleImportResult createSWRLRules(
+    Collection<SWRLRuleSpecification> ruleSpecifications)
+  {
+    return this.swrlapiOWLOntology.createSWRLRules(ruleSpecifications);
+  }
+
+  @Override public synchronized void deleteSWRLRule(String ruleName)
   {
     this.swrlapiOWLOntology.deleteSWRLRule(ruleName);
+    this.sqwrlResultCache.remove(ruleName); // SQWRL queries are deleted as rules
   }
 
   @Override public boolean isSWRLBuiltIn(IRI iri)
@@ -318,7 +544,7 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     return this.isSWRLBuiltIn(iri);
   }
 
-  @Override public void addSWRLBuiltIn(IRI iri)
+  @Override public synchronized void addSWRLBuiltIn(IRI iri)
   {
     this.swrlapiOWLOntology.addSWRLBuiltIn(iri);
   }
@@ -348,12 +574,12 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     return this.swrlapiOWLOntology.getOWLAxioms();
   }
 
-  @Override public Set<OWLAxiom> getInferredOWLAxioms()
+  @Override public synchronized Set<OWLAxiom> getInferredOWLAxioms()
   {
     return this.ruleEngineBridgeController.getInferredOWLAxioms();
   }
 
-  @Override public Set<OWLAxiom> getInjectedOWLAxioms()
+  @Override public synchronized Set<OWLAxiom> getInjectedOWLAxioms()
   {
     return this.builtInBridgeController.getInjectedOWLAxioms();
   }
@@ -417,6 +643,42 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     getTargetSWRLRuleEngine().defineSQWRLQuery(query);
   }
 
+  /**
+   * Ask the target rule engine to abandon its current run. Called by a {@link SQWRLQueryTask} from a thread other than
+   * the one running the query.
+   */
+  void cancelTargetRuleEngine()
+  {
+    if (this.targetSWRLRuleEngine != null)
+      this.targetSWRLRuleEngine.cancelRuleEngine();
+  }
+
+  private SQWRLResult executeSQWRLQuery(String queryName) throws SQWRLException
+  {
+    importSQWRLQueryAndOWLAxioms(queryName);
+    checkForCancellation(queryName);
+
+    run();
+    checkForCancellation(queryName); // A cancelled run may have produced a partial result
+
+    return getSQWRLResult(queryName);
+  }
+
+  private SWRLRuleEngineBudgetExceededException findBudgetExceededException(Throwable exception)
+  {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SWRLRuleEngineBudgetExceededException)
+        return (SWRLRuleEngineBudgetExceededException)cause;
+    }
+    return null;
+  }
+
+  private void checkForCancellation(String queryName) throws SQWRLQueryCancelledException
+  {
+    if (Thread.currentThread().isInterrupted())
+      throw new SQWRLQueryCancelledException("SQWRL query " + queryName + " cancelled");
+  }
+
   private TargetSWRLRuleEngine getTargetSWRLRuleEngine() throws SWRLRuleEngineException
   {
     if (this.targetSWRLRuleEngine == null)
@@ -425,12 +687,73 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     return this.targetSWRLRuleEngine;
   }
 
+  /**
+   * Axioms that have not already been exported are grouped by type and passed to the target rule engine in a single
+   * call so that it can batch their definition.
+   */
   private void exportOWLAxioms2TargetRuleEngine(Set<OWLAxiom> axioms)
     throws SWRLRuleEngineException, TargetSWRLRuleEngineException
   {
+    Map<AxiomType<?>, List<OWLAxiom>> axiomsByType = new LinkedHashMap<>();
+
     for (OWLAxiom axiom : axioms) {
       if (!this.exportedOWLAxioms.contains(axiom))
-        getTargetSWRLRuleEngine().defineOWLAxiom(axiom);
+        axiomsByType.computeIfAbsent(axiom.getAxiomType(), axiomType -> new ArrayList<>()).add(axiom);
+    }
+
+    if (!axiomsByType.isEmpty()) {
+      getTargetSWRLRuleEngine().defineOWLAxiomsByType(axiomsByType);
+
+      for (List<OWLAxiom> exportedAxioms : axiomsByType.values())
+        this.exportedOWLAxioms.addAll(exportedAxioms);
+    }
+  }
+
+  /**
+   * Incremental exports are only possible if the target rule engine supports them and it already holds the axioms
+   * from a previous full export. A change in the OWL 2 RL rule selection always requires a full reset.
+   */
+  private boolean canExportOWLAxiomsIncrementally() throws SWRLRuleEngineException
+  {
+    return getTargetSWRLRuleEngine().supportsIncrementalAxiomExport() && !this.exportedOWLAxioms.isEmpty()
+      && !getOWL2RLEngine().hasRuleSelectionChanged();
+  }
+
+  /**
+   * Reprocess the ontology and export only the differences between its asserted axioms and the axioms exported by the
+   * previous import. Queries, inferred knowledge and injected axioms are cleared from the target rule engine but
+   * previously exported axioms that are still asserted are retained. If the target rule engine fails to apply the
+   * changes we fall back to a full reset and export.
+   */
+  private void exportOWLAxiomDelta2TargetRuleEngine() throws SWRLRuleEngineException, TargetSWRLRuleEngineException
+  {
+    try {
+      boolean hasOntologyChanged = getSWRLAPIOWLOntology().hasOntologyChanged();
+
+      getTargetSWRLRuleEngine().resetInferredKnowledge();
+      getBuiltInBridgeController().reset();
+      getSWRLAPIOWLOntology().resetOntologyChanged();
+      this.swrlapiOWLOntology.processOntology();
+
+      if (hasOntologyChanged) { // Exported axioms are still current if the ontology has not changed
+        Set<OWLAxiom> assertedOWLAxioms = this.swrlapiOWLOntology.getOWLAxioms();
+        Set<OWLAxiom> retractedOWLAxioms = new HashSet<>();
+
+        for (OWLAxiom axiom : this.exportedOWLAxioms) {
+          if (!assertedOWLAxioms.contains(axiom))
+            retractedOWLAxioms.add(axiom);
+        }
+
+        for (OWLAxiom axiom : retractedOWLAxioms) {
+          getTargetSWRLRuleEngine().retractOWLAxiom(axiom);
+          this.exportedOWLAxioms.remove(axiom);
+        }
+
+        exportOWLAxioms2TargetRuleEngine(assertedOWLAxioms); // Only axioms not already exported are defined
+      }
+    } catch (SQWRLException | TargetSWRLRuleEngineException e) {
+      reset();
+      exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms());
     }
   }
 
@@ -449,12 +772,7 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   {
     AddAxiom addAxiomChange = new AddAxiom(getOWLOntology(), axiom);
 
-    getOWLOntologyManager().applyChange(addAxiomChange);
-  }
-
-  private OWLOntologyManager getOWLOntologyManager()
-  {
-    return this.getSWRLAPIOWLOntology().getOWLOntologyManager();
+    getSWRLAPIOWLOntology().applyChange(addAxiomChange); // Buffered during bulk conversion
   }
 
   private SWRLAPIOWLOntology getSWRLAPIOWLOntology()
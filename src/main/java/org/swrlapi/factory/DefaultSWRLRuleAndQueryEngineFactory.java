@@ -52,8 +52,10 @@ public class DefaultSWRLRuleAndQueryEngineFactory implements SWRLRuleAndQueryEng
   public SWRLRuleEngine createSWRLRuleEngine(String ruleEngineName, OWLOntology owlOntology)
   {
     if (this.ruleEngineManager.isRuleEngineRegistered(ruleEngineName)) {
+      SWRLAPIOWLOntology swrlapiOWLOntology = null;
+
       try {
-        SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(owlOntology);
+        swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(owlOntology);
         OWL2RLPersistenceLayer owl2RLPersistenceLayer = SWRLAPIFactory.getOWL2RLPersistenceLayer(swrlapiOWLOntology);
         SWRLBridge bridge = SWRLAPIFactory.getSWRLBridge(swrlapiOWLOntology, owl2RLPersistenceLayer);
         TargetSWRLRuleEngine targetSWRLRuleEngine = this.ruleEngineManager.getRegisteredRuleEngineCreator(
@@ -63,6 +65,8 @@ public class DefaultSWRLRuleAndQueryEngineFactory implements SWRLRuleAndQueryEng
 
         return SWRLAPIFactory.getSWRLRuleEngine(swrlapiOWLOntology, targetSWRLRuleEngine, bridge, bridge);
       } catch (Throwable e) {
+        if (swrlapiOWLOntology != null)
+          swrlapiOWLOntology.dispose();
         throw new SWRLRuleEngineException("Error creating rule engine " + ruleEngineName + ". Exception: "
             + e.getClass().getCanonicalName() + ". Message: " + e.getMessage(), e);
       }
@@ -84,8 +88,10 @@ public class DefaultSWRLRuleAndQueryEngineFactory implements SWRLRuleAndQueryEng
   public SQWRLQueryEngine createSQWRLQueryEngine(String queryEngineName, OWLOntology owlOntology)
   {
     if (this.ruleEngineManager.isRuleEngineRegistered(queryEngineName)) {
+      SWRLAPIOWLOntology swrlapiOWLOntology = null;
+
       try {
-        SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(owlOntology);
+        swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(owlOntology);
         OWL2RLPersistenceLayer owl2RLPersistenceLayer = SWRLAPIFactory.getOWL2RLPersistenceLayer(swrlapiOWLOntology);
         SWRLBridge bridge = SWRLAPIFactory.getSWRLBridge(swrlapiOWLOntology, owl2RLPersistenceLayer);
         TargetSWRLRuleEngine targetSWRLRuleEngine = this.ruleEngineManager.getRegisteredRuleEngineCreator(
@@ -95,6 +101,8 @@ public class DefaultSWRLRuleAndQueryEngineFactory implements SWRLRuleAndQueryEng
 
         return SWRLAPIFactory.getSQWRLQueryEngine(swrlapiOWLOntology, targetSWRLRuleEngine, bridge, bridge);
       } catch (Throwable e) {
+        if (swrlapiOWLOntology != null)
+          swrlapiOWLOntology.dispose();
         throw new SWRLRuleEngineException("Error creating query engine " + queryEngineName + ". Exception: "
             + e.getClass().getCanonicalName() + ". Message: " + e.getMessage(), e);
       }
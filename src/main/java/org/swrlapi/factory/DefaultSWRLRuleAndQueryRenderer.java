@@ -13,7 +13,6 @@ import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
-import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
 import org.semanticweb.owlapi.model.SWRLClassAtom;
@@ -28,7 +27,6 @@ import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
 import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
 import org.semanticweb.owlapi.model.SWRLVariable;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.builtins.arguments.SQWRLCollectionVariableBuiltInArgument;
@@ -47,6 +45,7 @@ import org.swrlapi.core.SQWRLQueryRenderer;
 import org.swrlapi.core.SWRLAPIBuiltInAtom;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLRuleRenderer;
+import org.swrlapi.core.resolvers.ShortNameSymbolTable;
 import org.swrlapi.parser.SWRLParser;
 import org.swrlapi.sqwrl.SQWRLNames;
 import org.swrlapi.sqwrl.SQWRLQuery;
@@ -63,13 +62,13 @@ import java.util.Iterator;
  */
 class DefaultSWRLRuleAndQueryRenderer implements SWRLRuleRenderer, SQWRLQueryRenderer
 {
-  private final OWLOntology ontology;
   private final DefaultPrefixManager prefixManager;
+  private final ShortNameSymbolTable symbolTable;
 
   public DefaultSWRLRuleAndQueryRenderer(SWRLAPIOWLOntology swrlapiowlOntology)
   {
-    this.ontology = swrlapiowlOntology.getOWLOntology();
     this.prefixManager = swrlapiowlOntology.getPrefixManager();
+    this.symbolTable = swrlapiowlOntology.getShortNameSymbolTable();
   }
 
   @Override
@@ -258,9 +257,8 @@ class DefaultSWRLRuleAndQueryRenderer implements SWRLRuleRenderer, SQWRLQueryRen
   {
     IRI variableIRI = variable.getIRI();
 
-    if (this.ontology.containsEntityInSignature(variableIRI, Imports.INCLUDED)) {
-      String shortForm = this.prefixManager.getShortForm(variableIRI);
-      return shortForm.startsWith(":") ? shortForm.substring(1) : shortForm;
+    if (this.symbolTable.hasType(variableIRI, ShortNameSymbolTable.OWL_ENTITY)) {
+      return this.symbolTable.getShortName(variableIRI);
     } else {
       String variablePrefixedName = this.prefixManager.getPrefixIRI(variableIRI);
       return variablePrefixedName2VariableName(variablePrefixedName);
@@ -357,17 +355,13 @@ class DefaultSWRLRuleAndQueryRenderer implements SWRLRuleRenderer, SQWRLQueryRen
 
   private String visit(OWLClass cls)
   {
-    String classNameShortForm = this.prefixManager.getShortForm(cls.getIRI());
-
-    return classNameShortForm.startsWith(":") ? classNameShortForm.substring(1) : classNameShortForm;
+    return this.symbolTable.getShortName(cls.getIRI());
   }
 
   private String visit(OWLIndividual individual)
   {
     if (individual.isNamed()) {
-      String individualNameShortForm = this.prefixManager.getShortForm(individual.asOWLNamedIndividual().getIRI());
-
-      return individualNameShortForm.startsWith(":") ? individualNameShortForm.substring(1) : individualNameShortForm;
+      return this.symbolTable.getShortName(individual.asOWLNamedIndividual().getIRI());
     } else
       return individual.toString(); // TODO Use an OWLAPI renderer
   }
@@ -417,48 +411,35 @@ class DefaultSWRLRuleAndQueryRenderer implements SWRLRuleRenderer, SQWRLQueryRen
   public String visit(SWRLClassBuiltInArgument argument)
   {
     OWLClass cls = argument.getOWLClass();
-    String classNameShortForm = this.prefixManager.getShortForm(cls.getIRI());
-
-    return classNameShortForm.startsWith(":") ? classNameShortForm.substring(1) : classNameShortForm;
+    return this.symbolTable.getShortName(cls.getIRI());
   }
 
   @Override
   public String visit(SWRLNamedIndividualBuiltInArgument argument)
   {
     OWLNamedIndividual individual = argument.getOWLNamedIndividual();
-    String individualNameShortForm = this.prefixManager.getShortForm(individual.getIRI());
-
-    return individualNameShortForm.startsWith(":") ? individualNameShortForm.substring(1) : individualNameShortForm;
+    return this.symbolTable.getShortName(individual.getIRI());
   }
 
   @Override
   public String visit(SWRLObjectPropertyBuiltInArgument argument)
   {
     OWLObjectProperty property = argument.getOWLObjectProperty();
-    String objectPropertyNameShortForm = this.prefixManager.getShortForm(property.getIRI());
-
-    return objectPropertyNameShortForm.startsWith(":") ? objectPropertyNameShortForm.substring(1)
-        : objectPropertyNameShortForm;
+    return this.symbolTable.getShortName(property.getIRI());
   }
 
   @Override
   public String visit(SWRLDataPropertyBuiltInArgument argument)
   {
     OWLDataProperty property = argument.getOWLDataProperty();
-    String dataPropertyNameShortForm = this.prefixManager.getShortForm(property.getIRI());
-
-    return dataPropertyNameShortForm.startsWith(":") ? dataPropertyNameShortForm.substring(1)
-        : dataPropertyNameShortForm;
+    return this.symbolTable.getShortName(property.getIRI());
   }
 
   @Override
   public String visit(SWRLAnnotationPropertyBuiltInArgument argument)
   {
     OWLAnnotationProperty property = argument.getOWLAnnotationProperty();
-    String annotationPropertyNameShortForm = this.prefixManager.getShortForm(property.getIRI());
-
-    return annotationPropertyNameShortForm.startsWith(":") ? annotationPropertyNameShortForm.substring(1)
-        : annotationPropertyNameShortForm;
+    return this.symbolTable.getShortName(property.getIRI());
   }
 
   @Override
@@ -479,9 +460,8 @@ class DefaultSWRLRuleAndQueryRenderer implements SWRLRuleRenderer, SQWRLQueryRen
   {
     IRI variableIRI = argument.getIRI();
 
-    if (this.ontology.containsEntityInSignature(variableIRI, Imports.INCLUDED)) {
-      String shortForm = this.prefixManager.getShortForm(variableIRI);
-      return shortForm.startsWith(":") ? shortForm.substring(1) : shortForm;
+    if (this.symbolTable.hasType(variableIRI, ShortNameSymbolTable.OWL_ENTITY)) {
+      return this.symbolTable.getShortName(variableIRI);
     } else {
       String variablePrefixedName = this.prefixManager.getPrefixIRI(variableIRI);
       return variablePrefixedName2VariableName(variablePrefixedName);
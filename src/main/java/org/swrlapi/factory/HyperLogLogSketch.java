@@ -0,0 +1,189 @@
+package org.swrlapi.factory;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct 64-bit hashes added to it. Memory is bounded by one byte per
+ * register. Until the registers would use less memory the hashes themselves are retained, so small sets are counted
+ * exactly.
+ * <p>
+ * The estimate uses Ertl's improved raw estimator, which needs no empirical bias correction for small or large
+ * cardinalities; see O. Ertl, "New cardinality estimation algorithms for HyperLogLog sketches", 2017.
+ *
+ * @see org.swrlapi.factory.SQWRLAggregateAccumulator
+ */
+class HyperLogLogSketch
+{
+  static final int MIN_PRECISION = 4;
+  static final int MAX_PRECISION = 18;
+  static final long HASH_SEED = 0xcbf29ce484222325L; // FNV-1a offset basis
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final int INITIAL_SPARSE_CAPACITY = 8;
+
+  private final int precision;
+  private long[] sparseHashes; // Open addressing set of hashes, with zero for empty slots; null once dense
+  private int numberOfSparseHashes;
+  private byte[] registers; // Null while sparse
+
+  public HyperLogLogSketch(int precision)
+  {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION)
+      throw new IllegalArgumentException("invalid HyperLogLog precision " + precision);
+
+    this.precision = precision;
+    this.sparseHashes = new long[INITIAL_SPARSE_CAPACITY];
+    this.numberOfSparseHashes = 0;
+    this.registers = null;
+  }
+
+  /**
+   * @param relativeError A relative standard error
+   * @return The smallest precision whose standard error 1.04/sqrt(2^precision) is no greater than the relative error
+   */
+  public static int getPrecision(double relativeError)
+  {
+    double numberOfRegisters = Math.pow(1.04 / relativeError, 2);
+    int precision = 64 - Long.numberOfLeadingZeros((long)Math.ceil(numberOfRegisters) - 1);
+
+    return Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision));
+  }
+
+  /**
+   * Fold text into a hash; the text is terminated so that consecutive folds are unambiguous.
+   */
+  public static long hash(long hash, String text)
+  {
+    for (int i = 0; i < text.length(); i++)
+      hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+
+    return (hash ^ 0xffff) * FNV_PRIME;
+  }
+
+  public void add(long hash)
+  {
+    hash = mix(hash);
+
+    if (this.registers != null)
+      addToRegisters(hash);
+    else {
+      if (hash == 0)
+        hash = 1; // Zero marks an empty slot
+
+      int mask = this.sparseHashes.length - 1, slot = (int)hash & mask;
+      while (this.sparseHashes[slot] != 0) {
+        if (this.sparseHashes[slot] == hash)
+          return;
+        slot = (slot + 1) & mask;
+      }
+      this.sparseHashes[slot] = hash;
+      this.numberOfSparseHashes++;
+
+      if (this.numberOfSparseHashes * 2 > this.sparseHashes.length)
+        growSparseHashes();
+    }
+  }
+
+  public long estimate()
+  {
+    if (this.registers == null)
+      return this.numberOfSparseHashes;
+
+    int numberOfRegisters = this.registers.length, maximumRank = 64 - this.precision + 1;
+    int[] rankCounts = new int[maximumRank + 1];
+
+    for (byte rank : this.registers)
+      rankCounts[rank]++;
+
+    if (rankCounts[0] == numberOfRegisters)
+      return 0;
+
+    double z = numberOfRegisters * tau(1.0 - (double)rankCounts[maximumRank] / numberOfRegisters);
+    for (int rank = maximumRank - 1; rank >= 1; rank--)
+      z = 0.5 * (z + rankCounts[rank]);
+    z += numberOfRegisters * sigma((double)rankCounts[0] / numberOfRegisters);
+
+    return Math.round(numberOfRegisters * (numberOfRegisters / z) / (2 * Math.log(2)));
+  }
+
+  /**
+   * @return True if the hashes themselves are still retained, so the estimate is exact
+   */
+  boolean isSparse()
+  {
+    return this.registers == null;
+  }
+
+  private void growSparseHashes()
+  {
+    long[] hashes = this.sparseHashes;
+    int numberOfRegisters = 1 << this.precision;
+
+    if (hashes.length * 8 >= numberOfRegisters) { // Registers are now smaller
+      this.registers = new byte[numberOfRegisters];
+      this.sparseHashes = null;
+      for (long hash : hashes)
+        if (hash != 0)
+          addToRegisters(hash);
+    } else {
+      int mask = hashes.length * 2 - 1;
+      this.sparseHashes = new long[hashes.length * 2];
+      for (long hash : hashes) {
+        if (hash != 0) {
+          int slot = (int)hash & mask;
+          while (this.sparseHashes[slot] != 0)
+            slot = (slot + 1) & mask;
+          this.sparseHashes[slot] = hash;
+        }
+      }
+    }
+  }
+
+  private void addToRegisters(long hash)
+  {
+    int index = (int)(hash >>> (64 - this.precision));
+    int rank = Math.min(Long.numberOfLeadingZeros(hash << this.precision), 64 - this.precision) + 1;
+
+    if (rank > this.registers[index])
+      this.registers[index] = (byte)rank;
+  }
+
+  private static double sigma(double x)
+  {
+    if (x == 1.0)
+      return Double.POSITIVE_INFINITY;
+
+    double y = 1.0, z = x, previousZ;
+    do {
+      x *= x;
+      previousZ = z;
+      z += x * y;
+      y += y;
+    } while (previousZ != z);
+
+    return z;
+  }
+
+  private static double tau(double x)
+  {
+    if (x == 0.0 || x == 1.0)
+      return 0.0;
+
+    double y = 1.0, z = 1.0 - x, previousZ;
+    do {
+      x = Math.sqrt(x);
+      previousZ = z;
+      y *= 0.5;
+      z -= Math.pow(1.0 - x, 2) * y;
+    } while (previousZ != z);
+
+    return z / 3;
+  }
+
+  private static long mix(long hash) // MurmurHash3 finalizer
+  {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    return hash ^ (hash >>> 33);
+  }
+}
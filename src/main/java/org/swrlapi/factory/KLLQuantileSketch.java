@@ -0,0 +1,172 @@
+package org.swrlapi.factory;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A KLL sketch estimating quantiles of the doubles added to it; see Z. Karnin, K. Lang and E. Liberty, "Optimal
+ * Quantile Approximation in Streams", 2016. Values are held in a hierarchy of compactors whose capacities shrink
+ * geometrically from <tt>k</tt> at the top level, so at most about <tt>3k</tt> values are retained. Until the first
+ * compaction the quantiles are exact.
+ * <p>
+ * Compaction is randomized with a fixed seed, so the same values added in the same order always give the same result.
+ *
+ * @see org.swrlapi.factory.SQWRLAggregateAccumulator
+ */
+class KLLQuantileSketch
+{
+  static final int MIN_K = 8;
+
+  private static final double CAPACITY_DECAY = 2.0 / 3.0;
+  private static final int MIN_LEVEL_CAPACITY = 2;
+  private static final int INITIAL_LEVEL_SIZE = 16;
+  private static final long RANDOM_SEED = 0x4b4c4cL;
+
+  private final int k;
+  private final Random random;
+  private double[][] levels; // Level h holds values of weight 2^h
+  private int[] levelSizes;
+  private int numberOfLevels, numberOfRetainedValues, totalCapacity;
+  private long count;
+
+  public KLLQuantileSketch(int k)
+  {
+    if (k < MIN_K)
+      throw new IllegalArgumentException("invalid KLL sketch size " + k);
+
+    this.k = k;
+    this.random = new Random(RANDOM_SEED);
+    this.levels = new double[4][];
+    this.levelSizes = new int[4];
+    this.levels[0] = new double[INITIAL_LEVEL_SIZE];
+    this.numberOfLevels = 1;
+    this.numberOfRetainedValues = 0;
+    this.totalCapacity = getTotalCapacity();
+    this.count = 0;
+  }
+
+  /**
+   * @param rankError A normalized rank error
+   * @return The sketch size whose rank error is no greater than the given error with high probability
+   */
+  public static int getK(double rankError)
+  {
+    return Math.max(MIN_K, (int)Math.min(1 << 16, Math.ceil(1.65 / rankError)));
+  }
+
+  public long getCount()
+  {
+    return this.count;
+  }
+
+  public void add(double value)
+  {
+    append(0, value);
+    this.numberOfRetainedValues++;
+    this.count++;
+
+    while (this.numberOfRetainedValues >= this.totalCapacity)
+      compact();
+  }
+
+  /**
+   * @param fraction A quantile in the range 0 to 1, e.g., 0.5 for the median
+   * @return The approximate quantile; exact quantiles are interpolated between the two nearest values
+   */
+  public double getQuantile(double fraction)
+  {
+    if (this.count == 0)
+      throw new IllegalStateException("no values in sketch");
+
+    if (this.numberOfLevels == 1) { // Nothing compacted
+      double[] values = Arrays.copyOf(this.levels[0], this.levelSizes[0]);
+      double position = fraction * (values.length - 1);
+      int lower = (int)Math.floor(position), upper = (int)Math.ceil(position);
+
+      Arrays.sort(values);
+
+      return lower == upper ? values[lower] : values[lower] + (position - lower) * (values[upper] - values[lower]);
+    }
+
+    double[] values = new double[this.numberOfRetainedValues];
+    long[] weights = new long[this.numberOfRetainedValues];
+    Integer[] order = new Integer[this.numberOfRetainedValues];
+    int n = 0;
+
+    for (int h = 0; h < this.numberOfLevels; h++) {
+      for (int i = 0; i < this.levelSizes[h]; i++) {
+        values[n] = this.levels[h][i];
+        weights[n] = 1L << h;
+        order[n] = n;
+        n++;
+      }
+    }
+    Arrays.sort(order, (i1, i2) -> Double.compare(values[i1], values[i2]));
+
+    double targetWeight = fraction * this.count;
+    long cumulativeWeight = 0;
+    for (int i : order) {
+      cumulativeWeight += weights[i];
+      if (cumulativeWeight >= targetWeight)
+        return values[i];
+    }
+    return values[order[n - 1]];
+  }
+
+  private void compact()
+  {
+    int h = 0;
+    while (this.levelSizes[h] < getCapacity(h))
+      h++;
+
+    if (h + 1 == this.numberOfLevels)
+      addLevel();
+
+    double[] level = this.levels[h];
+    int size = this.levelSizes[h], retained = size % 2; // An odd value out stays at this level
+    int offset = this.random.nextBoolean() ? 1 : 0;
+
+    Arrays.sort(level, retained, size);
+    for (int i = retained + offset; i < size; i += 2)
+      append(h + 1, level[i]);
+
+    this.levelSizes[h] = retained;
+    this.numberOfRetainedValues -= (size - retained) / 2;
+  }
+
+  private void append(int h, double value)
+  {
+    if (this.levelSizes[h] == this.levels[h].length)
+      this.levels[h] = Arrays.copyOf(this.levels[h], this.levels[h].length * 2);
+
+    this.levels[h][this.levelSizes[h]++] = value;
+  }
+
+  private void addLevel()
+  {
+    if (this.numberOfLevels == this.levels.length) {
+      this.levels = Arrays.copyOf(this.levels, this.numberOfLevels * 2);
+      this.levelSizes = Arrays.copyOf(this.levelSizes, this.numberOfLevels * 2);
+    }
+    this.levels[this.numberOfLevels] = new double[INITIAL_LEVEL_SIZE];
+    this.numberOfLevels++;
+    this.totalCapacity = getTotalCapacity();
+  }
+
+  private int getCapacity(int h)
+  {
+    int depth = this.numberOfLevels - 1 - h;
+
+    return Math.max(MIN_LEVEL_CAPACITY, (int)Math.ceil(this.k * Math.pow(CAPACITY_DECAY, depth)));
+  }
+
+  private int getTotalCapacity()
+  {
+    int totalCapacity = 0;
+
+    for (int h = 0; h < this.numberOfLevels; h++)
+      totalCapacity += getCapacity(h);
+
+    return totalCapacity;
+  }
+}
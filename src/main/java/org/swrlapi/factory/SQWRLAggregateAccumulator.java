@@ -0,0 +1,221 @@
+package org.swrlapi.factory;
+
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.swrlapi.sqwrl.SQWRLResultNames;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidAggregateFunctionNameException;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Incrementally computes a SQWRL aggregate function over the values of one aggregate column in one group of a result.
+ * Min, max, sum, avg and count keep running values; median retains the values as primitive doubles and count distinct
+ * retains only the distinct values. The approximate count distinct and median functions hold a bounded sketch instead,
+ * sized from a configurable error; see {@link HyperLogLogSketch} and {@link KLLQuantileSketch}.
+ * <p>
+ * Numeric results have the narrowest type able to hold every input value, so one input value of each numeric type seen
+ * is kept to select that type.
+ *
+ * @see org.swrlapi.factory.SQWRLResultManager
+ */
+class SQWRLAggregateAccumulator
+{
+  private static final int INITIAL_MEDIAN_CAPACITY = 16;
+
+  private enum AggregateFunction
+  {
+    MIN, MAX, SUM, AVG, MEDIAN, COUNT, COUNT_DISTINCT, APPROX_MEDIAN, APPROX_COUNT_DISTINCT
+  }
+
+  private final SQWRLResultValueFactory sqwrlResultValueFactory;
+  private final String aggregateFunctionName;
+  private final AggregateFunction aggregateFunction;
+  private final int columnIndex;
+
+  private final List<SQWRLLiteralResultValue> numericTypeExemplars;
+  private int count;
+  private double sum;
+  private SQWRLLiteralResultValue extremeValue; // Current minimum or maximum
+  private double[] medianValues;
+  private Set<SQWRLResultValue> distinctValues;
+  private HyperLogLogSketch distinctSketch;
+  private KLLQuantileSketch quantileSketch;
+
+  /**
+   * @param approximateAggregateError The relative standard error of approximate count distinct and the rank error of
+   *          approximate median
+   */
+  public SQWRLAggregateAccumulator(SQWRLResultValueFactory sqwrlResultValueFactory, String aggregateFunctionName,
+      int columnIndex, double approximateAggregateError) throws SQWRLInvalidAggregateFunctionNameException
+  {
+    this.sqwrlResultValueFactory = sqwrlResultValueFactory;
+    this.aggregateFunctionName = aggregateFunctionName;
+    this.aggregateFunction = getAggregateFunction(aggregateFunctionName);
+    this.columnIndex = columnIndex;
+    this.numericTypeExemplars = new ArrayList<>();
+    this.count = 0;
+    this.sum = 0;
+    this.extremeValue = null;
+
+    if (this.aggregateFunction == AggregateFunction.MEDIAN)
+      this.medianValues = new double[INITIAL_MEDIAN_CAPACITY];
+    else if (this.aggregateFunction == AggregateFunction.COUNT_DISTINCT)
+      this.distinctValues = new HashSet<>();
+    else if (this.aggregateFunction == AggregateFunction.APPROX_COUNT_DISTINCT)
+      this.distinctSketch = new HyperLogLogSketch(HyperLogLogSketch.getPrecision(approximateAggregateError));
+    else if (this.aggregateFunction == AggregateFunction.APPROX_MEDIAN)
+      this.quantileSketch = new KLLQuantileSketch(KLLQuantileSketch.getK(approximateAggregateError));
+  }
+
+  public void add(SQWRLResultValue value) throws SQWRLException
+  {
+    if (this.aggregateFunction == AggregateFunction.COUNT) {
+      this.count++;
+      return;
+    } else if (this.aggregateFunction == AggregateFunction.COUNT_DISTINCT) {
+      this.distinctValues.add(value);
+      this.count++;
+      return;
+    } else if (this.aggregateFunction == AggregateFunction.APPROX_COUNT_DISTINCT) {
+      this.distinctSketch.add(hash(value));
+      this.count++;
+      return;
+    }
+
+    // We have checked in addCell that only numeric data are added for min, max, sum, avg, and the medians
+    if (!value.isLiteral())
+      throw new SQWRLException("Found non literal value " + value + " in (0-based) row " + this.count + ", column "
+          + this.columnIndex + " - expecting literal");
+
+    SQWRLLiteralResultValue literalValue = value.asLiteralResult();
+
+    if (!literalValue.isNumeric())
+      throw new SQWRLException("attempt to use " + this.aggregateFunctionName
+          + " aggregate on column with non numeric literal " + literalValue + " with type "
+          + literalValue.getOWLDatatype() + " in (0-based) row " + this.count + ", column " + this.columnIndex);
+
+    switch (this.aggregateFunction) {
+    case MIN:
+      if (this.extremeValue == null || literalValue.compareTo(this.extremeValue) < 0)
+        this.extremeValue = literalValue;
+      break;
+    case MAX:
+      if (this.extremeValue == null || literalValue.compareTo(this.extremeValue) > 0)
+        this.extremeValue = literalValue;
+      break;
+    case MEDIAN:
+      if (this.count == this.medianValues.length)
+        this.medianValues = Arrays.copyOf(this.medianValues, this.count * 2);
+      this.medianValues[this.count] = literalValue.getDouble();
+      addNumericTypeExemplar(literalValue);
+      break;
+    case APPROX_MEDIAN:
+      this.quantileSketch.add(literalValue.getDouble());
+      addNumericTypeExemplar(literalValue);
+      break;
+    default: // Sum or avg
+      this.sum += literalValue.getDouble();
+      addNumericTypeExemplar(literalValue);
+    }
+    this.count++;
+  }
+
+  public SQWRLResultValue getResult() throws SQWRLException
+  {
+    if (this.aggregateFunction == AggregateFunction.COUNT)
+      return this.sqwrlResultValueFactory.getLiteralValue(this.count);
+    else if (this.aggregateFunction == AggregateFunction.COUNT_DISTINCT)
+      return this.sqwrlResultValueFactory.getLiteralValue(this.distinctValues.size());
+    else if (this.aggregateFunction == AggregateFunction.APPROX_COUNT_DISTINCT)
+      return this.sqwrlResultValueFactory.getLiteralValue(this.distinctSketch.estimate());
+    else if (this.count == 0)
+      throw new SQWRLException("empty aggregate list for function " + this.aggregateFunctionName);
+
+    switch (this.aggregateFunction) {
+    case MIN:
+    case MAX:
+      return this.extremeValue;
+    case SUM:
+      return this.sqwrlResultValueFactory.createLeastNarrowNumericLiteralValue(this.sum, this.numericTypeExemplars);
+    case AVG:
+      return this.sqwrlResultValueFactory.createLeastNarrowNumericLiteralValue(this.sum / this.count,
+          this.numericTypeExemplars);
+    case APPROX_MEDIAN:
+      return this.sqwrlResultValueFactory.createLeastNarrowNumericLiteralValue(this.quantileSketch.getQuantile(0.5),
+          this.numericTypeExemplars);
+    default: // Median
+      return this.sqwrlResultValueFactory.createLeastNarrowNumericLiteralValue(median(), this.numericTypeExemplars);
+    }
+  }
+
+  private double median()
+  {
+    double[] values = Arrays.copyOf(this.medianValues, this.count);
+    int middle = this.count / 2;
+
+    Arrays.sort(values);
+
+    if (this.count % 2 == 1)
+      return values[middle];
+    else
+      return (values[middle - 1] + values[middle]) / 2;
+  }
+
+  /**
+   * @return A hash of a value that is equal for values that are equal
+   */
+  private static long hash(SQWRLResultValue value) throws SQWRLException
+  {
+    if (value.isLiteral()) {
+      OWLLiteral literal = value.asLiteralResult().getOWLLiteral();
+      long hash = HyperLogLogSketch.hash(HyperLogLogSketch.HASH_SEED, literal.getLiteral());
+      hash = HyperLogLogSketch.hash(hash, literal.getDatatype().getIRI().toString());
+      return HyperLogLogSketch.hash(hash, literal.getLang());
+    } else if (value.isEntity())
+      return HyperLogLogSketch.hash(HyperLogLogSketch.hash(HyperLogLogSketch.HASH_SEED, value.getClass().getName()),
+          value.asEntityResult().getIRI().toString());
+    else
+      return HyperLogLogSketch.hash(HyperLogLogSketch.HASH_SEED, value.toString());
+  }
+
+  private void addNumericTypeExemplar(SQWRLLiteralResultValue literalValue)
+  {
+    for (SQWRLLiteralResultValue exemplar : this.numericTypeExemplars)
+      if (exemplar.getOWLDatatype().equals(literalValue.getOWLDatatype()))
+        return;
+
+    this.numericTypeExemplars.add(literalValue);
+  }
+
+  private static AggregateFunction getAggregateFunction(String aggregateFunctionName)
+      throws SQWRLInvalidAggregateFunctionNameException
+  {
+    if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MinAggregateFunction))
+      return AggregateFunction.MIN;
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MaxAggregateFunction))
+      return AggregateFunction.MAX;
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.SumAggregateFunction))
+      return AggregateFunction.SUM;
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.AvgAggregateFunction))
+      return AggregateFunction.AVG;
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MedianAggregateFunction))
+      return AggregateFunction.MEDIAN;
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountAggregateFunction))
+      return AggregateFunction.COUNT;
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountDistinctAggregateFunction))
+      return AggregateFunction.COUNT_DISTINCT;
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.ApproxMedianAggregateFunction))
+      return AggregateFunction.APPROX_MEDIAN;
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.ApproxCountDistinctAggregateFunction))
+      return AggregateFunction.APPROX_COUNT_DISTINCT;
+    else
+      throw new SQWRLInvalidAggregateFunctionNameException("invalid aggregate function " + aggregateFunctionName);
+  }
+}
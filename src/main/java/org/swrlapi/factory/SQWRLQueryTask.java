@@ -0,0 +1,134 @@
+package org.swrlapi.factory;
+
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultRowConsumer;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a single SQWRL query on behalf of
+ * {@link org.swrlapi.sqwrl.SQWRLQueryEngine#runSQWRLQueryAsync(String, org.swrlapi.sqwrl.SQWRLQueryOptions)} or
+ * {@link org.swrlapi.sqwrl.SQWRLQueryEngine#streamSQWRLQuery(String, int)}. A streaming task hands the rows of the
+ * query's result to a row consumer and bypasses the query engine's result cache.
+ * <p>
+ * Queries are run while holding the query engine's monitor, so asynchronous queries on an engine are executed one at a
+ * time. If the returned future is cancelled or times out the thread running the query is interrupted and the target
+ * rule engine is asked to stop. Once the run has been abandoned the query engine is reset before its monitor is
+ * released, so the next query always starts from a clean engine.
+ */
+class SQWRLQueryTask implements Runnable
+{
+  private static final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor(
+    runnable -> {
+      Thread thread = new Thread(runnable, "SQWRL query timeout scheduler");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+  private final DefaultSWRLRuleAndQueryEngine queryEngine;
+  private final String queryName;
+  private final SQWRLResultRowConsumer rowConsumer; // Null if the result is not streamed
+  private final CompletableFuture<SQWRLResult> future;
+
+  private Thread runner; // Thread running the query; null if not running
+  private boolean aborted;
+
+  public SQWRLQueryTask(DefaultSWRLRuleAndQueryEngine queryEngine, String queryName)
+  {
+    this(queryEngine, queryName, null);
+  }
+
+  public SQWRLQueryTask(DefaultSWRLRuleAndQueryEngine queryEngine, String queryName,
+    SQWRLResultRowConsumer rowConsumer)
+  {
+    this.queryEngine = queryEngine;
+    this.queryName = queryName;
+    this.rowConsumer = rowConsumer;
+    this.future = new CompletableFuture<>();
+    this.runner = null;
+    this.aborted = false;
+
+    this.future.whenComplete((result, exception) -> {
+      if (exception instanceof CancellationException || exception instanceof TimeoutException)
+        abort();
+    });
+  }
+
+  public CompletableFuture<SQWRLResult> getFuture()
+  {
+    return this.future;
+  }
+
+  /**
+   * Complete the future exceptionally with a {@link TimeoutException} if the query has not completed after the
+   * specified time.
+   */
+  public void scheduleTimeout(long timeoutMillis)
+  {
+    ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> this.future.completeExceptionally(
+      new TimeoutException("SQWRL query " + this.queryName + " timed out after " + timeoutMillis + " ms")),
+      timeoutMillis, TimeUnit.MILLISECONDS);
+
+    this.future.whenComplete((result, exception) -> timeout.cancel(false));
+  }
+
+  @Override
+  public void run()
+  {
+    if (this.future.isDone()) // Cancelled or timed out before it started
+      return;
+
+    synchronized (this.queryEngine) {
+      if (!start())
+        return;
+
+      try {
+        if (this.rowConsumer == null)
+          this.future.complete(this.queryEngine.runSQWRLQuery(this.queryName));
+        else
+          this.future.complete(this.queryEngine.runSQWRLQuery(this.queryName, this.rowConsumer));
+      } catch (Throwable t) {
+        this.future.completeExceptionally(t);
+      } finally {
+        if (finish())
+          this.queryEngine.reset();
+      }
+    }
+  }
+
+  private synchronized boolean start()
+  {
+    if (this.aborted || this.future.isDone())
+      return false;
+
+    this.runner = Thread.currentThread();
+    return true;
+  }
+
+  /**
+   * @return True if the run was aborted and the query engine must be reset
+   */
+  private synchronized boolean finish()
+  {
+    this.runner = null;
+    Thread.interrupted(); // Do not leak an interrupt to the next task run by this thread
+
+    return this.aborted;
+  }
+
+  private synchronized void abort()
+  {
+    this.aborted = true;
+
+    if (this.runner != null) {
+      this.runner.interrupt();
+      this.queryEngine.cancelTargetRuleEngine();
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package org.swrlapi.factory;
+
+import org.swrlapi.sqwrl.SQWRLResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of prepared SQWRL query results with least recently used eviction. Cached results are shared, so
+ * callers should only read them through a {@link org.swrlapi.factory.SQWRLResultReader}.
+ * <p>
+ * Results are stored against the name of the query and the version of the ontology they were computed from. Since
+ * SQWRL queries and SWRL rules are stored in the ontology, any change to a query or rule definition changes the
+ * ontology version. All cached results are discarded as soon as a lookup or store is made for a different ontology
+ * version, or when {@link #clear()} is called; the result of a single query is discarded by {@link #remove(String)}.
+ *
+ * @see org.swrlapi.core.SWRLAPIOWLOntology#getOntologyVersion()
+ */
+class SQWRLResultCache
+{
+  private final Map<String, SQWRLResult> results;
+
+  private int capacity;
+  private long ontologyVersion; // Ontology version the cached results were computed from
+  private long hitCount, missCount;
+
+  public SQWRLResultCache(int capacity)
+  {
+    checkCapacity(capacity);
+
+    this.results = new LinkedHashMap<String, SQWRLResult>(16, 0.75f, true)
+    {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, SQWRLResult> eldest)
+      {
+        return size() > SQWRLResultCache.this.capacity;
+      }
+    };
+    this.capacity = capacity;
+    this.ontologyVersion = -1;
+    this.hitCount = 0;
+    this.missCount = 0;
+  }
+
+  /**
+   * @param queryName The name of the query
+   * @param ontologyVersion The current ontology version
+   * @return The cached result or null if there is no result for the query at this ontology version
+   */
+  public synchronized SQWRLResult get(String queryName, long ontologyVersion)
+  {
+    invalidateIfStale(ontologyVersion);
+
+    SQWRLResult result = this.results.get(queryName);
+
+    if (result != null)
+      this.hitCount++;
+    else
+      this.missCount++;
+
+    return result;
+  }
+
+  public synchronized void put(String queryName, long ontologyVersion, SQWRLResult result)
+  {
+    invalidateIfStale(ontologyVersion);
+
+    if (this.capacity > 0)
+      this.results.put(queryName, result);
+  }
+
+  public synchronized void remove(String queryName)
+  {
+    this.results.remove(queryName);
+  }
+
+  public synchronized void clear()
+  {
+    this.results.clear();
+  }
+
+  /**
+   * @param capacity The maximum number of cached results; a capacity of zero disables caching
+   * @throws IllegalArgumentException If the capacity is negative
+   */
+  public synchronized void setCapacity(int capacity)
+  {
+    checkCapacity(capacity);
+
+    this.capacity = capacity;
+
+    while (this.results.size() > capacity)
+      this.results.remove(this.results.keySet().iterator().next());
+  }
+
+  public synchronized int getCapacity()
+  {
+    return this.capacity;
+  }
+
+  public synchronized int size()
+  {
+    return this.results.size();
+  }
+
+  public synchronized long getHitCount()
+  {
+    return this.hitCount;
+  }
+
+  public synchronized long getMissCount()
+  {
+    return this.missCount;
+  }
+
+  private static void checkCapacity(int capacity)
+  {
+    if (capacity < 0)
+      throw new IllegalArgumentException("invalid SQWRL result cache capacity " + capacity);
+  }
+
+  private void invalidateIfStale(long ontologyVersion)
+  {
+    if (this.ontologyVersion != ontologyVersion) {
+      this.results.clear();
+      this.ontologyVersion = ontologyVersion;
+    }
+  }
+}
@@ -1,16 +1,22 @@
 package org.swrlapi.factory;
 
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+import org.swrlapi.core.SWRLRuleEngineBudget;
 import org.swrlapi.exceptions.SWRLAPIInternalException;
+import org.swrlapi.exceptions.SWRLRuleEngineBudgetExceededException;
 import org.swrlapi.sqwrl.SQWRLResult;
 import org.swrlapi.sqwrl.SQWRLResultGenerator;
 import org.swrlapi.sqwrl.SQWRLResultNames;
+import org.swrlapi.sqwrl.SQWRLResultRowConsumer;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
-import org.swrlapi.sqwrl.exceptions.SQWRLInvalidAggregateFunctionNameException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnIndexException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnNameException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnTypeException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidRowIndexException;
+import org.swrlapi.sqwrl.exceptions.SQWRLQueryCancelledException;
 import org.swrlapi.sqwrl.exceptions.SQWRLResultStateException;
 import org.swrlapi.sqwrl.values.SQWRLAnnotationPropertyResultValue;
 import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
@@ -28,10 +34,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * This class implements the interfaces {@link org.swrlapi.sqwrl.SQWRLResult} and
@@ -47,6 +57,12 @@ import java.util.Set;
  * (2) Preparation Phase: In this phase data are added to the result. This phase is implicitly opened by the call to the
  * {@link #configured()} method. It is closed by a call to the {@link #prepared()} method.
  * <p>
+ * A {@link org.swrlapi.sqwrl.SQWRLResultRowConsumer} may be set during this phase to receive rows as they are closed.
+ * Rows handed to a consumer while streaming are not retained by the result.
+ * <p>
+ * Rows are held on the heap unless a spill batch size is set, in which case they are written to a temporary file and
+ * ordering and distinct use an external merge sort; see {@link #setSpillBatchSize(int)}.
+ * <p>
  * A convenience method {@link #addColumns} that takes a list of column names is also supplied.
  * <p>
  * There is also a convenience method {@link #addRow}, which takes a list of {@link SQWRLResultValue} objects. This
@@ -112,14 +128,16 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
 {
   private static final long serialVersionUID = 1L;
 
+  static final int DEFAULT_PARALLEL_PREPARATION_THRESHOLD = 100000;
+  static final double DEFAULT_APPROXIMATE_AGGREGATE_ERROR = 0.02;
+
   private final SQWRLResultValueFactory sqwrlResultValueFactory;
 
   private final List<String> allColumnNames, columnDisplayNames;
   private final List<Integer> selectedColumnIndexes, orderByColumnIndexes;
   private final Map<Integer, String> aggregateColumnIndexes; // Map of (index, function) pairs
-  private List<List<SQWRLResultValue>> rows; // List of List of SQWRLResultValue objects.
+  private SQWRLResultStore rows; // Row storage; created when the result is configured
   private List<SQWRLResultValue> rowData; // List of SQWRLResultValue objects used when assembling a row.
-  private Map<String, List<SQWRLResultValue>> columnValuesMap; // Column name -> List<SQWRLResultValue>
 
   private int numberOfColumns, currentRowIndex, currentRowDataColumnIndex;
   private boolean isConfigured, isPrepared, isRowOpen, isOrdered, isAscending, isDistinct, hasAggregates;
@@ -127,6 +145,13 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
   private boolean notNthSelection = false, firstSelection = false, lastSelection = false, notFirstSelection = false;
   private boolean notLastSelection = false, nthSliceSelection = false, notNthSliceSelection = false;
   private boolean nthLastSliceSelection = false, notNthLastSliceSelection = false;
+  private long maximumNumberOfRows = SWRLRuleEngineBudget.UNLIMITED;
+  private long numberOfClosedRows = 0; // Includes rows handed to a row consumer and not retained
+  private transient SQWRLResultRowConsumer rowConsumer = null;
+  private boolean isStreaming = false; // True if closed rows are handed to the row consumer instead of being retained
+  private int parallelPreparationThreshold = DEFAULT_PARALLEL_PREPARATION_THRESHOLD;
+  private int spillBatchSize = 0; // Zero if rows are held on the heap
+  private double approximateAggregateError = DEFAULT_APPROXIMATE_AGGREGATE_ERROR;
 
   public SQWRLResultManager(SQWRLResultValueFactory sqwrlResultValueFactory)
   {
@@ -147,7 +172,6 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
 
     // The following variables will not be externally valid until prepared() is called.
     this.currentRowIndex = -1; // If there are no rows in the final result, it will remain at -1.
-    this.rows = new ArrayList<>();
   }
 
   // Configuration phase methods
@@ -256,10 +280,85 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     this.hasAggregates = !this.aggregateColumnIndexes.isEmpty();
 
     this.isConfigured = true;
+    this.rows = createResultStore();
   }
 
   // Methods used to retrieve the result structure after the result has been configured
 
+  @Override
+  public void setMaximumNumberOfRows(long maximumNumberOfRows)
+  {
+    this.maximumNumberOfRows = maximumNumberOfRows;
+  }
+
+  @Override
+  public void setParallelPreparationThreshold(int parallelPreparationThreshold)
+  {
+    this.parallelPreparationThreshold = parallelPreparationThreshold;
+  }
+
+  @Override
+  public void setSpillBatchSize(int spillBatchSize) throws SQWRLException
+  {
+    throwExceptionIfAlreadyPrepared();
+
+    if (spillBatchSize < 0)
+      throw new SQWRLException("invalid spill batch size " + spillBatchSize);
+
+    if (spillBatchSize == this.spillBatchSize)
+      return;
+
+    this.spillBatchSize = spillBatchSize;
+
+    if (this.isConfigured) { // Move any rows added so far to the new storage
+      SQWRLResultStore store = createResultStore();
+      store.addRows(this.rows.getRows());
+      this.rows.clear();
+      this.rows = store;
+    }
+  }
+
+  @Override
+  public void setApproximateAggregateError(double approximateAggregateError) throws SQWRLException
+  {
+    throwExceptionIfAlreadyPrepared();
+
+    if (!(approximateAggregateError > 0 && approximateAggregateError < 1))
+      throw new SQWRLException("invalid approximate aggregate error " + approximateAggregateError);
+
+    this.approximateAggregateError = approximateAggregateError;
+  }
+
+  @Override
+  public void setRowConsumer(SQWRLResultRowConsumer rowConsumer) throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+    throwExceptionIfAlreadyPrepared();
+
+    if (rowConsumer == this.rowConsumer)
+      return;
+
+    this.rowConsumer = rowConsumer;
+    this.isStreaming = rowConsumer != null && isStreamable();
+
+    if (rowConsumer != null)
+      rowConsumer.started(getColumnNames());
+
+    if (this.isStreaming && this.rows.getNumberOfRows() > 0) { // Hand over rows closed before the consumer was set
+      for (List<SQWRLResultValue> row : this.rows.getRows())
+        rowConsumer.consumeRow(row);
+      this.rows.clear();
+    }
+  }
+
+  @Override
+  public boolean isStreamable() throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+
+    return !this.hasAggregates && !this.isDistinct && !this.isOrdered && !hasSelectionOperator();
+  }
+
   @Override
   public void setIsDistinct()
   {
@@ -350,7 +449,9 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
         && (!this.aggregateColumnIndexes.get(this.currentRowDataColumnIndex).equals(
             SQWRLResultNames.CountAggregateFunction))
         && (!this.aggregateColumnIndexes.get(this.currentRowDataColumnIndex).equals(
-            SQWRLResultNames.CountDistinctAggregateFunction)) && (!isNumericValue(value)))
+            SQWRLResultNames.CountDistinctAggregateFunction))
+        && (!this.aggregateColumnIndexes.get(this.currentRowDataColumnIndex).equals(
+            SQWRLResultNames.ApproxCountDistinctAggregateFunction)) && (!isNumericValue(value)))
       throw new SQWRLException("attempt to add non numeric value " + value
           + " to min, max, sum, or avg aggregate column " + this.allColumnNames.get(this.currentRowDataColumnIndex));
     this.rowData.add(value);
@@ -366,8 +467,17 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     throwExceptionIfNotConfigured();
     throwExceptionIfAlreadyPrepared();
 
-    if (this.isRowOpen)
-      this.rows.add(this.rowData);
+    if (this.isRowOpen) {
+      if (SWRLRuleEngineBudget.isExhausted(this.numberOfClosedRows, this.maximumNumberOfRows))
+        throw new SWRLRuleEngineBudgetExceededException("SQWRL result rows", this.maximumNumberOfRows);
+
+      this.numberOfClosedRows++;
+
+      if (this.isStreaming)
+        this.rowConsumer.consumeRow(Collections.unmodifiableList(this.rowData));
+      else
+        this.rows.addRow(this.rowData);
+    }
 
     this.isRowOpen = false;
   }
@@ -389,17 +499,49 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     else
       this.currentRowIndex = -1;
 
-    if (this.hasAggregates)
-      this.rows = aggregate(this.rows); // Aggregation implies killing duplicate rows
-    else if (this.isDistinct)
-      this.rows = distinct(this.rows);
+    if (this.hasAggregates || this.isDistinct || this.isOrdered || hasSelectionOperator()) {
+      int orderedPrefixSize = getOrderedPrefixSize();
+      boolean isTopK = this.isOrdered && orderedPrefixSize != -1 && orderedPrefixSize < this.rows.getNumberOfRows();
+      List<List<SQWRLResultValue>> processedRows;
+      List<SQWRLResultStore> temporaryStores = new ArrayList<>(); // Spilled tables holding intermediate rows
+
+      try {
+        // Aggregation, distinct, and sorting read each value many times, so they work on copies of the rows
+        if (this.hasAggregates)
+          processedRows = aggregate(this.rows.copyRows()); // Aggregation implies killing duplicate rows
+        else if (this.isDistinct)
+          processedRows = distinct(this.rows.copyRows(), temporaryStores);
+        else if (this.isOrdered && !isTopK)
+          processedRows = this.rows.copyRows();
+        else
+          processedRows = this.rows.getRows();
 
-    if (this.isOrdered && this.rows.size() > 0)
-      this.rows = orderBy(this.rows, this.isAscending);
+        if (this.isOrdered && processedRows.size() > 0) {
+          if (orderedPrefixSize != -1 && orderedPrefixSize < processedRows.size())
+            processedRows = orderByTopK(processedRows, this.isAscending, orderedPrefixSize);
+          else
+            processedRows = orderBy(processedRows, this.isAscending, temporaryStores);
+        }
 
-    this.rows = processSelectionOperators(this.rows);
+        processedRows = processSelectionOperators(processedRows);
 
-    prepareColumnVectors();
+        SQWRLResultStore processedStore = createResultStore();
+        processedStore.addRows(processedRows);
+        this.rows.clear();
+        this.rows = processedStore;
+      } finally {
+        for (SQWRLResultStore temporaryStore : temporaryStores)
+          temporaryStore.clear();
+      }
+    }
+    this.rows.trimToSize();
+
+    if (this.rowConsumer != null) {
+      if (!this.isStreaming)
+        for (List<SQWRLResultValue> row : this.rows.getRows())
+          this.rowConsumer.consumeRow(row);
+      this.rowConsumer.completed();
+    }
   }
 
   // Methods used to retrieve data after result has been prepared
@@ -410,7 +552,7 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     throwExceptionIfNotConfigured();
     throwExceptionIfNotPrepared();
 
-    return this.rows.size();
+    return this.rows.getNumberOfRows();
   }
 
   @Override
@@ -447,7 +589,7 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     throwExceptionIfNotPrepared();
     throwExceptionIfAtEndOfResult();
 
-    return this.rows.get(this.currentRowIndex);
+    return this.rows.getRow(this.currentRowIndex);
   }
 
   @Override
@@ -459,9 +601,7 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
 
     int columnIndex = getColumnIndex(columnName);
 
-    List<SQWRLResultValue> row = this.rows.get(this.currentRowIndex);
-
-    return row.get(columnIndex);
+    return this.rows.getValue(this.currentRowIndex, columnIndex);
   }
 
   @Override
@@ -473,9 +613,7 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
 
     checkColumnIndex(columnIndex);
 
-    List<SQWRLResultValue> row = this.rows.get(this.currentRowIndex);
-
-    return row.get(columnIndex);
+    return this.rows.getValue(this.currentRowIndex, columnIndex);
   }
 
   @Override
@@ -487,7 +625,7 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     checkColumnIndex(columnIndex);
     checkRowIndex(rowIndex);
 
-    return this.rows.get(rowIndex).get(columnIndex);
+    return this.rows.getValue(rowIndex, columnIndex);
   }
 
   @Override
@@ -580,9 +718,7 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     throwExceptionIfNotConfigured();
     throwExceptionIfNotPrepared();
 
-    checkColumnName(columnName);
-
-    return this.columnValuesMap.get(columnName);
+    return this.rows.getColumn(getColumnIndex(columnName));
   }
 
   @Override
@@ -591,6 +727,43 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     return getColumn(getColumnName(columnIndex));
   }
 
+  @Override
+  public List<List<SQWRLResultValue>> getRows(int offset, int limit) throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+    throwExceptionIfNotPrepared();
+
+    int end = getPageEnd(offset, limit);
+    List<List<SQWRLResultValue>> page = new ArrayList<>(end - offset);
+
+    for (int rowIndex = offset; rowIndex < end; rowIndex++)
+      page.add(this.rows.getRow(rowIndex));
+
+    return Collections.unmodifiableList(page);
+  }
+
+  @Override
+  public List<SQWRLResultValue> getColumnSlice(String columnName, int offset, int limit) throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+    throwExceptionIfNotPrepared();
+
+    int columnIndex = getColumnIndex(columnName);
+    int end = getPageEnd(offset, limit);
+    List<SQWRLResultValue> slice = new ArrayList<>(end - offset);
+
+    for (int rowIndex = offset; rowIndex < end; rowIndex++)
+      slice.add(this.rows.getValue(rowIndex, columnIndex));
+
+    return Collections.unmodifiableList(slice);
+  }
+
+  @Override
+  public List<SQWRLResultValue> getColumnSlice(int columnIndex, int offset, int limit) throws SQWRLException
+  {
+    return getColumnSlice(getColumnName(columnIndex), offset, limit);
+  }
+
   @Override
   public boolean hasIndividualValue(String columnName) throws SQWRLException
   {
@@ -893,6 +1066,13 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     this.sliceSize = sliceSize;
   }
 
+  private boolean hasSelectionOperator()
+  {
+    return hasLimit() || hasNth() || hasNotNth() || hasFirstSelection() || hasLastSelection()
+        || hasNotFirstSelection() || hasNotLastSelection() || hasNthSliceSelection() || hasNotNthSliceSelection()
+        || hasNthLastSliceSelection() || hasNotNthLastSliceSelection();
+  }
+
   private boolean hasLimit()
   {
     return this.limit != -1;
@@ -948,25 +1128,6 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     return this.notNthLastSliceSelection;
   }
 
-  private void prepareColumnVectors() throws SQWRLException
-  {
-    this.columnValuesMap = new HashMap<>();
-
-    if (getNumberOfColumns() > 0) {
-      List<List<SQWRLResultValue>> columns = new ArrayList<>(getNumberOfColumns());
-
-      for (int c = 0; c < getNumberOfColumns(); c++)
-        columns.add(new ArrayList<SQWRLResultValue>(getNumberOfRows()));
-
-      for (int r = 0; r < getNumberOfRows(); r++)
-        for (int c = 0; c < getNumberOfColumns(); c++)
-          columns.get(c).add(this.rows.get(r).get(c));
-
-      for (int c = 0; c < getNumberOfColumns(); c++)
-        this.columnValuesMap.put(getColumnName(c), columns.get(c));
-    }
-  }
-
   @Override
   public String toString()
   {
@@ -980,7 +1141,8 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
       result += "" + columnDisplayName + "";
     result += "]\n";
 
-    for (List<SQWRLResultValue> row : this.rows) {
+    for (List<SQWRLResultValue> row : this.rows == null ? Collections.<List<SQWRLResultValue>> emptyList()
+        : this.rows.getRows()) {
       for (SQWRLResultValue value : row) {
         result += "" + value + " ";
       }
@@ -1057,6 +1219,20 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
       throw new SQWRLInvalidRowIndexException("row index " + rowIndex + " out of bounds");
   }
 
+  /**
+   * @return The index after the last row of a page
+   */
+  private int getPageEnd(int offset, int limit) throws SQWRLException
+  {
+    if (offset < 0 || offset > getNumberOfRows())
+      throw new SQWRLInvalidRowIndexException("row offset " + offset + " out of bounds");
+
+    if (limit < 0)
+      throw new SQWRLException("invalid row limit " + limit);
+
+    return (int)Math.min((long)offset + limit, getNumberOfRows());
+  }
+
   private boolean containsOneOf(List<Integer> collection1, Set<Integer> collection2)
   {
     for (Integer i : collection2)
@@ -1071,19 +1247,37 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     return ((value instanceof SQWRLLiteralResultValue) && (((SQWRLLiteralResultValue)value).isNumeric()));
   }
 
+  /**
+   * @param temporaryStores Receives any store created to hold the returned rows; the caller clears it once the rows
+   *          have been copied
+   */
   // TODO: fix - very inefficient
-  private List<List<SQWRLResultValue>> distinct(List<List<SQWRLResultValue>> sourceRows) throws SQWRLException
+  private List<List<SQWRLResultValue>> distinct(List<List<SQWRLResultValue>> sourceRows,
+      List<SQWRLResultStore> temporaryStores) throws SQWRLException
   {
-    List<List<SQWRLResultValue>> localRows = new ArrayList<>(sourceRows);
     List<List<SQWRLResultValue>> processedRows = new ArrayList<>();
     SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames, true); // Look at the
     // entire row.
 
     try {
-      Collections.sort(localRows, rowComparator); // Binary search is expecting a sorted list
-      for (List<SQWRLResultValue> row : localRows)
-        if (Collections.binarySearch(processedRows, row, rowComparator) < 0)
-          processedRows.add(row);
+      if (isSpilling()) {
+        SpilledSQWRLResultTable sortedTable = createSpilledTable();
+        temporaryStores.add(sortedTable);
+        sortedTable.addRowsSorted(sourceRows, rowComparator, true);
+        sortedTable.trimToSize();
+        processedRows = sortedTable.getRows();
+      } else if (isParallelPreparation(sourceRows.size())) {
+        // Equal rows are adjacent after the sort, so the first row of each run is the one the serial path keeps
+        for (List<SQWRLResultValue> row : parallelSort(sourceRows, rowComparator))
+          if (processedRows.isEmpty() || rowComparator.compare(processedRows.get(processedRows.size() - 1), row) != 0)
+            processedRows.add(row);
+      } else {
+        List<List<SQWRLResultValue>> localRows = new ArrayList<>(sourceRows);
+        Collections.sort(localRows, rowComparator); // Binary search is expecting a sorted list
+        for (List<SQWRLResultValue> row : localRows)
+          if (Collections.binarySearch(processedRows, row, rowComparator) < 0)
+            processedRows.add(row);
+      }
     } catch (RuntimeException e) {
       throw new SQWRLException("Internal error comparing rows", e);
     }
@@ -1091,262 +1285,236 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     return processedRows;
   }
 
+  /**
+   * Rows are grouped on the values of their non aggregated columns using a hash map, so grouping takes time linear in
+   * the number of rows. The first row of each group is kept and its aggregate columns are overwritten with the values
+   * computed by the group's accumulators.
+   * <p>
+   * Large results are grouped in parallel: the group keys are computed in chunks, then each task groups the rows whose
+   * keys fall in its hash partition. Every task visits rows in their original order, so each accumulator sees its
+   * values in the same order as on the serial path.
+   */
   private List<List<SQWRLResultValue>> aggregate(List<List<SQWRLResultValue>> sourceRows) throws SQWRLException
   {
-    List<List<SQWRLResultValue>> result = new ArrayList<>();
     SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
         this.selectedColumnIndexes, true);
-    // Key is index of aggregated row in result, value is hash map of aggregate column index to list of original values.
-    HashMap<Integer, HashMap<Integer, List<SQWRLResultValue>>> aggregatesMap = new HashMap<>();
-    // Map of column indexes to value lists; used to accumulate values for aggregation.
-    HashMap<Integer, List<SQWRLResultValue>> aggregateRowMap;
-    List<SQWRLResultValue> values;
-    SQWRLResultValue value;
-    int rowIndex;
-
-    for (List<SQWRLResultValue> row : sourceRows) {
-      rowIndex = findRowIndex(result, row, rowComparator); // Find row with same values for non aggregated columns
-
-      if (rowIndex < 0) { // Row with same values for non aggregated columns not yet present in result.
-        aggregateRowMap = new HashMap<>();
-        // Find value for each aggregated column in row and add each to map indexed by result row
-        for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-          values = new ArrayList<>();
-          value = row.get(aggregateColumnIndex);
-          values.add(value);
-          aggregateRowMap.put(aggregateColumnIndex, values);
-        }
-        aggregatesMap.put(result.size(), aggregateRowMap); //
-        result.add(row);
-      } else { // We found a row that has the same values for the non aggregated columns.
-        aggregateRowMap = aggregatesMap.get(Integer.valueOf(rowIndex)); // Find the aggregate map
-        for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-          value = row.get(aggregateColumnIndex); // Find value
-          values = aggregateRowMap.get(aggregateColumnIndex); // Find row map
-          values.add(value); // Add value
-        }
-      }
+    int numberOfAggregateColumns = this.aggregateColumnIndexes.size();
+    int[] aggregateColumnIndexes = new int[numberOfAggregateColumns];
+    String[] aggregateFunctionNames = new String[numberOfAggregateColumns];
+    List<AggregateGroup> groups;
+
+    int i = 0;
+    for (Map.Entry<Integer, String> aggregateColumn : this.aggregateColumnIndexes.entrySet()) {
+      aggregateColumnIndexes[i] = aggregateColumn.getKey();
+      aggregateFunctionNames[i] = aggregateColumn.getValue();
+      i++;
     }
 
-    rowIndex = 0;
-    for (List<SQWRLResultValue> row : result) {
-      aggregateRowMap = aggregatesMap.get(Integer.valueOf(rowIndex));
-
-      for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-        String aggregateFunctionName = this.aggregateColumnIndexes.get(aggregateColumnIndex);
-        List<SQWRLResultValue> columnValues = aggregateRowMap.get(aggregateColumnIndex);
-
-        // We have checked in addCell that only numeric data are added for sum, max, min, and avg
-        if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MinAggregateFunction)) {
-          List<SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-              aggregateColumnIndex);
-          value = min(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MaxAggregateFunction)) {
-          List<SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-              aggregateColumnIndex);
-          value = max(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.SumAggregateFunction)) {
-          List<SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-              aggregateColumnIndex);
-          value = sum(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.AvgAggregateFunction)) {
-          List<SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-              aggregateColumnIndex);
-          value = avg(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MedianAggregateFunction)) {
-          List<SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-              aggregateColumnIndex);
-          value = median(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountAggregateFunction))
-          value = count(columnValues);
-        else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountDistinctAggregateFunction))
-          value = countDistinct(columnValues);
-        else
-          throw new SQWRLInvalidAggregateFunctionNameException("invalid aggregate function " + aggregateFunctionName);
-
-        row.set(aggregateColumnIndex, value);
-      }
-      rowIndex++;
-    }
-    return result;
-  }
+    try {
+      if (isParallelPreparation(sourceRows.size())) {
+        SQWRLResultRowKey[] keys = new SQWRLResultRowKey[sourceRows.size()];
+        int numberOfPartitions = ForkJoinPool.getCommonPoolParallelism();
+        int chunkSize = (keys.length + numberOfPartitions - 1) / numberOfPartitions;
+        List<ForkJoinTask<?>> keyTasks = new ArrayList<>();
+        List<ForkJoinTask<List<AggregateGroup>>> groupTasks = new ArrayList<>();
+
+        for (int start = 0; start < keys.length; start += chunkSize) {
+          int chunkStart = start, chunkEnd = Math.min(start + chunkSize, keys.length);
+          keyTasks.add(ForkJoinPool.commonPool().submit(() -> {
+            for (int r = chunkStart; r < chunkEnd; r++)
+              keys[r] = new SQWRLResultRowKey(sourceRows.get(r), this.selectedColumnIndexes, rowComparator);
+          }));
+        }
+        for (ForkJoinTask<?> keyTask : keyTasks)
+          joinTask(keyTask);
 
-  private List<List<SQWRLResultValue>> orderBy(List<List<SQWRLResultValue>> sourceRows, boolean ascending)
-      throws SQWRLException
-  {
-    List<List<SQWRLResultValue>> result = new ArrayList<>(sourceRows);
-    SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
-        this.orderByColumnIndexes, ascending);
+        for (int partition = 0; partition < numberOfPartitions; partition++) {
+          int groupPartition = partition;
+          groupTasks.add(ForkJoinPool.commonPool().submit(() -> group(sourceRows, keys, groupPartition,
+              numberOfPartitions, aggregateColumnIndexes, aggregateFunctionNames)));
+        }
 
-    try {
-      Collections.sort(result, rowComparator);
+        groups = new ArrayList<>();
+        for (ForkJoinTask<List<AggregateGroup>> groupTask : groupTasks)
+          groups.addAll(joinTask(groupTask));
+        Collections.sort(groups, (group1, group2) -> Integer.compare(group1.firstRowIndex, group2.firstRowIndex));
+      } else
+        groups = group(sourceRows, null, 0, 1, aggregateColumnIndexes, aggregateFunctionNames);
     } catch (RuntimeException e) {
       throw new SQWRLException("Internal error comparing rows", e);
     }
 
+    List<List<SQWRLResultValue>> result = new ArrayList<>(groups.size());
+    for (AggregateGroup group : groups) {
+      List<SQWRLResultValue> row = sourceRows.get(group.firstRowIndex);
+
+      for (i = 0; i < numberOfAggregateColumns; i++)
+        row.set(aggregateColumnIndexes[i], group.accumulators[i].getResult());
+      result.add(row);
+    }
     return result;
   }
 
-  private SQWRLLiteralResultValue min(List<SQWRLLiteralResultValue> columnValues, int columnIndex)
+  /**
+   * Group the rows whose keys fall in a hash partition, in order of their first row.
+   *
+   * @param keys Precomputed row keys, or null to compute them here
+   */
+  private List<AggregateGroup> group(List<List<SQWRLResultValue>> sourceRows, SQWRLResultRowKey[] keys,
+      int partition, int numberOfPartitions, int[] aggregateColumnIndexes, String[] aggregateFunctionNames)
       throws SQWRLException
   {
-    SQWRLLiteralResultValue result = null;
+    // Key is the values of the non aggregated columns of a group
+    Map<SQWRLResultRowKey, AggregateGroup> groups = new LinkedHashMap<>();
+    SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
+        this.selectedColumnIndexes, true);
+    int numberOfAggregateColumns = aggregateColumnIndexes.length;
 
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MinAggregateFunction);
+    for (int r = 0; r < sourceRows.size(); r++) {
+      List<SQWRLResultValue> row = sourceRows.get(r);
+      SQWRLResultRowKey key = keys != null ? keys[r] : new SQWRLResultRowKey(row, this.selectedColumnIndexes,
+          rowComparator);
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+      if ((key.hashCode() & Integer.MAX_VALUE) % numberOfPartitions != partition)
+        continue;
 
-      if (!isNumericValue(value))
-        throw new SQWRLException("attempt to use " + SQWRLResultNames.MinAggregateFunction
-            + " aggregate on column with non numeric literal " + value + " with type " + value.getOWLDatatype()
-            + "in (0-based) row " + rowIndex + ", column " + columnIndex);
+      AggregateGroup group = groups.get(key);
 
-      if (result == null)
-        result = value;
-      else if (value.compareTo(result) < 0)
-        result = value;
-      rowIndex++;
-    }
+      if (group == null) { // Row with same values for non aggregated columns not yet present in result.
+        group = new AggregateGroup(r, numberOfAggregateColumns);
+        for (int i = 0; i < numberOfAggregateColumns; i++)
+          group.accumulators[i] = new SQWRLAggregateAccumulator(getSQWRLResultValueFactory(),
+              aggregateFunctionNames[i], aggregateColumnIndexes[i], this.approximateAggregateError);
+        groups.put(key, group);
+      }
 
-    return result;
+      for (int i = 0; i < numberOfAggregateColumns; i++)
+        group.accumulators[i].add(row.get(aggregateColumnIndexes[i]));
+    }
+    return new ArrayList<>(groups.values());
   }
 
-  private SQWRLLiteralResultValue max(List<SQWRLLiteralResultValue> columnValues, int columnIndex)
-      throws SQWRLException
+  /**
+   * @param temporaryStores Receives any store created to hold the returned rows; the caller clears it once the rows
+   *          have been copied
+   */
+  private List<List<SQWRLResultValue>> orderBy(List<List<SQWRLResultValue>> sourceRows, boolean ascending,
+      List<SQWRLResultStore> temporaryStores) throws SQWRLException
   {
-    SQWRLLiteralResultValue result = null;
-
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MaxAggregateFunction);
-
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
-
-      if (!isNumericValue(value))
-        throw new SQWRLException("attempt to use " + SQWRLResultNames.MaxAggregateFunction
-            + " aggregate with non numeric literal " + value + " with type " + value.getOWLDatatype()
-            + "in (0-based) row " + rowIndex + ", column " + columnIndex);
+    List<List<SQWRLResultValue>> result;
+    SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
+        this.orderByColumnIndexes, ascending);
 
-      if (result == null)
-        result = value;
-      else if (value.compareTo(result) > 0)
-        result = value;
-      rowIndex++;
+    try {
+      if (isSpilling()) {
+        SpilledSQWRLResultTable sortedTable = createSpilledTable();
+        temporaryStores.add(sortedTable);
+        sortedTable.addRowsSorted(sourceRows, rowComparator, false);
+        sortedTable.trimToSize();
+        result = sortedTable.getRows();
+      } else if (isParallelPreparation(sourceRows.size()))
+        result = parallelSort(sourceRows, rowComparator);
+      else {
+        result = new ArrayList<>(sourceRows);
+        Collections.sort(result, rowComparator);
+      }
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
     }
 
     return result;
   }
 
-  private SQWRLLiteralResultValue sum(List<SQWRLLiteralResultValue> columnValues, int columnIndex)
-      throws SQWRLException
+  /**
+   * Parallel sort producing the same order as the stable {@link Collections#sort(List, Comparator)}. Equal rows are
+   * ordered by their original position since {@link Arrays#parallelSort(Object[], Comparator)} does not reliably
+   * preserve the order of equal elements.
+   */
+  private static List<List<SQWRLResultValue>> parallelSort(List<List<SQWRLResultValue>> sourceRows,
+      Comparator<List<SQWRLResultValue>> rowComparator)
   {
-    double sum = 0;
-
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.SumAggregateFunction);
+    IndexedRow[] indexedRows = new IndexedRow[sourceRows.size()];
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+    for (int r = 0; r < indexedRows.length; r++)
+      indexedRows[r] = new IndexedRow(r, sourceRows.get(r));
 
-      if (!isNumericValue(value))
-        throw new SQWRLException("attempt to use " + SQWRLResultNames.SumAggregateFunction
-            + " aggregate  on non numeric value: " + value + " with type " + value.getOWLDatatype()
-            + " in (0-based) row " + rowIndex + ", column " + columnIndex);
+    Arrays.parallelSort(indexedRows, (row1, row2) -> {
+      int diff = rowComparator.compare(row1.row, row2.row);
+      return diff != 0 ? diff : Integer.compare(row1.index, row2.index);
+    });
 
-      double d = value.getDouble();
-
-      sum = sum + d;
-      rowIndex++;
-    }
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(sum, columnValues);
+    List<List<SQWRLResultValue>> result = new ArrayList<>(indexedRows.length);
+    for (IndexedRow indexedRow : indexedRows)
+      result.add(indexedRow.row);
+    return result;
   }
 
-  private SQWRLLiteralResultValue avg(List<SQWRLLiteralResultValue> columnValues, int columnIndex)
-      throws SQWRLException
+  /**
+   * Spilled rows are prepared serially since parallel preparation holds every row on the heap.
+   */
+  private boolean isParallelPreparation(int numberOfRows)
   {
-    double sum = 0;
-    int count = 0;
-
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for function " + SQWRLResultNames.AvgAggregateFunction);
-
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
-
-      if (!isNumericValue(value))
-        throw new SQWRLException("attempt to use " + SQWRLResultNames.AvgAggregateFunction
-            + " aggregate on column with non literal value " + value + " with type " + value.getOWLDatatype()
-            + " in (0-based) row " + rowIndex + ", column " + columnIndex);
-
-      double d = value.getDouble();
-
-      count++;
-      sum = sum + d;
-      rowIndex++;
-    }
-    double avgValue = sum / count;
-
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(avgValue, columnValues);
+    return !isSpilling() && numberOfRows >= this.parallelPreparationThreshold
+        && ForkJoinPool.getCommonPoolParallelism() > 1;
   }
 
-  private SQWRLLiteralResultValue median(List<SQWRLLiteralResultValue> columnValues, int columnIndex)
-      throws SQWRLException
+  private boolean isSpilling()
   {
-    double[] valueArray = new double[columnValues.size()];
-    int count = 0, middle = columnValues.size() / 2;
-    double medianValue;
-
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
-      if (!isNumericValue(value))
-        throw new SQWRLException("attempt to use " + SQWRLResultNames.MedianAggregateFunction
-            + " aggregate on column with non literal value " + value + " with type " + value.getOWLDatatype()
-            + " in (0-based) row " + rowIndex + ", column " + columnIndex);
-
-      double d = value.getDouble();
-      valueArray[count++] = d;
-    }
-
-    Arrays.sort(valueArray);
+    return this.spillBatchSize > 0;
+  }
 
-    if (columnValues.size() % 2 == 1)
-      medianValue = valueArray[middle];
+  private SQWRLResultStore createResultStore() throws SQWRLException
+  {
+    if (isSpilling())
+      return createSpilledTable();
     else
-      medianValue = (valueArray[middle - 1] + valueArray[middle]) / 2;
+      return new SQWRLResultTable(getSQWRLResultValueFactory(), getNumberOfColumns());
+  }
 
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(medianValue, columnValues);
+  private SpilledSQWRLResultTable createSpilledTable() throws SQWRLException
+  {
+    return new SpilledSQWRLResultTable(getSQWRLResultValueFactory(), getNumberOfColumns(), this.spillBatchSize);
   }
 
-  private SQWRLLiteralResultValue count(List<SQWRLResultValue> columnValues) throws SQWRLException
+  private static <T> T joinTask(ForkJoinTask<T> task) throws SQWRLException
   {
-    return getSQWRLResultValueFactory().getLiteralValue(columnValues.size());
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQWRLQueryCancelledException("interrupted while preparing SQWRL result", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof SQWRLException)
+        throw (SQWRLException)e.getCause();
+      else if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException)e.getCause();
+      else
+        throw new SQWRLException("error preparing SQWRL result: " + e.getCause().getMessage(), e.getCause());
+    }
   }
 
-  private SQWRLLiteralResultValue countDistinct(List<SQWRLResultValue> columnValues) throws SQWRLException
+  private static class AggregateGroup
   {
-    Set<SQWRLResultValue> distinctValues = new HashSet<>(columnValues);
+    private final int firstRowIndex;
+    private final SQWRLAggregateAccumulator[] accumulators;
 
-    return getSQWRLResultValueFactory().getLiteralValue(distinctValues.size());
+    public AggregateGroup(int firstRowIndex, int numberOfAggregateColumns)
+    {
+      this.firstRowIndex = firstRowIndex;
+      this.accumulators = new SQWRLAggregateAccumulator[numberOfAggregateColumns];
+    }
   }
 
-  // TODO: linear search is not very efficient.
-  private int findRowIndex(List<List<SQWRLResultValue>> result, List<SQWRLResultValue> rowToFind,
-      Comparator<List<SQWRLResultValue>> rowComparator) throws SQWRLException
+  private static class IndexedRow
   {
-    int rowIndex = 0;
+    private final int index;
+    private final List<SQWRLResultValue> row;
 
-    try {
-      for (List<SQWRLResultValue> row : result) {
-        if (rowComparator.compare(rowToFind, row) == 0)
-          return rowIndex;
-        rowIndex++;
-      }
-    } catch (RuntimeException e) {
-      throw new SQWRLException("Internal error comparing rows", e);
+    public IndexedRow(int index, List<SQWRLResultValue> row)
+    {
+      this.index = index;
+      this.row = row;
     }
-    return -1;
   }
 
   private static class SQWRLResultRowComparator implements Comparator<List<SQWRLResultValue>>
@@ -1377,6 +1545,9 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
         SQWRLResultValue value2 = row2.get(columnIndex);
         int diff;
 
+        if (value1 == value2) // Common for values interned by the value factory
+          continue;
+
         try {
           if (value1.isLiteral() && value2.isLiteral())
             diff = value1.asLiteralResult().compareTo(value2.asLiteralResult());
@@ -1400,21 +1571,161 @@ class SQWRLResultManager implements SQWRLResult, SQWRLResultGenerator, Serializa
     }
   }
 
-  private List<SQWRLLiteralResultValue> convert2LiteralResultValues(List<SQWRLResultValue> columnValues, int columnIndex)
-      throws SQWRLException
+  /**
+   * Hash key for the values of a row in a set of columns. Keys are equal if the row comparator finds no difference
+   * between them; the hash code is therefore computed from a normalized form of each value that the comparator
+   * treats as equal, e.g., the numeric value of a numeric literal rather than its lexical form.
+   */
+  private static class SQWRLResultRowKey
   {
-    List<SQWRLLiteralResultValue> literalValues = new ArrayList<>();
+    private final List<SQWRLResultValue> row;
+    private final Comparator<List<SQWRLResultValue>> rowComparator;
+    private final int hashCode;
 
-    int rowIndex = 0;
-    for (SQWRLResultValue value : columnValues) {
-      if (value.isLiteral())
-        literalValues.add(value.asLiteralResult());
-      else
-        throw new SQWRLException("Found non literal value " + value + " in (0-based) row " + rowIndex + ", column "
-            + columnIndex + " - expecting literal");
-      rowIndex++;
+    public SQWRLResultRowKey(List<SQWRLResultValue> row, List<Integer> columnIndexes,
+        Comparator<List<SQWRLResultValue>> rowComparator)
+    {
+      this.row = row;
+      this.rowComparator = rowComparator;
+
+      int hash = 1;
+      for (Integer columnIndex : columnIndexes)
+        hash = 31 * hash + valueHashCode(row.get(columnIndex));
+      this.hashCode = hash;
+    }
+
+    public List<SQWRLResultValue> getRow()
+    {
+      return this.row;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      if (this == obj)
+        return true;
+      if ((obj == null) || (obj.getClass() != this.getClass()))
+        return false;
+      SQWRLResultRowKey k = (SQWRLResultRowKey)obj;
+
+      return this.hashCode == k.hashCode && this.rowComparator.compare(this.row, k.row) == 0;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return this.hashCode;
     }
-    return literalValues;
+
+    private static int valueHashCode(SQWRLResultValue value)
+    {
+      try {
+        if (value.isEntity())
+          return value.asEntityResult().getIRI().hashCode();
+        else if (value.isLiteral()) {
+          OWLLiteral literal = value.asLiteralResult().getOWLLiteral();
+          int hash = 31 * literal.getDatatype().getIRI().hashCode() + literal.getLang().hashCode();
+          return 31 * hash + lexicalHashCode(literal);
+        } else
+          return 0;
+      } catch (SQWRLException | NumberFormatException e) {
+        return 0; // Left to the comparator
+      }
+    }
+
+    private static int lexicalHashCode(OWLLiteral literal)
+    {
+      IRI datatypeIRI = literal.getDatatype().getIRI();
+
+      if (datatypeIRI.equals(XSDVocabulary.FLOAT.getIRI()))
+        return Float.hashCode(Float.parseFloat(literal.getLiteral()));
+      else if (datatypeIRI.equals(XSDVocabulary.BYTE.getIRI()) || datatypeIRI.equals(XSDVocabulary.SHORT.getIRI())
+          || datatypeIRI.equals(XSDVocabulary.INT.getIRI()) || datatypeIRI.equals(XSDVocabulary.LONG.getIRI())
+          || datatypeIRI.equals(XSDVocabulary.DOUBLE.getIRI()))
+        return Double.hashCode(Double.parseDouble(literal.getLiteral()));
+      else if (datatypeIRI.equals(XSDVocabulary.BOOLEAN.getIRI()))
+        return Boolean.hashCode(Boolean.parseBoolean(literal.getLiteral()));
+      else if (datatypeIRI.equals(XSDVocabulary.ANY_URI.getIRI()) || datatypeIRI.equals(XSDVocabulary.TIME.getIRI())
+          || datatypeIRI.equals(XSDVocabulary.DATE.getIRI()) || datatypeIRI.equals(XSDVocabulary.DATE_TIME.getIRI())
+          || datatypeIRI.equals(XSDVocabulary.DURATION.getIRI()))
+        return 0; // Compared by value; equal values may have different lexical forms
+      else // Natural order comparison ignores leading zeros in digit sequences
+        return literal.getLiteral().replace("0", "").hashCode();
+    }
+  }
+
+  /**
+   * Select the leading rows of an ordered result with a bounded heap, taking O(n log k) time and O(k) space rather than
+   * sorting every row. Rows that compare equal keep their original order, as they do in the stable sort used by
+   * {@link #orderBy}.
+   */
+  private List<List<SQWRLResultValue>> orderByTopK(List<List<SQWRLResultValue>> sourceRows, boolean ascending,
+      int numberOfRows) throws SQWRLException
+  {
+    if (numberOfRows == 0)
+      return new ArrayList<>();
+
+    SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
+        this.orderByColumnIndexes, ascending);
+    Comparator<IndexedRow> indexedRowComparator = (row1, row2) -> {
+      int diff = rowComparator.compare(row1.row, row2.row);
+      return diff != 0 ? diff : Integer.compare(row1.index, row2.index);
+    };
+    // The head of the heap is the last of the rows selected so far
+    PriorityQueue<IndexedRow> selectedRows = new PriorityQueue<>(numberOfRows, indexedRowComparator.reversed());
+
+    try {
+      int rowIndex = 0;
+      for (List<SQWRLResultValue> row : sourceRows) {
+        if (selectedRows.size() < numberOfRows)
+          selectedRows.add(new IndexedRow(rowIndex, new ArrayList<>(row)));
+        else if (rowComparator.compare(row, selectedRows.peek().row) < 0) {
+          selectedRows.poll();
+          selectedRows.add(new IndexedRow(rowIndex, new ArrayList<>(row)));
+        }
+        rowIndex++;
+      }
+
+      List<IndexedRow> orderedRows = new ArrayList<>(selectedRows);
+      Collections.sort(orderedRows, indexedRowComparator);
+
+      List<List<SQWRLResultValue>> result = new ArrayList<>(orderedRows.size());
+      for (IndexedRow orderedRow : orderedRows)
+        result.add(orderedRow.row);
+      return result;
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
+    }
+  }
+
+  /**
+   * @return The number of leading rows of an ordered result read by the selection operators, or -1 if they may read
+   *         any row
+   */
+  private int getOrderedPrefixSize()
+  {
+    if (hasLimit())
+      return this.limit < 0 ? -1 : this.limit;
+
+    if (hasNotNth() || hasLastSelection() || hasNotFirstSelection() || hasNotLastSelection()
+        || hasNotNthSliceSelection() || hasNthLastSliceSelection() || hasNotNthLastSliceSelection())
+      return -1;
+
+    int prefixSize = -1;
+
+    if (hasNth())
+      prefixSize = Math.max(prefixSize, Math.max(this.nth, 1));
+
+    if (hasFirstSelection())
+      prefixSize = Math.max(prefixSize, Math.max(this.firstN, 1));
+
+    if (hasNthSliceSelection()) {
+      if (this.sliceSize < 1)
+        return -1;
+      prefixSize = Math.max(prefixSize, Math.max(this.firstN, 1) + this.sliceSize - 1);
+    }
+
+    return prefixSize;
   }
 
   private SQWRLResultValueFactory getSQWRLResultValueFactory()
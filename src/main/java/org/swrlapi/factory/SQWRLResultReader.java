@@ -0,0 +1,300 @@
+package org.swrlapi.factory;
+
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnTypeException;
+import org.swrlapi.sqwrl.exceptions.SQWRLResultStateException;
+import org.swrlapi.sqwrl.values.SQWRLAnnotationPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
+import org.swrlapi.sqwrl.values.SQWRLDataPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLIndividualResultValue;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.List;
+
+/**
+ * A read position over a prepared SQWRL result that may be shared. The shared result is only accessed through methods
+ * that take an explicit row index, so its own row position is never used and any number of readers, in any number of
+ * threads, can iterate over it independently.
+ *
+ * @see org.swrlapi.factory.SQWRLResultCache
+ */
+class SQWRLResultReader implements SQWRLResult
+{
+  private final SQWRLResult result;
+  private int currentRowIndex;
+
+  public SQWRLResultReader(SQWRLResult result)
+  {
+    this.result = result;
+    this.currentRowIndex = -1;
+  }
+
+  @Override
+  public int getNumberOfColumns() throws SQWRLException
+  {
+    return this.result.getNumberOfColumns();
+  }
+
+  @Override
+  public List<String> getColumnNames() throws SQWRLException
+  {
+    return this.result.getColumnNames();
+  }
+
+  @Override
+  public String getColumnName(int columnIndex) throws SQWRLException
+  {
+    return this.result.getColumnName(columnIndex);
+  }
+
+  @Override
+  public boolean isEmpty() throws SQWRLException
+  {
+    return this.result.isEmpty();
+  }
+
+  @Override
+  public int getNumberOfRows() throws SQWRLException
+  {
+    return this.result.getNumberOfRows();
+  }
+
+  @Override
+  public void reset() throws SQWRLException
+  {
+    this.currentRowIndex = -1;
+  }
+
+  @Override
+  public boolean next() throws SQWRLException
+  {
+    this.currentRowIndex++;
+
+    return this.currentRowIndex < getNumberOfRows();
+  }
+
+  @Override
+  public List<SQWRLResultValue> getRow() throws SQWRLException
+  {
+    throwExceptionIfAtEndOfResult();
+
+    return this.result.getRows(this.currentRowIndex, 1).get(0);
+  }
+
+  @Override
+  public SQWRLResultValue getValue(String columnName) throws SQWRLException
+  {
+    throwExceptionIfAtEndOfResult();
+
+    return this.result.getColumnSlice(columnName, this.currentRowIndex, 1).get(0);
+  }
+
+  @Override
+  public SQWRLResultValue getValue(int columnIndex) throws SQWRLException
+  {
+    throwExceptionIfAtEndOfResult();
+
+    return this.result.getValue(columnIndex, this.currentRowIndex);
+  }
+
+  @Override
+  public SQWRLResultValue getValue(int columnIndex, int rowIndex) throws SQWRLException
+  {
+    return this.result.getValue(columnIndex, rowIndex);
+  }
+
+  @Override
+  public SQWRLClassResultValue getClass(String columnName) throws SQWRLException
+  {
+    if (!hasClassValue(columnName))
+      throw new SQWRLInvalidColumnTypeException("expecting ClassValue type for column " + columnName);
+    return (SQWRLClassResultValue)getValue(columnName);
+  }
+
+  @Override
+  public SQWRLClassResultValue getClass(int columnIndex) throws SQWRLException
+  {
+    return getClass(getColumnName(columnIndex));
+  }
+
+  @Override
+  public SQWRLIndividualResultValue getIndividual(String columnName) throws SQWRLException
+  {
+    if (!hasIndividualValue(columnName))
+      throw new SQWRLInvalidColumnTypeException("expecting ObjectValue type for column " + columnName);
+    return (SQWRLIndividualResultValue)getValue(columnName);
+  }
+
+  @Override
+  public SQWRLIndividualResultValue getIndividual(int columnIndex) throws SQWRLException
+  {
+    return getIndividual(getColumnName(columnIndex));
+  }
+
+  @Override
+  public SQWRLObjectPropertyResultValue getObjectProperty(String columnName) throws SQWRLException
+  {
+    if (!hasObjectPropertyValue(columnName))
+      throw new SQWRLInvalidColumnTypeException("expecting OWL object property in column " + columnName);
+    return (SQWRLObjectPropertyResultValue)getValue(columnName);
+  }
+
+  @Override
+  public SQWRLObjectPropertyResultValue getObjectProperty(int columnIndex) throws SQWRLException
+  {
+    return getObjectProperty(getColumnName(columnIndex));
+  }
+
+  @Override
+  public SQWRLDataPropertyResultValue getDataProperty(String columnName) throws SQWRLException
+  {
+    if (!hasDataPropertyValue(columnName))
+      throw new SQWRLInvalidColumnTypeException("expecting OWL data property in column " + columnName);
+    return (SQWRLDataPropertyResultValue)getValue(columnName);
+  }
+
+  @Override
+  public SQWRLDataPropertyResultValue getDataProperty(int columnIndex) throws SQWRLException
+  {
+    return getDataProperty(getColumnName(columnIndex));
+  }
+
+  @Override
+  public SQWRLAnnotationPropertyResultValue getAnnotationProperty(String columnName) throws SQWRLException
+  {
+    if (!hasAnnotationPropertyValue(columnName))
+      throw new SQWRLInvalidColumnTypeException("expecting OWL annotation property in column " + columnName);
+    return (SQWRLAnnotationPropertyResultValue)getValue(columnName);
+  }
+
+  @Override
+  public SQWRLAnnotationPropertyResultValue getAnnotationProperty(int columnIndex) throws SQWRLException
+  {
+    return getAnnotationProperty(getColumnName(columnIndex));
+  }
+
+  @Override
+  public SQWRLLiteralResultValue getLiteral(String columnName) throws SQWRLException
+  {
+    if (!hasLiteralValue(columnName))
+      throw new SQWRLInvalidColumnTypeException("expecting LiteralValue type for column " + columnName);
+    return (SQWRLLiteralResultValue)getValue(columnName);
+  }
+
+  @Override
+  public SQWRLLiteralResultValue getLiteral(int columnIndex) throws SQWRLException
+  {
+    return getLiteral(getColumnName(columnIndex));
+  }
+
+  @Override
+  public boolean hasClassValue(String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLClassResultValue;
+  }
+
+  @Override
+  public boolean hasClassValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLClassResultValue;
+  }
+
+  @Override
+  public boolean hasIndividualValue(String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLIndividualResultValue;
+  }
+
+  @Override
+  public boolean hasIndividualValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLIndividualResultValue;
+  }
+
+  @Override
+  public boolean hasObjectPropertyValue(String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLObjectPropertyResultValue;
+  }
+
+  @Override
+  public boolean hasObjectPropertyValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLObjectPropertyResultValue;
+  }
+
+  @Override
+  public boolean hasDataPropertyValue(String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLDataPropertyResultValue;
+  }
+
+  @Override
+  public boolean hasDataPropertyValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLDataPropertyResultValue;
+  }
+
+  @Override
+  public boolean hasAnnotationPropertyValue(String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLAnnotationPropertyResultValue;
+  }
+
+  @Override
+  public boolean hasAnnotationPropertyValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLAnnotationPropertyResultValue;
+  }
+
+  @Override
+  public boolean hasLiteralValue(String columnName) throws SQWRLException
+  {
+    return getValue(columnName) instanceof SQWRLLiteralResultValue;
+  }
+
+  @Override
+  public boolean hasLiteralValue(int columnIndex) throws SQWRLException
+  {
+    return getValue(columnIndex) instanceof SQWRLLiteralResultValue;
+  }
+
+  @Override
+  public List<SQWRLResultValue> getColumn(String columnName) throws SQWRLException
+  {
+    return this.result.getColumn(columnName);
+  }
+
+  @Override
+  public List<SQWRLResultValue> getColumn(int columnIndex) throws SQWRLException
+  {
+    return this.result.getColumn(columnIndex);
+  }
+
+  @Override
+  public List<List<SQWRLResultValue>> getRows(int offset, int limit) throws SQWRLException
+  {
+    return this.result.getRows(offset, limit);
+  }
+
+  @Override
+  public List<SQWRLResultValue> getColumnSlice(String columnName, int offset, int limit) throws SQWRLException
+  {
+    return this.result.getColumnSlice(columnName, offset, limit);
+  }
+
+  @Override
+  public List<SQWRLResultValue> getColumnSlice(int columnIndex, int offset, int limit) throws SQWRLException
+  {
+    return this.result.getColumnSlice(columnIndex, offset, limit);
+  }
+
+  private void throwExceptionIfAtEndOfResult() throws SQWRLException
+  {
+    if (this.currentRowIndex >= getNumberOfRows())
+      throw new SQWRLResultStateException("attempt to get data after end of result reached");
+  }
+}
@@ -0,0 +1,56 @@
+package org.swrlapi.factory;
+
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.List;
+
+/**
+ * Row storage for a {@link org.swrlapi.factory.SQWRLResultManager}.
+ *
+ * @see org.swrlapi.factory.SQWRLResultTable
+ * @see org.swrlapi.factory.SpilledSQWRLResultTable
+ */
+interface SQWRLResultStore
+{
+  /**
+   * @param row A row containing a value for every column of the store
+   */
+  void addRow(List<SQWRLResultValue> row);
+
+  void addRows(List<List<SQWRLResultValue>> rows);
+
+  int getNumberOfRows();
+
+  int getNumberOfColumns();
+
+  SQWRLResultValue getValue(int rowIndex, int columnIndex);
+
+  /**
+   * @return A read-only view of a row
+   */
+  List<SQWRLResultValue> getRow(int rowIndex);
+
+  /**
+   * @return A read-only view of a column
+   */
+  List<SQWRLResultValue> getColumn(int columnIndex);
+
+  /**
+   * @return A read-only view of the rows of the store
+   */
+  List<List<SQWRLResultValue>> getRows();
+
+  /**
+   * @return Modifiable copies of the rows of the store, for processing that reads each value many times
+   */
+  List<List<SQWRLResultValue>> copyRows();
+
+  void clear();
+
+  /**
+   * Release spare capacity and the structures used to add values. A {@link org.swrlapi.factory.SQWRLResultTable}
+   * rebuilds those structures if rows are added afterwards; a {@link org.swrlapi.factory.SpilledSQWRLResultTable}
+   * rejects them.
+   */
+  void trimToSize();
+}
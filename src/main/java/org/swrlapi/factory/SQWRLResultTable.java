@@ -0,0 +1,426 @@
+package org.swrlapi.factory;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented storage for the rows of a {@link org.swrlapi.factory.SQWRLResultManager}.
+ * <p>
+ * A column whose values are all numeric literals of a single datatype in canonical lexical form stores them in a
+ * primitive array and creates {@link org.swrlapi.sqwrl.values.SQWRLLiteralResultValue} objects only when they are
+ * accessed. Any other column is dictionary encoded: each distinct value is stored once and rows hold its integer id. A
+ * numeric column is converted to a dictionary column when a value that does not fit it is added.
+ * <p>
+ * Rows and columns are returned as read-only views over the table.
+ *
+ * @see org.swrlapi.factory.SpilledSQWRLResultTable
+ */
+class SQWRLResultTable implements SQWRLResultStore, Serializable
+{
+  private static final long serialVersionUID = 1L;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final SQWRLResultValueFactory sqwrlResultValueFactory;
+  private final Column[] columns;
+  private int numberOfRows;
+
+  public SQWRLResultTable(SQWRLResultValueFactory sqwrlResultValueFactory, int numberOfColumns)
+  {
+    this.sqwrlResultValueFactory = sqwrlResultValueFactory;
+    this.columns = new Column[numberOfColumns];
+    this.numberOfRows = 0;
+
+    for (int c = 0; c < numberOfColumns; c++)
+      this.columns[c] = new Column();
+  }
+
+  @Override
+  public void addRow(List<SQWRLResultValue> row)
+  {
+    if (row.size() != this.columns.length)
+      throw new SWRLAPIInternalException("expecting " + this.columns.length + " values in row, got " + row.size());
+
+    for (int c = 0; c < this.columns.length; c++)
+      this.columns[c].add(row.get(c), this.numberOfRows);
+
+    this.numberOfRows++;
+  }
+
+  @Override
+  public void addRows(List<List<SQWRLResultValue>> rows)
+  {
+    for (List<SQWRLResultValue> row : rows)
+      addRow(row);
+  }
+
+  @Override
+  public int getNumberOfRows()
+  {
+    return this.numberOfRows;
+  }
+
+  @Override
+  public int getNumberOfColumns()
+  {
+    return this.columns.length;
+  }
+
+  @Override
+  public SQWRLResultValue getValue(int rowIndex, int columnIndex)
+  {
+    if (rowIndex < 0 || rowIndex >= this.numberOfRows)
+      throw new IndexOutOfBoundsException("row " + rowIndex + " of " + this.numberOfRows);
+
+    return this.columns[columnIndex].get(rowIndex);
+  }
+
+  @Override
+  public List<SQWRLResultValue> getRow(int rowIndex)
+  {
+    if (rowIndex < 0 || rowIndex >= this.numberOfRows)
+      throw new IndexOutOfBoundsException("row " + rowIndex + " of " + this.numberOfRows);
+
+    return new AbstractList<SQWRLResultValue>()
+    {
+      @Override
+      public SQWRLResultValue get(int columnIndex)
+      {
+        return SQWRLResultTable.this.columns[columnIndex].get(rowIndex);
+      }
+
+      @Override
+      public int size()
+      {
+        return SQWRLResultTable.this.columns.length;
+      }
+    };
+  }
+
+  @Override
+  public List<SQWRLResultValue> getColumn(int columnIndex)
+  {
+    return new AbstractList<SQWRLResultValue>()
+    {
+      @Override
+      public SQWRLResultValue get(int rowIndex)
+      {
+        return getValue(rowIndex, columnIndex);
+      }
+
+      @Override
+      public int size()
+      {
+        return SQWRLResultTable.this.numberOfRows;
+      }
+    };
+  }
+
+  @Override
+  public List<List<SQWRLResultValue>> getRows()
+  {
+    return new AbstractList<List<SQWRLResultValue>>()
+    {
+      @Override
+      public List<SQWRLResultValue> get(int rowIndex)
+      {
+        return getRow(rowIndex);
+      }
+
+      @Override
+      public int size()
+      {
+        return SQWRLResultTable.this.numberOfRows;
+      }
+    };
+  }
+
+  @Override
+  public List<List<SQWRLResultValue>> copyRows()
+  {
+    List<List<SQWRLResultValue>> rows = new ArrayList<>(this.numberOfRows);
+
+    for (int r = 0; r < this.numberOfRows; r++)
+      rows.add(new ArrayList<>(getRow(r)));
+
+    return rows;
+  }
+
+  @Override
+  public void clear()
+  {
+    for (int c = 0; c < this.columns.length; c++)
+      this.columns[c] = new Column();
+    this.numberOfRows = 0;
+  }
+
+  @Override
+  public void trimToSize()
+  {
+    for (Column column : this.columns)
+      column.trimToSize(this.numberOfRows);
+  }
+
+  /**
+   * Numeric literal types whose values are stored without their lexical form.
+   */
+  enum NumericType
+  {
+    BYTE(XSDVocabulary.BYTE.getIRI(), true), SHORT(XSDVocabulary.SHORT.getIRI(), true), INT(XSDVocabulary.INT
+      .getIRI(), true), LONG(XSDVocabulary.LONG.getIRI(), true), FLOAT(XSDVocabulary.FLOAT.getIRI(), false), DOUBLE(
+      XSDVocabulary.DOUBLE.getIRI(), false);
+
+    private final IRI datatypeIRI;
+    private final boolean isIntegral;
+
+    NumericType(IRI datatypeIRI, boolean isIntegral)
+    {
+      this.datatypeIRI = datatypeIRI;
+      this.isIntegral = isIntegral;
+    }
+
+    public boolean isIntegral()
+    {
+      return this.isIntegral;
+    }
+
+    /**
+     * @return The type of a literal that is stored unchanged by its numeric value, or null
+     */
+    static NumericType getNumericType(SQWRLResultValue value)
+    {
+      if (!value.isLiteral())
+        return null;
+
+      try {
+        OWLLiteral literal = value.asLiteralResult().getOWLLiteral();
+        IRI datatypeIRI = literal.getDatatype().getIRI();
+
+        for (NumericType numericType : values())
+          if (numericType.datatypeIRI.equals(datatypeIRI))
+            return numericType.isCanonical(literal.getLiteral()) ? numericType : null;
+        return null;
+      } catch (SQWRLException e) {
+        return null;
+      }
+    }
+
+    /**
+     * @return The numeric value of a literal of this type
+     */
+    static long getIntegralValue(SQWRLResultValue value)
+    {
+      return Long.parseLong(((SQWRLLiteralResultValue)value).getOWLLiteral().getLiteral());
+    }
+
+    /**
+     * @return The numeric value of a literal of this type; float values are parsed as floats so that they are held
+     *         exactly
+     */
+    double getFloatingPointValue(SQWRLResultValue value)
+    {
+      String lexicalForm = ((SQWRLLiteralResultValue)value).getOWLLiteral().getLiteral();
+
+      return this == FLOAT ? Float.parseFloat(lexicalForm) : Double.parseDouble(lexicalForm);
+    }
+
+    public SQWRLResultValue createValue(SQWRLResultValueFactory sqwrlResultValueFactory, long integralValue,
+      double floatingPointValue)
+    {
+      switch (this) {
+      case BYTE:
+        return sqwrlResultValueFactory.getLiteralValue((byte)integralValue);
+      case SHORT:
+        return sqwrlResultValueFactory.getLiteralValue((short)integralValue);
+      case INT:
+        return sqwrlResultValueFactory.getLiteralValue((int)integralValue);
+      case LONG:
+        return sqwrlResultValueFactory.getLiteralValue(integralValue);
+      case FLOAT:
+        return sqwrlResultValueFactory.getLiteralValue((float)floatingPointValue);
+      default:
+        return sqwrlResultValueFactory.getLiteralValue(floatingPointValue);
+      }
+    }
+
+    private boolean isCanonical(String lexicalForm)
+    {
+      try {
+        switch (this) {
+        case BYTE:
+          return lexicalForm.equals("" + Byte.parseByte(lexicalForm));
+        case SHORT:
+          return lexicalForm.equals("" + Short.parseShort(lexicalForm));
+        case INT:
+          return lexicalForm.equals("" + Integer.parseInt(lexicalForm));
+        case LONG:
+          return lexicalForm.equals("" + Long.parseLong(lexicalForm));
+        case FLOAT:
+          return lexicalForm.equals("" + Float.parseFloat(lexicalForm));
+        default:
+          return lexicalForm.equals("" + Double.parseDouble(lexicalForm));
+        }
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+  }
+
+  private class Column implements Serializable
+  {
+    private static final long serialVersionUID = 1L;
+
+    private NumericType numericType; // Null if the column is dictionary encoded
+    private long[] integralValues;
+    private double[] floatingPointValues;
+    private int[] valueIds; // Dictionary encoding
+    private List<SQWRLResultValue> dictionary;
+    private transient Map<Object, Integer> dictionaryIndex; // Keyed by OWL literal or entity value; built on demand
+
+    public void add(SQWRLResultValue value, int rowIndex)
+    {
+      if (rowIndex == 0)
+        this.numericType = NumericType.getNumericType(value);
+      else if (this.numericType != null && NumericType.getNumericType(value) != this.numericType)
+        convertToDictionary(rowIndex);
+
+      if (this.numericType == null)
+        addToDictionary(value, rowIndex);
+      else if (this.numericType.isIntegral) {
+        this.integralValues = ensureCapacity(this.integralValues, rowIndex);
+        this.integralValues[rowIndex] = NumericType.getIntegralValue(value);
+      } else {
+        this.floatingPointValues = ensureCapacity(this.floatingPointValues, rowIndex);
+        this.floatingPointValues[rowIndex] = this.numericType.getFloatingPointValue(value);
+      }
+    }
+
+    public SQWRLResultValue get(int rowIndex)
+    {
+      if (this.numericType == null)
+        return this.dictionary.get(this.valueIds[rowIndex]);
+
+      if (this.numericType.isIntegral)
+        return this.numericType.createValue(SQWRLResultTable.this.sqwrlResultValueFactory,
+          this.integralValues[rowIndex], 0);
+      else
+        return this.numericType.createValue(SQWRLResultTable.this.sqwrlResultValueFactory, 0,
+          this.floatingPointValues[rowIndex]);
+    }
+
+    public void trimToSize(int numberOfRows)
+    {
+      if (this.integralValues != null)
+        this.integralValues = Arrays.copyOf(this.integralValues, numberOfRows);
+      if (this.floatingPointValues != null)
+        this.floatingPointValues = Arrays.copyOf(this.floatingPointValues, numberOfRows);
+      if (this.valueIds != null)
+        this.valueIds = Arrays.copyOf(this.valueIds, numberOfRows);
+      if (this.dictionary != null)
+        ((ArrayList<SQWRLResultValue>)this.dictionary).trimToSize();
+      this.dictionaryIndex = null;
+    }
+
+    private void convertToDictionary(int numberOfRows)
+    {
+      List<SQWRLResultValue> values = new ArrayList<>(numberOfRows);
+
+      for (int r = 0; r < numberOfRows; r++)
+        values.add(get(r));
+
+      this.numericType = null;
+      this.integralValues = null;
+      this.floatingPointValues = null;
+
+      for (int r = 0; r < numberOfRows; r++)
+        addToDictionary(values.get(r), r);
+    }
+
+    private void addToDictionary(SQWRLResultValue value, int rowIndex)
+    {
+      if (this.dictionary == null) {
+        this.dictionary = new ArrayList<>();
+        this.dictionaryIndex = new HashMap<>();
+      } else if (this.dictionaryIndex == null) // Dropped by trimToSize() or not serialized
+        this.dictionaryIndex = createDictionaryIndex();
+
+      Object key = getDictionaryKey(value);
+      Integer valueId = this.dictionaryIndex.get(key);
+
+      if (valueId == null) {
+        valueId = this.dictionary.size();
+        this.dictionary.add(value);
+        this.dictionaryIndex.put(key, valueId);
+      }
+
+      this.valueIds = ensureCapacity(this.valueIds, rowIndex);
+      this.valueIds[rowIndex] = valueId;
+    }
+
+    private Map<Object, Integer> createDictionaryIndex()
+    {
+      Map<Object, Integer> dictionaryIndex = new HashMap<>();
+
+      for (int valueId = 0; valueId < this.dictionary.size(); valueId++)
+        dictionaryIndex.put(getDictionaryKey(this.dictionary.get(valueId)), valueId);
+
+      return dictionaryIndex;
+    }
+
+    /**
+     * Literal values are keyed by their OWL literal since their equality ignores differences in lexical form.
+     */
+    private Object getDictionaryKey(SQWRLResultValue value)
+    {
+      try {
+        return value.isLiteral() ? value.asLiteralResult().getOWLLiteral() : value;
+      } catch (SQWRLException e) {
+        return value;
+      }
+    }
+  }
+
+  private static long[] ensureCapacity(long[] values, int index)
+  {
+    if (values == null)
+      return new long[INITIAL_CAPACITY];
+    else if (index == values.length) // Trimmed arrays may be empty
+      return Arrays.copyOf(values, Math.max(INITIAL_CAPACITY, values.length * 2));
+    else
+      return values;
+  }
+
+  private static double[] ensureCapacity(double[] values, int index)
+  {
+    if (values == null)
+      return new double[INITIAL_CAPACITY];
+    else if (index == values.length) // Trimmed arrays may be empty
+      return Arrays.copyOf(values, Math.max(INITIAL_CAPACITY, values.length * 2));
+    else
+      return values;
+  }
+
+  private static int[] ensureCapacity(int[] values, int index)
+  {
+    if (values == null)
+      return new int[INITIAL_CAPACITY];
+    else if (index == values.length) // Trimmed arrays may be empty
+      return Arrays.copyOf(values, Math.max(INITIAL_CAPACITY, values.length * 2));
+    else
+      return values;
+  }
+}
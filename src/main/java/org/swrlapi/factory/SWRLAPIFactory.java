@@ -37,7 +37,9 @@ import org.swrlapi.exceptions.SWRLRuleEngineException;
 import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
 import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResultFormat;
 import org.swrlapi.sqwrl.SQWRLResultGenerator;
+import org.swrlapi.sqwrl.SQWRLResultWriter;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
 import org.swrlapi.ui.controller.SWRLRuleEngineController;
@@ -50,7 +52,10 @@ import org.swrlapi.ui.model.SWRLRulesTableModel;
 
 import javax.swing.*;
 import java.io.File;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -302,6 +307,26 @@ public class SWRLAPIFactory
     return new DefaultSQWRLResultValueFactory(swrlapiOWLOntology.getIRIResolver());
   }
 
+  /**
+   * @param format The format to write results in
+   * @param outputStream The stream to write results to
+   * @return A SQWRL result writer
+   */
+  public static SQWRLResultWriter createSQWRLResultWriter(SQWRLResultFormat format, OutputStream outputStream)
+  {
+    return new DefaultSQWRLResultWriter(format, outputStream);
+  }
+
+  /**
+   * @param format The format to write results in
+   * @param channel The channel to write results to
+   * @return A SQWRL result writer
+   */
+  public static SQWRLResultWriter createSQWRLResultWriter(SQWRLResultFormat format, WritableByteChannel channel)
+  {
+    return new DefaultSQWRLResultWriter(format, Channels.newOutputStream(channel));
+  }
+
   public static SQWRLQuery getSQWRLQuery(String queryName, List<SWRLAtom> bodyAtoms, List<SWRLAtom> headAtoms,
     boolean active, String comment, LiteralFactory literalFactory, SQWRLResultValueFactory sqwrlResultValueFactory)
     throws SQWRLException
@@ -0,0 +1,235 @@
+package org.swrlapi.factory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compressed trie of strings supporting incremental addition and removal. Each edge is labelled with a string and
+ * the children of a node are kept sorted by the first character of their labels, so a depth-first walk visits strings
+ * in {@link String#compareTo(String)} order. Every node is either a string end or has at least two children, which
+ * bounds the walk for the first <tt>n</tt> completions of a prefix by <tt>O(prefix + n)</tt> nodes.
+ * <p>
+ * A string may be added more than once; it stays in the trie until it has been removed as many times.
+ *
+ * @see org.swrlapi.factory.DefaultSWRLAutoCompleter
+ */
+class ShortFormTrie
+{
+  private final Node root;
+  private int size;
+
+  public ShortFormTrie()
+  {
+    this.root = new Node("");
+    this.size = 0;
+  }
+
+  /**
+   * @return The number of distinct strings in the trie
+   */
+  public int size()
+  {
+    return this.size;
+  }
+
+  public void add(String s)
+  {
+    Node node = this.root;
+    int i = 0;
+
+    while (i < s.length()) {
+      int childIndex = node.findChild(s.charAt(i));
+
+      if (childIndex < 0) {
+        Node leaf = new Node(s.substring(i));
+        leaf.count = 1;
+        node.insertChild(-childIndex - 1, leaf);
+        this.size++;
+        return;
+      }
+
+      Node child = node.children[childIndex];
+      int commonLength = commonPrefixLength(child.label, s, i);
+
+      if (commonLength < child.label.length()) { // Split the edge
+        Node middle = new Node(child.label.substring(0, commonLength));
+        child.label = child.label.substring(commonLength);
+        middle.insertChild(0, child);
+        node.children[childIndex] = middle;
+        child = middle;
+      }
+      node = child;
+      i += commonLength;
+    }
+
+    if (node.count++ == 0)
+      this.size++;
+  }
+
+  public void remove(String s)
+  {
+    List<Node> path = new ArrayList<>();
+    Node node = this.root;
+    int i = 0;
+
+    path.add(node);
+    while (i < s.length()) {
+      int childIndex = node.findChild(s.charAt(i));
+      if (childIndex < 0)
+        return;
+
+      Node child = node.children[childIndex];
+      if (!s.startsWith(child.label, i))
+        return;
+
+      node = child;
+      i += child.label.length();
+      path.add(node);
+    }
+
+    if (node.count == 0 || --node.count > 0)
+      return;
+
+    this.size--;
+
+    if (node != this.root) {
+      Node parent = path.get(path.size() - 2);
+
+      if (node.numberOfChildren == 0) {
+        parent.removeChild(node);
+        if (parent != this.root && parent.count == 0 && parent.numberOfChildren == 1)
+          merge(path.get(path.size() - 3), parent);
+      } else if (node.numberOfChildren == 1)
+        merge(parent, node);
+    }
+  }
+
+  /**
+   * @param prefix A prefix
+   * @param maximumNumberOfCompletions The maximum number of completions to return
+   * @return The first strings in the trie that start with the prefix, in sorted order
+   */
+  public List<String> getCompletions(String prefix, int maximumNumberOfCompletions)
+  {
+    List<String> completions = new ArrayList<>();
+    Node node = this.root;
+    int i = 0;
+
+    while (i < prefix.length()) {
+      int childIndex = node.findChild(prefix.charAt(i));
+      if (childIndex < 0)
+        return completions;
+
+      Node child = node.children[childIndex];
+      int remainingLength = prefix.length() - i;
+
+      if (remainingLength <= child.label.length()) {
+        if (!child.label.startsWith(prefix.substring(i)))
+          return completions;
+      } else if (!prefix.startsWith(child.label, i))
+        return completions;
+
+      node = child;
+      i += child.label.length();
+    }
+
+    StringBuilder sb = new StringBuilder(prefix.substring(0, i - node.label.length()));
+    collect(node, sb, completions, maximumNumberOfCompletions);
+
+    return completions;
+  }
+
+  private void collect(Node node, StringBuilder sb, List<String> completions, int maximumNumberOfCompletions)
+  {
+    int length = sb.length();
+
+    sb.append(node.label);
+    if (node.count > 0 && completions.size() < maximumNumberOfCompletions)
+      completions.add(sb.toString());
+
+    for (int c = 0; c < node.numberOfChildren && completions.size() < maximumNumberOfCompletions; c++)
+      collect(node.children[c], sb, completions, maximumNumberOfCompletions);
+
+    sb.setLength(length);
+  }
+
+  /**
+   * Replace a node that is not a string end and has a single child by that child.
+   */
+  private void merge(Node parent, Node node)
+  {
+    Node child = node.children[0];
+
+    child.label = node.label + child.label;
+    parent.children[parent.findChild(node.label.charAt(0))] = child;
+  }
+
+  private static int commonPrefixLength(String label, String s, int offset)
+  {
+    int length = Math.min(label.length(), s.length() - offset);
+    int i = 0;
+
+    while (i < length && label.charAt(i) == s.charAt(offset + i))
+      i++;
+
+    return i;
+  }
+
+  private static class Node
+  {
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private String label;
+    private int count; // Number of times the string ending at this node was added, less removals
+    private Node[] children;
+    private int numberOfChildren;
+
+    public Node(String label)
+    {
+      this.label = label;
+      this.count = 0;
+      this.children = NO_CHILDREN;
+      this.numberOfChildren = 0;
+    }
+
+    /**
+     * @return The index of the child whose label starts with the character or, if there is none, -(insertion point) - 1
+     */
+    public int findChild(char c)
+    {
+      int low = 0, high = this.numberOfChildren - 1;
+
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        char middleChar = this.children[middle].label.charAt(0);
+
+        if (middleChar < c)
+          low = middle + 1;
+        else if (middleChar > c)
+          high = middle - 1;
+        else
+          return middle;
+      }
+      return -(low + 1);
+    }
+
+    public void insertChild(int index, Node child)
+    {
+      if (this.numberOfChildren == this.children.length)
+        this.children = Arrays.copyOf(this.children, Math.max(2, this.children.length * 2));
+
+      System.arraycopy(this.children, index, this.children, index + 1, this.numberOfChildren - index);
+      this.children[index] = child;
+      this.numberOfChildren++;
+    }
+
+    public void removeChild(Node child)
+    {
+      int index = findChild(child.label.charAt(0));
+
+      System.arraycopy(this.children, index + 1, this.children, index, this.numberOfChildren - index - 1);
+      this.children[--this.numberOfChildren] = null;
+    }
+  }
+}
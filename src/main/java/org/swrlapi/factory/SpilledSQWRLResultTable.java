@@ -0,0 +1,691 @@
+package org.swrlapi.factory;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
+import uk.ac.manchester.cs.owl.owlapi.OWLDatatypeImpl;
+import uk.ac.manchester.cs.owl.owlapi.OWLLiteralImpl;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Disk-backed storage for the rows of a {@link org.swrlapi.factory.SQWRLResultManager} whose result may not fit on the
+ * heap.
+ * <p>
+ * Rows are encoded in a compact binary form and appended in batches to a temporary file. Each written batch is
+ * memory-mapped and rows are decoded from the mapped segments when they are accessed, so only the batch being filled
+ * is held on the heap. Numeric literals in canonical form are stored by value, other literals by datatype and lexical
+ * form, and entities by namespace and local name; the datatypes and namespaces are kept on the heap.
+ * <p>
+ * The temporary file is deleted when the table is trimmed or cleared, or as soon as it is created on platforms that
+ * allow an open file to be deleted. A serialized table is replaced by an in-memory
+ * {@link org.swrlapi.factory.SQWRLResultTable}.
+ *
+ * @see org.swrlapi.factory.SQWRLResultTable
+ */
+class SpilledSQWRLResultTable implements SQWRLResultStore, Serializable
+{
+  private static final long serialVersionUID = 1L;
+
+  private static final int MAXIMUM_SEGMENT_SIZE = 1 << 28; // Bytes
+  private static final int ROW_OFFSET_INTERVAL = 16; // Number of rows between recorded row offsets
+  private static final int INITIAL_BATCH_CAPACITY = 1 << 12; // Bytes
+
+  // Value tags
+  private static final byte LITERAL = 0;
+  private static final byte NUMERIC_LITERAL = 1;
+  private static final byte CLASS = 2;
+  private static final byte INDIVIDUAL = 3;
+  private static final byte OBJECT_PROPERTY = 4;
+  private static final byte DATA_PROPERTY = 5;
+  private static final byte ANNOTATION_PROPERTY = 6;
+
+  private static final SQWRLResultTable.NumericType[] NUMERIC_TYPES = SQWRLResultTable.NumericType.values();
+
+  private final SQWRLResultValueFactory sqwrlResultValueFactory;
+  private final int numberOfColumns;
+  private final int batchSize;
+  private final List<OWLDatatype> datatypes;
+  private final Map<IRI, Integer> datatypeIds;
+  private final List<String> namespaces;
+  private final Map<String, Integer> namespaceIds;
+  private final List<Segment> segments; // Written batches
+  private Batch batch; // Rows not yet written; null once the table is trimmed
+  private FileChannel channel;
+  private long fileSize;
+  private int numberOfRows;
+  private volatile DecodedRow lastDecodedRow; // Rows are usually read in order
+
+  /**
+   * @param batchSize The number of rows encoded on the heap before they are written to the temporary file
+   */
+  public SpilledSQWRLResultTable(SQWRLResultValueFactory sqwrlResultValueFactory, int numberOfColumns, int batchSize)
+  {
+    if (batchSize < 1)
+      throw new IllegalArgumentException("invalid batch size " + batchSize);
+
+    this.sqwrlResultValueFactory = sqwrlResultValueFactory;
+    this.numberOfColumns = numberOfColumns;
+    this.batchSize = batchSize;
+    this.datatypes = new ArrayList<>();
+    this.datatypeIds = new HashMap<>();
+    this.namespaces = new ArrayList<>();
+    this.namespaceIds = new HashMap<>();
+    this.segments = new ArrayList<>();
+    this.batch = new Batch(0);
+    this.channel = null;
+    this.fileSize = 0;
+    this.numberOfRows = 0;
+  }
+
+  @Override
+  public void addRow(List<SQWRLResultValue> row)
+  {
+    if (row.size() != this.numberOfColumns)
+      throw new SWRLAPIInternalException("expecting " + this.numberOfColumns + " values in row, got " + row.size());
+
+    if (this.batch == null)
+      throw new SWRLAPIInternalException("attempt to add a row to a trimmed SQWRL result table");
+
+    this.batch.startRow();
+    for (SQWRLResultValue value : row)
+      encodeValue(value);
+    this.batch.numberOfRows++;
+    this.numberOfRows++;
+
+    if (this.batch.numberOfRows == this.batchSize || this.batch.size >= MAXIMUM_SEGMENT_SIZE)
+      writeBatch();
+  }
+
+  @Override
+  public void addRows(List<List<SQWRLResultValue>> rows)
+  {
+    for (List<SQWRLResultValue> row : rows)
+      addRow(row);
+  }
+
+  /**
+   * Add rows in the order defined by a comparator using an external merge sort: runs of at most one batch of rows are
+   * sorted on the heap and spilled, then merged. Equal rows keep their relative order.
+   *
+   * @param distinct If true, only the first of a set of equal rows is added
+   */
+  public void addRowsSorted(List<List<SQWRLResultValue>> rows, Comparator<List<SQWRLResultValue>> rowComparator,
+    boolean distinct)
+  {
+    List<SpilledSQWRLResultTable> runs = new ArrayList<>();
+
+    try {
+      for (int start = 0; start < rows.size(); start += this.batchSize) {
+        List<List<SQWRLResultValue>> runRows = new ArrayList<>(
+          rows.subList(start, Math.min(start + this.batchSize, rows.size())));
+        SpilledSQWRLResultTable run = new SpilledSQWRLResultTable(this.sqwrlResultValueFactory, this.numberOfColumns,
+          this.batchSize);
+        List<SQWRLResultValue> previousRow = null;
+
+        runs.add(run);
+        Collections.sort(runRows, rowComparator);
+        for (List<SQWRLResultValue> row : runRows) {
+          if (!distinct || previousRow == null || rowComparator.compare(previousRow, row) != 0)
+            run.addRow(row);
+          previousRow = row;
+        }
+        run.trimToSize();
+      }
+
+      // Ties are broken by run so that equal rows keep their original order
+      PriorityQueue<RunCursor> cursors = new PriorityQueue<>(Math.max(1, runs.size()), (cursor1, cursor2) -> {
+        int diff = rowComparator.compare(cursor1.row, cursor2.row);
+        return diff != 0 ? diff : Integer.compare(cursor1.runIndex, cursor2.runIndex);
+      });
+      List<SQWRLResultValue> lastRow = null;
+
+      for (int runIndex = 0; runIndex < runs.size(); runIndex++)
+        if (runs.get(runIndex).getNumberOfRows() > 0)
+          cursors.add(new RunCursor(runs.get(runIndex), runIndex));
+
+      while (!cursors.isEmpty()) {
+        RunCursor cursor = cursors.poll();
+
+        if (!distinct || lastRow == null || rowComparator.compare(lastRow, cursor.row) != 0) {
+          addRow(cursor.row);
+          lastRow = cursor.row;
+        }
+        if (cursor.next())
+          cursors.add(cursor);
+      }
+    } finally {
+      for (SpilledSQWRLResultTable run : runs)
+        run.clear(); // Releases the run's segments and temporary file
+    }
+  }
+
+  @Override
+  public int getNumberOfRows()
+  {
+    return this.numberOfRows;
+  }
+
+  @Override
+  public int getNumberOfColumns()
+  {
+    return this.numberOfColumns;
+  }
+
+  @Override
+  public SQWRLResultValue getValue(int rowIndex, int columnIndex)
+  {
+    return getRow(rowIndex).get(columnIndex);
+  }
+
+  @Override
+  public List<SQWRLResultValue> getRow(int rowIndex)
+  {
+    if (rowIndex < 0 || rowIndex >= this.numberOfRows)
+      throw new IndexOutOfBoundsException("row " + rowIndex + " of " + this.numberOfRows);
+
+    DecodedRow lastDecodedRow = this.lastDecodedRow;
+    Segment segment;
+    int currentRowIndex, offset;
+
+    if (lastDecodedRow != null && lastDecodedRow.rowIndex == rowIndex)
+      return lastDecodedRow.values;
+    else if (lastDecodedRow != null && lastDecodedRow.rowIndex + 1 == rowIndex
+      && rowIndex < lastDecodedRow.segment.firstRowIndex + lastDecodedRow.segment.numberOfRows) {
+      segment = lastDecodedRow.segment;
+      currentRowIndex = rowIndex;
+      offset = lastDecodedRow.endOffset;
+    } else {
+      segment = getSegment(rowIndex);
+      int offsetIndex = (rowIndex - segment.firstRowIndex) / ROW_OFFSET_INTERVAL;
+      currentRowIndex = segment.firstRowIndex + offsetIndex * ROW_OFFSET_INTERVAL;
+      offset = segment.rowOffsets[offsetIndex];
+    }
+
+    ByteBuffer reader = segment.buffer.duplicate();
+    List<SQWRLResultValue> values = new ArrayList<>(this.numberOfColumns);
+
+    ((Buffer)reader).position(offset); // Buffer's position(int), which exists on Java 8
+    for (; currentRowIndex < rowIndex; currentRowIndex++)
+      for (int c = 0; c < this.numberOfColumns; c++)
+        skipValue(reader);
+
+    for (int c = 0; c < this.numberOfColumns; c++)
+      values.add(decodeValue(reader));
+
+    values = Collections.unmodifiableList(values);
+    this.lastDecodedRow = new DecodedRow(segment, rowIndex, reader.position(), values);
+
+    return values;
+  }
+
+  @Override
+  public List<SQWRLResultValue> getColumn(int columnIndex)
+  {
+    return new AbstractList<SQWRLResultValue>()
+    {
+      @Override
+      public SQWRLResultValue get(int rowIndex)
+      {
+        return getValue(rowIndex, columnIndex);
+      }
+
+      @Override
+      public int size()
+      {
+        return SpilledSQWRLResultTable.this.numberOfRows;
+      }
+    };
+  }
+
+  @Override
+  public List<List<SQWRLResultValue>> getRows()
+  {
+    return new AbstractList<List<SQWRLResultValue>>()
+    {
+      @Override
+      public List<SQWRLResultValue> get(int rowIndex)
+      {
+        return getRow(rowIndex);
+      }
+
+      @Override
+      public int size()
+      {
+        return SpilledSQWRLResultTable.this.numberOfRows;
+      }
+    };
+  }
+
+  /**
+   * @return A view of the rows of the table that decodes a modifiable copy of a row each time it is accessed
+   */
+  @Override
+  public List<List<SQWRLResultValue>> copyRows()
+  {
+    return new AbstractList<List<SQWRLResultValue>>()
+    {
+      @Override
+      public List<SQWRLResultValue> get(int rowIndex)
+      {
+        return new ArrayList<>(getRow(rowIndex));
+      }
+
+      @Override
+      public int size()
+      {
+        return SpilledSQWRLResultTable.this.numberOfRows;
+      }
+    };
+  }
+
+  @Override
+  public void clear()
+  {
+    closeChannel();
+    this.segments.clear();
+    this.batch = new Batch(0);
+    this.fileSize = 0;
+    this.numberOfRows = 0;
+    this.lastDecodedRow = null;
+  }
+
+  @Override
+  public void trimToSize()
+  {
+    if (this.batch != null) {
+      writeBatch();
+      this.batch = null;
+      closeChannel(); // Mapped segments remain valid after the channel is closed
+    }
+  }
+
+  private Segment getSegment(int rowIndex)
+  {
+    if (this.batch != null && rowIndex >= this.batch.firstRowIndex)
+      return new Segment(ByteBuffer.wrap(this.batch.bytes, 0, this.batch.size), this.batch.firstRowIndex,
+        this.batch.numberOfRows, this.batch.rowOffsets);
+
+    int low = 0, high = this.segments.size() - 1;
+
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (this.segments.get(middle).firstRowIndex <= rowIndex)
+        low = middle;
+      else
+        high = middle - 1;
+    }
+    return this.segments.get(low);
+  }
+
+  private void writeBatch()
+  {
+    if (this.batch.numberOfRows == 0)
+      return;
+
+    try {
+      if (this.channel == null)
+        openChannel();
+
+      ByteBuffer source = ByteBuffer.wrap(this.batch.bytes, 0, this.batch.size);
+      long position = this.fileSize;
+
+      while (source.hasRemaining())
+        position += this.channel.write(source, position);
+
+      this.segments.add(new Segment(this.channel.map(FileChannel.MapMode.READ_ONLY, this.fileSize, this.batch.size),
+        this.batch.firstRowIndex, this.batch.numberOfRows, Arrays.copyOf(this.batch.rowOffsets,
+        (this.batch.numberOfRows + ROW_OFFSET_INTERVAL - 1) / ROW_OFFSET_INTERVAL)));
+      this.fileSize = position;
+      this.batch = new Batch(this.numberOfRows);
+      this.lastDecodedRow = null;
+    } catch (IOException e) {
+      throw new SWRLAPIException("error writing SQWRL result rows to temporary file: " + e.getMessage(), e);
+    }
+  }
+
+  private void openChannel() throws IOException
+  {
+    Path file = Files.createTempFile("sqwrl-result", ".tmp");
+
+    this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+      StandardOpenOption.DELETE_ON_CLOSE);
+
+    try {
+      Files.delete(file);
+    } catch (IOException e) {
+      // Not all platforms allow an open file to be deleted; it is deleted when the channel is closed
+    }
+  }
+
+  private void closeChannel()
+  {
+    if (this.channel != null) {
+      try {
+        this.channel.close();
+      } catch (IOException e) {
+        throw new SWRLAPIException("error closing SQWRL result temporary file: " + e.getMessage(), e);
+      } finally {
+        this.channel = null;
+      }
+    }
+  }
+
+  private void encodeValue(SQWRLResultValue value)
+  {
+    try {
+      if (value.isLiteral()) {
+        SQWRLResultTable.NumericType numericType = SQWRLResultTable.NumericType.getNumericType(value);
+
+        if (numericType != null) {
+          this.batch.writeByte(NUMERIC_LITERAL);
+          this.batch.writeByte((byte)numericType.ordinal());
+          if (numericType.isIntegral()) {
+            long integralValue = SQWRLResultTable.NumericType.getIntegralValue(value);
+            this.batch.writeVarLong((integralValue << 1) ^ (integralValue >> 63)); // Zig-zag encoding
+          } else
+            this.batch.writeDouble(numericType.getFloatingPointValue(value));
+        } else {
+          OWLLiteral literal = value.asLiteralResult().getOWLLiteral();
+
+          this.batch.writeByte(LITERAL);
+          this.batch.writeVarLong(getDatatypeId(literal.getDatatype()));
+          this.batch.writeString(literal.getLang());
+          this.batch.writeString(literal.getLiteral());
+        }
+      } else if (value.isEntity()) {
+        IRI iri = value.asEntityResult().getIRI();
+        String namespace = iri.getNamespace();
+
+        if (value.isClass())
+          this.batch.writeByte(CLASS);
+        else if (value.isIndividual())
+          this.batch.writeByte(INDIVIDUAL);
+        else if (value.isObjectProperty())
+          this.batch.writeByte(OBJECT_PROPERTY);
+        else if (value.isDataProperty())
+          this.batch.writeByte(DATA_PROPERTY);
+        else if (value.isAnnotationProperty())
+          this.batch.writeByte(ANNOTATION_PROPERTY);
+        else
+          throw new SWRLAPIInternalException("unknown SQWRL entity result value type " + value.getClass().getName());
+
+        this.batch.writeVarLong(getNamespaceId(namespace));
+        this.batch.writeString(iri.toString().substring(namespace.length()));
+      } else
+        throw new SWRLAPIInternalException("unknown SQWRL result value type " + value.getClass().getName());
+    } catch (SQWRLException e) {
+      throw new SWRLAPIInternalException("error encoding SQWRL result value " + value + ": " + e.getMessage(), e);
+    }
+  }
+
+  private SQWRLResultValue decodeValue(ByteBuffer reader)
+  {
+    byte tag = reader.get();
+
+    switch (tag) {
+    case NUMERIC_LITERAL:
+      SQWRLResultTable.NumericType numericType = NUMERIC_TYPES[reader.get()];
+      if (numericType.isIntegral()) {
+        long zigZagValue = readVarLong(reader);
+        return numericType.createValue(this.sqwrlResultValueFactory, (zigZagValue >>> 1) ^ -(zigZagValue & 1), 0);
+      } else
+        return numericType.createValue(this.sqwrlResultValueFactory, 0, reader.getDouble());
+    case LITERAL:
+      OWLDatatype datatype = this.datatypes.get((int)readVarLong(reader));
+      String language = readString(reader);
+      return this.sqwrlResultValueFactory.getLiteralValue(new OWLLiteralImpl(readString(reader), language, datatype));
+    default:
+      IRI iri = IRI.create(this.namespaces.get((int)readVarLong(reader)), readString(reader));
+      switch (tag) {
+      case CLASS:
+        return this.sqwrlResultValueFactory.getClassValue(iri);
+      case INDIVIDUAL:
+        return this.sqwrlResultValueFactory.getIndividualValue(iri);
+      case OBJECT_PROPERTY:
+        return this.sqwrlResultValueFactory.getObjectPropertyValue(iri);
+      case DATA_PROPERTY:
+        return this.sqwrlResultValueFactory.getDataPropertyValue(iri);
+      case ANNOTATION_PROPERTY:
+        return this.sqwrlResultValueFactory.getAnnotationPropertyValue(iri);
+      default:
+        throw new SWRLAPIInternalException("invalid SQWRL result value tag " + tag);
+      }
+    }
+  }
+
+  private void skipValue(ByteBuffer reader)
+  {
+    byte tag = reader.get();
+
+    if (tag == NUMERIC_LITERAL) {
+      if (NUMERIC_TYPES[reader.get()].isIntegral())
+        readVarLong(reader);
+      else
+        ((Buffer)reader).position(reader.position() + Double.BYTES);
+    } else {
+      readVarLong(reader); // Datatype or namespace
+      if (tag == LITERAL)
+        skipString(reader);
+      skipString(reader);
+    }
+  }
+
+  private int getDatatypeId(OWLDatatype datatype)
+  {
+    Integer datatypeId = this.datatypeIds.get(datatype.getIRI());
+
+    if (datatypeId == null) {
+      datatypeId = this.datatypes.size();
+      this.datatypes.add(new OWLDatatypeImpl(datatype.getIRI()));
+      this.datatypeIds.put(datatype.getIRI(), datatypeId);
+    }
+    return datatypeId;
+  }
+
+  private int getNamespaceId(String namespace)
+  {
+    Integer namespaceId = this.namespaceIds.get(namespace);
+
+    if (namespaceId == null) {
+      namespaceId = this.namespaces.size();
+      this.namespaces.add(namespace);
+      this.namespaceIds.put(namespace, namespaceId);
+    }
+    return namespaceId;
+  }
+
+  private static long readVarLong(ByteBuffer reader)
+  {
+    long value = 0;
+    int shift = 0;
+    byte b;
+
+    do {
+      b = reader.get();
+      value |= (long)(b & 0x7f) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+
+    return value;
+  }
+
+  private static String readString(ByteBuffer reader)
+  {
+    int length = (int)readVarLong(reader);
+    byte[] bytes = new byte[length];
+
+    reader.get(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void skipString(ByteBuffer reader)
+  {
+    int length = (int)readVarLong(reader);
+
+    ((Buffer)reader).position(reader.position() + length);
+  }
+
+  private Object writeReplace()
+  {
+    SQWRLResultTable table = new SQWRLResultTable(this.sqwrlResultValueFactory, this.numberOfColumns);
+
+    table.addRows(getRows());
+    table.trimToSize();
+
+    return table;
+  }
+
+  /**
+   * Rows encoded on the heap before they are written to the temporary file.
+   */
+  private static class Batch
+  {
+    private final int firstRowIndex;
+    private byte[] bytes;
+    private int size;
+    private int[] rowOffsets; // Offset of every ROW_OFFSET_INTERVAL'th row
+    private int numberOfRows;
+
+    public Batch(int firstRowIndex)
+    {
+      this.firstRowIndex = firstRowIndex;
+      this.bytes = new byte[INITIAL_BATCH_CAPACITY];
+      this.size = 0;
+      this.rowOffsets = new int[16];
+      this.numberOfRows = 0;
+    }
+
+    public void startRow()
+    {
+      if (this.numberOfRows % ROW_OFFSET_INTERVAL == 0) {
+        int offsetIndex = this.numberOfRows / ROW_OFFSET_INTERVAL;
+        if (offsetIndex == this.rowOffsets.length)
+          this.rowOffsets = Arrays.copyOf(this.rowOffsets, offsetIndex * 2);
+        this.rowOffsets[offsetIndex] = this.size;
+      }
+    }
+
+    public void writeByte(byte b)
+    {
+      ensureCapacity(1);
+      this.bytes[this.size++] = b;
+    }
+
+    public void writeVarLong(long value)
+    {
+      ensureCapacity(10);
+      while ((value & ~0x7fL) != 0) {
+        this.bytes[this.size++] = (byte)((value & 0x7f) | 0x80);
+        value >>>= 7;
+      }
+      this.bytes[this.size++] = (byte)value;
+    }
+
+    public void writeDouble(double value)
+    {
+      ensureCapacity(Double.BYTES);
+      ByteBuffer.wrap(this.bytes, this.size, Double.BYTES).putDouble(value);
+      this.size += Double.BYTES;
+    }
+
+    public void writeString(String value)
+    {
+      byte[] encodedValue = value.getBytes(StandardCharsets.UTF_8);
+
+      writeVarLong(encodedValue.length);
+      ensureCapacity(encodedValue.length);
+      System.arraycopy(encodedValue, 0, this.bytes, this.size, encodedValue.length);
+      this.size += encodedValue.length;
+    }
+
+    private void ensureCapacity(int numberOfBytes)
+    {
+      if (this.size + numberOfBytes > this.bytes.length)
+        this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + numberOfBytes));
+    }
+  }
+
+  /**
+   * A batch of rows read from the temporary file, or from the batch being filled.
+   */
+  private static class Segment
+  {
+    private final ByteBuffer buffer;
+    private final int firstRowIndex;
+    private final int numberOfRows;
+    private final int[] rowOffsets;
+
+    public Segment(ByteBuffer buffer, int firstRowIndex, int numberOfRows, int[] rowOffsets)
+    {
+      this.buffer = buffer;
+      this.firstRowIndex = firstRowIndex;
+      this.numberOfRows = numberOfRows;
+      this.rowOffsets = rowOffsets;
+    }
+  }
+
+  private static class DecodedRow
+  {
+    private final Segment segment;
+    private final int rowIndex;
+    private final int endOffset;
+    private final List<SQWRLResultValue> values;
+
+    public DecodedRow(Segment segment, int rowIndex, int endOffset, List<SQWRLResultValue> values)
+    {
+      this.segment = segment;
+      this.rowIndex = rowIndex;
+      this.endOffset = endOffset;
+      this.values = values;
+    }
+  }
+
+  private static class RunCursor
+  {
+    private final SpilledSQWRLResultTable run;
+    private final int runIndex;
+    private int rowIndex;
+    private List<SQWRLResultValue> row;
+
+    public RunCursor(SpilledSQWRLResultTable run, int runIndex)
+    {
+      this.run = run;
+      this.runIndex = runIndex;
+      this.rowIndex = 0;
+      this.row = run.getRow(0);
+    }
+
+    public boolean next()
+    {
+      if (++this.rowIndex < this.run.getNumberOfRows()) {
+        this.row = this.run.getRow(this.rowIndex);
+        return true;
+      } else
+        return false;
+    }
+  }
+}
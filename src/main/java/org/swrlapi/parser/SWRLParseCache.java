@@ -0,0 +1,168 @@
+package org.swrlapi.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the outcomes of interactive parses, i.e., whether a rule is correct, incomplete or in error, in a bounded
+ * cache with least recently used eviction. Outcomes are stored against the rule text.
+ * <p>
+ * The cache also keeps the tokenizer of the last interactive parse together with checkpoints of the parser state taken
+ * after each top-level token, so a parse of an edited rule can resume after the unchanged prefix.
+ * <p>
+ * Entity names are resolved against the ontology and its prefixes, so everything is discarded as soon as the cache is
+ * used with a different ontology version or different prefixes.
+ *
+ * @see org.swrlapi.parser.SWRLParser
+ * @see org.swrlapi.core.SWRLAPIOWLOntology#getOntologyVersion()
+ */
+class SWRLParseCache
+{
+  private final Map<String, SWRLParseException> outcomes; // A null exception records a correct rule
+  private final int capacity;
+  private long ontologyVersion;
+  private Map<String, String> prefixes;
+  private SWRLTokenizer lastTokenizer; // Null if there has been no successfully tokenized interactive parse
+  private List<Checkpoint> lastCheckpoints;
+
+  public SWRLParseCache(int capacity)
+  {
+    this.outcomes = new LinkedHashMap<String, SWRLParseException>(16, 0.75f, true)
+    {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, SWRLParseException> eldest)
+      {
+        return size() > SWRLParseCache.this.capacity;
+      }
+    };
+    this.capacity = capacity;
+    this.ontologyVersion = -1;
+    this.prefixes = Collections.emptyMap();
+    this.lastTokenizer = null;
+    this.lastCheckpoints = Collections.emptyList();
+  }
+
+  /**
+   * Discard everything if the ontology or the prefixes have changed since the cache was last used.
+   */
+  public void invalidateIfStale(long ontologyVersion, Map<String, String> prefixes)
+  {
+    if (this.ontologyVersion != ontologyVersion || !this.prefixes.equals(prefixes)) {
+      this.outcomes.clear();
+      this.lastTokenizer = null;
+      this.lastCheckpoints = Collections.emptyList();
+      this.ontologyVersion = ontologyVersion;
+      this.prefixes = new HashMap<>(prefixes);
+    }
+  }
+
+  public boolean hasOutcome(String ruleText)
+  {
+    return this.outcomes.containsKey(ruleText);
+  }
+
+  /**
+   * @throws SWRLParseException A copy of the exception recorded for the rule, if any
+   */
+  public void checkOutcome(String ruleText) throws SWRLParseException
+  {
+    SWRLParseException exception = this.outcomes.get(ruleText);
+
+    if (exception instanceof SWRLIncompleteRuleException)
+      throw new SWRLIncompleteRuleException(exception.getMessage());
+    else if (exception != null)
+      throw new SWRLParseException(exception.getMessage());
+  }
+
+  /**
+   * @param ruleText The rule text
+   * @param exception The exception thrown by the parse, or null if the rule is correct
+   */
+  public void putOutcome(String ruleText, SWRLParseException exception)
+  {
+    this.outcomes.put(ruleText, exception);
+  }
+
+  public SWRLTokenizer getLastTokenizer()
+  {
+    return this.lastTokenizer;
+  }
+
+  /**
+   * @return The checkpoints of the last parse whose tokens are all among the first <tt>numberOfTokens</tt> tokens
+   */
+  public List<Checkpoint> getLastCheckpoints(int numberOfTokens)
+  {
+    List<Checkpoint> checkpoints = new ArrayList<>();
+
+    for (Checkpoint checkpoint : this.lastCheckpoints) {
+      if (checkpoint.getTokenPosition() > numberOfTokens)
+        break;
+      checkpoints.add(checkpoint);
+    }
+    return checkpoints;
+  }
+
+  /**
+   * @param tokenizer The tokenizer of an interactive parse
+   * @param checkpoints The checkpoints of the parse; the list is added to as the parse proceeds
+   */
+  public void setLastParse(SWRLTokenizer tokenizer, List<Checkpoint> checkpoints)
+  {
+    this.lastTokenizer = tokenizer;
+    this.lastCheckpoints = checkpoints;
+  }
+
+  /**
+   * The state of the parser between two top-level tokens of a rule.
+   */
+  static class Checkpoint
+  {
+    private final int tokenPosition;
+    private final boolean atLeastOneAtom, justProcessedAtom, isInHead;
+    private final Set<String> variables;
+
+    public Checkpoint(int tokenPosition, boolean atLeastOneAtom, boolean justProcessedAtom, boolean isInHead,
+        Set<String> variables)
+    {
+      this.tokenPosition = tokenPosition;
+      this.atLeastOneAtom = atLeastOneAtom;
+      this.justProcessedAtom = justProcessedAtom;
+      this.isInHead = isInHead;
+      this.variables = new HashSet<>(variables);
+    }
+
+    public int getTokenPosition()
+    {
+      return this.tokenPosition;
+    }
+
+    public boolean isAtLeastOneAtom()
+    {
+      return this.atLeastOneAtom;
+    }
+
+    public boolean isJustProcessedAtom()
+    {
+      return this.justProcessedAtom;
+    }
+
+    public boolean isInHead()
+    {
+      return this.isInHead;
+    }
+
+    public Set<String> getVariables()
+    {
+      return Collections.unmodifiableSet(this.variables);
+    }
+  }
+}
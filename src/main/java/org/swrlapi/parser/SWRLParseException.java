@@ -16,4 +16,9 @@ public class SWRLParseException extends Exception
   {
     super(s);
   }
+
+  public SWRLParseException(String s, Throwable cause)
+  {
+    super(s, cause);
+  }
 }
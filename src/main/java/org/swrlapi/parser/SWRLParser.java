@@ -1,8 +1,11 @@
 package org.swrlapi.parser;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
@@ -16,6 +19,7 @@ import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
 import org.semanticweb.owlapi.model.SWRLVariable;
 import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleSpecification;
 
 /**
  * A basic SWRL and SQWRL parser. It provides in interactive parsing mode for incomplete rules and queries and provides
@@ -30,6 +34,10 @@ import org.swrlapi.core.SWRLAPIOWLOntology;
  * <code>interactiveParseOnly</code> argument is <code>true</code>, only checking is performed - no SWRL rules are
  * created; if it is false, a {@link org.semanticweb.owlapi.model.SWRLRule} object is created.
  * <p>
+ * Interactive parses, as performed on every edit in a rule editor, are cached by rule text until the ontology or its
+ * prefixes change. A rule that is not in the cache is tokenized and parsed from the end of the part it shares with the
+ * previous interactive parse, so an edit only re-resolves the entities that follow it.
+ * <p>
  * The parser does not yet parse OWL class expressions or data ranges.
  *
  * @see org.semanticweb.owlapi.model.SWRLRule
@@ -47,11 +55,24 @@ public class SWRLParser
   private static final String SAME_AS_PREDICATE = "sameAs";
   private static final String DIFFERENT_FROM_PREDICATE = "differentFrom";
 
+  private static final int PARSE_CACHE_CAPACITY = 64;
+  private static final int PARALLEL_PARSE_THRESHOLD = 256; // Number of rules
+  private static final int RULES_PER_PARALLEL_PARSE_TASK = 64;
+
+  private final SWRLAPIOWLOntology swrlapiOWLOntology;
   private final SWRLParserSupport swrlParserSupport;
+  private final SWRLParseCache parseCache;
 
   public SWRLParser(SWRLAPIOWLOntology swrlapiOWLOntology)
   {
+    this(swrlapiOWLOntology, new SWRLParseCache(PARSE_CACHE_CAPACITY));
+  }
+
+  SWRLParser(SWRLAPIOWLOntology swrlapiOWLOntology, SWRLParseCache parseCache)
+  {
+    this.swrlapiOWLOntology = swrlapiOWLOntology;
     this.swrlParserSupport = new SWRLParserSupport(swrlapiOWLOntology);
+    this.parseCache = parseCache;
   }
 
   /**
@@ -65,16 +86,115 @@ public class SWRLParser
   public SWRLRule parseSWRLRule(String ruleText, boolean interactiveParseOnly, String ruleName, String comment)
       throws SWRLParseException
   {
-    SWRLTokenizer tokenizer = new SWRLTokenizer(ruleText.trim(), interactiveParseOnly);
+    if (interactiveParseOnly) {
+      parseSWRLRuleInteractively(ruleText.trim());
+      return null;
+    } else
+      return parseSWRLRule(new SWRLTokenizer(ruleText.trim(), false), null, null, ruleName, comment);
+  }
+
+  /**
+   * Parse many rules. Large numbers of rules are parsed in parallel on the common fork-join pool, each task with its
+   * own parser. All parsers resolve entity names through the ontology's shared
+   * {@link org.swrlapi.core.resolvers.ShortNameSymbolTable}, which they read without locking; the ontology and its
+   * prefixes must not change until this method returns.
+   *
+   * @param ruleSpecifications The rules to parse
+   * @param parseExceptions Receives the exception of each rule that cannot be parsed, keyed by the position of the rule
+   *          in the list, so rules with the same name are reported separately
+   * @return The parsed rules, in the order they were supplied, with null for each rule that cannot be parsed
+   */
+  public List<SWRLRule> parseSWRLRules(List<SWRLRuleSpecification> ruleSpecifications,
+      Map<Integer, SWRLParseException> parseExceptions)
+  {
+    int numberOfRules = ruleSpecifications.size();
+    int numberOfTasks = (numberOfRules + RULES_PER_PARALLEL_PARSE_TASK - 1) / RULES_PER_PARALLEL_PARSE_TASK;
+    SWRLRule[] rules = new SWRLRule[numberOfRules];
+    SWRLParseException[] exceptions = new SWRLParseException[numberOfRules];
+    IntStream tasks = IntStream.range(0, numberOfTasks);
+
+    if (numberOfRules >= PARALLEL_PARSE_THRESHOLD)
+      tasks = tasks.parallel();
+
+    tasks.forEach(task -> {
+      SWRLParser parser = new SWRLParser(this.swrlapiOWLOntology);
+      int end = Math.min(numberOfRules, (task + 1) * RULES_PER_PARALLEL_PARSE_TASK);
+
+      for (int i = task * RULES_PER_PARALLEL_PARSE_TASK; i < end; i++) {
+        SWRLRuleSpecification ruleSpecification = ruleSpecifications.get(i);
+        try {
+          rules[i] = parser.parseSWRLRule(ruleSpecification.getRuleText(), false, ruleSpecification.getRuleName(),
+              ruleSpecification.getComment());
+        } catch (SWRLParseException e) {
+          exceptions[i] = e;
+        } catch (RuntimeException e) { // Reported against the rule rather than abandoning the others
+          exceptions[i] = new SWRLParseException(e.getMessage(), e);
+        }
+      }
+    });
+
+    for (int i = 0; i < numberOfRules; i++)
+      if (exceptions[i] != null)
+        parseExceptions.put(i, exceptions[i]);
+
+    return Arrays.asList(rules);
+  }
+
+  private void parseSWRLRuleInteractively(String ruleText) throws SWRLParseException
+  {
+    synchronized (this.parseCache) {
+      this.parseCache.invalidateIfStale(this.swrlapiOWLOntology.getOntologyVersion(), this.swrlapiOWLOntology
+          .getPrefixManager().getPrefixName2PrefixMap());
+
+      if (this.parseCache.hasOutcome(ruleText))
+        this.parseCache.checkOutcome(ruleText);
+      else {
+        SWRLTokenizer lastTokenizer = this.parseCache.getLastTokenizer();
+        int numberOfReusableTokens = lastTokenizer != null ? lastTokenizer.getNumberOfReusableTokens(ruleText) : 0;
+        List<SWRLParseCache.Checkpoint> checkpoints = this.parseCache.getLastCheckpoints(numberOfReusableTokens);
+        SWRLParseCache.Checkpoint resumeCheckpoint = checkpoints.isEmpty() ? null : checkpoints
+            .get(checkpoints.size() - 1);
+
+        try {
+          SWRLTokenizer tokenizer = new SWRLTokenizer(ruleText, true, lastTokenizer, numberOfReusableTokens);
+          this.parseCache.setLastParse(tokenizer, checkpoints);
+          parseSWRLRule(tokenizer, resumeCheckpoint, checkpoints, "", "");
+          this.parseCache.putOutcome(ruleText, null);
+        } catch (SWRLParseException e) {
+          this.parseCache.putOutcome(ruleText, e);
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Parse a rule from the start or, in interactive mode, from a checkpoint of a parse of a rule with the same leading
+   * tokens. In interactive mode a checkpoint is recorded after each top-level token if a list is supplied.
+   */
+  private SWRLRule parseSWRLRule(SWRLTokenizer tokenizer, SWRLParseCache.Checkpoint resumeCheckpoint,
+      List<SWRLParseCache.Checkpoint> checkpoints, String ruleName, String comment) throws SWRLParseException
+  {
     Set<SWRLAtom> head = !tokenizer.isInteractiveParseOnly() ? this.swrlParserSupport.getSWRLHeadAtomList() : null;
     Set<SWRLAtom> body = !tokenizer.isInteractiveParseOnly() ? this.swrlParserSupport.getSWRLBodyAtomList() : null;
     boolean atLeastOneAtom = false, justProcessedAtom = false, isInHead = false;
+    boolean isTokenExpected = true; // At least one token is read when parsing from the start
     String message;
 
     if (!tokenizer.isInteractiveParseOnly() && !tokenizer.hasMoreTokens())
       throw new SWRLParseException("Empty!");
 
-    do {
+    if (resumeCheckpoint != null) {
+      tokenizer.setTokenPosition(resumeCheckpoint.getTokenPosition());
+      for (String variableName : resumeCheckpoint.getVariables())
+        tokenizer.addVariable(variableName);
+      atLeastOneAtom = resumeCheckpoint.isAtLeastOneAtom();
+      justProcessedAtom = resumeCheckpoint.isJustProcessedAtom();
+      isInHead = resumeCheckpoint.isInHead();
+      isTokenExpected = tokenizer.hasMoreTokens();
+    }
+
+    while (isTokenExpected) {
       if (justProcessedAtom)
         message = isInHead ? "Expecting " + AND_CHAR : "Expecting " + IMP_CHAR + ", " + AND_CHAR + " or " + RING_CHAR;
       else
@@ -116,7 +236,11 @@ public class SWRLParser
       } else
         throw new SWRLParseException("Unexpected token '" + currentToken.getValue() + "'");
       justProcessedAtom = true;
-    } while (tokenizer.hasMoreTokens());
+      if (checkpoints != null)
+        checkpoints.add(new SWRLParseCache.Checkpoint(tokenizer.getTokenPosition(), atLeastOneAtom,
+            justProcessedAtom, isInHead, tokenizer.getVariables()));
+      isTokenExpected = tokenizer.hasMoreTokens();
+    }
 
     if (!tokenizer.isInteractiveParseOnly()) {
       if (!atLeastOneAtom)
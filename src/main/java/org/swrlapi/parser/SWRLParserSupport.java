@@ -10,7 +10,6 @@ import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
-import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
 import org.semanticweb.owlapi.model.SWRLClassAtom;
@@ -24,9 +23,7 @@ import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
 import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
 import org.semanticweb.owlapi.model.SWRLVariable;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
-import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.builtins.arguments.SWRLAnnotationPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentFactory;
 import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
@@ -37,6 +34,7 @@ import org.swrlapi.builtins.arguments.SWRLObjectPropertyBuiltInArgument;
 import org.swrlapi.core.OWLLiteralFactory;
 import org.swrlapi.core.SWRLAPIOWLDataFactory;
 import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.resolvers.ShortNameSymbolTable;
 
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -45,70 +43,67 @@ import java.util.Set;
 
 /**
  * Provides support methods used by the {@link org.swrlapi.parser.SWRLParser}.
+ * <p>
+ * Entity and built-in names are resolved through the ontology's {@link ShortNameSymbolTable}, so each check is a single
+ * lookup that does not lock.
  *
  * @see org.swrlapi.parser.SWRLParser
  */
 public class SWRLParserSupport
 {
+  private static final int OWL_ENTITY_TYPES = ShortNameSymbolTable.CLASS | ShortNameSymbolTable.NAMED_INDIVIDUAL
+      | ShortNameSymbolTable.OBJECT_PROPERTY | ShortNameSymbolTable.DATA_PROPERTY
+      | ShortNameSymbolTable.ANNOTATION_PROPERTY;
+
   private final SWRLAPIOWLOntology swrlapiOWLOntology;
   private final DefaultPrefixManager prefixManager;
+  private final ShortNameSymbolTable symbolTable;
 
   public SWRLParserSupport(SWRLAPIOWLOntology swrlapiOWLOntology)
   {
     this.swrlapiOWLOntology = swrlapiOWLOntology;
     this.prefixManager = swrlapiOWLOntology.getPrefixManager();
+    this.symbolTable = swrlapiOWLOntology.getShortNameSymbolTable();
   }
 
   public boolean isOWLEntity(String shortName)
   {
-    return isOWLClass(shortName) || isOWLNamedIndividual(shortName) || isOWLObjectProperty(shortName)
-        || isOWLDataProperty(shortName) || isOWLAnnotationProperty(shortName) || isOWLDatatype(shortName);
+    return this.symbolTable.hasType(shortName, OWL_ENTITY_TYPES) || isOWLDatatype(shortName);
   }
 
   public boolean isOWLClass(String shortName)
   {
-    IRI classIRI = getPrefixManager().getIRI(shortName);
-    return getOWLOntology().containsClassInSignature(classIRI, Imports.INCLUDED);
+    return this.symbolTable.hasType(shortName, ShortNameSymbolTable.CLASS);
   }
 
   public boolean isOWLNamedIndividual(String shortName)
   {
-    IRI individualIRI = getPrefixManager().getIRI(shortName);
-    return getOWLOntology().containsIndividualInSignature(individualIRI, Imports.INCLUDED);
+    return this.symbolTable.hasType(shortName, ShortNameSymbolTable.NAMED_INDIVIDUAL);
   }
 
   public boolean isOWLObjectProperty(String shortName)
   {
-    IRI propertyIRI = getPrefixManager().getIRI(shortName);
-    return getOWLOntology().containsObjectPropertyInSignature(propertyIRI, Imports.INCLUDED);
+    return this.symbolTable.hasType(shortName, ShortNameSymbolTable.OBJECT_PROPERTY);
   }
 
   public boolean isOWLDataProperty(String shortName)
   {
-    IRI propertyIRI = getPrefixManager().getIRI(shortName);
-    return getOWLOntology().containsDataPropertyInSignature(propertyIRI, Imports.INCLUDED);
+    return this.symbolTable.hasType(shortName, ShortNameSymbolTable.DATA_PROPERTY);
   }
 
   public boolean isOWLAnnotationProperty(String shortName)
   {
-    IRI propertyIRI = getPrefixManager().getIRI(shortName);
-    return getOWLOntology().containsAnnotationPropertyInSignature(propertyIRI, Imports.INCLUDED);
+    return this.symbolTable.hasType(shortName, ShortNameSymbolTable.ANNOTATION_PROPERTY);
   }
 
   public boolean isOWLDatatype(String shortName)
   {
-    try {
-      XSDVocabulary.parseShortName(shortName);
-      return true;
-    } catch (IllegalArgumentException e) {
-      return false;
-    }
+    return this.symbolTable.isXSDDatatype(shortName);
   }
 
   public boolean isSWRLBuiltIn(String shortName)
   {
-    IRI builtInIRI = getPrefixManager().getIRI(shortName);
-    return getSWRLAPIOWLOntology().isSWRLBuiltIn(builtInIRI);
+    return this.symbolTable.hasType(shortName, ShortNameSymbolTable.SWRL_BUILT_IN);
   }
 
   public boolean isValidSWRLVariableName(String candidateVariableName)
@@ -140,46 +135,51 @@ public class SWRLParserSupport
 
   public OWLClass getOWLClass(String classShortName) throws SWRLParseException
   {
-    if (isOWLClass(classShortName)) {
-      IRI classIRI = getPrefixManager().getIRI(classShortName);
-      return getOWLDataFactory().getOWLClass(classIRI);
-    } else
+    ShortNameSymbolTable.Symbol symbol = this.symbolTable.getSymbol(classShortName);
+
+    if (symbol != null && symbol.getOWLClass() != null)
+      return symbol.getOWLClass();
+    else
       throw new SWRLParseException(classShortName + " is not an OWL class");
   }
 
   public OWLNamedIndividual getOWLNamedIndividual(String individualShortName) throws SWRLParseException
   {
-    if (isOWLNamedIndividual(individualShortName)) {
-      IRI individualIRI = getPrefixManager().getIRI(individualShortName);
-      return getOWLDataFactory().getOWLNamedIndividual(individualIRI);
-    } else
+    ShortNameSymbolTable.Symbol symbol = this.symbolTable.getSymbol(individualShortName);
+
+    if (symbol != null && symbol.getOWLNamedIndividual() != null)
+      return symbol.getOWLNamedIndividual();
+    else
       throw new SWRLParseException(individualShortName + " is not an OWL named individual");
   }
 
   public OWLObjectProperty getOWLObjectProperty(String objectPropertyShortName) throws SWRLParseException
   {
-    if (isOWLObjectProperty(objectPropertyShortName)) {
-      IRI propertyIRI = getPrefixManager().getIRI(objectPropertyShortName);
-      return getOWLDataFactory().getOWLObjectProperty(propertyIRI);
-    } else
+    ShortNameSymbolTable.Symbol symbol = this.symbolTable.getSymbol(objectPropertyShortName);
+
+    if (symbol != null && symbol.getOWLObjectProperty() != null)
+      return symbol.getOWLObjectProperty();
+    else
       throw new SWRLParseException(objectPropertyShortName + " is not an OWL object property");
   }
 
   public OWLDataProperty getOWLDataProperty(String dataPropertyShortName) throws SWRLParseException
   {
-    if (isOWLDataProperty(dataPropertyShortName)) {
-      IRI propertyIRI = getPrefixManager().getIRI(dataPropertyShortName);
-      return getOWLDataFactory().getOWLDataProperty(propertyIRI);
-    } else
+    ShortNameSymbolTable.Symbol symbol = this.symbolTable.getSymbol(dataPropertyShortName);
+
+    if (symbol != null && symbol.getOWLDataProperty() != null)
+      return symbol.getOWLDataProperty();
+    else
       throw new SWRLParseException(dataPropertyShortName + " is not an OWL data property");
   }
 
   public OWLAnnotationProperty getOWLAnnotationProperty(String annotationPropertyShortName) throws SWRLParseException
   {
-    if (isOWLAnnotationProperty(annotationPropertyShortName)) {
-      IRI propertyIRI = getPrefixManager().getIRI(annotationPropertyShortName);
-      return getOWLDataFactory().getOWLAnnotationProperty(propertyIRI);
-    } else
+    ShortNameSymbolTable.Symbol symbol = this.symbolTable.getSymbol(annotationPropertyShortName);
+
+    if (symbol != null && symbol.getOWLAnnotationProperty() != null)
+      return symbol.getOWLAnnotationProperty();
+    else
       throw new SWRLParseException(annotationPropertyShortName + " is not an OWL annotation property");
   }
 
@@ -243,10 +243,12 @@ public class SWRLParserSupport
 
   public IRI getSWRLBuiltInIRI(String builtInPrefixedName) throws SWRLParseException
   {
-    if (!isSWRLBuiltIn(builtInPrefixedName))
+    ShortNameSymbolTable.Symbol symbol = this.symbolTable.getSymbol(builtInPrefixedName);
+
+    if (symbol == null || !symbol.hasType(ShortNameSymbolTable.SWRL_BUILT_IN))
       throw new SWRLParseException(builtInPrefixedName + " is not a SWRL built-in");
     else
-      return getPrefixManager().getIRI(builtInPrefixedName);
+      return symbol.getIRI();
   }
 
   public SWRLLiteralArgument getSWRLLiteralArgument(String lexicalValue, String datatypeShortName)
@@ -403,11 +405,6 @@ public class SWRLParserSupport
     return this.swrlapiOWLOntology;
   }
 
-  private OWLOntology getOWLOntology()
-  {
-    return getSWRLAPIOWLOntology().getOWLOntology();
-  }
-
   private SWRLAPIOWLDataFactory getSWRLAPIOWLDataFactory()
   {
     return getSWRLAPIOWLOntology().getSWRLAPIOWLDataFactory();
@@ -1,18 +1,22 @@
 package org.swrlapi.parser;
 
-import java.io.IOException;
-import java.io.Reader;
-import java.io.StreamTokenizer;
-import java.io.StringReader;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 /**
  * Tokenizer generates a {@link org.swrlapi.parser.SWRLParseException} for invalid input and a
  * {@link org.swrlapi.parser.SWRLIncompleteRuleException} (which is a subclass of
  * {@link org.swrlapi.parser.SWRLParseException}) for valid but incomplete input.
+ * <p>
+ * The input is scanned once on construction, so errors are reported before parsing starts. The scan records the type
+ * and the character range of each token; token objects and their values are created only when the parser reads them.
+ * Word, whitespace and quote characters are classified as they were by the {@link java.io.StreamTokenizer} this
+ * scanner replaces.
+ * <p>
+ * A tokenizer for edited input can reuse the tokens of a tokenizer for the previous input that were scanned entirely
+ * within the unchanged prefix of the two inputs; scanning then resumes after the last reused token.
  *
  * @see org.swrlapi.parser.SWRLParser
  * @see org.swrlapi.parser.SWRLParseException
@@ -23,43 +27,85 @@ class SWRLTokenizer
   private static final char wordChars[] = { ':', '_', '/', '#' };
   private static final char ordinaryChars[] = { '-', '.', '^', '<', '>', '(', ')', '?' };
 
-  private final MyStreamTokenizer tokenizer;
+  private static final SWRLToken.SWRLTokenType[] tokenTypes = SWRLToken.SWRLTokenType.values();
+  private static final int INITIAL_NUMBER_OF_TOKENS = 16;
 
+  // Raw token types; other raw tokens are the ordinary character itself
+  private static final int EOF = -1;
+  private static final int WORD = -3;
+
+  private final CharSequence input;
   private final Set<String> swrlVariables;
   private final boolean interactiveParseOnly;
-  private final List<SWRLToken> tokens;
+
+  // Tokens, as parallel arrays of type ordinal, input range, and value if the value is not the range. The scan end of a
+  // token is the position the scanner had read up to, including lookahead; the restart is where scanning of the next
+  // token begins.
+  private int[] tokenTypeOrdinals;
+  private int[] tokenStarts, tokenEnds;
+  private int[] tokenScanEnds, tokenRestarts;
+  private String[] tokenValues;
+  private SWRLToken[] tokens; // Created on first access
+  private int numberOfTokens;
   private int tokenPosition;
 
-  public SWRLTokenizer(String input, boolean interactiveParseOnly) throws SWRLParseException
+  // Scanner state
+  private int position;
+  private int rawTokenType, rawTokenStart, rawTokenEnd;
+  private int rawTokenScanStart; // Position at which scanning of the raw token began
+  private String rawTokenValue; // Value of a quoted string with escapes, else null
+  private boolean isRawTokenPushedBack;
+
+  public SWRLTokenizer(CharSequence input, boolean interactiveParseOnly) throws SWRLParseException
+  {
+    this(input, interactiveParseOnly, null, 0);
+  }
+
+  /**
+   * @param input The input
+   * @param interactiveParseOnly If true, incomplete input generates a {@link SWRLIncompleteRuleException}
+   * @param previousTokenizer A tokenizer for a previous input, or null
+   * @param numberOfReusedTokens The number of tokens of the previous tokenizer to reuse; see
+   *          {@link #getNumberOfReusableTokens(CharSequence)}
+   * @throws SWRLParseException If the input is invalid or incomplete
+   */
+  SWRLTokenizer(CharSequence input, boolean interactiveParseOnly, SWRLTokenizer previousTokenizer,
+      int numberOfReusedTokens) throws SWRLParseException
   {
-    this.tokenizer = new MyStreamTokenizer(new StringReader(input));
+    int capacity = Math.max(INITIAL_NUMBER_OF_TOKENS, numberOfReusedTokens * 2);
 
+    this.input = input;
     this.swrlVariables = new HashSet<>();
     this.interactiveParseOnly = interactiveParseOnly;
 
-    for (char wordChar : wordChars)
-      this.tokenizer.wordChars(wordChar, wordChar);
-
-    this.tokenizer.wordChars('0', '9');
+    this.tokenTypeOrdinals = new int[capacity];
+    this.tokenStarts = new int[capacity];
+    this.tokenEnds = new int[capacity];
+    this.tokenScanEnds = new int[capacity];
+    this.tokenRestarts = new int[capacity];
+    this.tokenValues = new String[capacity];
+    this.numberOfTokens = numberOfReusedTokens;
+    this.position = 0;
+    this.isRawTokenPushedBack = false;
+
+    if (numberOfReusedTokens != 0) {
+      System.arraycopy(previousTokenizer.tokenTypeOrdinals, 0, this.tokenTypeOrdinals, 0, numberOfReusedTokens);
+      System.arraycopy(previousTokenizer.tokenStarts, 0, this.tokenStarts, 0, numberOfReusedTokens);
+      System.arraycopy(previousTokenizer.tokenEnds, 0, this.tokenEnds, 0, numberOfReusedTokens);
+      System.arraycopy(previousTokenizer.tokenScanEnds, 0, this.tokenScanEnds, 0, numberOfReusedTokens);
+      System.arraycopy(previousTokenizer.tokenRestarts, 0, this.tokenRestarts, 0, numberOfReusedTokens);
+      System.arraycopy(previousTokenizer.tokenValues, 0, this.tokenValues, 0, numberOfReusedTokens);
+      this.position = this.tokenRestarts[numberOfReusedTokens - 1];
+    }
 
-    for (char ordinaryChar : ordinaryChars)
-      this.tokenizer.ordinaryChar(ordinaryChar);
+    generateTokens();
 
-    this.tokens = generateTokens();
+    this.tokens = new SWRLToken[this.numberOfTokens];
+    if (numberOfReusedTokens != 0)
+      System.arraycopy(previousTokenizer.tokens, 0, this.tokens, 0, numberOfReusedTokens);
     this.tokenPosition = 0;
   }
 
-  // If we want to list:
-  // this.tokenizer.ordinaryChar('!');
-  // // Skip double quote
-  // this.tokenizer.ordinaryChars('$', '/');
-  // // Skip colon
-  // this.tokenizer.ordinaryChars(';', '@');
-  // this.tokenizer.ordinaryChars('[', '^');
-  // // Skip underscore
-  // this.tokenizer.ordinaryChar('`');
-  // this.tokenizer.ordinaryChars('{', '~');
-
   public void reset()
   {
     this.tokenPosition = 0;
@@ -67,8 +113,8 @@ class SWRLTokenizer
 
   public SWRLToken getToken() throws SWRLParseException
   {
-    if (this.tokenPosition < this.tokens.size())
-      return this.tokens.get(this.tokenPosition++);
+    if (this.tokenPosition < this.numberOfTokens)
+      return getToken(this.tokenPosition++);
     else
       throw generateEndOfRuleException("Incomplete rule!");
   }
@@ -97,20 +143,20 @@ class SWRLTokenizer
 
   public boolean hasMoreTokens()
   {
-    return this.tokenPosition < this.tokens.size();
+    return this.tokenPosition < this.numberOfTokens;
   }
 
   public SWRLToken peekToken(String message) throws SWRLParseException
   {
-    if (this.tokenPosition < this.tokens.size())
-      return this.tokens.get(this.tokenPosition);
+    if (this.tokenPosition < this.numberOfTokens)
+      return getToken(this.tokenPosition);
     else
       throw generateEndOfRuleException(message);
   }
 
   public void skipToken() throws SWRLParseException
   {
-    if (this.tokenPosition < this.tokens.size())
+    if (this.tokenPosition < this.numberOfTokens)
       this.tokenPosition++;
     else
       throw generateEndOfRuleException("End of rule reached unexpectedly!");
@@ -121,6 +167,40 @@ class SWRLTokenizer
     return this.interactiveParseOnly;
   }
 
+  /**
+   * @param input An input that may share a prefix with the input of this tokenizer
+   * @return The number of leading tokens of this tokenizer that were scanned entirely within the common prefix
+   */
+  int getNumberOfReusableTokens(CharSequence input)
+  {
+    int length = Math.min(this.input.length(), input.length()), commonPrefixLength = 0;
+
+    while (commonPrefixLength < length && this.input.charAt(commonPrefixLength) == input.charAt(commonPrefixLength))
+      commonPrefixLength++;
+
+    int numberOfReusableTokens = 0; // The scanner may also have looked at the character at the scan end
+    while (numberOfReusableTokens < this.numberOfTokens
+        && this.tokenScanEnds[numberOfReusableTokens] < commonPrefixLength)
+      numberOfReusableTokens++;
+
+    return numberOfReusableTokens;
+  }
+
+  int getTokenPosition()
+  {
+    return this.tokenPosition;
+  }
+
+  void setTokenPosition(int tokenPosition)
+  {
+    this.tokenPosition = tokenPosition;
+  }
+
+  Set<String> getVariables()
+  {
+    return Collections.unmodifiableSet(this.swrlVariables);
+  }
+
   public boolean hasVariable(String variableName)
   {
     return this.swrlVariables.contains(variableName);
@@ -167,109 +247,131 @@ class SWRLTokenizer
     return false;
   }
 
-  private List<SWRLToken> generateTokens() throws SWRLParseException
+  private SWRLToken getToken(int tokenIndex)
   {
-    List<SWRLToken> tokens = new ArrayList<>();
-    SWRLToken token = generateToken();
-    while (token.getTokenType() != SWRLToken.SWRLTokenType.END_OF_INPUT) {
-      tokens.add(token);
-      token = generateToken();
+    SWRLToken token = this.tokens[tokenIndex];
+
+    if (token == null) {
+      SWRLToken.SWRLTokenType tokenType = tokenTypes[this.tokenTypeOrdinals[tokenIndex]];
+      String value = this.tokenValues[tokenIndex];
+
+      if (value == null)
+        value = this.input.subSequence(this.tokenStarts[tokenIndex], this.tokenEnds[tokenIndex]).toString();
+
+      token = new SWRLToken(tokenType, value);
+      this.tokens[tokenIndex] = token;
     }
-    return tokens;
+    return token;
   }
 
-  private SWRLToken generateToken() throws SWRLParseException
+  private void generateTokens() throws SWRLParseException
   {
-    try {
-      return convertToken2SWRLToken(this.tokenizer.nextToken());
-    } catch (IOException e) {
-      throw new SWRLParseException("Error tokenizing " + e.getMessage());
+    while (generateToken()) {
+      int tokenIndex = this.numberOfTokens - 1;
+      this.tokenScanEnds[tokenIndex] = this.position;
+      this.tokenRestarts[tokenIndex] = this.isRawTokenPushedBack ? this.rawTokenScanStart : this.position;
+      this.isRawTokenPushedBack = false;
+      this.position = this.tokenRestarts[tokenIndex];
     }
   }
 
-  private SWRLToken convertToken2SWRLToken(int tokenType) throws SWRLParseException, IOException
+  /**
+   * @return False at the end of the input
+   */
+  private boolean generateToken() throws SWRLParseException
   {
     boolean negativeNumeric = false;
+    int tokenType = nextRawToken();
+    int start = this.rawTokenStart;
 
     switch (tokenType) {
-    case StreamTokenizer.TT_EOF:
-      return new SWRLToken(SWRLToken.SWRLTokenType.END_OF_INPUT, "");
-    case StreamTokenizer.TT_EOL:
-      return new SWRLToken(SWRLToken.SWRLTokenType.END_OF_INPUT, "");
-    case StreamTokenizer.TT_NUMBER:
-      throw new SWRLParseException("internal error - not expecting a StreamTokenizer.TT_NUMBER");
+    case EOF:
+      return false;
     case '-': {
-      int nextTokenType = this.tokenizer.nextToken();
-      if (nextTokenType == '>')
-        return new SWRLToken(SWRLToken.SWRLTokenType.IMP, "->");
-      else if (nextTokenType == StreamTokenizer.TT_EOF)
+      int nextTokenType = nextRawToken();
+      if (nextTokenType == '>') {
+        addToken(SWRLToken.SWRLTokenType.IMP, start, this.rawTokenEnd, "->");
+        return true;
+      } else if (nextTokenType == EOF)
         throw generateEndOfRuleException("Expecting '>' or integer or float after '-'");
-      else if (nextTokenType != StreamTokenizer.TT_WORD)
+      else if (nextTokenType != WORD)
         throw new SWRLParseException("Expecting '>' or integer or float after '-'");
       else
         negativeNumeric = true;
       // Fall through to look for integer or float
     }
-    case StreamTokenizer.TT_WORD: {
-      String value = this.tokenizer.sval;
-      if (isInt(value)) {
+    case WORD: {
+      int valueStart = this.rawTokenStart, valueEnd = this.rawTokenEnd;
+      if (isInt(valueStart, valueEnd)) {
         // See if it is followed by a '.', in which case it should be a float
-        if (this.tokenizer.nextToken() == '.') { // Found a . so expecting rest of float
-          int trailingTokenType = this.tokenizer.nextToken();
-          String trailingValue = this.tokenizer.sval;
-          if (trailingTokenType == StreamTokenizer.TT_WORD && isInt(trailingValue)) {
-            String floatValue = value + "." + trailingValue;
-            floatValue = negativeNumeric ? "-" + floatValue : floatValue;
-            return new SWRLToken(SWRLToken.SWRLTokenType.FLOAT, floatValue);
-          } else if (trailingTokenType == StreamTokenizer.TT_EOF)
+        if (nextRawToken() == '.') { // Found a . so expecting rest of float
+          int trailingTokenType = nextRawToken();
+          if (trailingTokenType == WORD && isInt(this.rawTokenStart, this.rawTokenEnd)) {
+            String floatValue = negativeNumeric || this.rawTokenStart != valueEnd + 1 ? (negativeNumeric ? "-" : "")
+                + this.input.subSequence(valueStart, valueEnd) + "."
+                + this.input.subSequence(this.rawTokenStart, this.rawTokenEnd) : null;
+            addToken(SWRLToken.SWRLTokenType.FLOAT, valueStart, this.rawTokenEnd, floatValue);
+            return true;
+          } else if (trailingTokenType == EOF)
             throw generateEndOfRuleException("Expecting float fraction part after '.'");
           else
             throw new SWRLParseException("Expecting float fraction part after '.'");
         } else { // No following '.' so it is an integer
-          this.tokenizer.pushBack();
-          String intValue = negativeNumeric ? "-" + value : value;
-          return new SWRLToken(SWRLToken.SWRLTokenType.INT, intValue);
+          pushBackRawToken();
+          String intValue = negativeNumeric ? "-" + this.input.subSequence(valueStart, valueEnd) : null;
+          addToken(SWRLToken.SWRLTokenType.INT, valueStart, valueEnd, intValue);
+          return true;
         }
       } else { // Value is not an integer
         if (negativeNumeric) // If negative, value should be an integer
           throw new SWRLParseException("Expecting integer or float");
-        else
-          return new SWRLToken(SWRLToken.SWRLTokenType.SHORTNAME, value);
+        else {
+          addToken(SWRLToken.SWRLTokenType.SHORTNAME, valueStart, valueEnd, null);
+          return true;
+        }
       }
     }
     case '"':
-      return new SWRLToken(SWRLToken.SWRLTokenType.STRING, this.tokenizer.sval);
+      addToken(SWRLToken.SWRLTokenType.STRING, this.rawTokenStart, this.rawTokenEnd, this.rawTokenValue);
+      return true;
     case ',':
-      return new SWRLToken(SWRLToken.SWRLTokenType.COMMA, ",");
+      addToken(SWRLToken.SWRLTokenType.COMMA, start, this.rawTokenEnd, ",");
+      return true;
     case '?':
-      return new SWRLToken(SWRLToken.SWRLTokenType.QUESTION, "?");
+      addToken(SWRLToken.SWRLTokenType.QUESTION, start, this.rawTokenEnd, "?");
+      return true;
     case '(':
-      return new SWRLToken(SWRLToken.SWRLTokenType.LPAREN, "(");
+      addToken(SWRLToken.SWRLTokenType.LPAREN, start, this.rawTokenEnd, "(");
+      return true;
     case ')':
-      return new SWRLToken(SWRLToken.SWRLTokenType.RPAREN, ")");
+      addToken(SWRLToken.SWRLTokenType.RPAREN, start, this.rawTokenEnd, ")");
+      return true;
     case '.':
-      return new SWRLToken(SWRLToken.SWRLTokenType.RING, ".");
+      addToken(SWRLToken.SWRLTokenType.RING, start, this.rawTokenEnd, ".");
+      return true;
     case '^': {
-      int nextTokenType = this.tokenizer.nextToken();
+      int nextTokenType = nextRawToken();
       if (nextTokenType == '^') {
-        return new SWRLToken(SWRLToken.SWRLTokenType.TYPE_QUAL, "^^");
+        addToken(SWRLToken.SWRLTokenType.TYPE_QUAL, start, this.rawTokenEnd, "^^");
       } else { // Not ^^
-        this.tokenizer.pushBack();
-        return new SWRLToken(SWRLToken.SWRLTokenType.AND, "^");
+        pushBackRawToken();
+        addToken(SWRLToken.SWRLTokenType.AND, start, start + 1, "^");
       }
+      return true;
     }
     case '<': {
-      int nextTokenType = this.tokenizer.nextToken();
-      if (nextTokenType == StreamTokenizer.TT_WORD) {
-        String iri = this.tokenizer.sval;
-        nextTokenType = this.tokenizer.nextToken();
-        if (nextTokenType == '>')
-          return new SWRLToken(SWRLToken.SWRLTokenType.IRI, iri);
-        else if (nextTokenType == StreamTokenizer.TT_EOF)
+      int nextTokenType = nextRawToken();
+      if (nextTokenType == WORD) {
+        int iriStart = this.rawTokenStart, iriEnd = this.rawTokenEnd;
+        nextTokenType = nextRawToken();
+        if (nextTokenType == '>') {
+          addToken(SWRLToken.SWRLTokenType.IRI, iriStart, iriEnd, null);
+          return true;
+        } else if (nextTokenType == EOF)
           throw generateEndOfRuleException("Expecting '>' after IRI");
         else
           throw new SWRLParseException("Expecting IRI after '<'");
-      } else if (nextTokenType == StreamTokenizer.TT_EOF)
+      } else if (nextTokenType == EOF)
         throw generateEndOfRuleException("Expecting IRI after '<'");
       else
         throw new SWRLParseException("Expecting IRI after '<'"); // Some other token
@@ -277,7 +379,162 @@ class SWRLTokenizer
     default:
       throw new SWRLParseException("Unexpected character '" + String.valueOf(Character.toChars(tokenType)) + "'");
     }
+  }
 
+  private void addToken(SWRLToken.SWRLTokenType tokenType, int start, int end, String value)
+  {
+    if (this.numberOfTokens == this.tokenTypeOrdinals.length) {
+      int capacity = this.numberOfTokens * 2;
+      this.tokenTypeOrdinals = Arrays.copyOf(this.tokenTypeOrdinals, capacity);
+      this.tokenStarts = Arrays.copyOf(this.tokenStarts, capacity);
+      this.tokenEnds = Arrays.copyOf(this.tokenEnds, capacity);
+      this.tokenScanEnds = Arrays.copyOf(this.tokenScanEnds, capacity);
+      this.tokenRestarts = Arrays.copyOf(this.tokenRestarts, capacity);
+      this.tokenValues = Arrays.copyOf(this.tokenValues, capacity);
+    }
+    this.tokenTypeOrdinals[this.numberOfTokens] = tokenType.ordinal();
+    this.tokenStarts[this.numberOfTokens] = start;
+    this.tokenEnds[this.numberOfTokens] = end;
+    this.tokenValues[this.numberOfTokens] = value;
+    this.numberOfTokens++;
+  }
+
+  /**
+   * Scan the next raw token: {@link #EOF}, {@link #WORD}, a quote character for a quoted string, or an ordinary
+   * character. Characters up to and including space are whitespace; letters, digits, characters from 160 and the word
+   * characters form words; double and single quotes delimit strings with Java-style escapes that end at a matching
+   * quote or at the end of a line. Any other character is returned as itself.
+   */
+  private int nextRawToken()
+  {
+    if (this.isRawTokenPushedBack) {
+      this.isRawTokenPushedBack = false;
+      return this.rawTokenType;
+    }
+
+    int length = this.input.length();
+    this.rawTokenValue = null;
+    this.rawTokenScanStart = this.position;
+
+    while (this.position < length && this.input.charAt(this.position) <= ' ')
+      this.position++;
+
+    this.rawTokenStart = this.position;
+
+    if (this.position == length) {
+      this.rawTokenEnd = this.position;
+      return this.rawTokenType = EOF;
+    }
+
+    char c = this.input.charAt(this.position++);
+
+    if (isWordChar(c)) {
+      while (this.position < length && isWordChar(this.input.charAt(this.position)))
+        this.position++;
+      this.rawTokenEnd = this.position;
+      return this.rawTokenType = WORD;
+    } else if (c == '"' || c == '\'') {
+      scanQuotedString(c);
+      return this.rawTokenType = c;
+    } else {
+      this.rawTokenEnd = this.position;
+      return this.rawTokenType = c;
+    }
+  }
+
+  /**
+   * Scan the remainder of a quoted string. The range of the token is the content of the string; if the string has
+   * escapes its value is also recorded.
+   */
+  private void scanQuotedString(char quote)
+  {
+    int contentStart = this.position;
+    StringBuilder value = null;
+    int d = read();
+
+    while (d >= 0 && d != quote && d != '\n' && d != '\r') {
+      int c;
+      if (d == '\\') {
+        if (value == null)
+          value = new StringBuilder().append(this.input, contentStart, this.position - 1);
+        c = read();
+        int first = c; // To allow \377, but not \477
+        if (c >= '0' && c <= '7') {
+          c = c - '0';
+          int c2 = read();
+          if ('0' <= c2 && c2 <= '7') {
+            c = (c << 3) + (c2 - '0');
+            c2 = read();
+            if ('0' <= c2 && c2 <= '7' && first <= '3') {
+              c = (c << 3) + (c2 - '0');
+              d = read();
+            } else
+              d = c2;
+          } else
+            d = c2;
+        } else {
+          switch (c) {
+          case 'a':
+            c = 0x7;
+            break;
+          case 'b':
+            c = '\b';
+            break;
+          case 'f':
+            c = 0xC;
+            break;
+          case 'n':
+            c = '\n';
+            break;
+          case 'r':
+            c = '\r';
+            break;
+          case 't':
+            c = '\t';
+            break;
+          case 'v':
+            c = 0xB;
+            break;
+          }
+          d = read();
+        }
+      } else {
+        c = d;
+        d = read();
+      }
+      if (value != null)
+        value.append((char)c);
+    }
+
+    if (d >= 0 && d != quote) // Leave the line end for the next token
+      this.position--;
+
+    this.rawTokenStart = contentStart;
+    this.rawTokenEnd = d == quote ? this.position - 1 : this.position;
+    if (value != null)
+      this.rawTokenValue = value.toString();
+  }
+
+  private int read()
+  {
+    return this.position < this.input.length() ? this.input.charAt(this.position++) : -1;
+  }
+
+  private void pushBackRawToken()
+  {
+    this.isRawTokenPushedBack = true;
+  }
+
+  private static boolean isWordChar(char c)
+  {
+    if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c >= 160)
+      return true;
+
+    for (char wordChar : wordChars) {
+      if (wordChar == c)
+        return true;
+    }
+    return false;
   }
 
   private SWRLParseException generateEndOfRuleException(String message)
@@ -288,26 +545,24 @@ class SWRLTokenizer
       return new SWRLIncompleteRuleException(message);
   }
 
-  private boolean isInt(String s)
+  /**
+   * @return True if the characters in a range are an integer accepted by {@link Integer#parseInt(String)}
+   */
+  private boolean isInt(int start, int end)
   {
-    try {
-      Integer.parseInt(s);
-      return true;
-    } catch (NumberFormatException e) {
-      return false;
-    }
-  }
+    long value = 0;
 
-  private class MyStreamTokenizer extends StreamTokenizer
-  {
-    public MyStreamTokenizer(Reader r)
-    {
-      super(r);
-    }
+    if (start == end)
+      return false;
 
-    @Override
-    public void parseNumbers()
-    {
+    for (int i = start; i < end; i++) {
+      int digit = Character.digit(this.input.charAt(i), 10);
+      if (digit < 0)
+        return false;
+      value = value * 10 + digit;
+      if (value > Integer.MAX_VALUE)
+        return false;
     }
+    return true;
   }
 }
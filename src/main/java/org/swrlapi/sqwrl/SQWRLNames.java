@@ -24,6 +24,8 @@ public class SQWRLNames
   public static final String Max = SQWRLPrefix + "max";
   public static final String Sum = SQWRLPrefix + "sum";
   public static final String Median = SQWRLPrefix + "median";
+  public static final String ApproxMedian = SQWRLPrefix + "approxMedian";
+  public static final String ApproxCountDistinct = SQWRLPrefix + "approxCountDistinct";
   public static final String OrderBy = SQWRLPrefix + "orderBy";
   public static final String OrderByDescending = SQWRLPrefix + "orderByDescending";
   public static final String ColumnNames = SQWRLPrefix + "columnNames";
@@ -37,6 +39,8 @@ public class SQWRLNames
   public static final String SumAggregateFunction = "sum";
   public static final String AvgAggregateFunction = "avg";
   public static final String MedianAggregateFunction = "median";
+  public static final String ApproxMedianAggregateFunction = "approxMedian";
+  public static final String ApproxCountDistinctAggregateFunction = "approxCountDistinct";
 
   // Collection construction operations
   public static final String MakeSet = SQWRLPrefix + "makeSet";
@@ -102,7 +106,8 @@ public class SQWRLNames
 
   private static final String headSelectionBuiltInNamesArray[] = { Select, SelectDistinct, OrderBy, OrderByDescending,
       ColumnNames };
-  private static final String headAggregationBuiltInNamesArray[] = { Count, CountDistinct, Avg, Median, Min, Max, Sum };
+  private static final String headAggregationBuiltInNamesArray[] = { Count, CountDistinct, Avg, Median, Min, Max, Sum,
+      ApproxMedian, ApproxCountDistinct };
 
   private static final String headSlicingBuiltInNamesArray[] = { Limit, Nth, NthGreatest, NthLast, NthSlice,
       NthLastSlice, NthGreatestSlice, NotNthGreatestSlice, NotNthLastSlice, NotNthSlice, NotNth, NotNthLast,
@@ -129,7 +134,7 @@ public class SQWRLNames
 
   public static final String aggregateFunctionNames[] = { MinAggregateFunction, MaxAggregateFunction,
       SumAggregateFunction, AvgAggregateFunction, MedianAggregateFunction, CountAggregateFunction,
-      CountDistinctAggregateFunction };
+      CountDistinctAggregateFunction, ApproxMedianAggregateFunction, ApproxCountDistinctAggregateFunction };
 
   private static Set<String> sqwrlBuiltInNames;
   private static Set<String> headBuiltInNames, headSelectionBuiltInNames, headAggregationBuiltInNames,
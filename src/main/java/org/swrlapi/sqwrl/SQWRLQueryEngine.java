@@ -8,9 +8,13 @@ import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
 import javax.swing.*;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This interface defines the methods that must be provided by a SQWRL query engine.
+ * <p>
+ * An engine may be shared between threads. Queries, rule runs and rule changes made through the engine are executed
+ * one at a time, in the order in which they acquire the engine.
  *
  * @see org.swrlapi.sqwrl.SQWRLQuery
  * @see org.swrlapi.sqwrl.SQWRLResult
@@ -40,7 +44,8 @@ public interface SQWRLQueryEngine extends SWRLRuleEngine
 
   /**
    * Run a named SQWRL query. SWRL rules will also be executed and any inferences produced by them will be available in
-   * the query.
+   * the query. If the ontology has not changed since the query was last run its cached result may be read again. Each
+   * call returns a result with its own row position, even when the rows are shared with other callers.
    * 
    * @param queryName The name of the query
    * @return The result of the query
@@ -48,6 +53,124 @@ public interface SQWRLQueryEngine extends SWRLRuleEngine
    */
   SQWRLResult runSQWRLQuery(String queryName) throws SQWRLException;
 
+  /**
+   * Run a named SQWRL query asynchronously on the query engine's default executor with no timeout.
+   *
+   * @param queryName The name of the query
+   * @return A future that is completed with the result of the query
+   * @see #runSQWRLQueryAsync(String, SQWRLQueryOptions)
+   */
+  CompletableFuture<SQWRLResult> runSQWRLQueryAsync(String queryName);
+
+  /**
+   * Run a named SQWRL query asynchronously. Asynchronous queries on the same engine are run one at a time. If the
+   * returned future is cancelled, or is completed with a {@link java.util.concurrent.TimeoutException} because the
+   * timeout in the options has expired, the running query is interrupted, the target rule engine is asked to stop and
+   * the query engine is reset before the next query runs.
+   *
+   * @param queryName The name of the query
+   * @param options Options controlling the execution of the query
+   * @return A future that is completed with the result of the query
+   */
+  CompletableFuture<SQWRLResult> runSQWRLQueryAsync(String queryName, SQWRLQueryOptions options);
+
+  /**
+   * Run a named SQWRL query, handing the rows of its result to a row consumer. If the query's result is streamable rows
+   * are delivered as they are generated and are not retained by the returned result; otherwise they are delivered once
+   * the result has been prepared. The result cache is bypassed.
+   *
+   * @param queryName The name of the query
+   * @param rowConsumer A consumer for the rows of the result, e.g., a {@link org.swrlapi.sqwrl.SQWRLResultWriter}
+   * @return The result of the query
+   * @throws SQWRLException If an error occurs during querying or the consumer throws an exception
+   * @see org.swrlapi.sqwrl.SQWRLResultGenerator#isStreamable()
+   */
+  SQWRLResult runSQWRLQuery(String queryName, SQWRLResultRowConsumer rowConsumer) throws SQWRLException;
+
+  /**
+   * Run a named SQWRL query asynchronously on the query engine's default executor and return a cursor over its rows.
+   * If the query's result is streamable rows are delivered as they are generated and are not retained, so memory use is
+   * bounded by the buffer size regardless of the size of the result; otherwise the rows are delivered once the result
+   * has been prepared. The result cache is bypassed. The cursor should be closed if it is not read to the end.
+   *
+   * @param queryName The name of the query
+   * @param bufferSize The maximum number of rows buffered between the query and the cursor
+   * @return A cursor over the rows of the query's result
+   * @see org.swrlapi.sqwrl.SQWRLResultGenerator#isStreamable()
+   */
+  SQWRLResultCursor streamSQWRLQuery(String queryName, int bufferSize);
+
+  /**
+   * Set the maximum number of results retained by the result cache used by {@link #runSQWRLQuery(String)}. Cached
+   * results are discarded when the ontology or the OWL 2 RL rule selection changes, and the result of a query is
+   * discarded when the query is created or deleted.
+   *
+   * @param capacity The maximum number of cached results; zero disables caching
+   * @throws IllegalArgumentException If the capacity is negative
+   */
+  void setSQWRLResultCacheCapacity(int capacity);
+
+  /**
+   * @return The maximum number of cached SQWRL query results
+   */
+  int getSQWRLResultCacheCapacity();
+
+  /**
+   * Set the number of result rows at or above which SQWRL results are ordered, made distinct, and aggregated in
+   * parallel. Parallel preparation produces the same result as serial preparation.
+   *
+   * @param threshold A number of rows; {@link Integer#MAX_VALUE} disables parallel preparation
+   */
+  void setSQWRLResultParallelPreparationThreshold(int threshold);
+
+  /**
+   * @return The number of result rows at or above which SQWRL results are prepared in parallel
+   */
+  int getSQWRLResultParallelPreparationThreshold();
+
+  /**
+   * Hold the rows of SQWRL query results in temporary files rather than on the heap, for queries whose results are too
+   * large to fit in memory. Only the current batch of rows is held on the heap while a result is generated.
+   *
+   * @param batchSize The number of rows written to a temporary file at a time, or zero to hold results on the heap
+   * @see org.swrlapi.sqwrl.SQWRLResultGenerator#setSpillBatchSize(int)
+   */
+  void setSQWRLResultSpillBatchSize(int batchSize);
+
+  /**
+   * @return The number of rows written to a temporary file at a time, or zero if results are held on the heap
+   */
+  int getSQWRLResultSpillBatchSize();
+
+  /**
+   * Set the error of the approximate aggregate functions <tt>sqwrl:approxCountDistinct</tt> and
+   * <tt>sqwrl:approxMedian</tt>. Cached results are discarded.
+   *
+   * @param error An error greater than zero and less than one
+   * @see org.swrlapi.sqwrl.SQWRLResultGenerator#setApproximateAggregateError(double)
+   */
+  void setSQWRLResultApproximateAggregateError(double error);
+
+  /**
+   * @return The error of the approximate aggregate functions
+   */
+  double getSQWRLResultApproximateAggregateError();
+
+  /**
+   * Discard all cached SQWRL query results.
+   */
+  void clearSQWRLResultCache();
+
+  /**
+   * @return The number of query runs answered from the result cache
+   */
+  long getSQWRLResultCacheHitCount();
+
+  /**
+   * @return The number of query runs that were not answered from the result cache
+   */
+  long getSQWRLResultCacheMissCount();
+
   /**
    * Run all enabled SQWRL queries.
    *
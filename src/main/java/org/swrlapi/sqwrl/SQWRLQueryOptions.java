@@ -0,0 +1,74 @@
+package org.swrlapi.sqwrl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options controlling the asynchronous execution of a SQWRL query. Instances are immutable; the <tt>with</tt> methods
+ * return modified copies.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine#runSQWRLQueryAsync(String, SQWRLQueryOptions)
+ */
+public class SQWRLQueryOptions
+{
+  private static final SQWRLQueryOptions DEFAULT_OPTIONS = new SQWRLQueryOptions(0, null);
+
+  private final long timeoutMillis; // Zero indicates no timeout
+  private final Executor executor; // Null indicates the query engine's default executor
+
+  private SQWRLQueryOptions(long timeoutMillis, Executor executor)
+  {
+    this.timeoutMillis = timeoutMillis;
+    this.executor = executor;
+  }
+
+  /**
+   * @return Options with no timeout that run the query on the query engine's default executor
+   */
+  public static SQWRLQueryOptions defaultOptions()
+  {
+    return DEFAULT_OPTIONS;
+  }
+
+  /**
+   * @param timeout The wall-clock time after which the query is cancelled; zero indicates no timeout
+   * @param unit The unit of the timeout
+   * @return A copy of these options with the specified timeout
+   */
+  public SQWRLQueryOptions withTimeout(long timeout, TimeUnit unit)
+  {
+    if (timeout < 0)
+      throw new IllegalArgumentException("negative SQWRL query timeout " + timeout);
+
+    return new SQWRLQueryOptions(unit.toMillis(timeout), this.executor);
+  }
+
+  /**
+   * @param executor The executor to run the query on; null selects the query engine's default executor
+   * @return A copy of these options with the specified executor
+   */
+  public SQWRLQueryOptions withExecutor(Executor executor)
+  {
+    return new SQWRLQueryOptions(this.timeoutMillis, executor);
+  }
+
+  public boolean hasTimeout()
+  {
+    return this.timeoutMillis > 0;
+  }
+
+  public long getTimeoutMillis()
+  {
+    return this.timeoutMillis;
+  }
+
+  public boolean hasExecutor()
+  {
+    return this.executor != null;
+  }
+
+  public Executor getExecutor()
+  {
+    return this.executor;
+  }
+}
@@ -275,4 +275,35 @@ public interface SQWRLResult
    * @throws SQWRLException If an error occurs during processing
    */
   List<SQWRLResultValue> getColumn(int columnIndex) throws SQWRLException;
+
+  /**
+   * Get a page of rows by position, independently of the cursor. Only the rows of the page are read, so pages of a very
+   * large result can be served without copying the result.
+   *
+   * @param offset The 0-based index of the first row of the page
+   * @param limit The maximum number of rows in the page
+   * @return A list of at most <tt>limit</tt> read-only rows; empty if the offset is the number of rows
+   * @throws SQWRLException If the offset or limit is out of bounds
+   */
+  List<List<SQWRLResultValue>> getRows(int offset, int limit) throws SQWRLException;
+
+  /**
+   * @param columnName A column name
+   * @param offset The 0-based index of the first row of the slice
+   * @param limit The maximum number of values in the slice
+   * @return A read-only list of at most <tt>limit</tt> values of the column
+   * @throws SQWRLException If the column name is invalid or the offset or limit is out of bounds
+   * @see #getRows(int, int)
+   */
+  List<SQWRLResultValue> getColumnSlice(String columnName, int offset, int limit) throws SQWRLException;
+
+  /**
+   * @param columnIndex A column index
+   * @param offset The 0-based index of the first row of the slice
+   * @param limit The maximum number of values in the slice
+   * @return A read-only list of at most <tt>limit</tt> values of the column
+   * @throws SQWRLException If the column index is invalid or the offset or limit is out of bounds
+   * @see #getRows(int, int)
+   */
+  List<SQWRLResultValue> getColumnSlice(int columnIndex, int offset, int limit) throws SQWRLException;
 }
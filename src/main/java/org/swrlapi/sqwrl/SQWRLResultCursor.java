@@ -0,0 +1,21 @@
+package org.swrlapi.sqwrl;
+
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Iterates over the rows of a SQWRL query while the query is still running. Rows are passed from the query to the
+ * cursor through a bounded buffer, so the query blocks when the reader falls behind. An error raised by the query is
+ * thrown from {@link #hasNext()} as a {@link org.swrlapi.exceptions.SWRLAPIException}.
+ * <p>
+ * Closing the cursor before all rows have been read cancels the query.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine#streamSQWRLQuery(String, int)
+ */
+public interface SQWRLResultCursor extends Iterator<List<SQWRLResultValue>>, AutoCloseable
+{
+  @Override
+  void close();
+}
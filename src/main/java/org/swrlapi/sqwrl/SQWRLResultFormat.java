@@ -0,0 +1,51 @@
+package org.swrlapi.sqwrl;
+
+/**
+ * Formats in which a {@link org.swrlapi.sqwrl.SQWRLResultWriter} can write SQWRL results.
+ * <p>
+ * CSV, TSV and JSON lines render entities by their prefixed name and literals by their lexical form; JSON lines writes
+ * numeric and boolean literals as JSON numbers and booleans where their lexical form allows it. SPARQL results JSON
+ * renders entities by their full IRI and literals with their datatype or language tag.
+ */
+public enum SQWRLResultFormat
+{
+  /**
+   * Comma-separated values as defined by RFC 4180, with a header row of column names
+   */
+  CSV("text/csv", "csv"),
+
+  /**
+   * Tab-separated values with a header row of column names; tabs, line breaks and backslashes in values are escaped
+   * with a backslash
+   */
+  TSV("text/tab-separated-values", "tsv"),
+
+  /**
+   * One JSON object per row, keyed by column name
+   */
+  JSON_LINES("application/x-ndjson", "jsonl"),
+
+  /**
+   * SPARQL 1.1 Query Results JSON Format, with the column names as variable names
+   */
+  SPARQL_JSON("application/sparql-results+json", "srj");
+
+  private final String mediaType;
+  private final String fileExtension;
+
+  SQWRLResultFormat(String mediaType, String fileExtension)
+  {
+    this.mediaType = mediaType;
+    this.fileExtension = fileExtension;
+  }
+
+  public String getMediaType()
+  {
+    return this.mediaType;
+  }
+
+  public String getFileExtension()
+  {
+    return this.fileExtension;
+  }
+}
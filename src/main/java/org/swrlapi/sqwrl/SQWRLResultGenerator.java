@@ -50,6 +50,61 @@ public interface SQWRLResultGenerator
    */
   boolean isOrderedAscending();
 
+  /**
+   * Limit the number of rows that can be added to the result. Adding more rows throws a
+   * {@link org.swrlapi.exceptions.SWRLRuleEngineBudgetExceededException}.
+   *
+   * @param maximumNumberOfRows The maximum number of rows, or {@link org.swrlapi.core.SWRLRuleEngineBudget#UNLIMITED}
+   */
+  void setMaximumNumberOfRows(long maximumNumberOfRows);
+
+  /**
+   * Set the number of rows at or above which sorting, distinct, and aggregation are performed in parallel on the common
+   * fork-join pool. The parallel result is identical to the serial one.
+   *
+   * @param parallelPreparationThreshold A number of rows; {@link Integer#MAX_VALUE} disables parallel preparation
+   */
+  void setParallelPreparationThreshold(int parallelPreparationThreshold);
+
+  /**
+   * Hold the rows of the result in a temporary file rather than on the heap. Rows are written in batches of the given
+   * size and read back from memory-mapped segments; ordering and distinct use an external merge sort. Aggregation and
+   * selection operators other than limit and first still hold the rows they produce on the heap.
+   *
+   * @param spillBatchSize The number of rows held on the heap before they are written, or zero to hold all rows on
+   *          the heap
+   * @throws SQWRLException If the batch size is negative or the result is already prepared
+   */
+  void setSpillBatchSize(int spillBatchSize) throws SQWRLException;
+
+  /**
+   * Set the error of the approximate aggregate functions. Approximate count distinct has this relative standard error
+   * and approximate median this normalized rank error; the memory each group uses grows as the error shrinks.
+   *
+   * @param approximateAggregateError An error greater than zero and less than one
+   * @throws SQWRLException If the error is out of range or the result is already prepared
+   * @see org.swrlapi.sqwrl.SQWRLResultNames#ApproxCountDistinctAggregateFunction
+   * @see org.swrlapi.sqwrl.SQWRLResultNames#ApproxMedianAggregateFunction
+   */
+  void setApproximateAggregateError(double approximateAggregateError) throws SQWRLException;
+
+  /**
+   * Hand the rows of the result to a consumer as they are generated. If the result is streamable rows are not retained,
+   * so the prepared result will be empty.
+   *
+   * @param rowConsumer A row consumer, or null to retain rows in the result
+   * @throws SQWRLException If the result is not configured or is already prepared
+   * @see #isStreamable()
+   */
+  void setRowConsumer(SQWRLResultRowConsumer rowConsumer) throws SQWRLException;
+
+  /**
+   * @return True if rows can be delivered to a row consumer as soon as they are closed, i.e., the result is not
+   *         ordered, aggregated, distinct or subject to a selection operator
+   * @throws SQWRLException If the result is not configured
+   */
+  boolean isStreamable() throws SQWRLException;
+
   /**
    * Indicate that the duplicate columns should be removed
    */
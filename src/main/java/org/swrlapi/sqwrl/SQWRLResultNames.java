@@ -15,10 +15,12 @@ public class SQWRLResultNames
   public static final String MedianAggregateFunction = "median";
   public static final String CountAggregateFunction = "count";
   public static final String CountDistinctAggregateFunction = "countDistinct";
+  public static final String ApproxMedianAggregateFunction = "approxMedian";
+  public static final String ApproxCountDistinctAggregateFunction = "approxCountDistinct";
 
   public static final String aggregateFunctionNames[] = { MinAggregateFunction, MaxAggregateFunction,
       SumAggregateFunction, AvgAggregateFunction, MedianAggregateFunction, CountAggregateFunction,
-      CountDistinctAggregateFunction };
+      CountDistinctAggregateFunction, ApproxMedianAggregateFunction, ApproxCountDistinctAggregateFunction };
 
   /**
    * @param aggregateFunctionName The name of a function
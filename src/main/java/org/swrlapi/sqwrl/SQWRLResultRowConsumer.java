@@ -0,0 +1,39 @@
+package org.swrlapi.sqwrl;
+
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.List;
+
+/**
+ * Receives the rows of a SQWRL result as they are generated. If the result is not ordered, aggregated, distinct or
+ * subject to a selection operator each row is delivered as soon as it is closed and is not retained by the result;
+ * otherwise the final rows are delivered when the result is prepared.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLResultGenerator#setRowConsumer(SQWRLResultRowConsumer)
+ */
+public interface SQWRLResultRowConsumer
+{
+  /**
+   * Called once before the first row is delivered.
+   *
+   * @param columnNames The names of the columns of the result
+   * @throws SQWRLException If an error occurs; the exception is propagated to the rule engine
+   */
+  default void started(List<String> columnNames) throws SQWRLException
+  {
+  }
+
+  /**
+   * @param row A complete row containing a value for every column of the result
+   * @throws SQWRLException If the row cannot be consumed; the exception is propagated to the rule engine
+   */
+  void consumeRow(List<SQWRLResultValue> row) throws SQWRLException;
+
+  /**
+   * Called once after the last row has been delivered.
+   *
+   * @throws SQWRLException If an error occurs
+   */
+  void completed() throws SQWRLException;
+}
@@ -0,0 +1,37 @@
+package org.swrlapi.sqwrl;
+
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+/**
+ * Writes a SQWRL result to a byte stream or channel in a {@link org.swrlapi.sqwrl.SQWRLResultFormat}. Output is
+ * buffered and encoded as UTF-8.
+ * <p>
+ * A prepared result is written with {@link #write(SQWRLResult)}. A writer is also a row consumer, so the rows of a
+ * result can be written as the rule engine generates them by passing the writer to
+ * {@link org.swrlapi.sqwrl.SQWRLQueryEngine#runSQWRLQuery(String, SQWRLResultRowConsumer)}. Either way a writer writes
+ * a single result.
+ *
+ * @see org.swrlapi.factory.SWRLAPIFactory#createSQWRLResultWriter(SQWRLResultFormat, java.io.OutputStream)
+ */
+public interface SQWRLResultWriter extends SQWRLResultRowConsumer, AutoCloseable
+{
+  SQWRLResultFormat getFormat();
+
+  /**
+   * Write every row of a prepared result and complete the output. The result is reset before and after the rows are
+   * read.
+   *
+   * @param result A prepared SQWRL result
+   * @throws SQWRLException If the result cannot be read or written, or the writer has already written a result
+   */
+  void write(SQWRLResult result) throws SQWRLException;
+
+  /**
+   * Flush any buffered output and close the underlying stream or channel. If the result has not been completed its
+   * output is left incomplete.
+   *
+   * @throws SQWRLException If an error occurs flushing or closing the output
+   */
+  @Override
+  void close() throws SQWRLException;
+}
@@ -0,0 +1,16 @@
+package org.swrlapi.sqwrl.exceptions;
+
+public class SQWRLQueryCancelledException extends SQWRLException
+{
+  private static final long serialVersionUID = 1L;
+
+  public SQWRLQueryCancelledException(String message)
+  {
+    super(message);
+  }
+
+  public SQWRLQueryCancelledException(String message, Throwable cause)
+  {
+    super(message, cause);
+  }
+}
@@ -31,6 +31,8 @@ public class SWRLAPIIntegrationTestBase
   // TODO This approach does not allow tests to be run in parallel
   protected void createOWLOntology() throws OWLOntologyCreationException
   {
+    disposeOWLOntology();
+
     this.namespace = ":";
     this.manager = OWLManager.createOWLOntologyManager();
     this.ontology = this.manager.createOntology();
@@ -41,6 +43,8 @@ public class SWRLAPIIntegrationTestBase
 
   protected void createOWLOntologyAndSQWRLQueryEngine() throws OWLOntologyCreationException
   {
+    disposeOWLOntology();
+
     this.namespace = ":";
     this.manager = OWLManager.createOWLOntologyManager();
     this.ontology = this.manager.createOntology();
@@ -50,6 +54,22 @@ public class SWRLAPIIntegrationTestBase
     this.sqwrlQueryEngine = SWRLAPIFactory.createSQWRLQueryEngine(this.ontology);
   }
 
+  /**
+   * Dispose the SWRLAPI ontology and query engine created by the last call to {@link #createOWLOntology()} or
+   * {@link #createOWLOntologyAndSQWRLQueryEngine()} so that the ontology manager stops notifying them.
+   */
+  protected void disposeOWLOntology()
+  {
+    if (this.sqwrlQueryEngine != null) {
+      this.sqwrlQueryEngine.dispose();
+      this.sqwrlQueryEngine = null;
+    }
+    if (this.swrlapiOWLOntology != null) {
+      this.swrlapiOWLOntology.dispose();
+      this.swrlapiOWLOntology = null;
+    }
+  }
+
   protected void createSQWRLQuery(String queryName, String query) throws SQWRLException, SWRLParseException
   {
     this.swrlapiOWLOntology.createSQWRLQuery(queryName, query);
@@ -56,6 +56,7 @@ public class SWRLRuleEditorDialog extends JDialog
   private static final int BUTTON_PREFERRED_HEIGHT = 30;
   private static final int RULE_EDIT_AREA_COLUMNS = 20;
   private static final int RULE_EDIT_AREA_ROWS = 60;
+  private static final int MAXIMUM_NUMBER_OF_EXPANSIONS = 500; // Cycled through one at a time with the Tab key
 
   private final SWRLRuleEngineModel swrlRuleEngineModel;
   private final SWRLAPIDialogManager dialogManager;
@@ -302,7 +303,7 @@ public class SWRLRuleEditorDialog extends JDialog
     List<String> expansions = new ArrayList<>();
 
     expansions.add(""); // Add empty expansion that we can cycle back to
-    expansions.addAll(this.autoCompleter.getCompletions(prefix));
+    expansions.addAll(this.autoCompleter.getCompletions(prefix, MAXIMUM_NUMBER_OF_EXPANSIONS));
 
     return expansions;
   }
@@ -9,4 +9,16 @@ public interface SWRLAutoCompleter
    * @return The possible completions
    */
   List<String> getCompletions(String prefix);
+
+  /**
+   * @param prefix A prefix string
+   * @param maximumNumberOfCompletions The maximum number of completions to return
+   * @return The first possible completions in sorted order
+   */
+  List<String> getCompletions(String prefix, int maximumNumberOfCompletions);
+
+  /**
+   * Stop following changes to the ontology. The auto-completer should not be used afterwards.
+   */
+  void dispose();
 }
@@ -205,9 +205,10 @@ public class SQWRLQueryControlView extends JPanel implements SWRLAPIView
         appendToConsole("" + sqwrlResult.getNumberOfRows() + " rows were returned.\n");
 
       SQWRLResultView sqwrlResultView;
-      if (SQWRLQueryControlView.this.sqwrlResultViews.containsKey(queryName)) // Existing result tab found
+      if (SQWRLQueryControlView.this.sqwrlResultViews.containsKey(queryName)) { // Existing result tab found
         sqwrlResultView = SQWRLQueryControlView.this.sqwrlResultViews.get(queryName);
-      else { // Create new result tab
+        sqwrlResultView.setSQWRLResult(sqwrlResult);
+      } else { // Create new result tab
         sqwrlResultView = new SQWRLResultView(SQWRLQueryControlView.this.sqwrlQueryEngine, queryName, sqwrlResult,
             this.sqwrlQueryControlView);
         SQWRLQueryControlView.this.sqwrlResultViews.put(queryName, sqwrlResultView);
@@ -6,7 +6,10 @@ import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.swing.JButton;
 import javax.swing.JFileChooser;
@@ -17,8 +20,11 @@ import javax.swing.JTable;
 import javax.swing.JViewport;
 import javax.swing.table.AbstractTableModel;
 
+import org.swrlapi.factory.SWRLAPIFactory;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
 import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultFormat;
+import org.swrlapi.sqwrl.SQWRLResultWriter;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException;
 import org.swrlapi.sqwrl.values.SQWRLEntityResultValue;
@@ -75,11 +81,16 @@ public class SQWRLResultView extends JPanel implements SWRLAPIView
     add(BorderLayout.SOUTH, buttonsPanel);
   }
 
-  @Override
-  public void validate()
+  /**
+   * Display the result of a new run of the query. Cached pages of the previous result are discarded.
+   *
+   * @param sqwrlResult The new result
+   */
+  public void setSQWRLResult(SQWRLResult sqwrlResult)
   {
-    this.sqwrlQueryResultTableModel.fireTableStructureChanged();
-    super.validate();
+    this.sqwrlResult = sqwrlResult;
+    this.sqwrlQueryResultTableModel.resultChanged();
+    validate();
   }
 
   @Override
@@ -93,18 +104,16 @@ public class SQWRLResultView extends JPanel implements SWRLAPIView
     @Override
     public void actionPerformed(ActionEvent event)
     {
-      SQWRLResultView.this.sqwrlResult = null;
-
       try {
-        SQWRLResultView.this.sqwrlResult = SQWRLResultView.this.sqwrlQueryEngine
-            .runSQWRLQuery(SQWRLResultView.this.queryName);
+        SQWRLResult sqwrlResult = SQWRLResultView.this.sqwrlQueryEngine.runSQWRLQuery(SQWRLResultView.this.queryName);
 
-        if (SQWRLResultView.this.sqwrlResult == null || SQWRLResultView.this.sqwrlResult.getNumberOfRows() == 0) {
+        if (sqwrlResult == null || sqwrlResult.getNumberOfRows() == 0) {
+          setSQWRLResult(null);
           SQWRLResultView.this.sqwrlQueryControlView.appendToConsole("No result returned for SQWRL query '"
               + SQWRLResultView.this.queryName + "' - closing tab.\n");
           SQWRLResultView.this.sqwrlQueryControlView.removeSQWRLResultView(SQWRLResultView.this.queryName);
         } else
-          validate();
+          setSQWRLResult(sqwrlResult);
       } catch (SQWRLInvalidQueryNameException e) {
         SQWRLResultView.this.sqwrlQueryControlView.appendToConsole("Invalid query name "
             + SQWRLResultView.this.queryName + ".\n");
@@ -155,33 +164,14 @@ public class SQWRLResultView extends JPanel implements SWRLAPIView
         if (returnValue == JFileChooser.APPROVE_OPTION) {
           File selectedFile = this.chooser.getSelectedFile();
           currentDirectory = this.chooser.getCurrentDirectory();
-          FileWriter writer = new FileWriter(selectedFile);
-          SQWRLResultView.this.sqwrlResult = SQWRLResultView.this.sqwrlQueryEngine
+          SQWRLResult sqwrlResult = SQWRLResultView.this.sqwrlQueryEngine
               .getSQWRLResult(SQWRLResultView.this.queryName);
 
-          if (SQWRLResultView.this.sqwrlResult != null) {
-            int numberOfColumns = SQWRLResultView.this.sqwrlResult.getNumberOfColumns();
-            for (int i = 0; i < numberOfColumns; i++) {
-              if (i != 0)
-                writer.write(", ");
-              writer.write(SQWRLResultView.this.sqwrlResult.getColumnName(i));
+          if (sqwrlResult != null) {
+            try (SQWRLResultWriter writer = SWRLAPIFactory.createSQWRLResultWriter(SQWRLResultFormat.CSV,
+                new FileOutputStream(selectedFile))) {
+              writer.write(sqwrlResult);
             }
-            writer.write("\n");
-
-            while (SQWRLResultView.this.sqwrlResult.next()) {
-              for (int i = 0; i < numberOfColumns; i++) {
-                SQWRLResultValue value = SQWRLResultView.this.sqwrlResult.getValue(i);
-                if (i != 0)
-                  writer.write(", ");
-                if (value instanceof SQWRLLiteralResultValue && ((SQWRLLiteralResultValue)value).isQuotableType())
-                  writer.write("\"" + value + "\"");
-                else
-                  writer.write("" + value);
-              }
-              writer.write("\n");
-            }
-            SQWRLResultView.this.sqwrlResult.reset();
-            writer.close();
             SQWRLResultView.this.sqwrlQueryControlView.appendToConsole("Sucessfully saved results of query "
                 + SQWRLResultView.this.queryName + " to CSV file " + selectedFile.getPath() + ".\n");
           }
@@ -204,9 +194,33 @@ public class SQWRLResultView extends JPanel implements SWRLAPIView
     return button;
   }
 
+  /**
+   * Table model that reads the result a page at a time as rows are displayed. Only a few recently displayed pages are
+   * held, so very large results open and scroll without all their rows being read. Pages are kept across layout and
+   * repaint and discarded only when the view is given a new result.
+   */
   private class SQWRLQueryResultTableModel extends AbstractTableModel
   {
     private static final long serialVersionUID = 1L;
+    private static final int PAGE_SIZE = 256;
+    private static final int MAXIMUM_NUMBER_OF_CACHED_PAGES = 16;
+
+    private final Map<Integer, Object[][]> pages = new LinkedHashMap<Integer, Object[][]>(16, 0.75f, true)
+    {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest)
+      {
+        return size() > MAXIMUM_NUMBER_OF_CACHED_PAGES;
+      }
+    };
+
+    public void resultChanged()
+    {
+      this.pages.clear();
+      fireTableStructureChanged();
+    }
 
     @Override
     public int getRowCount()
@@ -242,25 +256,50 @@ public class SQWRLResultView extends JPanel implements SWRLAPIView
     @Override
     public Object getValueAt(int row, int column)
     {
-      try {
-        SQWRLResultValue sqwrlResultValue = (SQWRLResultView.this.sqwrlResult == null) ? null
-            : SQWRLResultView.this.sqwrlResult.getValue(column, row);
-
-        if (sqwrlResultValue != null && sqwrlResultValue.isEntity()) {
-          SQWRLEntityResultValue sqwrlEntityResultValue = sqwrlResultValue.asEntityResult();
-          return sqwrlEntityResultValue.getShortName();
-        } else if (sqwrlResultValue != null && sqwrlResultValue.isLiteral()) {
-          SQWRLLiteralResultValue sqwrLiteralResultValue = sqwrlResultValue.asLiteralResult();
-          if (sqwrLiteralResultValue.isInt() || sqwrLiteralResultValue.isFloat() || sqwrLiteralResultValue.isString()
-              || sqwrLiteralResultValue.isBoolean())
-            return sqwrLiteralResultValue.getValue();
-          else
-            return "\"" + sqwrLiteralResultValue.getValue() + "\"^^" + sqwrLiteralResultValue.getDatatypePrefixedName();
-        } else
-          return "INVALID";
-      } catch (SQWRLException e) {
-        return "INVALID";
+      Object[][] page = getPage(row / PAGE_SIZE);
+      int pageRow = row % PAGE_SIZE;
+
+      return (page == null || pageRow >= page.length || column >= page[pageRow].length) ? "INVALID"
+          : page[pageRow][column];
+    }
+
+    private Object[][] getPage(int pageIndex)
+    {
+      Object[][] page = this.pages.get(pageIndex);
+
+      if (page == null && SQWRLResultView.this.sqwrlResult != null) {
+        try {
+          List<List<SQWRLResultValue>> rows = SQWRLResultView.this.sqwrlResult.getRows(pageIndex * PAGE_SIZE,
+              PAGE_SIZE);
+          page = new Object[rows.size()][];
+          for (int r = 0; r < rows.size(); r++) {
+            List<SQWRLResultValue> row = rows.get(r);
+            page[r] = new Object[row.size()];
+            for (int c = 0; c < row.size(); c++)
+              page[r][c] = getDisplayValue(row.get(c));
+          }
+          this.pages.put(pageIndex, page);
+        } catch (SQWRLException e) {
+          return null;
+        }
       }
+      return page;
+    }
+
+    private Object getDisplayValue(SQWRLResultValue sqwrlResultValue) throws SQWRLException
+    {
+      if (sqwrlResultValue != null && sqwrlResultValue.isEntity()) {
+        SQWRLEntityResultValue sqwrlEntityResultValue = sqwrlResultValue.asEntityResult();
+        return sqwrlEntityResultValue.getShortName();
+      } else if (sqwrlResultValue != null && sqwrlResultValue.isLiteral()) {
+        SQWRLLiteralResultValue sqwrLiteralResultValue = sqwrlResultValue.asLiteralResult();
+        if (sqwrLiteralResultValue.isInt() || sqwrLiteralResultValue.isFloat() || sqwrLiteralResultValue.isString()
+            || sqwrLiteralResultValue.isBoolean())
+          return sqwrLiteralResultValue.getValue();
+        else
+          return "\"" + sqwrLiteralResultValue.getValue() + "\"^^" + sqwrLiteralResultValue.getDatatypePrefixedName();
+      } else
+        return "INVALID";
     }
   }
 }
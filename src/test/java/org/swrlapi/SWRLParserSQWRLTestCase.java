@@ -1,5 +1,6 @@
 package org.swrlapi;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
@@ -15,6 +16,12 @@ public class SWRLParserSQWRLTestCase extends SWRLAPIIntegrationTestBase
     createOWLOntology();
   }
 
+  @After
+  public void tearDown()
+  {
+    disposeOWLOntology();
+  }
+
   @Test
   public void TestClassAtomInAntecedentWithNamedIndividual() throws SWRLParseException, SQWRLException
   {
@@ -4,6 +4,7 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
@@ -24,6 +25,12 @@ public class SWRLParserTestCase extends SWRLAPIIntegrationTestBase
     createOWLOntology();
   }
 
+  @After
+  public void tearDown()
+  {
+    disposeOWLOntology();
+  }
+
   @Test
   public void TestClassAtomInConsequentWithShortNamedIndividual() throws SWRLParseException
   {
@@ -72,6 +79,17 @@ public class SWRLParserTestCase extends SWRLAPIIntegrationTestBase
     assertThat(rule.getBodyAtoms().get(0), instanceOf(SWRLClassAtom.class));
   }
 
+  @Test
+  public void TestClassAtomWithNamespaceFallbackName() throws SWRLParseException
+  {
+    declareOWLClass("a/b#Male"); // Named :a/b#Male by the IRI resolver since its namespace has no prefix
+
+    SWRLAPIRule rule = createSWRLRule("r1", ":a/b#Male(?m) -> ");
+    assertEquals(rule.getBodyAtoms().size(), 1);
+    assertEquals(rule.getHeadAtoms().size(), 0);
+    assertThat(rule.getBodyAtoms().get(0), instanceOf(SWRLClassAtom.class));
+  }
+
   @Test
   public void TestClassAtomInAntecedentWithName() throws SWRLParseException
   {
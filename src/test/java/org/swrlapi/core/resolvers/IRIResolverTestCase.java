@@ -0,0 +1,148 @@
+package org.swrlapi.core.resolvers;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.factory.SWRLAPIFactory;
+
+public class IRIResolverTestCase
+{
+  private static final String NAMESPACE = "http://example.org/test/";
+
+  private DefaultPrefixManager prefixManager;
+  private IRIResolver iriResolver;
+
+  @Before
+  public void setUp()
+  {
+    this.prefixManager = new DefaultPrefixManager();
+    this.prefixManager.setPrefix("ex:", NAMESPACE);
+    this.iriResolver = new IRIResolver(this.prefixManager);
+  }
+
+  @Test
+  public void TestRegisteredNamespace()
+  {
+    IRI iri = IRI.create(NAMESPACE + "Person");
+
+    Assert.assertEquals("ex:Person", this.iriResolver.iri2PrefixedName(iri));
+    Assert.assertEquals(iri, this.iriResolver.prefixedName2IRI("ex:Person"));
+  }
+
+  @Test
+  public void TestNamespaceFallbackRoundTrip()
+  {
+    IRI iri = IRI.create(NAMESPACE + "a/b#c");
+
+    Assert.assertEquals("ex:a/b#c", this.iriResolver.iri2PrefixedName(iri));
+    Assert.assertEquals(iri, this.iriResolver.prefixedName2IRI("ex:a/b#c"));
+    Assert.assertEquals(iri, new IRIResolver(this.prefixManager).prefixedName2IRI("ex:a/b#c")); // Without the cache
+  }
+
+  @Test
+  public void TestLongestNamespaceIsUsed()
+  {
+    this.prefixManager.setPrefix("a:", NAMESPACE + "a/");
+    this.iriResolver.prefixesChanged();
+
+    Assert.assertEquals("a:b#c", this.iriResolver.iri2PrefixedName(IRI.create(NAMESPACE + "a/b#c")));
+    Assert.assertEquals("ex:x/y", this.iriResolver.iri2PrefixedName(IRI.create(NAMESPACE + "x/y")));
+  }
+
+  @Test(expected = org.swrlapi.exceptions.SWRLAPIInternalException.class)
+  public void TestUnregisteredNamespace()
+  {
+    this.iriResolver.iri2PrefixedName(IRI.create("http://example.org/other#Person"));
+  }
+
+  @Test
+  public void TestPrefixChangeInvalidatesCache()
+  {
+    IRI iri = IRI.create(NAMESPACE + "a/b#c");
+
+    Assert.assertEquals("ex:a/b#c", this.iriResolver.iri2PrefixedName(iri));
+    Assert.assertEquals(iri, this.iriResolver.prefixedName2IRI("ex:a/b#c"));
+
+    this.prefixManager.setPrefix("ab:", NAMESPACE + "a/b#");
+    Assert.assertTrue(this.iriResolver.havePrefixesChanged());
+    this.iriResolver.prefixesChanged();
+    Assert.assertFalse(this.iriResolver.havePrefixesChanged());
+
+    Assert.assertEquals("ab:c", this.iriResolver.iri2PrefixedName(iri));
+
+    this.prefixManager.setPrefix("ex:", "http://example.org/other/");
+    this.iriResolver.prefixesChanged();
+
+    Assert.assertEquals(IRI.create("http://example.org/other/a/b#c"), this.iriResolver.prefixedName2IRI("ex:a/b#c"));
+  }
+
+  @Test
+  public void TestPrefixChangeInvalidatesRecordedMappings()
+  {
+    IRI iri = IRI.create(NAMESPACE + "Person");
+
+    this.iriResolver.recordPrefixedName2IRIMapping("ex:Person", iri);
+    this.prefixManager.setPrefix("ex:", "http://example.org/other/");
+    this.iriResolver.prefixesChanged();
+
+    Assert.assertEquals(IRI.create("http://example.org/other/Person"), this.iriResolver.prefixedName2IRI("ex:Person"));
+  }
+
+  @Test
+  public void TestOntologyProcessingPicksUpPrefixChange() throws Exception
+  {
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(
+      OWLManager.createOWLOntologyManager().createOntology(), this.prefixManager);
+    IRIResolver iriResolver = swrlapiOWLOntology.getIRIResolver();
+    IRI iri = IRI.create(NAMESPACE + "a/b#c");
+
+    swrlapiOWLOntology.processOntology();
+    Assert.assertEquals("ex:a/b#c", iriResolver.iri2PrefixedName(iri));
+
+    swrlapiOWLOntology.getPrefixManager().setPrefix("ab:", NAMESPACE + "a/b#");
+    swrlapiOWLOntology.processOntology(); // The ontology is unchanged but the prefixes are not
+
+    Assert.assertEquals("ab:c", iriResolver.iri2PrefixedName(iri));
+  }
+
+  @Test
+  public void TestCacheEviction()
+  {
+    PrefixedNameCache cache = new PrefixedNameCache(4); // Generations of two entries
+    IRI iri1 = IRI.create(NAMESPACE + "c1"), iri2 = IRI.create(NAMESPACE + "c2");
+    IRI iri3 = IRI.create(NAMESPACE + "c3"), iri4 = IRI.create(NAMESPACE + "c4");
+    IRI iri5 = IRI.create(NAMESPACE + "c5");
+
+    cache.putPrefixedName(iri1, "ex:c1");
+    cache.putPrefixedName(iri2, "ex:c2");
+    cache.putPrefixedName(iri3, "ex:c3"); // The current generation becomes the previous one
+
+    Assert.assertEquals("ex:c1", cache.getPrefixedName(iri1)); // Copied into the current generation
+    Assert.assertEquals(iri1, cache.getIRI("ex:c1"));
+
+    cache.putPrefixedName(iri4, "ex:c4");
+    cache.putPrefixedName(iri5, "ex:c5"); // Drops the generation holding c2 and c3
+
+    Assert.assertNull(cache.getPrefixedName(iri2));
+    Assert.assertNull(cache.getPrefixedName(iri3));
+    Assert.assertNull(cache.getIRI("ex:c2"));
+    Assert.assertEquals("ex:c1", cache.getPrefixedName(iri1));
+    Assert.assertEquals("ex:c4", cache.getPrefixedName(iri4));
+    Assert.assertEquals("ex:c5", cache.getPrefixedName(iri5));
+  }
+
+  @Test
+  public void TestBoundedCacheStillResolves()
+  {
+    for (int i = 0; i < 100000; i++) {
+      IRI iri = IRI.create(NAMESPACE + "n" + i + "/x");
+
+      Assert.assertEquals("ex:n" + i + "/x", this.iriResolver.iri2PrefixedName(iri));
+    }
+    Assert.assertEquals(IRI.create(NAMESPACE + "n0/x"), this.iriResolver.prefixedName2IRI("ex:n0/x"));
+  }
+}
@@ -0,0 +1,170 @@
+package org.swrlapi.core.resolvers;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.model.RemoveImport;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShortNameSymbolTableTestCase
+{
+  private static final String NAMESPACE = "http://example.org/test#";
+
+  private OWLOntologyManager manager;
+  private OWLDataFactory dataFactory;
+  private OWLOntology ontology;
+  private DefaultPrefixManager prefixManager;
+  private ShortNameSymbolTable symbolTable;
+  private RecordingListener listener;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    this.manager = OWLManager.createOWLOntologyManager();
+    this.dataFactory = this.manager.getOWLDataFactory();
+    this.ontology = this.manager.createOntology(IRI.create("http://example.org/test"));
+    this.prefixManager = new DefaultPrefixManager();
+    this.prefixManager.setPrefix("ex:", NAMESPACE);
+    this.symbolTable = new ShortNameSymbolTable(this.ontology, this.prefixManager);
+    this.listener = new RecordingListener();
+    this.symbolTable.addListener(this.listener);
+  }
+
+  @Test
+  public void TestIncrementalAddAndRemove()
+  {
+    OWLAxiom declaration = this.dataFactory.getOWLDeclarationAxiom(this.dataFactory.getOWLClass(iri("Person")));
+    OWLAxiom subClassOf = this.dataFactory.getOWLSubClassOfAxiom(this.dataFactory.getOWLClass(iri("Person")),
+      this.dataFactory.getOWLClass(iri("Animal")));
+
+    applyChanges(new AddAxiom(this.ontology, declaration));
+    Assert.assertEquals(ShortNameSymbolTable.CLASS, this.symbolTable.getTypes("ex:Person"));
+    Assert.assertEquals(Arrays.asList("ex:Person"), this.listener.addedShortNames);
+
+    applyChanges(new AddAxiom(this.ontology, subClassOf), new RemoveAxiom(this.ontology, declaration));
+    Assert.assertEquals(ShortNameSymbolTable.CLASS, this.symbolTable.getTypes("ex:Person")); // Still referenced
+    Assert.assertEquals(ShortNameSymbolTable.CLASS, this.symbolTable.getTypes("ex:Animal"));
+    Assert.assertEquals(Arrays.asList("ex:Person", "ex:Animal"), this.listener.addedShortNames);
+    Assert.assertTrue(this.listener.removedShortNames.isEmpty());
+
+    applyChanges(new RemoveAxiom(this.ontology, subClassOf));
+    Assert.assertNull(this.symbolTable.getSymbol("ex:Person"));
+    Assert.assertNull(this.symbolTable.getSymbol("ex:Animal"));
+    Assert.assertEquals(2, this.listener.removedShortNames.size());
+  }
+
+  @Test
+  public void TestEntityWithSeveralTypes()
+  {
+    OWLAxiom classDeclaration = this.dataFactory.getOWLDeclarationAxiom(this.dataFactory.getOWLClass(iri("p")));
+    OWLAxiom individualDeclaration = this.dataFactory.getOWLDeclarationAxiom(
+      this.dataFactory.getOWLNamedIndividual(iri("p")));
+
+    applyChanges(new AddAxiom(this.ontology, classDeclaration), new AddAxiom(this.ontology, individualDeclaration));
+    Assert.assertEquals(ShortNameSymbolTable.CLASS | ShortNameSymbolTable.NAMED_INDIVIDUAL,
+      this.symbolTable.getTypes("ex:p"));
+    Assert.assertNotNull(this.symbolTable.getSymbol("ex:p").getOWLClass());
+    Assert.assertNotNull(this.symbolTable.getSymbol("ex:p").getOWLNamedIndividual());
+    Assert.assertEquals(Arrays.asList("ex:p"), this.listener.addedShortNames); // Entered the table once
+
+    applyChanges(new RemoveAxiom(this.ontology, classDeclaration));
+    Assert.assertEquals(ShortNameSymbolTable.NAMED_INDIVIDUAL, this.symbolTable.getTypes("ex:p"));
+    Assert.assertNull(this.symbolTable.getSymbol("ex:p").getOWLClass());
+    Assert.assertTrue(this.listener.removedShortNames.isEmpty());
+
+    applyChanges(new RemoveAxiom(this.ontology, individualDeclaration));
+    Assert.assertNull(this.symbolTable.getSymbol("ex:p"));
+    Assert.assertEquals(Arrays.asList("ex:p"), this.listener.removedShortNames);
+  }
+
+  @Test
+  public void TestImportChangeRebuilds() throws Exception
+  {
+    OWLOntology importedOntology = this.manager.createOntology(IRI.create("http://example.org/imported"));
+    OWLAxiom declaration = this.dataFactory.getOWLDeclarationAxiom(this.dataFactory.getOWLClass(iri("Dog")));
+
+    applyChanges(new AddAxiom(importedOntology, declaration)); // Not yet in the imports closure
+    Assert.assertNull(this.symbolTable.getSymbol("ex:Dog"));
+
+    applyChanges(new AddImport(this.ontology, this.dataFactory.getOWLImportsDeclaration(
+      IRI.create("http://example.org/imported"))));
+    Assert.assertEquals(ShortNameSymbolTable.CLASS, this.symbolTable.getTypes("ex:Dog"));
+    assertMatchesNewTable();
+
+    applyChanges(new AddAxiom(importedOntology, this.dataFactory.getOWLDeclarationAxiom(
+      this.dataFactory.getOWLObjectProperty(iri("hasOwner")))));
+    Assert.assertEquals(ShortNameSymbolTable.OBJECT_PROPERTY, this.symbolTable.getTypes("ex:hasOwner"));
+
+    applyChanges(new RemoveImport(this.ontology, this.dataFactory.getOWLImportsDeclaration(
+      IRI.create("http://example.org/imported"))));
+    Assert.assertNull(this.symbolTable.getSymbol("ex:Dog"));
+    Assert.assertNull(this.symbolTable.getSymbol("ex:hasOwner"));
+    Assert.assertTrue(this.listener.removedShortNames.containsAll(Arrays.asList("ex:Dog", "ex:hasOwner")));
+    assertMatchesNewTable();
+  }
+
+  /**
+   * Apply changes as the SWRLAPI ontology does: one update per batch with the imports closure computed once.
+   */
+  private void applyChanges(OWLOntologyChange... changes)
+  {
+    List<OWLOntologyChange> changeList = Arrays.asList(changes);
+
+    this.manager.applyChanges(changeList);
+    this.symbolTable.update(changeList, this.ontology.getImportsClosure());
+  }
+
+  private void assertMatchesNewTable()
+  {
+    Assert.assertEquals(getTypesByIRI(new ShortNameSymbolTable(this.ontology, this.prefixManager)),
+      getTypesByIRI(this.symbolTable));
+  }
+
+  private static Map<IRI, Integer> getTypesByIRI(ShortNameSymbolTable symbolTable)
+  {
+    Map<IRI, Integer> typesByIRI = new HashMap<>();
+
+    for (ShortNameSymbolTable.Symbol symbol : symbolTable.getSymbols())
+      typesByIRI.put(symbol.getIRI(), symbol.getTypes());
+
+    return typesByIRI;
+  }
+
+  private static IRI iri(String localName)
+  {
+    return IRI.create(NAMESPACE + localName);
+  }
+
+  private class RecordingListener implements ShortNameSymbolTable.Listener
+  {
+    private final List<String> addedShortNames = new ArrayList<>();
+    private final List<String> removedShortNames = new ArrayList<>();
+
+    @Override
+    public void symbolsChanged(Collection<ShortNameSymbolTable.Symbol> addedSymbols,
+      Collection<ShortNameSymbolTable.Symbol> removedSymbols)
+    {
+      for (ShortNameSymbolTable.Symbol symbol : addedSymbols)
+        this.addedShortNames.add(ShortNameSymbolTableTestCase.this.symbolTable.getShortName(symbol.getIRI()));
+      for (ShortNameSymbolTable.Symbol symbol : removedSymbols)
+        this.removedShortNames.add(ShortNameSymbolTableTestCase.this.symbolTable.getShortName(symbol.getIRI()));
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultFormat;
+import org.swrlapi.sqwrl.SQWRLResultGenerator;
+import org.swrlapi.sqwrl.SQWRLResultWriter;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+public class DefaultSQWRLResultWriterTestCase
+{
+  private static final String NAMESPACE = "http://example.org/test#";
+
+  private SQWRLResultValueFactory valueFactory;
+  private OWLDataFactory dataFactory;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+
+    prefixManager.setPrefix("ex:", NAMESPACE);
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(ontology, prefixManager);
+    this.valueFactory = SWRLAPIFactory.createSQWRLResultValueFactory(swrlapiOWLOntology);
+    this.dataFactory = OWLManager.getOWLDataFactory();
+  }
+
+  @Test
+  public void TestCSVQuoting() throws Exception
+  {
+    SQWRLResult result = createResult(Arrays.asList("a,b", "c"),
+      Arrays.asList(literal("plain"), literal("with,comma")),
+      Arrays.asList(literal("say \"hi\""), literal("two\nlines")),
+      Arrays.asList(literal("cr\rhere"), literal("")));
+
+    Assert.assertEquals("\"a,b\",c\r\nplain,\"with,comma\"\r\n\"say \"\"hi\"\"\",\"two\nlines\"\r\n\"cr\rhere\",\r\n",
+      write(SQWRLResultFormat.CSV, result));
+  }
+
+  @Test
+  public void TestTSVEscaping() throws Exception
+  {
+    SQWRLResult result = createResult(Arrays.asList("x", "y"),
+      Arrays.asList(literal("a\tb"), literal("c\\d")),
+      Arrays.asList(literal("e\nf\rg"), literal("h,\"i\"")));
+
+    Assert.assertEquals("x\ty\na\\tb\tc\\\\d\ne\\nf\\rg\th,\"i\"\n", write(SQWRLResultFormat.TSV, result));
+  }
+
+  @Test
+  public void TestEntitiesAreWrittenByPrefixedName() throws Exception
+  {
+    SQWRLResult result = createResult(Arrays.asList("c"),
+      Arrays.<SQWRLResultValue>asList(this.valueFactory.getClassValue(IRI.create(NAMESPACE + "Person"))));
+
+    Assert.assertEquals("c\r\nex:Person\r\n", write(SQWRLResultFormat.CSV, result));
+  }
+
+  @Test
+  public void TestJSONEscaping() throws Exception
+  {
+    SQWRLResult result = createResult(Arrays.asList("q\"k"),
+      Arrays.asList(literal("\"\\/\n\r\t\u0001\u001fé")));
+
+    Assert.assertEquals("{\"q\\\"k\":\"\\\"\\\\/\\n\\r\\t\\u0001\\u001fé\"}\n",
+      write(SQWRLResultFormat.JSON_LINES, result));
+  }
+
+  @Test
+  public void TestJSONNumbersAndBooleans() throws Exception
+  {
+    SQWRLResult result = createResult(Arrays.asList("i", "d", "b"),
+      Arrays.asList(this.valueFactory.getLiteralValue(-42), this.valueFactory.getLiteralValue(1.5e10),
+        this.valueFactory.getLiteralValue(true)));
+
+    Assert.assertEquals("{\"i\":-42,\"d\":1.5E10,\"b\":true}\n", write(SQWRLResultFormat.JSON_LINES, result));
+  }
+
+  @Test
+  public void TestJSONNumberLexicalForms()
+  {
+    List<String> jsonNumbers = Arrays.asList("0", "-0", "10", "0.5", "-1.25", "0.0", "1e5", "1E+5", "2.5e-3");
+    List<String> otherNumbers = Arrays.asList("+1", "01", "-01", "1.", ".5", "-", "1e", "1e+", "1.e5", "INF", "-INF",
+      "NaN", "0x1", "1.5f", " 1", "");
+
+    for (String lexicalForm : jsonNumbers)
+      Assert.assertTrue(lexicalForm, DefaultSQWRLResultWriter.isJSONNumber(lexicalForm));
+    for (String lexicalForm : otherNumbers)
+      Assert.assertFalse(lexicalForm, DefaultSQWRLResultWriter.isJSONNumber(lexicalForm));
+  }
+
+  @Test
+  public void TestNonJSONNumberWrittenAsString() throws Exception
+  {
+    SQWRLResultValue value = this.valueFactory.getLiteralValue(this.dataFactory.getOWLLiteral(Double.NaN));
+
+    Assert.assertEquals("{\"n\":\"NaN\"}\n", write(SQWRLResultFormat.JSON_LINES,
+      createResult(Arrays.asList("n"), Arrays.asList(value))));
+  }
+
+  @Test
+  public void TestSPARQLJSONTypedLiterals() throws Exception
+  {
+    SQWRLResult result = createResult(Arrays.asList("c", "n", "s", "l"),
+      Arrays.asList(this.valueFactory.getClassValue(IRI.create(NAMESPACE + "Person")),
+        this.valueFactory.getLiteralValue(3), this.valueFactory.getLiteralValue("a\"b"),
+        this.valueFactory.getLiteralValue(this.dataFactory.getOWLLiteral("chat", "fr"))));
+
+    Assert.assertEquals("{\"head\":{\"vars\":[\"c\",\"n\",\"s\",\"l\"]},\"results\":{\"bindings\":[\n"
+      + "{\"c\":{\"type\":\"uri\",\"value\":\"" + NAMESPACE + "Person\"},"
+      + "\"n\":{\"type\":\"literal\",\"value\":\"3\",\"datatype\":\"http://www.w3.org/2001/XMLSchema#int\"},"
+      + "\"s\":{\"type\":\"literal\",\"value\":\"a\\\"b\",\"datatype\":\"http://www.w3.org/2001/XMLSchema#string\"},"
+      + "\"l\":{\"type\":\"literal\",\"value\":\"chat\",\"xml:lang\":\"fr\"}}\n]}}\n",
+      write(SQWRLResultFormat.SPARQL_JSON, result));
+  }
+
+  @Test
+  public void TestEmptyResult() throws Exception
+  {
+    Assert.assertEquals("a,b\r\n", write(SQWRLResultFormat.CSV, createResult(Arrays.asList("a", "b"))));
+    Assert.assertEquals("a\tb\n", write(SQWRLResultFormat.TSV, createResult(Arrays.asList("a", "b"))));
+    Assert.assertEquals("", write(SQWRLResultFormat.JSON_LINES, createResult(Arrays.asList("a", "b"))));
+    Assert.assertEquals("{\"head\":{\"vars\":[\"a\",\"b\"]},\"results\":{\"bindings\":[\n]}}\n",
+      write(SQWRLResultFormat.SPARQL_JSON, createResult(Arrays.asList("a", "b"))));
+  }
+
+  @Test(expected = org.swrlapi.sqwrl.exceptions.SQWRLException.class)
+  public void TestSecondResultRejected() throws Exception
+  {
+    SQWRLResult result = createResult(Arrays.asList("a"));
+
+    try (SQWRLResultWriter writer = SWRLAPIFactory.createSQWRLResultWriter(SQWRLResultFormat.CSV,
+      new ByteArrayOutputStream())) {
+      writer.write(result);
+      writer.write(result);
+    }
+  }
+
+  private SQWRLResultValue literal(String s)
+  {
+    return this.valueFactory.getLiteralValue(s);
+  }
+
+  @SafeVarargs
+  private final SQWRLResult createResult(List<String> columnNames, List<SQWRLResultValue>... rows) throws Exception
+  {
+    SQWRLResultGenerator generator = SWRLAPIFactory.createSQWRLResultGenerator(this.valueFactory);
+
+    generator.addColumns(columnNames);
+    generator.configured();
+    for (List<SQWRLResultValue> row : rows)
+      generator.addRow(row);
+    generator.prepared();
+
+    return (SQWRLResult)generator;
+  }
+
+  private static String write(SQWRLResultFormat format, SQWRLResult result) throws Exception
+  {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    try (SQWRLResultWriter writer = SWRLAPIFactory.createSQWRLResultWriter(format, bytes)) {
+      writer.write(result);
+    }
+    return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,53 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+
+public class DefaultSWRLAPIOWLOntologyTestCase
+{
+  private static final String NAMESPACE = "http://example.org/test#";
+
+  private OWLOntologyManager manager;
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    this.manager = OWLManager.createOWLOntologyManager();
+    this.ontology = this.manager.createOntology();
+    this.swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(this.ontology, new DefaultPrefixManager());
+  }
+
+  @Test
+  public void TestChangesAreFollowedUntilDisposed()
+  {
+    long version = this.swrlapiOWLOntology.getOntologyVersion();
+
+    declareOWLClass("Person");
+    Assert.assertEquals(version + 1, this.swrlapiOWLOntology.getOntologyVersion());
+    Assert.assertNotNull(this.swrlapiOWLOntology.getShortNameSymbolTable().getSymbol(IRI.create(NAMESPACE + "Person")));
+
+    this.swrlapiOWLOntology.dispose();
+    declareOWLClass("Pet");
+
+    Assert.assertEquals(version + 1, this.swrlapiOWLOntology.getOntologyVersion());
+    Assert.assertNull(this.swrlapiOWLOntology.getShortNameSymbolTable().getSymbol(IRI.create(NAMESPACE + "Pet")));
+  }
+
+  private void declareOWLClass(String localName)
+  {
+    OWLDataFactory dataFactory = this.manager.getOWLDataFactory();
+
+    this.manager.addAxiom(this.ontology,
+      dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(IRI.create(NAMESPACE + localName))));
+  }
+}
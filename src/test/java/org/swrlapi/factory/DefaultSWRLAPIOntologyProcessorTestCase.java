@@ -0,0 +1,411 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDataPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyCharacteristicAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIOntologyProcessor;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.resolvers.IRIResolver;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class DefaultSWRLAPIOntologyProcessorTestCase
+{
+  private static final String NAMESPACE = "http://example.org/test#";
+  private static final String SQWRL_NAMESPACE = "http://sqwrl.stanford.edu/ontologies/built-ins/3.4/sqwrl.owl#";
+
+  private OWLOntologyManager manager;
+  private OWLDataFactory dataFactory;
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  /**
+   * Builds a diamond of imports: the root imports two ontologies that both import a leaf. Entities are declared in
+   * one ontology and referenced in another, some entities are never declared, and some axioms are asserted in more
+   * than one ontology.
+   */
+  @Before
+  public void setUp() throws Exception
+  {
+    this.manager = OWLManager.createOWLOntologyManager();
+    this.dataFactory = this.manager.getOWLDataFactory();
+
+    OWLOntology leaf = this.manager.createOntology(IRI.create("http://example.org/leaf"));
+    OWLOntology left = this.manager.createOntology(IRI.create("http://example.org/left"));
+    OWLOntology right = this.manager.createOntology(IRI.create("http://example.org/right"));
+    this.ontology = this.manager.createOntology(IRI.create("http://example.org/root"));
+
+    addImport(this.ontology, left);
+    addImport(this.ontology, right);
+    addImport(left, leaf);
+    addImport(right, leaf);
+
+    OWLAnnotation annotation = this.dataFactory.getOWLAnnotation(this.dataFactory.getRDFSComment(),
+      this.dataFactory.getOWLLiteral("declared with an annotation"));
+
+    addAxioms(leaf, declaration(cls("Person")), declaration(objectProperty("hasParent")),
+      declaration(dataProperty("hasAge")), declaration(this.dataFactory.getOWLAnnotationProperty(iri("note"))),
+      declaration(individual("p1")), declaration(cls("p1")), // p1 is both an individual and a class
+      declaration(this.dataFactory.getOWLDatatype(iri("myType"))),
+      this.dataFactory.getOWLDeclarationAxiom(cls("Annotated"), Collections.singleton(annotation)),
+      this.dataFactory.getOWLClassAssertionAxiom(cls("Person"), individual("p1")));
+
+    addAxioms(left, this.dataFactory.getOWLSubClassOfAxiom(cls("Male"), cls("Person")),
+      this.dataFactory.getOWLSubClassOfAxiom(cls("Male"),
+        this.dataFactory.getOWLObjectSomeValuesFrom(objectProperty("hasParent"), cls("Person"))),
+      this.dataFactory.getOWLSubClassOfAxiom(cls("Annotated"), cls("Person")),
+      this.dataFactory.getOWLObjectPropertyAssertionAxiom(objectProperty("hasParent"), individual("p2"),
+        individual("p1")),
+      this.dataFactory.getOWLDataPropertyAssertionAxiom(dataProperty("hasAge"), individual("p2"), 42),
+      this.dataFactory.getOWLClassAssertionAxiom(cls("Male"), this.dataFactory.getOWLAnonymousIndividual()),
+      this.dataFactory.getOWLSubObjectPropertyOfAxiom(
+        this.dataFactory.getOWLObjectInverseOf(objectProperty("hasChild")), objectProperty("hasRelative")),
+      this.dataFactory.getOWLTransitiveObjectPropertyAxiom(objectProperty("hasAncestor")),
+      this.dataFactory.getOWLInverseObjectPropertiesAxiom(objectProperty("hasParent"), objectProperty("hasChild")),
+      rule("r1", Arrays.asList(classAtom("Male", "x")), Arrays.asList(classAtom("Person", "x"))));
+
+    addAxioms(right, declaration(cls("Male")),
+      this.dataFactory.getOWLEquivalentClassesAxiom(cls("Female"), this.dataFactory.getOWLObjectIntersectionOf(
+        cls("Person"), this.dataFactory.getOWLObjectComplementOf(cls("Male")))),
+      this.dataFactory.getOWLDisjointClassesAxiom(cls("Male"), cls("Female")), // Not a supported axiom type
+      this.dataFactory.getOWLObjectPropertyDomainAxiom(objectProperty("hasParent"), cls("Person")),
+      this.dataFactory.getOWLObjectPropertyRangeAxiom(objectProperty("hasChild"), cls("Child")),
+      this.dataFactory.getOWLDataPropertyDomainAxiom(dataProperty("hasAge"), cls("Aged")),
+      this.dataFactory.getOWLDataPropertyRangeAxiom(dataProperty("hasHeight"), OWL2Datatype.XSD_INT.getDatatype(
+        this.dataFactory)),
+      this.dataFactory.getOWLFunctionalDataPropertyAxiom(dataProperty("hasAge")),
+      this.dataFactory.getOWLFunctionalObjectPropertyAxiom(objectProperty("hasMother")),
+      this.dataFactory.getOWLInverseFunctionalObjectPropertyAxiom(objectProperty("isMotherOf")),
+      this.dataFactory.getOWLSymmetricObjectPropertyAxiom(objectProperty("hasSibling")),
+      this.dataFactory.getOWLAsymmetricObjectPropertyAxiom(objectProperty("hasParent")),
+      this.dataFactory.getOWLIrreflexiveObjectPropertyAxiom(objectProperty("hasParent")),
+      this.dataFactory.getOWLSubDataPropertyOfAxiom(dataProperty("hasAge"), dataProperty("hasMeasure")),
+      this.dataFactory.getOWLEquivalentObjectPropertiesAxiom(objectProperty("hasRelative"),
+        objectProperty("hasKin")),
+      this.dataFactory.getOWLEquivalentDataPropertiesAxiom(dataProperty("hasAge"), dataProperty("hasYears")),
+      this.dataFactory.getOWLDisjointObjectPropertiesAxiom(objectProperty("hasParent"), objectProperty("hasChild")),
+      this.dataFactory.getOWLDisjointDataPropertiesAxiom(dataProperty("hasAge"), dataProperty("hasHeight")),
+      this.dataFactory.getOWLSameIndividualAxiom(individual("p1"), individual("p3")),
+      this.dataFactory.getOWLDifferentIndividualsAxiom(individual("p1"), individual("p4")),
+      this.dataFactory.getOWLAnnotationAssertionAxiom(this.dataFactory.getRDFSComment(), iri("p1"),
+        this.dataFactory.getOWLLiteral("not a supported axiom type")));
+
+    addAxioms(this.ontology, this.dataFactory.getOWLClassAssertionAxiom(cls("Person"), individual("p1")),
+      rule("q1", Arrays.asList(classAtom("Person", "x")), Arrays.<SWRLAtom>asList(
+        this.dataFactory.getSWRLBuiltInAtom(IRI.create(SQWRL_NAMESPACE + "select"),
+          Arrays.asList(variable("x"))))));
+
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+    prefixManager.setPrefix("ex:", NAMESPACE);
+    this.swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(this.ontology, prefixManager);
+  }
+
+  @Test
+  public void TestSinglePassMatchesPerTypeExtraction() throws Exception
+  {
+    SWRLAPIOntologyProcessor processor = SWRLAPIFactory.createSWRLAPIOntologyProcessor(this.swrlapiOWLOntology);
+
+    processor.setParallelProcessing(false);
+    processor.processOntology();
+
+    assertMatchesPerTypeExtraction(processor);
+  }
+
+  @Test
+  public void TestParallelProcessingMatchesPerTypeExtraction() throws Exception
+  {
+    SWRLAPIOntologyProcessor sequentialProcessor = SWRLAPIFactory.createSWRLAPIOntologyProcessor(
+      this.swrlapiOWLOntology);
+    SWRLAPIOntologyProcessor parallelProcessor = SWRLAPIFactory.createSWRLAPIOntologyProcessor(
+      this.swrlapiOWLOntology);
+
+    sequentialProcessor.setParallelProcessing(false);
+    sequentialProcessor.processOntology();
+    parallelProcessor.setParallelProcessing(true);
+    parallelProcessor.processOntology();
+
+    assertMatchesPerTypeExtraction(parallelProcessor);
+    Assert.assertEquals(sequentialProcessor.getOWLAxioms(), parallelProcessor.getOWLAxioms());
+  }
+
+  private void assertMatchesPerTypeExtraction(SWRLAPIOntologyProcessor processor)
+  {
+    PerTypeExtraction expected = new PerTypeExtraction(this.ontology, this.dataFactory);
+    Set<OWLAxiom> expectedAxioms = new HashSet<>(expected.axioms);
+
+    for (SWRLAPIRule rule : this.swrlapiOWLOntology.getSWRLRules())
+      if (!rule.isSQWRLQuery())
+        expectedAxioms.add(rule);
+
+    Assert.assertEquals(expectedAxioms, processor.getOWLAxioms());
+    Assert.assertEquals(2, processor.getNumberOfSWRLRules());
+    Assert.assertEquals(Collections.singleton("q1"), processor.getSQWRLQueryNames());
+    Assert.assertEquals(expected.count(OWLClass.class), processor.getNumberOfOWLClassDeclarationAxioms());
+    Assert.assertEquals(expected.count(OWLNamedIndividual.class),
+      processor.getNumberOfOWLIndividualDeclarationAxioms());
+    Assert.assertEquals(expected.count(OWLObjectProperty.class),
+      processor.getNumberOfOWLObjectPropertyDeclarationAxioms());
+    Assert.assertEquals(expected.count(OWLDataProperty.class), processor.getNumberOfOWLDataPropertyDeclarationAxioms());
+
+    IRIResolver iriResolver = this.swrlapiOWLOntology.getIRIResolver();
+    for (OWLEntity entity : expected.entities) {
+      String prefixedName = iriResolver.iri2PrefixedName(entity.getIRI());
+
+      if (entity.isOWLClass())
+        Assert.assertTrue(prefixedName, iriResolver.isOWLClass(prefixedName));
+      else if (entity.isOWLNamedIndividual())
+        Assert.assertTrue(prefixedName, iriResolver.isOWLNamedIndividual(prefixedName));
+      else if (entity.isOWLObjectProperty())
+        Assert.assertTrue(prefixedName, iriResolver.isOWLObjectProperty(prefixedName));
+      else if (entity.isOWLDataProperty())
+        Assert.assertTrue(prefixedName, iriResolver.isOWLDataProperty(prefixedName));
+      else
+        Assert.assertTrue(prefixedName, iriResolver.isOWLAnnotationProperty(prefixedName));
+    }
+  }
+
+  /**
+   * The OWL axioms the processor extracted before it walked the axioms in a single pass. Each supported axiom type was
+   * fetched from the imports closure in turn, and a declaration axiom was generated for each named entity referenced by
+   * those axioms that had not been declared.
+   */
+  private static class PerTypeExtraction
+  {
+    private final OWLDataFactory dataFactory;
+    private final Set<OWLAxiom> axioms = new HashSet<>();
+    private final Set<OWLEntity> entities = new HashSet<>(); // Declared or referenced
+
+    public PerTypeExtraction(OWLOntology ontology, OWLDataFactory dataFactory)
+    {
+      this.dataFactory = dataFactory;
+
+      for (OWLDeclarationAxiom axiom : ontology.getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
+        if (!axiom.getEntity().isOWLDatatype()) {
+          this.axioms.add(axiom);
+          this.entities.add(axiom.getEntity());
+        }
+      }
+
+      for (OWLClassAssertionAxiom axiom : ontology.getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED))
+        referenceIndividuals(axiom, axiom.getIndividual());
+      for (OWLObjectPropertyAssertionAxiom axiom : ontology.getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION,
+        Imports.INCLUDED))
+        referenceIndividuals(axiom, axiom.getSubject(), axiom.getObject());
+      for (OWLDataPropertyAssertionAxiom axiom : ontology.getAxioms(AxiomType.DATA_PROPERTY_ASSERTION,
+        Imports.INCLUDED))
+        referenceIndividuals(axiom, axiom.getSubject());
+      for (OWLSameIndividualAxiom axiom : ontology.getAxioms(AxiomType.SAME_INDIVIDUAL, Imports.INCLUDED))
+        referenceIndividuals(axiom, axiom.getIndividualsAsList().toArray(new OWLIndividual[0]));
+      for (OWLDifferentIndividualsAxiom axiom : ontology.getAxioms(AxiomType.DIFFERENT_INDIVIDUALS, Imports.INCLUDED))
+        referenceIndividuals(axiom, axiom.getIndividualsAsList().toArray(new OWLIndividual[0]));
+
+      for (OWLSubClassOfAxiom axiom : ontology.getAxioms(AxiomType.SUBCLASS_OF, Imports.INCLUDED))
+        referenceClasses(axiom, axiom.getSubClass(), axiom.getSuperClass());
+      for (OWLEquivalentClassesAxiom axiom : ontology.getAxioms(AxiomType.EQUIVALENT_CLASSES, Imports.INCLUDED))
+        referenceClasses(axiom, axiom.getNamedClasses().toArray(new OWLClassExpression[0]));
+
+      for (OWLSubObjectPropertyOfAxiom axiom : ontology.getAxioms(AxiomType.SUB_OBJECT_PROPERTY, Imports.INCLUDED))
+        referenceObjectProperties(axiom, axiom.getSubProperty(), axiom.getSuperProperty());
+      for (OWLEquivalentObjectPropertiesAxiom axiom : ontology.getAxioms(AxiomType.EQUIVALENT_OBJECT_PROPERTIES,
+        Imports.INCLUDED))
+        referenceObjectProperties(axiom, axiom.getProperties().toArray(new OWLObjectPropertyExpression[0]));
+      for (OWLDisjointObjectPropertiesAxiom axiom : ontology.getAxioms(AxiomType.DISJOINT_OBJECT_PROPERTIES,
+        Imports.INCLUDED))
+        referenceObjectProperties(axiom, axiom.getProperties().toArray(new OWLObjectPropertyExpression[0]));
+      for (OWLInverseObjectPropertiesAxiom axiom : ontology.getAxioms(AxiomType.INVERSE_OBJECT_PROPERTIES,
+        Imports.INCLUDED))
+        referenceObjectProperties(axiom, axiom.getFirstProperty(), axiom.getSecondProperty());
+      for (AxiomType<? extends OWLObjectPropertyCharacteristicAxiom> axiomType : Arrays.asList(
+        AxiomType.TRANSITIVE_OBJECT_PROPERTY, AxiomType.SYMMETRIC_OBJECT_PROPERTY, AxiomType.FUNCTIONAL_OBJECT_PROPERTY,
+        AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, AxiomType.IRREFLEXIVE_OBJECT_PROPERTY,
+        AxiomType.ASYMMETRIC_OBJECT_PROPERTY))
+        for (OWLObjectPropertyCharacteristicAxiom axiom : ontology.getAxioms(axiomType, Imports.INCLUDED))
+          referenceObjectProperties(axiom, axiom.getProperty());
+      for (OWLObjectPropertyDomainAxiom axiom : ontology.getAxioms(AxiomType.OBJECT_PROPERTY_DOMAIN,
+        Imports.INCLUDED)) {
+        referenceObjectProperties(axiom, axiom.getProperty());
+        referenceClasses(axiom, axiom.getDomain());
+      }
+      for (OWLObjectPropertyRangeAxiom axiom : ontology.getAxioms(AxiomType.OBJECT_PROPERTY_RANGE,
+        Imports.INCLUDED)) {
+        referenceObjectProperties(axiom, axiom.getProperty());
+        referenceClasses(axiom, axiom.getRange());
+      }
+
+      for (OWLSubDataPropertyOfAxiom axiom : ontology.getAxioms(AxiomType.SUB_DATA_PROPERTY, Imports.INCLUDED))
+        referenceDataProperties(axiom, axiom.getSubProperty(), axiom.getSuperProperty());
+      for (OWLEquivalentDataPropertiesAxiom axiom : ontology.getAxioms(AxiomType.EQUIVALENT_DATA_PROPERTIES,
+        Imports.INCLUDED))
+        referenceDataProperties(axiom, axiom.getProperties().toArray(new OWLDataPropertyExpression[0]));
+      for (OWLDisjointDataPropertiesAxiom axiom : ontology.getAxioms(AxiomType.DISJOINT_DATA_PROPERTIES,
+        Imports.INCLUDED))
+        referenceDataProperties(axiom, axiom.getProperties().toArray(new OWLDataPropertyExpression[0]));
+      for (OWLFunctionalDataPropertyAxiom axiom : ontology.getAxioms(AxiomType.FUNCTIONAL_DATA_PROPERTY,
+        Imports.INCLUDED))
+        referenceDataProperties(axiom, axiom.getProperty());
+      for (OWLDataPropertyDomainAxiom axiom : ontology.getAxioms(AxiomType.DATA_PROPERTY_DOMAIN, Imports.INCLUDED)) {
+        referenceDataProperties(axiom, axiom.getProperty());
+        referenceClasses(axiom, axiom.getDomain());
+      }
+      for (OWLDataPropertyRangeAxiom axiom : ontology.getAxioms(AxiomType.DATA_PROPERTY_RANGE, Imports.INCLUDED))
+        referenceDataProperties(axiom, axiom.getProperty());
+    }
+
+    public int count(Class<? extends OWLEntity> entityClass)
+    {
+      int count = 0;
+
+      for (OWLEntity entity : this.entities)
+        if (entityClass.isInstance(entity))
+          count++;
+
+      return count;
+    }
+
+    private void referenceIndividuals(OWLAxiom axiom, OWLIndividual... individuals)
+    {
+      this.axioms.add(axiom);
+      for (OWLIndividual individual : individuals)
+        if (individual.isNamed())
+          reference(individual.asOWLNamedIndividual());
+    }
+
+    private void referenceClasses(OWLAxiom axiom, OWLClassExpression... classExpressions)
+    {
+      this.axioms.add(axiom);
+      for (OWLClassExpression classExpression : classExpressions)
+        if (!classExpression.isAnonymous())
+          reference(classExpression.asOWLClass());
+    }
+
+    private void referenceObjectProperties(OWLAxiom axiom, OWLObjectPropertyExpression... properties)
+    {
+      this.axioms.add(axiom);
+      for (OWLObjectPropertyExpression property : properties)
+        if (!property.isAnonymous())
+          reference(property.asOWLObjectProperty());
+    }
+
+    private void referenceDataProperties(OWLAxiom axiom, OWLDataPropertyExpression... properties)
+    {
+      this.axioms.add(axiom);
+      for (OWLDataPropertyExpression property : properties)
+        if (!property.isAnonymous())
+          reference(property.asOWLDataProperty());
+    }
+
+    private void reference(OWLEntity entity)
+    {
+      if (this.entities.add(entity))
+        this.axioms.add(this.dataFactory.getOWLDeclarationAxiom(entity));
+    }
+  }
+
+  private void addImport(OWLOntology importingOntology, OWLOntology importedOntology)
+  {
+    this.manager.applyChange(new AddImport(importingOntology, this.dataFactory.getOWLImportsDeclaration(
+      importedOntology.getOntologyID().getOntologyIRI().get())));
+  }
+
+  private void addAxioms(OWLOntology ontology, OWLAxiom... axioms)
+  {
+    this.manager.addAxioms(ontology, new HashSet<>(Arrays.asList(axioms)));
+  }
+
+  private OWLAxiom rule(String ruleName, List<SWRLAtom> body, List<SWRLAtom> head)
+  {
+    OWLAnnotation label = this.dataFactory.getOWLAnnotation(this.dataFactory.getRDFSLabel(),
+      this.dataFactory.getOWLLiteral(ruleName));
+
+    return this.dataFactory.getSWRLRule(new HashSet<>(body), new HashSet<>(head), Collections.singleton(label));
+  }
+
+  private SWRLAtom classAtom(String classLocalName, String variableName)
+  {
+    return this.dataFactory.getSWRLClassAtom(cls(classLocalName), variable(variableName));
+  }
+
+  private SWRLVariable variable(String name)
+  {
+    return this.dataFactory.getSWRLVariable(iri(name));
+  }
+
+  private OWLDeclarationAxiom declaration(OWLEntity entity)
+  {
+    return this.dataFactory.getOWLDeclarationAxiom(entity);
+  }
+
+  private OWLClass cls(String localName)
+  {
+    return this.dataFactory.getOWLClass(iri(localName));
+  }
+
+  private OWLNamedIndividual individual(String localName)
+  {
+    return this.dataFactory.getOWLNamedIndividual(iri(localName));
+  }
+
+  private OWLObjectProperty objectProperty(String localName)
+  {
+    return this.dataFactory.getOWLObjectProperty(iri(localName));
+  }
+
+  private OWLDataProperty dataProperty(String localName)
+  {
+    return this.dataFactory.getOWLDataProperty(iri(localName));
+  }
+
+  private static IRI iri(String localName)
+  {
+    return IRI.create(NAMESPACE + localName);
+  }
+}
@@ -0,0 +1,83 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.ui.model.SWRLAutoCompleter;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class DefaultSWRLAutoCompleterTestCase
+{
+  private static final String NAMESPACE = "http://example.org/test#";
+
+  private OWLOntologyManager manager;
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    this.manager = OWLManager.createOWLOntologyManager();
+    this.ontology = this.manager.createOntology();
+    this.swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(this.ontology, new DefaultPrefixManager());
+  }
+
+  @Test
+  public void TestFollowsOntologyChanges()
+  {
+    SWRLAutoCompleter autoCompleter = this.swrlapiOWLOntology.createSWRLAutoCompleter();
+
+    this.swrlapiOWLOntology.getPrefixManager().setPrefix("ex:", NAMESPACE);
+    autoCompleter.getCompletions("");
+    declareOWLClass("Person");
+    declareOWLClass("Pet");
+
+    Assert.assertEquals(Arrays.asList("ex:Person", "ex:Pet"), autoCompleter.getCompletions("ex:Pe"));
+  }
+
+  @Test
+  public void TestPrefixChangeRebuildsShortForms()
+  {
+    SWRLAutoCompleter autoCompleter = this.swrlapiOWLOntology.createSWRLAutoCompleter();
+
+    declareOWLClass("Person");
+    Assert.assertEquals(Collections.singletonList("<" + NAMESPACE + "Person>"), autoCompleter.getCompletions(
+      "<" + NAMESPACE));
+    Assert.assertEquals(Collections.<String>emptyList(), autoCompleter.getCompletions("ex:"));
+
+    this.swrlapiOWLOntology.getPrefixManager().setPrefix("ex:", NAMESPACE);
+
+    Assert.assertEquals(Collections.singletonList("ex:Person"), autoCompleter.getCompletions("ex:"));
+    Assert.assertEquals(Collections.<String>emptyList(), autoCompleter.getCompletions("<" + NAMESPACE));
+  }
+
+  @Test
+  public void TestDisposeStopsFollowingChanges()
+  {
+    SWRLAutoCompleter autoCompleter = this.swrlapiOWLOntology.createSWRLAutoCompleter();
+
+    this.swrlapiOWLOntology.getPrefixManager().setPrefix("ex:", NAMESPACE);
+    declareOWLClass("Person");
+    autoCompleter.dispose();
+    declareOWLClass("Pet");
+
+    Assert.assertEquals(Collections.singletonList("ex:Person"), autoCompleter.getCompletions("ex:Pe"));
+  }
+
+  private void declareOWLClass(String localName)
+  {
+    OWLDataFactory dataFactory = this.manager.getOWLDataFactory();
+
+    this.manager.addAxiom(this.ontology,
+      dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(IRI.create(NAMESPACE + localName))));
+  }
+}
@@ -0,0 +1,150 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class SQWRLAggregateSketchTestCase
+{
+  private static final int PRECISION = 12;
+
+  @Test
+  public void TestHyperLogLogCountsSmallSetsExactly()
+  {
+    HyperLogLogSketch sketch = new HyperLogLogSketch(PRECISION);
+
+    Assert.assertEquals(0, sketch.estimate());
+    for (int i = 1; i <= 100; i++) {
+      sketch.add(hash(i));
+      sketch.add(hash(i)); // Duplicates are not counted
+      Assert.assertTrue(sketch.isSparse());
+      Assert.assertEquals(i, sketch.estimate());
+    }
+  }
+
+  @Test
+  public void TestHyperLogLogSparseToDenseTransition()
+  {
+    HyperLogLogSketch sketch = new HyperLogLogSketch(PRECISION);
+    int n = 0;
+
+    while (sketch.isSparse()) {
+      Assert.assertEquals(n, sketch.estimate());
+      sketch.add(hash(++n));
+    }
+
+    Assert.assertTrue(n * 8 <= 1 << PRECISION); // No larger than the registers
+    assertWithinError(n, sketch.estimate(), PRECISION);
+    for (int i = 1; i <= n; i++) // Hashes retained before the transition are in the registers
+      sketch.add(hash(i));
+    assertWithinError(n, sketch.estimate(), PRECISION);
+  }
+
+  @Test
+  public void TestHyperLogLogErrorAcrossCardinalities()
+  {
+    for (int precision : new int[] { HyperLogLogSketch.MIN_PRECISION + 4, PRECISION, 14 }) {
+      HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+      int n = 0;
+
+      for (int cardinality : new int[] { 1000, 10000, 100000, 1000000 }) {
+        while (n < cardinality)
+          sketch.add(hash(++n));
+        assertWithinError(cardinality, sketch.estimate(), precision);
+      }
+    }
+  }
+
+  @Test
+  public void TestHyperLogLogPrecisionForError()
+  {
+    Assert.assertEquals(12, HyperLogLogSketch.getPrecision(1.04 / 64));
+    Assert.assertEquals(13, HyperLogLogSketch.getPrecision(0.0162));
+    Assert.assertEquals(HyperLogLogSketch.MIN_PRECISION, HyperLogLogSketch.getPrecision(0.9));
+    Assert.assertEquals(HyperLogLogSketch.MAX_PRECISION, HyperLogLogSketch.getPrecision(0.0001));
+  }
+
+  @Test
+  public void TestKLLQuantilesExactBeforeCompaction()
+  {
+    KLLQuantileSketch sketch = new KLLQuantileSketch(200);
+
+    for (double value : new double[] { 5, 1, 4, 2, 3 })
+      sketch.add(value);
+    Assert.assertEquals(3.0, sketch.getQuantile(0.5), 0.0);
+    sketch.add(6);
+
+    Assert.assertEquals(3.5, sketch.getQuantile(0.5), 0.0);
+    Assert.assertEquals(1.0, sketch.getQuantile(0.0), 0.0);
+    Assert.assertEquals(6.0, sketch.getQuantile(1.0), 0.0);
+  }
+
+  @Test
+  public void TestKLLQuantileRankErrorWithinBound()
+  {
+    for (double rankError : new double[] { 0.05, 0.01 }) {
+      for (int n : new int[] { 1000, 100000 }) {
+        KLLQuantileSketch sketch = new KLLQuantileSketch(KLLQuantileSketch.getK(rankError));
+        List<Double> values = new ArrayList<>();
+
+        for (int i = 0; i < n; i++)
+          values.add((double)i);
+        Collections.shuffle(values, new Random(n));
+        for (double value : values)
+          sketch.add(value);
+
+        Assert.assertEquals(n, sketch.getCount());
+        for (double fraction = 0.0; fraction <= 1.0; fraction += 0.05) {
+          double rank = sketch.getQuantile(fraction) / (n - 1); // Value i has rank i of n - 1
+          Assert.assertEquals("n=" + n + " q=" + fraction, fraction, rank, rankError);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void TestKLLQuantileIsAnAddedValue()
+  {
+    int k = 64;
+    KLLQuantileSketch sketch = new KLLQuantileSketch(k);
+    double[] values = new double[100000];
+    Random random = new Random(7);
+
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextGaussian();
+      sketch.add(values[i]);
+    }
+    Arrays.sort(values);
+
+    double median = sketch.getQuantile(0.5);
+    int rank = Arrays.binarySearch(values, median);
+    Assert.assertTrue(rank >= 0); // Quantiles of a compacted sketch are values that were added
+    Assert.assertEquals(0.5, (double)rank / values.length, 1.65 / k);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void TestKLLQuantileOfEmptySketch()
+  {
+    new KLLQuantileSketch(KLLQuantileSketch.MIN_K).getQuantile(0.5);
+  }
+
+  private static long hash(int i)
+  {
+    return HyperLogLogSketch.hash(HyperLogLogSketch.HASH_SEED, Integer.toString(i));
+  }
+
+  /**
+   * Within four standard errors, which a correct sketch with the fixed hash fails far less than once in 10^4.
+   */
+  private static void assertWithinError(long expected, long estimate, int precision)
+  {
+    double standardError = 1.04 / Math.sqrt(1 << precision);
+
+    Assert.assertEquals("n=" + expected + " p=" + precision, expected, estimate, 4 * standardError * expected);
+  }
+}
@@ -0,0 +1,97 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class SQWRLQueryTaskTestCase
+{
+  private static final long TIMEOUT_MILLIS = 10000;
+
+  private TestTargetSWRLRuleEngine targetEngine;
+  private SQWRLQueryEngine queryEngine;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+
+    prefixManager.setDefaultPrefix(":");
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(ontology, prefixManager);
+    this.targetEngine = new TestTargetSWRLRuleEngine(swrlapiOWLOntology);
+    this.queryEngine = TestTargetSWRLRuleEngine.createSQWRLQueryEngine(swrlapiOWLOntology, this.targetEngine);
+    this.queryEngine.createSQWRLQuery("q1", "swrlb:add(?x, 2, 2) -> sqwrl:select(?x)");
+  }
+
+  @Test
+  public void TestCancelledQueryResetsEngine() throws Exception
+  {
+    this.targetEngine.blockNextRun();
+    CompletableFuture<SQWRLResult> future = this.queryEngine.runSQWRLQueryAsync("q1");
+
+    Assert.assertTrue(this.targetEngine.awaitBlockedRun(TIMEOUT_MILLIS));
+    int resetCount = this.targetEngine.getResetCount();
+
+    Assert.assertTrue(future.cancel(true));
+    Assert.assertTrue(this.targetEngine.isCancelled());
+
+    SQWRLResult result = this.queryEngine.runSQWRLQuery("q1"); // Waits for the cancelled query to be abandoned
+
+    Assert.assertEquals(resetCount + 2, this.targetEngine.getResetCount()); // Reset after cancellation and for the run
+    Assert.assertEquals(2, this.targetEngine.getRunCount());
+    Assert.assertEquals(0, this.queryEngine.getSQWRLResultCacheHitCount());
+    Assert.assertEquals("x", result.getColumnName(0));
+  }
+
+  @Test
+  public void TestEngineIsReusableAfterCancellation() throws Exception
+  {
+    this.targetEngine.blockNextRun();
+    CompletableFuture<SQWRLResult> cancelledFuture = this.queryEngine.runSQWRLQueryAsync("q1");
+
+    Assert.assertTrue(this.targetEngine.awaitBlockedRun(TIMEOUT_MILLIS));
+    cancelledFuture.cancel(true);
+
+    SQWRLResult result = this.queryEngine.runSQWRLQueryAsync("q1").get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+    Assert.assertEquals(1, result.getNumberOfColumns());
+    Assert.assertEquals(2, this.targetEngine.getRunCount());
+
+    try {
+      cancelledFuture.join();
+      Assert.fail("cancelled query completed");
+    } catch (CancellationException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void TestDisposeShutsDownDefaultExecutor() throws Exception
+  {
+    Assert.assertEquals(1, this.queryEngine.runSQWRLQueryAsync("q1").get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+      .getNumberOfColumns());
+
+    this.queryEngine.dispose();
+
+    try {
+      this.queryEngine.runSQWRLQueryAsync("q1").get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      Assert.fail("query ran after the engine was disposed");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof SQWRLException);
+    }
+    Assert.assertEquals(1, this.targetEngine.getRunCount());
+  }
+}
@@ -0,0 +1,174 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultGenerator;
+import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
+
+public class SQWRLResultCacheTestCase
+{
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private SQWRLResultValueFactory valueFactory;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+
+    prefixManager.setDefaultPrefix(":");
+    this.swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(ontology, prefixManager);
+    this.valueFactory = SWRLAPIFactory.createSQWRLResultValueFactory(this.swrlapiOWLOntology);
+  }
+
+  @Test
+  public void TestHit() throws Exception
+  {
+    SQWRLResultCache cache = new SQWRLResultCache(2);
+    SQWRLResult result = createResult(3);
+
+    cache.put("q1", 1, result);
+
+    Assert.assertSame(result, cache.get("q1", 1));
+    Assert.assertNull(cache.get("q2", 1));
+    Assert.assertEquals(1, cache.getHitCount());
+    Assert.assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void TestMissAfterOntologyChange() throws Exception
+  {
+    SQWRLResultCache cache = new SQWRLResultCache(2);
+
+    cache.put("q1", 1, createResult(3));
+    cache.put("q2", 1, createResult(3));
+
+    Assert.assertNull(cache.get("q1", 2));
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void TestMissAfterRemove() throws Exception
+  {
+    SQWRLResultCache cache = new SQWRLResultCache(2);
+
+    cache.put("q1", 1, createResult(3));
+    cache.remove("q1");
+
+    Assert.assertNull(cache.get("q1", 1));
+  }
+
+  @Test
+  public void TestLeastRecentlyUsedEviction() throws Exception
+  {
+    SQWRLResultCache cache = new SQWRLResultCache(2);
+
+    cache.put("q1", 1, createResult(1));
+    cache.put("q2", 1, createResult(1));
+    cache.get("q1", 1);
+    cache.put("q3", 1, createResult(1));
+
+    Assert.assertEquals(2, cache.size());
+    Assert.assertNotNull(cache.get("q1", 1));
+    Assert.assertNull(cache.get("q2", 1));
+    Assert.assertNotNull(cache.get("q3", 1));
+
+    cache.setCapacity(1);
+
+    Assert.assertEquals(1, cache.size());
+    Assert.assertNotNull(cache.get("q3", 1));
+  }
+
+  @Test
+  public void TestZeroCapacityDisablesCaching() throws Exception
+  {
+    SQWRLResultCache cache = new SQWRLResultCache(0);
+
+    cache.put("q1", 1, createResult(1));
+
+    Assert.assertNull(cache.get("q1", 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void TestNegativeCapacityRejected()
+  {
+    new SQWRLResultCache(2).setCapacity(-1);
+  }
+
+  @Test
+  public void TestReadersHaveIndependentRowPositions() throws Exception
+  {
+    SQWRLResult result = createResult(3);
+    SQWRLResult reader1 = new SQWRLResultReader(result);
+    SQWRLResult reader2 = new SQWRLResultReader(result);
+
+    Assert.assertTrue(reader1.next());
+    Assert.assertTrue(reader1.next());
+    Assert.assertTrue(reader2.next());
+
+    Assert.assertEquals(1, reader1.getLiteral("x").getInt());
+    Assert.assertEquals(0, reader2.getLiteral("x").getInt());
+    Assert.assertEquals(0, reader2.getLiteral(0).getInt());
+
+    Assert.assertTrue(reader1.next());
+    Assert.assertFalse(reader1.next());
+    Assert.assertTrue(reader2.next());
+    Assert.assertEquals(1, reader2.getLiteral("x").getInt());
+  }
+
+  @Test
+  public void TestEngineReturnsIndependentResultsForCachedQuery() throws Exception
+  {
+    TestTargetSWRLRuleEngine targetEngine = new TestTargetSWRLRuleEngine(this.swrlapiOWLOntology);
+    SQWRLQueryEngine queryEngine = TestTargetSWRLRuleEngine.createSQWRLQueryEngine(this.swrlapiOWLOntology,
+      targetEngine);
+
+    queryEngine.createSQWRLQuery("q1", "swrlb:add(?x, 2, 2) -> sqwrl:select(?x)");
+
+    SQWRLResult result1 = queryEngine.runSQWRLQuery("q1");
+    SQWRLResult result2 = queryEngine.runSQWRLQuery("q1");
+
+    Assert.assertEquals(1, targetEngine.getRunCount());
+    Assert.assertEquals(1, queryEngine.getSQWRLResultCacheHitCount());
+    Assert.assertNotSame(result1, result2);
+  }
+
+  @Test
+  public void TestEngineReRunsRedefinedQuery() throws Exception
+  {
+    TestTargetSWRLRuleEngine targetEngine = new TestTargetSWRLRuleEngine(this.swrlapiOWLOntology);
+    SQWRLQueryEngine queryEngine = TestTargetSWRLRuleEngine.createSQWRLQueryEngine(this.swrlapiOWLOntology,
+      targetEngine);
+
+    queryEngine.createSQWRLQuery("q1", "swrlb:add(?x, 2, 2) -> sqwrl:select(?x)");
+    queryEngine.runSQWRLQuery("q1");
+    queryEngine.createSQWRLQuery("q1", "swrlb:add(?y, 3, 3) -> sqwrl:select(?y)");
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1");
+
+    Assert.assertEquals(2, targetEngine.getRunCount());
+    Assert.assertEquals(0, queryEngine.getSQWRLResultCacheHitCount());
+    Assert.assertEquals("y", result.getColumnName(0));
+  }
+
+  private SQWRLResult createResult(int numberOfRows) throws Exception
+  {
+    SQWRLResultGenerator generator = SWRLAPIFactory.createSQWRLResultGenerator(this.valueFactory);
+
+    generator.addColumn("x");
+    generator.configured();
+    for (int i = 0; i < numberOfRows; i++) {
+      generator.openRow();
+      generator.addCell(this.valueFactory.getLiteralValue(i));
+    }
+    generator.prepared();
+
+    return (SQWRLResult)generator;
+  }
+}
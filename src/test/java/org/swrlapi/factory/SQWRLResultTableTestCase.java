@@ -0,0 +1,178 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.xsd.XSDDate;
+import org.swrlapi.core.xsd.XSDDateTime;
+import org.swrlapi.core.xsd.XSDDuration;
+import org.swrlapi.core.xsd.XSDTime;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SQWRLResultTableTestCase
+{
+  private static final float[] FLOATS = { 0.1f, 1.1f, -2.5f, 16777217f, 1.4E-45f, 3.4028235E38f };
+
+  private SQWRLResultValueFactory valueFactory;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+
+    prefixManager.setDefaultPrefix("http://example.org/test#");
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(ontology, prefixManager);
+    this.valueFactory = SWRLAPIFactory.createSQWRLResultValueFactory(swrlapiOWLOntology);
+  }
+
+  @Test
+  public void TestRoundTripOfEveryValueType() throws Exception
+  {
+    List<List<SQWRLResultValue>> columns = createColumnsOfEveryValueType();
+    List<List<SQWRLResultValue>> rows = transpose(columns);
+    SQWRLResultTable table = new SQWRLResultTable(this.valueFactory, columns.size());
+
+    table.addRows(rows);
+    table.trimToSize();
+
+    Assert.assertEquals(rows.size(), table.getNumberOfRows());
+    for (int r = 0; r < rows.size(); r++)
+      Assert.assertEquals(rows.get(r), table.getRow(r));
+    for (int c = 0; c < columns.size(); c++)
+      Assert.assertEquals(columns.get(c), table.getColumn(c));
+  }
+
+  @Test
+  public void TestFloatTypeAndValueArePreserved() throws Exception
+  {
+    SQWRLResultTable table = new SQWRLResultTable(this.valueFactory, 1);
+
+    for (float f : FLOATS)
+      table.addRow(Arrays.asList(this.valueFactory.getLiteralValue(f)));
+
+    for (int r = 0; r < FLOATS.length; r++) {
+      SQWRLLiteralResultValue value = table.getValue(r, 0).asLiteralResult();
+
+      Assert.assertTrue(value.isFloat());
+      Assert.assertEquals(XSDVocabulary.FLOAT.getIRI(), value.getOWLLiteral().getDatatype().getIRI());
+      Assert.assertEquals(Float.floatToIntBits(FLOATS[r]), Float.floatToIntBits(value.getFloat()));
+    }
+  }
+
+  @Test
+  public void TestNumericColumnConvertedToDictionary() throws Exception
+  {
+    SQWRLResultTable table = new SQWRLResultTable(this.valueFactory, 1);
+    List<SQWRLResultValue> values = Arrays.asList(this.valueFactory.getLiteralValue(1),
+      this.valueFactory.getLiteralValue(2.5f), this.valueFactory.getLiteralValue("three"),
+      this.valueFactory.getLiteralValue(1));
+
+    for (SQWRLResultValue value : values)
+      table.addRow(Arrays.asList(value));
+
+    Assert.assertEquals(values, table.getColumn(0));
+  }
+
+  @Test
+  public void TestAddRowsAfterTrimToSize() throws Exception
+  {
+    SQWRLResultTable table = new SQWRLResultTable(this.valueFactory, 2);
+    List<List<SQWRLResultValue>> rows = new ArrayList<>();
+
+    for (int i = 0; i < 40; i++) {
+      rows.add(Arrays.asList(this.valueFactory.getLiteralValue(i), this.valueFactory.getLiteralValue("v" + i % 3)));
+      table.addRow(rows.get(i));
+      if (i % 7 == 0)
+        table.trimToSize();
+    }
+
+    Assert.assertEquals(rows, table.getRows());
+  }
+
+  @Test
+  public void TestAddRowsAfterTrimToSizeOfEmptyTable() throws Exception
+  {
+    SQWRLResultTable table = new SQWRLResultTable(this.valueFactory, 1);
+    List<SQWRLResultValue> row = Arrays.asList(this.valueFactory.getLiteralValue("a"));
+
+    table.trimToSize();
+    table.addRow(row);
+
+    Assert.assertEquals(row, table.getRow(0));
+  }
+
+  private List<List<SQWRLResultValue>> createColumnsOfEveryValueType() throws Exception
+  {
+    List<List<SQWRLResultValue>> columns = new ArrayList<>();
+    List<SQWRLResultValue> floats = new ArrayList<>();
+
+    columns.add(Arrays.asList(this.valueFactory.getClassValue(iri("C1")),
+      this.valueFactory.getClassValue(iri("C2"))));
+    columns.add(Arrays.asList(this.valueFactory.getIndividualValue(iri("i1")),
+      this.valueFactory.getIndividualValue(iri("i1"))));
+    columns.add(Arrays.asList(this.valueFactory.getObjectPropertyValue(iri("op1")),
+      this.valueFactory.getObjectPropertyValue(iri("op2"))));
+    columns.add(Arrays.asList(this.valueFactory.getDataPropertyValue(iri("dp1")),
+      this.valueFactory.getDataPropertyValue(iri("dp2"))));
+    columns.add(Arrays.asList(this.valueFactory.getAnnotationPropertyValue(iri("ap1")),
+      this.valueFactory.getAnnotationPropertyValue(iri("ap2"))));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue((byte)-128),
+      this.valueFactory.getLiteralValue((byte)127)));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue((short)-32768),
+      this.valueFactory.getLiteralValue((short)32767)));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue(Integer.MIN_VALUE),
+      this.valueFactory.getLiteralValue(Integer.MAX_VALUE)));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue(Long.MIN_VALUE),
+      this.valueFactory.getLiteralValue(Long.MAX_VALUE)));
+    for (int i = 0; i < 2; i++)
+      floats.add(this.valueFactory.getLiteralValue(FLOATS[i]));
+    columns.add(floats);
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue(0.1), this.valueFactory.getLiteralValue(-1e300)));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue("a,b"), this.valueFactory.getLiteralValue("")));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue(true), this.valueFactory.getLiteralValue(false)));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue(URI.create("http://example.org/a")),
+      this.valueFactory.getLiteralValue(URI.create("http://example.org/b"))));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue(new XSDTime("10:15:30")),
+      this.valueFactory.getLiteralValue(new XSDTime("23:59:59"))));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue(new XSDDate("2016-01-31")),
+      this.valueFactory.getLiteralValue(new XSDDate("1999-12-31"))));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue(new XSDDateTime("2016-01-31T10:15:30")),
+      this.valueFactory.getLiteralValue(new XSDDateTime("1999-12-31T23:59:59"))));
+    columns.add(Arrays.asList(this.valueFactory.getLiteralValue(new XSDDuration("P1Y2M3D")),
+      this.valueFactory.getLiteralValue(new XSDDuration("PT5H"))));
+
+    return columns;
+  }
+
+  private static List<List<SQWRLResultValue>> transpose(List<List<SQWRLResultValue>> columns)
+  {
+    List<List<SQWRLResultValue>> rows = new ArrayList<>();
+
+    for (int r = 0; r < columns.get(0).size(); r++) {
+      List<SQWRLResultValue> row = new ArrayList<>();
+      for (List<SQWRLResultValue> column : columns)
+        row.add(column.get(r));
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private static IRI iri(String localName)
+  {
+    return IRI.create("http://example.org/test#" + localName);
+  }
+}
@@ -0,0 +1,87 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleImportResult;
+import org.swrlapi.core.SWRLRuleSpecification;
+import org.swrlapi.parser.SWRLParseException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SWRLRuleImportTestCase
+{
+  private static final String NAMESPACE = ":"; // The default prefix of an ontology without a document format prefix
+
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+    OWLDataFactory dataFactory = manager.getOWLDataFactory();
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+
+    this.ontology = manager.createOntology();
+    manager.addAxiom(this.ontology, dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(IRI
+      .create(NAMESPACE + "Male"))));
+    manager.addAxiom(this.ontology, dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(IRI
+      .create(NAMESPACE + "Person"))));
+    prefixManager.setDefaultPrefix(NAMESPACE);
+    this.swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(this.ontology, prefixManager);
+  }
+
+  @Test
+  public void TestFailuresAreKeyedByPosition()
+  {
+    SWRLRuleImportResult result = this.swrlapiOWLOntology.createSWRLRules(Arrays.asList(
+      new SWRLRuleSpecification("r1", "Male(?x) -> Person(?x)"), new SWRLRuleSpecification("r2", "Male(?x ->"),
+      new SWRLRuleSpecification("r2", "Female(?x) -> Person(?x)"),
+      new SWRLRuleSpecification("r3", "Person(?x) -> Male(?x)")));
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2)), result.getParseExceptions().keySet());
+    Assert.assertEquals(2, result.getSWRLRules().size());
+    Assert.assertEquals("r1", result.getSWRLRules().get(0).getRuleName());
+    Assert.assertEquals("r3", result.getSWRLRules().get(1).getRuleName());
+    Assert.assertEquals(2, this.ontology.getAxiomCount(AxiomType.SWRL_RULE));
+  }
+
+  @Test
+  public void TestParallelImport()
+  {
+    List<SWRLRuleSpecification> ruleSpecifications = new ArrayList<>();
+    Set<Integer> failingPositions = new HashSet<>();
+
+    for (int i = 0; i < 600; i++) {
+      if (i % 50 == 7) {
+        ruleSpecifications.add(new SWRLRuleSpecification("r", "Unknown(?x) -> Person(?x)"));
+        failingPositions.add(i);
+      } else
+        ruleSpecifications.add(new SWRLRuleSpecification("r" + i, "Male(?x) -> Person(?x)"));
+    }
+
+    SWRLRuleImportResult result = this.swrlapiOWLOntology.createSWRLRules(ruleSpecifications);
+
+    Assert.assertEquals(failingPositions, result.getParseExceptions().keySet());
+    for (SWRLParseException e : result.getParseExceptions().values())
+      Assert.assertNotNull(e.getMessage());
+    Assert.assertEquals(600 - failingPositions.size(), result.getSWRLRules().size());
+    Assert.assertEquals(600 - failingPositions.size(), this.ontology.getAxiomCount(AxiomType.SWRL_RULE));
+    for (int i = 0, r = 0; i < 600; i++)
+      if (!failingPositions.contains(i))
+        Assert.assertEquals("r" + i, result.getSWRLRules().get(r++).getRuleName());
+  }
+}
@@ -0,0 +1,173 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class ShortFormTrieTestCase
+{
+  @Test
+  public void TestMatchesSortedMultiset()
+  {
+    Random random = new Random(42);
+    ShortFormTrie trie = new ShortFormTrie();
+    TreeMap<String, Integer> multiset = new TreeMap<>(); // String to number of times added less removals
+
+    for (int i = 0; i < 20000; i++) {
+      String s = randomString(random);
+
+      if (random.nextInt(3) == 0) {
+        trie.remove(s);
+        Integer count = multiset.get(s);
+        if (count != null && count == 1)
+          multiset.remove(s);
+        else if (count != null)
+          multiset.put(s, count - 1);
+      } else {
+        trie.add(s);
+        multiset.merge(s, 1, Integer::sum);
+      }
+
+      Assert.assertEquals(multiset.size(), trie.size());
+      if (i % 10 == 0) {
+        String prefix = randomString(random);
+        int maximumNumberOfCompletions = random.nextInt(8);
+        Assert.assertEquals(prefix, getCompletions(multiset, prefix, maximumNumberOfCompletions),
+          trie.getCompletions(prefix, maximumNumberOfCompletions));
+        Assert.assertEquals(prefix, getCompletions(multiset, prefix, Integer.MAX_VALUE),
+          trie.getCompletions(prefix, Integer.MAX_VALUE));
+      }
+    }
+  }
+
+  @Test
+  public void TestDuplicatesAreReferenceCounted()
+  {
+    ShortFormTrie trie = new ShortFormTrie();
+
+    trie.add("Person");
+    trie.add("Person");
+    Assert.assertEquals(1, trie.size());
+
+    trie.remove("Person");
+    Assert.assertEquals(Collections.singletonList("Person"), trie.getCompletions("P", 10));
+    Assert.assertEquals(1, trie.size());
+
+    trie.remove("Person");
+    Assert.assertEquals(Collections.<String>emptyList(), trie.getCompletions("P", 10));
+    Assert.assertEquals(0, trie.size());
+
+    trie.remove("Person"); // Removing more often than added has no effect
+    trie.add("Person");
+    Assert.assertEquals(Collections.singletonList("Person"), trie.getCompletions("P", 10));
+  }
+
+  @Test
+  public void TestRemoveOfStringThatWasNotAdded()
+  {
+    ShortFormTrie trie = createTrie("person", "personal");
+
+    trie.remove("pers"); // An interior node, not a string end
+    trie.remove("persons");
+    trie.remove("x");
+
+    Assert.assertEquals(2, trie.size());
+    Assert.assertEquals(Arrays.asList("person", "personal"), trie.getCompletions("", 10));
+  }
+
+  @Test
+  public void TestEmptyPrefix()
+  {
+    ShortFormTrie trie = createTrie("b", "a", "", "ab");
+
+    Assert.assertEquals(Arrays.asList("", "a", "ab", "b"), trie.getCompletions("", 10));
+  }
+
+  @Test
+  public void TestPrefixEndingMidEdge()
+  {
+    ShortFormTrie trie = createTrie("person", "personal", "pet");
+
+    Assert.assertEquals(Arrays.asList("person", "personal"), trie.getCompletions("pers", 10));
+    Assert.assertEquals(Arrays.asList("person", "personal"), trie.getCompletions("perso", 10));
+    Assert.assertEquals(Collections.singletonList("personal"), trie.getCompletions("persona", 10));
+    Assert.assertEquals(Collections.<String>emptyList(), trie.getCompletions("persx", 10));
+    Assert.assertEquals(Collections.<String>emptyList(), trie.getCompletions("personals", 10));
+  }
+
+  @Test
+  public void TestMaximumNumberOfCompletions()
+  {
+    ShortFormTrie trie = createTrie("a", "ab", "abc", "abd", "b");
+
+    Assert.assertEquals(Collections.<String>emptyList(), trie.getCompletions("a", 0));
+    Assert.assertEquals(Collections.singletonList("a"), trie.getCompletions("a", 1));
+    Assert.assertEquals(Arrays.asList("a", "ab", "abc"), trie.getCompletions("a", 3));
+    Assert.assertEquals(Arrays.asList("a", "ab", "abc", "abd"), trie.getCompletions("a", 100));
+  }
+
+  @Test
+  public void TestEdgesMergedAfterRemoval()
+  {
+    ShortFormTrie trie = createTrie("abc", "abd", "ab");
+
+    trie.remove("abd"); // Leaves "ab" with a single child
+    trie.remove("ab"); // Merges "ab" and "c"
+
+    Assert.assertEquals(Collections.singletonList("abc"), trie.getCompletions("a", 10));
+    Assert.assertEquals(Collections.singletonList("abc"), trie.getCompletions("abc", 10));
+
+    trie.add("abx"); // Splits the merged edge again
+    trie.add("a");
+    Assert.assertEquals(Arrays.asList("a", "abc", "abx"), trie.getCompletions("a", 10));
+
+    trie.remove("abc");
+    trie.remove("abx");
+    Assert.assertEquals(Collections.singletonList("a"), trie.getCompletions("", 10));
+    Assert.assertEquals(1, trie.size());
+  }
+
+  private static ShortFormTrie createTrie(String... strings)
+  {
+    ShortFormTrie trie = new ShortFormTrie();
+
+    for (String s : strings)
+      trie.add(s);
+
+    return trie;
+  }
+
+  private static List<String> getCompletions(TreeMap<String, Integer> multiset, String prefix,
+    int maximumNumberOfCompletions)
+  {
+    List<String> completions = new ArrayList<>();
+
+    for (Map.Entry<String, Integer> entry : multiset.tailMap(prefix).entrySet()) {
+      if (!entry.getKey().startsWith(prefix) || completions.size() == maximumNumberOfCompletions)
+        break;
+      completions.add(entry.getKey());
+    }
+    return completions;
+  }
+
+  /**
+   * Short strings over a small alphabet, so that strings often share prefixes and edges are often split and merged.
+   */
+  private static String randomString(Random random)
+  {
+    StringBuilder sb = new StringBuilder();
+    int length = random.nextInt(6);
+
+    for (int i = 0; i < length; i++)
+      sb.append("ab:c".charAt(random.nextInt(4)));
+
+    return sb.toString();
+  }
+}
@@ -0,0 +1,220 @@
+package org.swrlapi.factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class SpilledSQWRLResultTableTestCase
+{
+  private static final long[] LONGS = { 0, 1, -1, 63, -64, 64, -65, 127, 128, -129, 1L << 35, -(1L << 35),
+    Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1 };
+
+  private SQWRLResultValueFactory valueFactory;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+
+    prefixManager.setDefaultPrefix("http://example.org/test#");
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(ontology, prefixManager);
+    this.valueFactory = SWRLAPIFactory.createSQWRLResultValueFactory(swrlapiOWLOntology);
+  }
+
+  @Test
+  public void TestZigZagVarLongRoundTrip() throws Exception
+  {
+    SpilledSQWRLResultTable table = new SpilledSQWRLResultTable(this.valueFactory, 4, 3);
+    List<List<SQWRLResultValue>> rows = new ArrayList<>();
+
+    for (long l : LONGS)
+      rows.add(Arrays.asList(this.valueFactory.getLiteralValue(l), this.valueFactory.getLiteralValue((int)l),
+        this.valueFactory.getLiteralValue((short)l), this.valueFactory.getLiteralValue((byte)l)));
+
+    table.addRows(rows);
+    Assert.assertEquals(rows, table.copyRows()); // Includes rows still in the batch on the heap
+
+    table.trimToSize();
+    Assert.assertEquals(rows, table.copyRows());
+    for (int r = rows.size() - 1; r >= 0; r--) // Out of order reads
+      Assert.assertEquals(rows.get(r), table.getRow(r));
+  }
+
+  @Test
+  public void TestRoundTripOfOtherValues() throws Exception
+  {
+    SpilledSQWRLResultTable table = new SpilledSQWRLResultTable(this.valueFactory, 5, 2);
+    List<List<SQWRLResultValue>> rows = new ArrayList<>();
+
+    for (int i = 0; i < 9; i++)
+      rows.add(Arrays.asList(this.valueFactory.getClassValue(iri("C" + i % 2)),
+        this.valueFactory.getIndividualValue(iri("i" + i)),
+        this.valueFactory.getLiteralValue("été " + i), this.valueFactory.getLiteralValue(i * 0.1f),
+        this.valueFactory.getLiteralValue(i % 3 == 0)));
+
+    table.addRows(rows);
+    table.trimToSize();
+
+    Assert.assertEquals(rows, table.copyRows());
+    Assert.assertEquals(rows.get(4).get(2), table.getColumn(2).get(4));
+  }
+
+  @Test
+  public void TestAddRowsSortedMergesRuns() throws Exception
+  {
+    List<List<SQWRLResultValue>> rows = createRandomRows(200);
+    SpilledSQWRLResultTable table = new SpilledSQWRLResultTable(this.valueFactory, 2, 7);
+    List<List<SQWRLResultValue>> expectedRows = new ArrayList<>(rows);
+
+    Collections.sort(expectedRows, FIRST_COLUMN_COMPARATOR); // Stable, so the second column records the input order
+    table.addRowsSorted(rows, FIRST_COLUMN_COMPARATOR, false);
+    table.trimToSize();
+
+    Assert.assertEquals(expectedRows, table.copyRows());
+  }
+
+  @Test
+  public void TestAddRowsSortedDistinctKeepsFirstRow() throws Exception
+  {
+    List<List<SQWRLResultValue>> rows = createRandomRows(200);
+    SpilledSQWRLResultTable table = new SpilledSQWRLResultTable(this.valueFactory, 2, 7);
+    List<List<SQWRLResultValue>> sortedRows = new ArrayList<>(rows);
+    List<List<SQWRLResultValue>> expectedRows = new ArrayList<>();
+
+    Collections.sort(sortedRows, FIRST_COLUMN_COMPARATOR);
+    for (List<SQWRLResultValue> row : sortedRows)
+      if (expectedRows.isEmpty()
+        || FIRST_COLUMN_COMPARATOR.compare(expectedRows.get(expectedRows.size() - 1), row) != 0)
+        expectedRows.add(row);
+
+    table.addRowsSorted(rows, FIRST_COLUMN_COMPARATOR, true);
+    table.trimToSize();
+
+    Assert.assertEquals(expectedRows, table.copyRows());
+  }
+
+  @Test
+  public void TestAddRowsSortedOfNoRows() throws Exception
+  {
+    SpilledSQWRLResultTable table = new SpilledSQWRLResultTable(this.valueFactory, 2, 7);
+
+    table.addRowsSorted(Collections.<List<SQWRLResultValue>>emptyList(), FIRST_COLUMN_COMPARATOR, true);
+    table.trimToSize();
+
+    Assert.assertEquals(0, table.getNumberOfRows());
+  }
+
+  @Test
+  public void TestWriteReplace() throws Exception
+  {
+    SpilledSQWRLResultTable table = new SpilledSQWRLResultTable(this.valueFactory, 2, 3);
+    List<List<SQWRLResultValue>> rows = new ArrayList<>();
+
+    for (long l : LONGS)
+      rows.add(Arrays.asList(this.valueFactory.getLiteralValue(l), this.valueFactory.getLiteralValue(l / 3.0)));
+    table.addRows(rows);
+    table.trimToSize();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ValueFactoryReplacingOutputStream(bytes)) {
+      out.writeObject(table);
+    }
+    Object copy;
+    try (ObjectInputStream in = new ValueFactoryResolvingInputStream(new ByteArrayInputStream(bytes.toByteArray()),
+      this.valueFactory)) {
+      copy = in.readObject();
+    }
+
+    Assert.assertTrue(copy instanceof SQWRLResultTable);
+    Assert.assertEquals(rows, ((SQWRLResultTable)copy).copyRows());
+  }
+
+  private static final Comparator<List<SQWRLResultValue>> FIRST_COLUMN_COMPARATOR = (row1, row2) -> {
+    try {
+      return Integer.compare(row1.get(0).asLiteralResult().getInt(), row2.get(0).asLiteralResult().getInt());
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  };
+
+  private List<List<SQWRLResultValue>> createRandomRows(int numberOfRows)
+  {
+    Random random = new Random(42);
+    List<List<SQWRLResultValue>> rows = new ArrayList<>();
+
+    for (int i = 0; i < numberOfRows; i++)
+      rows.add(Arrays.asList(this.valueFactory.getLiteralValue(random.nextInt(50)),
+        this.valueFactory.getLiteralValue(i)));
+
+    return rows;
+  }
+
+  private static IRI iri(String localName)
+  {
+    return IRI.create("http://example.org/test#" + localName);
+  }
+
+  /**
+   * Tables refer to a value factory, which is not serializable, so it is written as a placeholder.
+   */
+  private static class ValueFactoryPlaceholder implements Serializable
+  {
+    private static final long serialVersionUID = 1L;
+  }
+
+  private static class ValueFactoryReplacingOutputStream extends ObjectOutputStream
+  {
+    public ValueFactoryReplacingOutputStream(OutputStream out) throws IOException
+    {
+      super(out);
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(Object obj)
+    {
+      return obj instanceof SQWRLResultValueFactory ? new ValueFactoryPlaceholder() : obj;
+    }
+  }
+
+  private static class ValueFactoryResolvingInputStream extends ObjectInputStream
+  {
+    private final SQWRLResultValueFactory valueFactory;
+
+    public ValueFactoryResolvingInputStream(InputStream in, SQWRLResultValueFactory valueFactory) throws IOException
+    {
+      super(in);
+      this.valueFactory = valueFactory;
+      enableResolveObject(true);
+    }
+
+    @Override
+    protected Object resolveObject(Object obj)
+    {
+      return obj instanceof ValueFactoryPlaceholder ? this.valueFactory : obj;
+    }
+  }
+}
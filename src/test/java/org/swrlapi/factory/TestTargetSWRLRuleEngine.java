@@ -0,0 +1,154 @@
+package org.swrlapi.factory;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.owl2rl.AbstractOWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLNames.OWL2RLRule;
+import org.swrlapi.sqwrl.SQWRLQuery;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+
+import javax.swing.*;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A target rule engine for tests that infers nothing and counts how often it is run and reset. A run can be made to
+ * block until the engine is cancelled or its thread is interrupted.
+ */
+class TestTargetSWRLRuleEngine implements TargetSWRLRuleEngine
+{
+  private final OWL2RLEngine owl2RLEngine;
+  private final AtomicInteger runCount = new AtomicInteger();
+  private final AtomicInteger resetCount = new AtomicInteger();
+  private final CountDownLatch runStarted = new CountDownLatch(1);
+  private volatile CountDownLatch cancelled; // Non-null if the next run blocks until cancelled
+
+  public TestTargetSWRLRuleEngine(SWRLAPIOWLOntology swrlapiOWLOntology)
+  {
+    this.owl2RLEngine = new AbstractOWL2RLEngine(SWRLAPIFactory.getOWL2RLPersistenceLayer(swrlapiOWLOntology),
+      Collections.<OWL2RLRule>emptySet(), Collections.<OWL2RLRule>emptySet(),
+      Collections.<Set<OWL2RLRule>>emptySet())
+    {
+    };
+  }
+
+  /**
+   * @return A query engine that runs its queries on the test engine
+   */
+  public static SQWRLQueryEngine createSQWRLQueryEngine(SWRLAPIOWLOntology swrlapiOWLOntology,
+    TestTargetSWRLRuleEngine targetSWRLRuleEngine) throws Exception
+  {
+    SWRLBridge bridge = SWRLAPIFactory.getSWRLBridge(swrlapiOWLOntology,
+      SWRLAPIFactory.getOWL2RLPersistenceLayer(swrlapiOWLOntology));
+
+    bridge.setTargetSWRLRuleEngine(targetSWRLRuleEngine);
+
+    return SWRLAPIFactory.getSQWRLQueryEngine(swrlapiOWLOntology, targetSWRLRuleEngine, bridge, bridge);
+  }
+
+  public int getRunCount()
+  {
+    return this.runCount.get();
+  }
+
+  public int getResetCount()
+  {
+    return this.resetCount.get();
+  }
+
+  public void blockNextRun()
+  {
+    this.cancelled = new CountDownLatch(1);
+  }
+
+  public boolean awaitBlockedRun(long timeoutMillis) throws InterruptedException
+  {
+    return this.runStarted.await(timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  public boolean isCancelled()
+  {
+    CountDownLatch cancelled = this.cancelled;
+
+    return cancelled != null && cancelled.getCount() == 0;
+  }
+
+  @Override
+  public void defineOWLAxiom(OWLAxiom axiom)
+  {
+  }
+
+  @Override
+  public void defineSQWRLQuery(SQWRLQuery query)
+  {
+  }
+
+  @Override
+  public void runRuleEngine()
+  {
+    CountDownLatch cancelled = this.cancelled;
+
+    this.runCount.incrementAndGet();
+
+    if (cancelled != null && cancelled.getCount() != 0) {
+      this.runStarted.countDown();
+      try {
+        cancelled.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public void cancelRuleEngine()
+  {
+    CountDownLatch cancelled = this.cancelled;
+
+    if (cancelled != null)
+      cancelled.countDown();
+  }
+
+  @Override
+  public void resetRuleEngine()
+  {
+    this.resetCount.incrementAndGet();
+  }
+
+  @Override
+  public String getName()
+  {
+    return "Test";
+  }
+
+  @Override
+  public String getVersion()
+  {
+    return "1.0";
+  }
+
+  @Override
+  public Icon getSWRLRuleEngineIcon()
+  {
+    return null;
+  }
+
+  @Override
+  public OWLReasoner getOWLReasoner()
+  {
+    return null;
+  }
+
+  @Override
+  public OWL2RLEngine getOWL2RLEngine()
+  {
+    return this.owl2RLEngine;
+  }
+}
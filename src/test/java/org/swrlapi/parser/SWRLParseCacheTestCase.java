@@ -0,0 +1,187 @@
+package org.swrlapi.parser;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.factory.SWRLAPIFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+public class SWRLParseCacheTestCase
+{
+  private static final String NAMESPACE = "http://example.org/test#";
+
+  private OWLOntologyManager manager;
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private SWRLParseCache parseCache;
+  private SWRLParser parser;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+
+    this.manager = OWLManager.createOWLOntologyManager();
+    this.ontology = this.manager.createOntology();
+    prefixManager.setPrefix("ex:", NAMESPACE);
+    this.swrlapiOWLOntology = SWRLAPIFactory.createSWRLAPIOntology(this.ontology, prefixManager);
+    declareOWLClass("Male");
+    declareOWLClass("Person");
+    this.parseCache = new SWRLParseCache(64);
+    this.parser = new SWRLParser(this.swrlapiOWLOntology, this.parseCache);
+  }
+
+  @Test
+  public void TestEditAfterLastCheckpointResumes() throws Exception
+  {
+    String ruleText = "ex:Male(?x) -> ex:Person(?x)";
+
+    this.parser.parseSWRLRule(ruleText, true, "", "");
+
+    SWRLParseCache.Checkpoint checkpoint = getResumeCheckpoint(ruleText + " ^ ex:Male(?x)");
+    Assert.assertNotNull(checkpoint);
+    Assert.assertTrue(checkpoint.isInHead());
+    Assert.assertTrue(checkpoint.isJustProcessedAtom());
+
+    assertSameOutcomeAsFreshParse(ruleText + " ^ ex:Male(?x)");
+    assertSameOutcomeAsFreshParse(ruleText + " ^ ex:Male(?x");
+    assertSameOutcomeAsFreshParse(ruleText + " ^ ex:Mal(?x)");
+    assertSameOutcomeAsFreshParse(ruleText + " -> ex:Male(?x)");
+  }
+
+  @Test
+  public void TestEditBeforeLastCheckpointReparses() throws Exception
+  {
+    this.parser.parseSWRLRule("ex:Male(?x) -> ex:Person(?x)", true, "", "");
+
+    SWRLParseCache.Checkpoint checkpoint = getResumeCheckpoint("ex:Male(?x) -> ex:Male(?x)");
+    Assert.assertNotNull(checkpoint); // After the arrow
+    Assert.assertTrue(checkpoint.isInHead());
+    Assert.assertEquals(new HashSet<>(Arrays.asList("x")), checkpoint.getVariables());
+
+    Assert.assertNull(getResumeCheckpoint("ex:Male(?y) -> ex:Person(?x)")); // Within the first atom
+    assertSameOutcomeAsFreshParse("ex:Male(?y) -> ex:Person(?x)"); // ?x must not survive from the previous parse
+    assertSameOutcomeAsFreshParse("ex:Male(?x) -> ex:Male(?x)");
+    assertSameOutcomeAsFreshParse("ex:Person(?x) ^ ex:Male(?x) -> ex:Person(?x)");
+  }
+
+  @Test
+  public void TestVariablesAreRestoredOnResume() throws Exception
+  {
+    String ruleText = "ex:Male(?x) ^ ex:Person(?y) -> ex:Person(?x)";
+
+    this.parser.parseSWRLRule(ruleText, true, "", "");
+
+    SWRLParseCache.Checkpoint checkpoint = getResumeCheckpoint("ex:Male(?x) ^ ex:Person(?y) -> ex:Person(?y)");
+    Assert.assertNotNull(checkpoint);
+    Assert.assertEquals(new HashSet<>(Arrays.asList("x", "y")), checkpoint.getVariables());
+
+    this.parser.parseSWRLRule("ex:Male(?x) ^ ex:Person(?y) -> ex:Person(?y)", true, "", "");
+    assertParseException("ex:Male(?x) ^ ex:Person(?y) -> ex:Person(?z)", "?z");
+    this.parser.parseSWRLRule("ex:Male(?x) ^ ex:Person(?y) -> ex:Person(?x) ^ ex:Male(?y)", true, "", "");
+  }
+
+  @Test
+  public void TestOntologyChangeInvalidates() throws Exception
+  {
+    String ruleText = "ex:Female(?x) -> ex:Person(?x)";
+
+    assertParseException(ruleText, "Female");
+    Assert.assertTrue(this.parseCache.hasOutcome(ruleText));
+
+    declareOWLClass("Female");
+
+    this.parser.parseSWRLRule(ruleText, true, "", "");
+    this.parser.parseSWRLRule(ruleText + " ^ ex:Female(?x)", true, "", "");
+  }
+
+  @Test
+  public void TestPrefixChangeInvalidates() throws Exception
+  {
+    String ruleText = "ex:Male(?x) -> ex:Person(?x)";
+
+    this.parser.parseSWRLRule(ruleText, true, "", "");
+    this.swrlapiOWLOntology.getPrefixManager().setPrefix("ex:", "http://example.org/other#");
+
+    assertParseException(ruleText, "Male");
+    assertParseException(ruleText + " ^ ex:Male(?x)", "Male");
+  }
+
+  @Test
+  public void TestInvalidateIfStale()
+  {
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+    SWRLParseCache parseCache = new SWRLParseCache(4);
+
+    prefixManager.setPrefix("ex:", NAMESPACE);
+    parseCache.invalidateIfStale(1, prefixManager.getPrefixName2PrefixMap());
+    parseCache.putOutcome("rule", null);
+
+    parseCache.invalidateIfStale(1, prefixManager.getPrefixName2PrefixMap());
+    Assert.assertTrue(parseCache.hasOutcome("rule"));
+
+    parseCache.invalidateIfStale(2, prefixManager.getPrefixName2PrefixMap());
+    Assert.assertFalse(parseCache.hasOutcome("rule"));
+
+    parseCache.putOutcome("rule", null);
+    prefixManager.setPrefix("ex:", "http://example.org/other#");
+    parseCache.invalidateIfStale(2, prefixManager.getPrefixName2PrefixMap());
+    Assert.assertFalse(parseCache.hasOutcome("rule"));
+  }
+
+  /**
+   * @return The checkpoint an interactive parse of the rule would resume from, or null if it would start over
+   */
+  private SWRLParseCache.Checkpoint getResumeCheckpoint(String ruleText)
+  {
+    SWRLTokenizer lastTokenizer = this.parseCache.getLastTokenizer();
+    List<SWRLParseCache.Checkpoint> checkpoints = this.parseCache.getLastCheckpoints(
+      lastTokenizer.getNumberOfReusableTokens(ruleText));
+
+    return checkpoints.isEmpty() ? null : checkpoints.get(checkpoints.size() - 1);
+  }
+
+  private void assertSameOutcomeAsFreshParse(String ruleText)
+  {
+    String expected = getOutcome(new SWRLParser(this.swrlapiOWLOntology), ruleText);
+
+    Assert.assertEquals(ruleText, expected, getOutcome(this.parser, ruleText));
+  }
+
+  private void assertParseException(String ruleText, String messageFragment)
+  {
+    String outcome = getOutcome(this.parser, ruleText);
+
+    Assert.assertTrue(ruleText + ": " + outcome, outcome.startsWith("error:") && outcome.contains(messageFragment));
+  }
+
+  private static String getOutcome(SWRLParser parser, String ruleText)
+  {
+    try {
+      parser.parseSWRLRule(ruleText, true, "", "");
+      return "correct";
+    } catch (SWRLIncompleteRuleException e) {
+      return "incomplete: " + e.getMessage();
+    } catch (SWRLParseException e) {
+      return "error: " + e.getMessage();
+    }
+  }
+
+  private void declareOWLClass(String localName)
+  {
+    OWLDataFactory dataFactory = this.manager.getOWLDataFactory();
+
+    this.manager.addAxiom(this.ontology,
+      dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(IRI.create(NAMESPACE + localName))));
+  }
+}
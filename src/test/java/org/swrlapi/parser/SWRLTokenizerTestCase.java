@@ -0,0 +1,323 @@
+package org.swrlapi.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StreamTokenizer;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class SWRLTokenizerTestCase
+{
+  private static final String[] FRAGMENTS = { "->", "^^", "^", "-", ".", "<", ">", "(", ")", "?", ",", "\"", "'", "\\",
+    " ", "\n", "\r", "\t", "x", "Person", "xsd:int", "swrlb:add", "http://ex.org/a#b", "_:b", "0", "7", "42", "-3",
+    "2147483647", "2147483648", "\\n", "\\\"", "\\377", "\\477", "\\0", "é", "+", "!", "=", "٠" };
+
+  @Test
+  public void TestMatchesStreamTokenizer() throws Exception
+  {
+    Random random = new Random(42);
+
+    for (int i = 0; i < 20000; i++) {
+      StringBuilder input = new StringBuilder();
+      int numberOfFragments = random.nextInt(12);
+
+      for (int f = 0; f < numberOfFragments; f++)
+        input.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+
+      assertMatchesStreamTokenizer(input.toString(), false);
+      assertMatchesStreamTokenizer(input.toString(), true);
+    }
+  }
+
+  @Test
+  public void TestMatchesStreamTokenizerOnRules() throws Exception
+  {
+    for (String input : Arrays.asList("Person(?p) ^ hasAge(?p, ?age) ^ swrlb:greaterThan(?age, 17) -> Adult(?p)",
+      "hasName(?p, \"Fred\"^^xsd:string) -> sqwrl:select(?p, -3, -2.5, 1.0)", "<http://ex.org/a#C>(?x) -> .",
+      "p(?x, \"a\\tb\\\"c\") -> q(?x", "p(?x, 'single') -> q(?x)"))
+      for (int end = 0; end <= input.length(); end++) { // Every prefix, as typed
+        assertMatchesStreamTokenizer(input.substring(0, end), false);
+        assertMatchesStreamTokenizer(input.substring(0, end), true);
+      }
+  }
+
+  @Test
+  public void TestQuotedStrings() throws Exception
+  {
+    assertTokens("\"a b\"", "STRING:a b");
+    assertTokens("\"\"", "STRING:");
+    assertTokens("\"a\\\"b\\n\\101\\477\"", "STRING:a\"b\nA'7");
+    assertTokens("\"line\nnext", "STRING:line", "SHORTNAME:next");
+    assertTokens("\"unterminated", "STRING:unterminated");
+    assertParseException("'single'", false, "Unexpected character '''");
+  }
+
+  @Test
+  public void TestNumbers() throws Exception
+  {
+    assertTokens("42", "INT:42");
+    assertTokens("-42", "INT:-42");
+    assertTokens("3.14", "FLOAT:3.14");
+    assertTokens("-3 . 14", "FLOAT:-3.14");
+    assertTokens("2147483647", "INT:2147483647");
+    assertTokens("2147483648", "SHORTNAME:2147483648");
+    assertTokens("42 ?", "INT:42", "QUESTION:?");
+    assertTokens("1.5.", "FLOAT:1.5", "RING:.");
+    assertParseException("-x", false, "Expecting integer or float");
+    assertParseException("1.x", false, "Expecting float fraction part after '.'");
+  }
+
+  @Test
+  public void TestTypeQualifierAndConjunction() throws Exception
+  {
+    assertTokens("\"1\"^^xsd:int", "STRING:1", "TYPE_QUAL:^^", "SHORTNAME:xsd:int");
+    assertTokens("A ^ B", "SHORTNAME:A", "AND:^", "SHORTNAME:B");
+    assertTokens("^ ^", "TYPE_QUAL:^^");
+    assertTokens("^^^", "TYPE_QUAL:^^", "AND:^");
+  }
+
+  @Test
+  public void TestImplication() throws Exception
+  {
+    assertTokens("p(?x)->q(?x)", "SHORTNAME:p", "LPAREN:(", "QUESTION:?", "SHORTNAME:x", "RPAREN:)", "IMP:->",
+      "SHORTNAME:q", "LPAREN:(", "QUESTION:?", "SHORTNAME:x", "RPAREN:)");
+    assertTokens("- >", "IMP:->");
+    assertParseException("-(", false, "Expecting '>' or integer or float after '-'");
+  }
+
+  @Test
+  public void TestUnterminatedInput() throws Exception
+  {
+    assertIncompleteRule("p(?x) -", "Expecting '>' or integer or float after '-'");
+    assertIncompleteRule("3.", "Expecting float fraction part after '.'");
+    assertIncompleteRule("<", "Expecting IRI after '<'");
+    assertIncompleteRule("<http://ex#a", "Expecting '>' after IRI");
+    assertParseException("<(", true, "Expecting IRI after '<'");
+    assertParseException("<http://ex.org/a>", true, "Expecting IRI after '<'");
+    assertParseException("<a b", true, "Expecting IRI after '<'");
+  }
+
+  @Test
+  public void TestEndOfTokens() throws Exception
+  {
+    SWRLTokenizer tokenizer = new SWRLTokenizer("p(", true);
+
+    tokenizer.skipToken();
+    tokenizer.skipToken();
+    Assert.assertFalse(tokenizer.hasMoreTokens());
+    try {
+      tokenizer.getToken();
+      Assert.fail();
+    } catch (SWRLIncompleteRuleException e) {
+      Assert.assertEquals("Incomplete rule!", e.getMessage());
+    }
+  }
+
+  private static void assertTokens(String input, String... expectedTokens) throws SWRLParseException
+  {
+    Assert.assertEquals(input, Arrays.asList(expectedTokens), tokenize(input, false));
+    Assert.assertEquals(input, Arrays.asList(expectedTokens), tokenize(input, true));
+  }
+
+  private static void assertParseException(String input, boolean interactiveParseOnly, String expectedMessage)
+  {
+    try {
+      tokenize(input, interactiveParseOnly);
+      Assert.fail(input);
+    } catch (SWRLParseException e) {
+      Assert.assertEquals(input, expectedMessage, e.getMessage());
+      Assert.assertFalse(input, e instanceof SWRLIncompleteRuleException);
+    }
+  }
+
+  /**
+   * Interactive parsing reports an error at the end of the input as an incomplete rule, which non-interactive parsing
+   * reports as a plain parse error.
+   */
+  private static void assertIncompleteRule(String input, String expectedMessage)
+  {
+    try {
+      tokenize(input, true);
+      Assert.fail(input);
+    } catch (SWRLIncompleteRuleException e) {
+      Assert.assertEquals(input, expectedMessage, e.getMessage());
+    } catch (SWRLParseException e) {
+      Assert.fail(input + ": " + e);
+    }
+    assertParseException(input, false, expectedMessage);
+  }
+
+  private static void assertMatchesStreamTokenizer(String input, boolean interactiveParseOnly)
+  {
+    Object expected, actual;
+
+    try {
+      expected = new StreamTokenizerReference(input, interactiveParseOnly).tokens;
+    } catch (SWRLParseException e) {
+      expected = e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+    try {
+      actual = tokenize(input, interactiveParseOnly);
+    } catch (SWRLParseException e) {
+      actual = e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+    Assert.assertEquals("'" + input + "' interactive=" + interactiveParseOnly, expected, actual);
+  }
+
+  private static List<String> tokenize(String input, boolean interactiveParseOnly) throws SWRLParseException
+  {
+    SWRLTokenizer tokenizer = new SWRLTokenizer(input, interactiveParseOnly);
+    List<String> tokens = new ArrayList<>();
+
+    while (tokenizer.hasMoreTokens())
+      tokens.add(toString(tokenizer.getToken()));
+
+    return tokens;
+  }
+
+  private static String toString(SWRLToken token)
+  {
+    return token.getTokenType().name() + ":" + token.getValue();
+  }
+
+  /**
+   * The {@link StreamTokenizer} based tokenizer that {@link SWRLTokenizer} replaced, kept as a reference.
+   */
+  private static class StreamTokenizerReference
+  {
+    private final StreamTokenizer tokenizer;
+    private final boolean interactiveParseOnly;
+    private final List<String> tokens = new ArrayList<>();
+
+    public StreamTokenizerReference(String input, boolean interactiveParseOnly) throws SWRLParseException
+    {
+      this.tokenizer = new StreamTokenizer(new StringReader(input))
+      {
+        @Override
+        public void parseNumbers()
+        {
+        }
+      };
+      this.interactiveParseOnly = interactiveParseOnly;
+
+      for (char wordChar : new char[] { ':', '_', '/', '#' })
+        this.tokenizer.wordChars(wordChar, wordChar);
+      this.tokenizer.wordChars('0', '9');
+      for (char ordinaryChar : new char[] { '-', '.', '^', '<', '>', '(', ')', '?' })
+        this.tokenizer.ordinaryChar(ordinaryChar);
+
+      try {
+        SWRLToken token = generateToken(this.tokenizer.nextToken());
+        while (token != null) {
+          this.tokens.add(SWRLTokenizerTestCase.toString(token));
+          token = generateToken(this.tokenizer.nextToken());
+        }
+      } catch (IOException e) {
+        throw new SWRLParseException("Error tokenizing " + e.getMessage());
+      }
+    }
+
+    private SWRLToken generateToken(int tokenType) throws SWRLParseException, IOException
+    {
+      boolean negativeNumeric = false;
+
+      switch (tokenType) {
+      case StreamTokenizer.TT_EOF:
+      case StreamTokenizer.TT_EOL:
+        return null;
+      case '-': {
+        int nextTokenType = this.tokenizer.nextToken();
+        if (nextTokenType == '>')
+          return new SWRLToken(SWRLToken.SWRLTokenType.IMP, "->");
+        else if (nextTokenType == StreamTokenizer.TT_EOF)
+          throw generateEndOfRuleException("Expecting '>' or integer or float after '-'");
+        else if (nextTokenType != StreamTokenizer.TT_WORD)
+          throw new SWRLParseException("Expecting '>' or integer or float after '-'");
+        else
+          negativeNumeric = true;
+        // Fall through to look for integer or float
+      }
+      case StreamTokenizer.TT_WORD: {
+        String value = this.tokenizer.sval;
+        if (isInt(value)) {
+          if (this.tokenizer.nextToken() == '.') {
+            int trailingTokenType = this.tokenizer.nextToken();
+            String trailingValue = this.tokenizer.sval;
+            if (trailingTokenType == StreamTokenizer.TT_WORD && isInt(trailingValue))
+              return new SWRLToken(SWRLToken.SWRLTokenType.FLOAT, (negativeNumeric ? "-" : "") + value + "."
+                + trailingValue);
+            else if (trailingTokenType == StreamTokenizer.TT_EOF)
+              throw generateEndOfRuleException("Expecting float fraction part after '.'");
+            else
+              throw new SWRLParseException("Expecting float fraction part after '.'");
+          } else {
+            this.tokenizer.pushBack();
+            return new SWRLToken(SWRLToken.SWRLTokenType.INT, negativeNumeric ? "-" + value : value);
+          }
+        } else if (negativeNumeric)
+          throw new SWRLParseException("Expecting integer or float");
+        else
+          return new SWRLToken(SWRLToken.SWRLTokenType.SHORTNAME, value);
+      }
+      case '"':
+        return new SWRLToken(SWRLToken.SWRLTokenType.STRING, this.tokenizer.sval);
+      case ',':
+        return new SWRLToken(SWRLToken.SWRLTokenType.COMMA, ",");
+      case '?':
+        return new SWRLToken(SWRLToken.SWRLTokenType.QUESTION, "?");
+      case '(':
+        return new SWRLToken(SWRLToken.SWRLTokenType.LPAREN, "(");
+      case ')':
+        return new SWRLToken(SWRLToken.SWRLTokenType.RPAREN, ")");
+      case '.':
+        return new SWRLToken(SWRLToken.SWRLTokenType.RING, ".");
+      case '^': {
+        if (this.tokenizer.nextToken() == '^')
+          return new SWRLToken(SWRLToken.SWRLTokenType.TYPE_QUAL, "^^");
+        else {
+          this.tokenizer.pushBack();
+          return new SWRLToken(SWRLToken.SWRLTokenType.AND, "^");
+        }
+      }
+      case '<': {
+        int nextTokenType = this.tokenizer.nextToken();
+        if (nextTokenType == StreamTokenizer.TT_WORD) {
+          String iri = this.tokenizer.sval;
+          nextTokenType = this.tokenizer.nextToken();
+          if (nextTokenType == '>')
+            return new SWRLToken(SWRLToken.SWRLTokenType.IRI, iri);
+          else if (nextTokenType == StreamTokenizer.TT_EOF)
+            throw generateEndOfRuleException("Expecting '>' after IRI");
+          else
+            throw new SWRLParseException("Expecting IRI after '<'");
+        } else if (nextTokenType == StreamTokenizer.TT_EOF)
+          throw generateEndOfRuleException("Expecting IRI after '<'");
+        else
+          throw new SWRLParseException("Expecting IRI after '<'");
+      }
+      default:
+        throw new SWRLParseException("Unexpected character '" + String.valueOf(Character.toChars(tokenType)) + "'");
+      }
+    }
+
+    private SWRLParseException generateEndOfRuleException(String message)
+    {
+      return this.interactiveParseOnly ? new SWRLIncompleteRuleException(message) : new SWRLParseException(message);
+    }
+
+    private static boolean isInt(String s)
+    {
+      try {
+        Integer.parseInt(s);
+        return true;
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+  }
+}